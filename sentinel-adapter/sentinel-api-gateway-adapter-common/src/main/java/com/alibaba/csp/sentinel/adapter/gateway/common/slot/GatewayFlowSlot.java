@@ -33,7 +33,7 @@ import com.alibaba.csp.sentinel.spi.Spi;
  * @author Eric Zhao
  * @since 1.6.1
  */
-@Spi(order = -4000)
+@Spi(isSingleton = false, order = -4000)
 public class GatewayFlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
 
     @Override
@@ -25,18 +25,29 @@ public class ContextConfig {
 
     private final String contextName;
     private final String origin;
+    /**
+     * The arrival time (in milliseconds) of the request, or non-positive value if unknown.
+     *
+     * @since 2.0.0
+     */
+    private final long arrivalTime;
 
     public ContextConfig(String contextName) {
         this(contextName, "");
     }
 
     public ContextConfig(String contextName, String origin) {
+        this(contextName, origin, -1);
+    }
+
+    public ContextConfig(String contextName, String origin, long arrivalTime) {
         AssertUtil.assertNotBlank(contextName, "contextName cannot be blank");
         this.contextName = contextName;
         if (StringUtil.isBlank(origin)) {
             origin = "";
         }
         this.origin = origin;
+        this.arrivalTime = arrivalTime;
     }
 
     public String getContextName() {
@@ -47,11 +58,16 @@ public class ContextConfig {
         return origin;
     }
 
+    public long getArrivalTime() {
+        return arrivalTime;
+    }
+
     @Override
     public String toString() {
         return "ContextConfig{" +
             "contextName='" + contextName + '\'' +
             ", origin='" + origin + '\'' +
+            ", arrivalTime=" + arrivalTime +
             '}';
     }
 }
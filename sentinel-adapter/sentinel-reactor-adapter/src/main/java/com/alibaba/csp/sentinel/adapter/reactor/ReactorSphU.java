@@ -15,10 +15,12 @@
  */
 package com.alibaba.csp.sentinel.adapter.reactor;
 
+import java.time.Duration;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.alibaba.csp.sentinel.AsyncEntry;
 import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.ResourceTypeConstants;
 import com.alibaba.csp.sentinel.SphU;
 import com.alibaba.csp.sentinel.Tracer;
 import com.alibaba.csp.sentinel.context.Context;
@@ -34,6 +36,8 @@ import reactor.core.publisher.Mono;
  */
 public final class ReactorSphU {
 
+    private static final Object[] OBJECTS0 = new Object[0];
+
     public static <R> Mono<R> entryWith(String resourceName, Mono<R> actual) {
         return entryWith(resourceName, EntryType.OUT, actual);
     }
@@ -42,9 +46,13 @@ public final class ReactorSphU {
         final AtomicReference<AsyncEntry> entryWrapper = new AtomicReference<>(null);
         return Mono.defer(() -> {
             try {
-                AsyncEntry entry = SphU.asyncEntry(resourceName, entryType);
+                AsyncEntry entry = SphU.asyncEntryNonBlocking(resourceName, ResourceTypeConstants.COMMON,
+                    entryType, 1, OBJECTS0);
                 entryWrapper.set(entry);
-                return actual.subscriberContext(context -> {
+                // Delay the subscription to the reserved pass time (if queued) without blocking current thread.
+                Mono<R> source = entry.getDelayNanos() > 0
+                    ? actual.delaySubscription(Duration.ofNanos(entry.getDelayNanos())) : actual;
+                return source.subscriberContext(context -> {
                     if (entry == null) {
                         return context;
                     }
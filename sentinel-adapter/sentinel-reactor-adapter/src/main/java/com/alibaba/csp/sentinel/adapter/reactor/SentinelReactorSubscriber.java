@@ -16,6 +16,7 @@
 package com.alibaba.csp.sentinel.adapter.reactor;
 
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.alibaba.csp.sentinel.AsyncEntry;
@@ -28,6 +29,7 @@ import com.alibaba.csp.sentinel.util.function.Supplier;
 
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.context.Context;
 
 /**
@@ -44,6 +46,12 @@ public class SentinelReactorSubscriber<T> extends InheritableBaseSubscriber<T> {
     private volatile AsyncEntry currentEntry;
     private final AtomicBoolean entryExited = new AtomicBoolean(false);
 
+    /**
+     * The reserved pass time (in {@link System#nanoTime()}) of current entry, before which the requests from
+     * the downstream are held back from the upstream.
+     */
+    private volatile long passTimeNanos;
+
     public SentinelReactorSubscriber(EntryConfig entryConfig,
                                      CoreSubscriber<? super T> actual,
                                      boolean unary) {
@@ -86,13 +94,27 @@ public class SentinelReactorSubscriber<T> extends InheritableBaseSubscriber<T> {
         ContextConfig sentinelContextConfig = entryConfig.getContextConfig();
         if (sentinelContextConfig != null) {
             // If current we're already in a context, the context config won't work.
-            ContextUtil.enter(sentinelContextConfig.getContextName(), sentinelContextConfig.getOrigin());
+            com.alibaba.csp.sentinel.context.Context context = ContextUtil.enter(
+                sentinelContextConfig.getContextName(), sentinelContextConfig.getOrigin());
+            if (sentinelContextConfig.getArrivalTime() > 0) {
+                context.setArrivalTime(sentinelContextConfig.getArrivalTime());
+            }
         }
         try {
-            AsyncEntry entry = SphU.asyncEntry(entryConfig.getResourceName(), entryConfig.getResourceType(),
-                entryConfig.getEntryType(), entryConfig.getAcquireCount(), entryConfig.getArgs());
+            // Never block current thread (which may be an event loop) when the request is queued.
+            AsyncEntry entry = SphU.asyncEntryNonBlocking(entryConfig.getResourceName(),
+                entryConfig.getResourceType(), entryConfig.getEntryType(), entryConfig.getAcquireCount(),
+                entryConfig.getArgs());
             this.currentEntry = entry;
-            actual.onSubscribe(this);
+            long delayNanos = entry.getDelayNanos();
+            if (delayNanos > 0) {
+                // The pass time has been reserved. The downstream is subscribed right away, but its requests
+                // won't reach the upstream (so the upstream won't emit) until then.
+                this.passTimeNanos = System.nanoTime() + delayNanos;
+                actual.onSubscribe(new PacedSubscription());
+            } else {
+                actual.onSubscribe(this);
+            }
         } catch (BlockException ex) {
             // Mark as completed (exited) explicitly.
             entryExited.set(true);
@@ -158,6 +180,29 @@ public class SentinelReactorSubscriber<T> extends InheritableBaseSubscriber<T> {
         tryCompleteEntry();
     }
 
+    /**
+     * The subscription handed to the downstream when the entry is queued by a rate limiter,
+     * which delays the requests to the upstream until the reserved pass time.
+     */
+    private class PacedSubscription implements Subscription {
+
+        @Override
+        public void request(long n) {
+            long remainingNanos = passTimeNanos - System.nanoTime();
+            if (remainingNanos > 0) {
+                Schedulers.parallel().schedule(() -> SentinelReactorSubscriber.this.request(n), remainingNanos,
+                    TimeUnit.NANOSECONDS);
+            } else {
+                SentinelReactorSubscriber.this.request(n);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            SentinelReactorSubscriber.this.cancel();
+        }
+    }
+
     private boolean tryCompleteEntry() {
         if (currentEntry != null && entryExited.compareAndSet(false, true)) {
             currentEntry.exit(1, entryConfig.getArgs());
@@ -3,12 +3,15 @@ package com.alibaba.csp.sentinel.adapter.reactor;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.node.ClusterNode;
 import com.alibaba.csp.sentinel.node.EntranceNode;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
 import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
@@ -184,6 +187,107 @@ public class MonoSentinelOperatorIntegrationTest {
         FlowRuleManager.loadRules(new ArrayList<>());
     }
 
+    @Test
+    public void testRateLimitedMonoDelayedWithoutBlocking() throws Exception {
+        String resourceName = createResourceName("testRateLimitedMonoDelayedWithoutBlocking");
+        FlowRuleManager.loadRules(Collections.singletonList(
+            new FlowRule(resourceName).setCount(5)
+                .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER)
+                .setMaxQueueingTimeMs(2000)
+        ));
+        final int requests = 3;
+        CountDownLatch latch = new CountDownLatch(requests);
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < requests; i++) {
+            Mono.just(i)
+                .transform(new SentinelReactorTransformer<>(resourceName))
+                .subscribe(e -> latch.countDown());
+        }
+        // The requests are queued (200 ms per request), but the subscribing thread won't be blocked.
+        assertTrue(System.currentTimeMillis() - start < 200);
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - start >= 350);
+
+        ClusterNode cn = ClusterBuilderSlot.getClusterNode(resourceName);
+        assertNotNull(cn);
+        assertEquals(0, cn.blockRequest());
+
+        FlowRuleManager.loadRules(new ArrayList<>());
+    }
+
+    @Test
+    public void testRateLimitedEmptyMonoCompletesAfterSubscribe() {
+        String resourceName = createResourceName("testRateLimitedEmptyMonoCompletesAfterSubscribe");
+        FlowRuleManager.loadRules(Collections.singletonList(
+            new FlowRule(resourceName).setCount(5)
+                .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER)
+                .setMaxQueueingTimeMs(2000)
+        ));
+        StepVerifier.create(Mono.just(1).transform(new SentinelReactorTransformer<>(resourceName)))
+            .expectNext(1)
+            .verifyComplete();
+        // The latter request is queued, but the downstream is still subscribed before the completion.
+        StepVerifier.create(Mono.empty().transform(new SentinelReactorTransformer<>(resourceName)))
+            .expectSubscription()
+            .expectComplete()
+            .verify(Duration.ofSeconds(2));
+
+        ClusterNode cn = ClusterBuilderSlot.getClusterNode(resourceName);
+        assertNotNull(cn);
+        assertEquals(0, cn.blockRequest());
+        assertEquals(2, cn.totalSuccess());
+
+        FlowRuleManager.loadRules(new ArrayList<>());
+    }
+
+    @Test
+    public void testRateLimitedErrorMonoFailsAfterSubscribe() {
+        String resourceName = createResourceName("testRateLimitedErrorMonoFailsAfterSubscribe");
+        FlowRuleManager.loadRules(Collections.singletonList(
+            new FlowRule(resourceName).setCount(5)
+                .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER)
+                .setMaxQueueingTimeMs(2000)
+        ));
+        StepVerifier.create(Mono.just(1).transform(new SentinelReactorTransformer<>(resourceName)))
+            .expectNext(1)
+            .verifyComplete();
+        // The latter request is queued, but the downstream is still subscribed before the error.
+        StepVerifier.create(Mono.error(new IllegalStateException("oops"))
+            .transform(new SentinelReactorTransformer<>(resourceName)))
+            .expectSubscription()
+            .expectError(IllegalStateException.class)
+            .verify(Duration.ofSeconds(2));
+
+        ClusterNode cn = ClusterBuilderSlot.getClusterNode(resourceName);
+        assertNotNull(cn);
+        assertEquals(0, cn.blockRequest());
+        assertEquals(1, cn.totalException());
+
+        FlowRuleManager.loadRules(new ArrayList<>());
+    }
+
+    @Test
+    public void testRateLimitedMonoEmitsAfterPassTime() {
+        String resourceName = createResourceName("testRateLimitedMonoEmitsAfterPassTime");
+        FlowRuleManager.loadRules(Collections.singletonList(
+            new FlowRule(resourceName).setCount(5)
+                .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER)
+                .setMaxQueueingTimeMs(2000)
+        ));
+        StepVerifier.create(Mono.just(1).transform(new SentinelReactorTransformer<>(resourceName)))
+            .expectNext(1)
+            .verifyComplete();
+        // The value won't be emitted until the reserved pass time (200 ms later).
+        StepVerifier.create(Mono.just(2).transform(new SentinelReactorTransformer<>(resourceName)))
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(100))
+            .expectNext(2)
+            .expectComplete()
+            .verify(Duration.ofSeconds(2));
+
+        FlowRuleManager.loadRules(new ArrayList<>());
+    }
+
     private String createResourceName(String resourceName) {
         return "reactor_test_mono_" + resourceName;
     }
@@ -56,9 +56,12 @@ public class SentinelWebFluxFilter implements WebFilter {
         String origin = Optional.ofNullable(WebFluxCallbackManager.getRequestOriginParser())
             .map(f -> f.apply(exchange))
             .orElse(EMPTY_ORIGIN);
+        long arrivalTime = Optional.ofNullable(WebFluxCallbackManager.getRequestArrivalTimeParser())
+            .map(f -> f.apply(exchange))
+            .orElse(-1L);
 
         return new SentinelReactorTransformer<>(new EntryConfig(finalPath, ResourceTypeConstants.COMMON_WEB,
-            EntryType.IN, new ContextConfig(getContextName(exchange), origin)));
+            EntryType.IN, new ContextConfig(getContextName(exchange), origin, arrivalTime)));
     }
 
     protected String getContextName(ServerWebExchange exchange){
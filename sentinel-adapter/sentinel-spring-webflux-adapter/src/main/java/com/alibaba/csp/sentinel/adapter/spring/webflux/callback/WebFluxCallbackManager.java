@@ -18,6 +18,7 @@ package com.alibaba.csp.sentinel.adapter.spring.webflux.callback;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import com.alibaba.csp.sentinel.slots.block.codel.RequestStartHeaderParser;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 
 import org.springframework.web.server.ServerWebExchange;
@@ -30,6 +31,9 @@ public final class WebFluxCallbackManager {
 
     private static final BiFunction<ServerWebExchange, String, String> DEFAULT_URL_CLEANER = (w, url) -> url;
     private static final Function<ServerWebExchange, String> DEFAULT_ORIGIN_PARSER = (w) -> "";
+    private static final Function<ServerWebExchange, Long> DEFAULT_ARRIVAL_TIME_PARSER = (w) ->
+        RequestStartHeaderParser.parseArrivalTime(
+            w.getRequest().getHeaders().getFirst(RequestStartHeaderParser.DEFAULT_HEADER_NAME));
 
     /**
      * BlockRequestHandler: (serverExchange, exception) -> response
@@ -43,6 +47,10 @@ public final class WebFluxCallbackManager {
      * RequestOriginParser: (serverExchange) -> origin
      */
     private static volatile Function<ServerWebExchange, String> requestOriginParser = DEFAULT_ORIGIN_PARSER;
+    /**
+     * RequestArrivalTimeParser: (serverExchange) -> arrival time in milliseconds (non-positive if unknown)
+     */
+    private static volatile Function<ServerWebExchange, Long> requestArrivalTimeParser = DEFAULT_ARRIVAL_TIME_PARSER;
 
     public static /*@NonNull*/ BlockRequestHandler getBlockHandler() {
         return blockHandler;
@@ -83,5 +91,18 @@ public final class WebFluxCallbackManager {
         WebFluxCallbackManager.requestOriginParser = requestOriginParser;
     }
 
+    public static /*@NonNull*/ Function<ServerWebExchange, Long> getRequestArrivalTimeParser() {
+        return requestArrivalTimeParser;
+    }
+
+    public static void resetRequestArrivalTimeParser() {
+        WebFluxCallbackManager.requestArrivalTimeParser = DEFAULT_ARRIVAL_TIME_PARSER;
+    }
+
+    public static void setRequestArrivalTimeParser(Function<ServerWebExchange, Long> requestArrivalTimeParser) {
+        AssertUtil.notNull(requestArrivalTimeParser, "requestArrivalTimeParser cannot be null");
+        WebFluxCallbackManager.requestArrivalTimeParser = requestArrivalTimeParser;
+    }
+
     private WebFluxCallbackManager() {}
 }
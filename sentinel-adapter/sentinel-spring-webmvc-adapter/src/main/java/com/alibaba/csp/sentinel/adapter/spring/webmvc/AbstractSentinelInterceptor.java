@@ -24,6 +24,7 @@ import com.alibaba.csp.sentinel.ResourceTypeConstants;
 import com.alibaba.csp.sentinel.SphU;
 import com.alibaba.csp.sentinel.Tracer;
 import com.alibaba.csp.sentinel.adapter.spring.webmvc.config.BaseWebMvcConfig;
+import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
@@ -101,7 +102,12 @@ public abstract class AbstractSentinelInterceptor implements HandlerInterceptor
             // Parse the request origin using registered origin parser.
             String origin = parseOrigin(request);
             String contextName = getContextName(request);
-            ContextUtil.enter(contextName, origin);
+            Context context = ContextUtil.enter(contextName, origin);
+            // The context may be entered before (e.g. by CommonFilter), so keep its arrival time if unknown.
+            long arrivalTime = parseArrivalTime(request);
+            if (arrivalTime > 0) {
+                context.setArrivalTime(arrivalTime);
+            }
             Entry entry = SphU.entry(resourceName, ResourceTypeConstants.COMMON_WEB, EntryType.IN);
             request.setAttribute(baseWebMvcConfig.getRequestAttributeName(), entry);
             return true;
@@ -197,4 +203,11 @@ public abstract class AbstractSentinelInterceptor implements HandlerInterceptor
         return origin;
     }
 
+    protected long parseArrivalTime(HttpServletRequest request) {
+        if (baseWebMvcConfig.getArrivalTimeParser() == null) {
+            return -1;
+        }
+        return baseWebMvcConfig.getArrivalTimeParser().parseArrivalTime(request);
+    }
+
 }
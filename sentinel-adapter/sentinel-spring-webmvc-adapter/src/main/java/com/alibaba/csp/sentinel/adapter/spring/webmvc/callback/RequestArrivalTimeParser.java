@@ -0,0 +1,36 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.spring.webmvc.callback;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * The arrival time parser parses the time when the request arrives (e.g. from the request start header
+ * added by the load balancer), so that requests queued too long could be dropped by
+ * {@link com.alibaba.csp.sentinel.slots.block.codel.CodelRule}.
+ *
+ * @since 2.0.0
+ */
+public interface RequestArrivalTimeParser {
+
+    /**
+     * Parse the arrival time from given HTTP request.
+     *
+     * @param request HTTP request
+     * @return the arrival time in milliseconds, or non-positive value if unknown
+     */
+    long parseArrivalTime(HttpServletRequest request);
+}
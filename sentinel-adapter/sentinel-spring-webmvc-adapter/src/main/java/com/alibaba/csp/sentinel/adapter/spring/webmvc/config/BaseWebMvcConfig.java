@@ -16,6 +16,8 @@
 package com.alibaba.csp.sentinel.adapter.spring.webmvc.config;
 
 import com.alibaba.csp.sentinel.adapter.spring.webmvc.callback.BlockExceptionHandler;
+import com.alibaba.csp.sentinel.adapter.spring.webmvc.callback.DefaultRequestArrivalTimeParser;
+import com.alibaba.csp.sentinel.adapter.spring.webmvc.callback.RequestArrivalTimeParser;
 import com.alibaba.csp.sentinel.adapter.spring.webmvc.callback.RequestOriginParser;
 
 /**
@@ -30,6 +32,7 @@ public abstract class BaseWebMvcConfig {
     protected String requestRefName;
     protected BlockExceptionHandler blockExceptionHandler;
     protected RequestOriginParser originParser;
+    protected RequestArrivalTimeParser arrivalTimeParser = new DefaultRequestArrivalTimeParser();
 
     public String getRequestAttributeName() {
         return requestAttributeName;
@@ -64,4 +67,12 @@ public abstract class BaseWebMvcConfig {
     public void setOriginParser(RequestOriginParser originParser) {
         this.originParser = originParser;
     }
+
+    public RequestArrivalTimeParser getArrivalTimeParser() {
+        return arrivalTimeParser;
+    }
+
+    public void setArrivalTimeParser(RequestArrivalTimeParser arrivalTimeParser) {
+        this.arrivalTimeParser = arrivalTimeParser;
+    }
 }
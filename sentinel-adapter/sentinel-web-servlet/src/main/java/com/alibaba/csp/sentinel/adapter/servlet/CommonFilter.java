@@ -31,11 +31,13 @@ import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.ResourceTypeConstants;
 import com.alibaba.csp.sentinel.SphU;
 import com.alibaba.csp.sentinel.Tracer;
+import com.alibaba.csp.sentinel.adapter.servlet.callback.RequestArrivalTimeParser;
 import com.alibaba.csp.sentinel.adapter.servlet.callback.RequestOriginParser;
 import com.alibaba.csp.sentinel.adapter.servlet.callback.UrlCleaner;
 import com.alibaba.csp.sentinel.adapter.servlet.callback.WebCallbackManager;
 import com.alibaba.csp.sentinel.adapter.servlet.config.WebServletConfig;
 import com.alibaba.csp.sentinel.adapter.servlet.util.FilterUtil;
+import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.util.StringUtil;
@@ -97,7 +99,12 @@ public class CommonFilter implements Filter {
                 // Parse the request origin using registered origin parser.
                 String origin = parseOrigin(sRequest);
                 String contextName = webContextUnify ? WebServletConfig.WEB_SERVLET_CONTEXT_NAME : target;
-                ContextUtil.enter(contextName, origin);
+                Context context = ContextUtil.enter(contextName, origin);
+                // The context may be entered before (e.g. by outer filters), so keep its arrival time if unknown.
+                long arrivalTime = parseArrivalTime(sRequest);
+                if (arrivalTime > 0) {
+                    context.setArrivalTime(arrivalTime);
+                }
 
                 if (httpMethodSpecify) {
                     // Add HTTP method prefix if necessary.
@@ -135,6 +142,11 @@ public class CommonFilter implements Filter {
         return origin;
     }
 
+    private long parseArrivalTime(HttpServletRequest request) {
+        RequestArrivalTimeParser arrivalTimeParser = WebCallbackManager.getRequestArrivalTimeParser();
+        return arrivalTimeParser == null ? -1 : arrivalTimeParser.parseArrivalTime(request);
+    }
+
     @Override
     public void destroy() {
 
@@ -0,0 +1,34 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.servlet.callback;
+
+import javax.servlet.http.HttpServletRequest;
+
+import com.alibaba.csp.sentinel.slots.block.codel.RequestStartHeaderParser;
+
+/**
+ * Parse the arrival time from the {@code X-Request-Start} header.
+ *
+ * @since 2.0.0
+ */
+public class DefaultRequestArrivalTimeParser implements RequestArrivalTimeParser {
+
+    @Override
+    public long parseArrivalTime(HttpServletRequest request) {
+        return RequestStartHeaderParser.parseArrivalTime(
+            request.getHeader(RequestStartHeaderParser.DEFAULT_HEADER_NAME));
+    }
+}
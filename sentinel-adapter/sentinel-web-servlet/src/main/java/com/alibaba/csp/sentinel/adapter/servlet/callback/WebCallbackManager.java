@@ -36,6 +36,8 @@ public class WebCallbackManager {
 
     private static volatile RequestOriginParser requestOriginParser = null;
 
+    private static volatile RequestArrivalTimeParser requestArrivalTimeParser = new DefaultRequestArrivalTimeParser();
+
     public static UrlCleaner getUrlCleaner() {
         return urlCleaner;
     }
@@ -60,4 +62,12 @@ public class WebCallbackManager {
     public static void setRequestOriginParser(RequestOriginParser requestOriginParser) {
         WebCallbackManager.requestOriginParser = requestOriginParser;
     }
+
+    public static RequestArrivalTimeParser getRequestArrivalTimeParser() {
+        return requestArrivalTimeParser;
+    }
+
+    public static void setRequestArrivalTimeParser(RequestArrivalTimeParser requestArrivalTimeParser) {
+        WebCallbackManager.requestArrivalTimeParser = requestArrivalTimeParser;
+    }
 }
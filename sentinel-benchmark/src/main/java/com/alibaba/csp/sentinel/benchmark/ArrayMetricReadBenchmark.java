@@ -0,0 +1,70 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.slots.statistic.metric.ArrayMetric;
+import com.alibaba.csp.sentinel.slots.statistic.metric.RollingSumArrayMetric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for reading the pass QPS (as flow checking does on every entry) from {@link ArrayMetric}
+ * and {@link RollingSumArrayMetric} with different sample counts.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ArrayMetricReadBenchmark {
+
+    @Param({"2", "10", "20"})
+    private int sampleCount;
+
+    private ArrayMetric arrayMetric;
+    private ArrayMetric rollingSumMetric;
+
+    @Setup
+    public void setUp() {
+        arrayMetric = new ArrayMetric(sampleCount, 1000);
+        rollingSumMetric = new RollingSumArrayMetric(sampleCount, 1000);
+    }
+
+    @Benchmark
+    public long arrayMetric() {
+        arrayMetric.addPass(1);
+        return arrayMetric.pass();
+    }
+
+    @Benchmark
+    public long rollingSumMetric() {
+        rollingSumMetric.addPass(1);
+        return rollingSumMetric.pass();
+    }
+}
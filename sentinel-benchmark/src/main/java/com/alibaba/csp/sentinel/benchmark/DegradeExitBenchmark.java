@@ -0,0 +1,93 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRuleManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the entry throughput of a resource with a slow ratio rule, an error ratio rule and an error
+ * count rule, where the circuit breakers share the statistics (the same statIntervalMs) or not
+ * (different statIntervalMs).
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class DegradeExitBenchmark {
+
+    private static final String RESOURCE_NAME = "benchmark-degrade-exit";
+
+    @Param({"true", "false"})
+    private boolean sharedStat;
+
+    @Setup
+    public void setUp() {
+        int delta = sharedStat ? 0 : 1;
+        DegradeRuleManager.loadRules(Arrays.asList(
+            new DegradeRule(RESOURCE_NAME).setGrade(RuleConstant.DEGRADE_GRADE_RT)
+                .setCount(1000).setSlowRatioThreshold(1).setTimeWindow(10).setStatIntervalMs(1000),
+            new DegradeRule(RESOURCE_NAME).setGrade(RuleConstant.DEGRADE_GRADE_EXCEPTION_RATIO)
+                .setCount(1).setTimeWindow(10).setStatIntervalMs(1000 + delta),
+            new DegradeRule(RESOURCE_NAME).setGrade(RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT)
+                .setCount(Integer.MAX_VALUE).setTimeWindow(10).setStatIntervalMs(1000 + 2 * delta)
+        ));
+    }
+
+    @TearDown
+    public void tearDown() {
+        DegradeRuleManager.loadRules(Collections.<DegradeRule>emptyList());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void testEntryExit() {
+        Entry e = null;
+        try {
+            e = SphU.entry(RESOURCE_NAME);
+        } catch (BlockException ex) {
+            // Should not happen, as the thresholds are never reached.
+        } finally {
+            if (e != null) {
+                e.exit();
+            }
+        }
+    }
+}
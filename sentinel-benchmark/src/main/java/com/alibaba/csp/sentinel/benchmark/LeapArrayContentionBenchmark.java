@@ -0,0 +1,133 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
+import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
+import com.alibaba.csp.sentinel.slots.statistic.metric.BucketLeapArray;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for updating the sliding window of a single hot resource from 32 and 64 threads,
+ * comparing the CAS-based window rotation of {@link BucketLeapArray} with the former rotation
+ * guarded by an update lock (where threads yield when failing to get the lock).</p>
+ * <p>Small window lengths make the buckets rotate frequently, so that the rotation contention dominates.</p>
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class LeapArrayContentionBenchmark {
+
+    private static final int SAMPLE_COUNT = 2;
+
+    @Param({"1", "10", "500"})
+    private int windowLengthInMs;
+
+    private BucketLeapArray leapArray;
+    private BucketLeapArray lockingLeapArray;
+
+    @Setup
+    public void setUp() {
+        leapArray = new BucketLeapArray(SAMPLE_COUNT, SAMPLE_COUNT * windowLengthInMs);
+        lockingLeapArray = new LockingBucketLeapArray(SAMPLE_COUNT, SAMPLE_COUNT * windowLengthInMs);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void casRotation32() {
+        leapArray.currentWindow().value().addPass(1);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void casRotation64() {
+        leapArray.currentWindow().value().addPass(1);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void lockRotation32() {
+        lockingLeapArray.currentWindow().value().addPass(1);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void lockRotation64() {
+        lockingLeapArray.currentWindow().value().addPass(1);
+    }
+
+    /**
+     * The former implementation which resets deprecated buckets in place under an update lock.
+     */
+    static class LockingBucketLeapArray extends BucketLeapArray {
+
+        private final ReentrantLock updateLock = new ReentrantLock();
+
+        LockingBucketLeapArray(int sampleCount, int intervalInMs) {
+            super(sampleCount, intervalInMs);
+        }
+
+        @Override
+        public WindowWrap<MetricBucket> currentWindow(long timeMillis) {
+            int idx = (int)((timeMillis / windowLengthInMs) % array.length());
+            long windowStart = calculateWindowStart(timeMillis);
+            while (true) {
+                WindowWrap<MetricBucket> old = array.get(idx);
+                if (old == null) {
+                    WindowWrap<MetricBucket> window = new WindowWrap<MetricBucket>(windowLengthInMs, windowStart,
+                        newEmptyBucket(timeMillis));
+                    if (array.compareAndSet(idx, null, window)) {
+                        return window;
+                    } else {
+                        Thread.yield();
+                    }
+                } else if (windowStart == old.windowStart()) {
+                    return old;
+                } else if (windowStart > old.windowStart()) {
+                    if (updateLock.tryLock()) {
+                        try {
+                            return resetWindowTo(old, windowStart);
+                        } finally {
+                            updateLock.unlock();
+                        }
+                    } else {
+                        Thread.yield();
+                    }
+                } else {
+                    return new WindowWrap<MetricBucket>(windowLengthInMs, windowStart, newEmptyBucket(timeMillis));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
+import com.alibaba.csp.sentinel.slots.statistic.data.StripedMetricBucket;
+import com.alibaba.csp.sentinel.slots.statistic.metric.ArrayMetric;
+import com.alibaba.csp.sentinel.slots.statistic.metric.BucketLeapArray;
+import com.alibaba.csp.sentinel.slots.statistic.metric.Metric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for recording statistics of a single resource (as the statistic slot does on each entry and exit)
+ * via {@link Metric} backed by the adder-based {@link MetricBucket} and {@link StripedMetricBucket}.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MetricBucketBenchmark {
+
+    @Param({"adder", "striped"})
+    private String bucketType;
+
+    private Metric metric;
+
+    @Setup
+    public void setUp() {
+        final boolean striped = "striped".equals(bucketType);
+        metric = new ArrayMetric(new BucketLeapArray(2, 1000) {
+            @Override
+            public MetricBucket newEmptyBucket(long time) {
+                return striped ? new StripedMetricBucket() : new MetricBucket();
+            }
+        });
+    }
+
+    private long record() {
+        metric.addPass(1);
+        metric.addSuccess(1);
+        metric.addRT(5);
+        return metric.pass();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long record1() {
+        return record();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long record8() {
+        return record();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public long record32() {
+        return record();
+    }
+}
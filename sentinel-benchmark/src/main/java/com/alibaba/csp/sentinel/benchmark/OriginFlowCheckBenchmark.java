@@ -0,0 +1,112 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the entry throughput of a resource with many origin-specific flow rules
+ * (plus an {@code other} rule and a {@code default} rule).
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class OriginFlowCheckBenchmark {
+
+    private static final String RESOURCE_NAME = "benchmark-origin-flow-check";
+    private static final String CONTEXT_NAME = "benchmark-origin-flow-check-context";
+
+    @Param({"1", "10", "50"})
+    private int originCount;
+
+    private String knownOrigin;
+
+    @Setup
+    public void setUp() {
+        List<FlowRule> rules = new ArrayList<>(originCount + 2);
+        for (int i = 0; i < originCount; i++) {
+            FlowRule rule = new FlowRule(RESOURCE_NAME).setCount(Integer.MAX_VALUE);
+            rule.setLimitApp("benchmark-app-" + i);
+            rules.add(rule);
+        }
+        FlowRule otherRule = new FlowRule(RESOURCE_NAME).setCount(Integer.MAX_VALUE);
+        otherRule.setLimitApp(RuleConstant.LIMIT_APP_OTHER);
+        rules.add(otherRule);
+        rules.add(new FlowRule(RESOURCE_NAME).setCount(Integer.MAX_VALUE));
+        FlowRuleManager.loadRules(rules);
+
+        knownOrigin = "benchmark-app-" + (originCount - 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        FlowRuleManager.loadRules(null);
+    }
+
+    private static void doEntry(String origin) {
+        ContextUtil.enter(CONTEXT_NAME, origin);
+        Entry e = null;
+        try {
+            e = SphU.entry(RESOURCE_NAME);
+        } catch (BlockException ex) {
+            // Should not happen, as the threshold is large enough.
+        } finally {
+            if (e != null) {
+                e.exit();
+            }
+            ContextUtil.exit();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testKnownOrigin() {
+        doEntry(knownOrigin);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testOtherOrigin() {
+        doEntry("benchmark-app-unknown");
+    }
+}
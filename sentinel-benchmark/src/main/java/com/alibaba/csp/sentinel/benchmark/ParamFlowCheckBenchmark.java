@@ -0,0 +1,123 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowChecker;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowRuleUtil;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParameterMetricStorage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the parameter flow checking of {@code long} IDs, via the primitive fast path ({@code long}),
+ * or the object path (the same IDs wrapped in an object key, i.e. the LRU maps with boxed counters).
+ * Both paths are checked with random IDs, and with a single hot ID contended by several threads.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ParamFlowCheckBenchmark {
+
+    private static final String RESOURCE_NAME = "benchmark-param-flow-check";
+    /**
+     * High enough not to block, and low enough to keep the buckets packed in both paths.
+     */
+    private static final int THRESHOLD = 10000000;
+
+    @Param({"long", "object"})
+    private String keyType;
+
+    /**
+     * Amount of distinct IDs. The LRU maps hold 4000 values for the rule.
+     */
+    @Param({"1000", "100000"})
+    private int distinctCount;
+
+    private final ResourceWrapper resourceWrapper = new StringResourceWrapper(RESOURCE_NAME, EntryType.IN);
+    private ParamFlowRule rule;
+    private Object[] values;
+
+    @Setup
+    public void setUp() {
+        rule = new ParamFlowRule(RESOURCE_NAME).setParamIdx(0).setCount(THRESHOLD);
+        ParamFlowRuleUtil.fillExceptionFlowItems(rule);
+        ParameterMetricStorage.initParamMetricsFor(resourceWrapper, rule);
+
+        values = new Object[distinctCount];
+        for (int i = 0; i < distinctCount; i++) {
+            long id = 10000000000L + i * 7919L;
+            // The arguments are always boxed by the caller, so box the IDs beforehand for both paths.
+            values[i] = "long".equals(keyType) ? Long.valueOf(id) : new IdKey(id);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ParameterMetricStorage.clearParamMetricForResource(RESOURCE_NAME);
+    }
+
+    @Benchmark
+    public boolean passCheck() {
+        Object value = values[ThreadLocalRandom.current().nextInt(distinctCount)];
+        return ParamFlowChecker.passCheck(resourceWrapper, rule, 1, value);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean passCheckContendedHotKey() {
+        return ParamFlowChecker.passCheck(resourceWrapper, rule, 1, values[0]);
+    }
+
+    private static final class IdKey {
+        private final long id;
+
+        private IdKey(long id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IdKey && ((IdKey)o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int)(id ^ (id >>> 32));
+        }
+    }
+}
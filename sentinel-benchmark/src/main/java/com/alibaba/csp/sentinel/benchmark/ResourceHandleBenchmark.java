@@ -0,0 +1,96 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.ResourceHandle;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for entering resources via pre-resolved {@link ResourceHandle} compared with
+ * entering via resource names. A number of resources are registered in advance so that
+ * the slot chain map is populated as in real applications.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ResourceHandleBenchmark {
+
+    private static final String RESOURCE_PREFIX = "benchmark-handle-";
+
+    @Param({"100", "5000"})
+    private int resourceCount;
+
+    private ResourceHandle handle;
+    private String resourceName;
+
+    @Setup
+    public void setUp() throws BlockException {
+        for (int i = 0; i < resourceCount; i++) {
+            SphU.entry(RESOURCE_PREFIX + i, EntryType.IN).exit();
+        }
+        resourceName = RESOURCE_PREFIX + (resourceCount / 2);
+        handle = SphU.handle(resourceName, EntryType.IN);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testEntryByName() throws BlockException {
+        Entry e = SphU.entry(resourceName, EntryType.IN);
+        e.exit();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testEntryByHandle() throws BlockException {
+        Entry e = handle.entry();
+        e.exit();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void test4ThreadsEntryByName() throws BlockException {
+        Entry e = SphU.entry(resourceName, EntryType.IN);
+        e.exit();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void test4ThreadsEntryByHandle() throws BlockException {
+        Entry e = handle.entry();
+        e.exit();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.concurrent.ConcurrentRegistry;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>Benchmark for registering a large amount of resources which are discovered concurrently
+ * (e.g. resources of RESTful URLs with path variables), comparing {@link ConcurrentRegistry}
+ * with the former copy-on-write map guarded by a global lock.</p>
+ * <p>Each iteration measures the time of registering all the resources to an empty registry,
+ * and the resources are split among the benchmark threads.</p>
+ * <p>Note that the amount of slot chains is limited by {@code Constants.MAX_SLOT_CHAIN_SIZE} (6000)
+ * in {@code CtSph}, so the registries are benchmarked directly rather than via {@code SphU}.</p>
+ */
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+@Threads(8)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ResourceRegistrationBenchmark {
+
+    private static final int THREAD_COUNT = 8;
+
+    private static final Function<ResourceWrapper, Object> FACTORY = new Function<ResourceWrapper, Object>() {
+        @Override
+        public Object apply(ResourceWrapper resourceWrapper) {
+            return new Object();
+        }
+    };
+
+    @Param({"10000", "50000"})
+    private int resourceCount;
+
+    private ResourceWrapper[] resources;
+
+    private final AtomicInteger threadIndex = new AtomicInteger();
+
+    private ConcurrentRegistry<ResourceWrapper, Object> registry;
+
+    private final Object lock = new Object();
+    private volatile Map<ResourceWrapper, Object> copyOnWriteMap;
+
+    @Setup
+    public void setUp() {
+        resources = new ResourceWrapper[resourceCount];
+        for (int i = 0; i < resourceCount; i++) {
+            resources[i] = new StringResourceWrapper("/api/users/" + i, EntryType.IN);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetRegistries() {
+        threadIndex.set(0);
+        registry = new ConcurrentRegistry<>();
+        copyOnWriteMap = new HashMap<>(8);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadSlice {
+        int from;
+        int to;
+
+        @Setup(Level.Iteration)
+        public void setUp(ResourceRegistrationBenchmark benchmark) {
+            int index = benchmark.threadIndex.getAndIncrement() % THREAD_COUNT;
+            int sliceSize = benchmark.resourceCount / THREAD_COUNT;
+            from = index * sliceSize;
+            to = index == THREAD_COUNT - 1 ? benchmark.resourceCount : from + sliceSize;
+        }
+    }
+
+    @Benchmark
+    public void concurrentRegistry(ThreadSlice slice, Blackhole blackhole) {
+        for (int i = slice.from; i < slice.to; i++) {
+            blackhole.consume(registry.getOrCreate(resources[i], FACTORY));
+        }
+    }
+
+    @Benchmark
+    public void copyOnWriteWithLock(ThreadSlice slice, Blackhole blackhole) {
+        for (int i = slice.from; i < slice.to; i++) {
+            ResourceWrapper resource = resources[i];
+            Object value = copyOnWriteMap.get(resource);
+            if (value == null) {
+                synchronized (lock) {
+                    value = copyOnWriteMap.get(resource);
+                    if (value == null) {
+                        value = FACTORY.apply(resource);
+                        Map<ResourceWrapper, Object> newMap = new HashMap<>(copyOnWriteMap.size() + 1);
+                        newMap.putAll(copyOnWriteMap);
+                        newMap.put(resource, value);
+                        copyOnWriteMap = newMap;
+                    }
+                }
+            }
+            blackhole.consume(value);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for applying a flow rule update where a single rule has been changed (as a config change from
+ * the data source), by rebuilding the whole rule map or building it incrementally against the current one.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class RuleApplyBenchmark {
+
+    @Param({"1000", "5000", "20000"})
+    private int ruleCount;
+
+    private Map<String, List<FlowRule>> currentRuleMap;
+    private List<FlowRule> updatedRules;
+
+    @Setup
+    public void setUp() {
+        currentRuleMap = FlowRuleUtil.buildFlowRuleMap(newRules(ruleCount, 10));
+        // Rules parsed from the data source are always new instances.
+        updatedRules = newRules(ruleCount, 10);
+        updatedRules.get(ruleCount / 2).setCount(20);
+    }
+
+    private static List<FlowRule> newRules(int ruleCount, double count) {
+        List<FlowRule> rules = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            rules.add(new FlowRule("benchmark-rule-apply-" + i)
+                .setCount(count)
+                .setControlBehavior(i % 2 == 0 ? RuleConstant.CONTROL_BEHAVIOR_WARM_UP
+                    : RuleConstant.CONTROL_BEHAVIOR_DEFAULT)
+                .setWarmUpPeriodSec(10));
+        }
+        return rules;
+    }
+
+    @Benchmark
+    public Map<String, List<FlowRule>> rebuildAll() {
+        return FlowRuleUtil.buildFlowRuleMap(updatedRules);
+    }
+
+    @Benchmark
+    public Map<String, List<FlowRule>> buildIncrementally() {
+        return FlowRuleUtil.buildFlowRuleMapIncrementally(updatedRules, currentRuleMap);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark for allocation of the synchronous entry path, with and without the per-thread entry cache
+ * ({@code csp.sentinel.entry.cache.enabled}). Run with the GC profiler ({@code -prof gc}) and compare
+ * the {@code gc.alloc.rate.norm} (bytes/op) of the pass path.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class SentinelEntryCacheBenchmark {
+
+    private static final String RESOURCE_NAME = "benchmark-entry-cache";
+
+    private void entryAndExit() {
+        Entry e = null;
+        try {
+            e = SphU.entry(RESOURCE_NAME);
+        } catch (BlockException ex) {
+            // Should not happen, as no rule is loaded.
+        } finally {
+            if (e != null) {
+                e.exit();
+            }
+        }
+    }
+
+    private void nestedEntryAndExit() {
+        Entry e1 = null;
+        Entry e2 = null;
+        try {
+            e1 = SphU.entry(RESOURCE_NAME);
+            e2 = SphU.entry(RESOURCE_NAME + "-nested");
+        } catch (BlockException ex) {
+            // Should not happen, as no rule is loaded.
+        } finally {
+            if (e2 != null) {
+                e2.exit();
+            }
+            if (e1 != null) {
+                e1.exit();
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Fork(value = 1, jvmArgsAppend = "-Dcsp.sentinel.entry.cache.enabled=false")
+    public void testEntryWithoutCache() {
+        entryAndExit();
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Fork(value = 1, jvmArgsAppend = "-Dcsp.sentinel.entry.cache.enabled=true")
+    public void testEntryWithCache() {
+        entryAndExit();
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Fork(value = 1, jvmArgsAppend = "-Dcsp.sentinel.entry.cache.enabled=false")
+    public void testNestedEntryWithoutCache() {
+        nestedEntryAndExit();
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Fork(value = 1, jvmArgsAppend = "-Dcsp.sentinel.entry.cache.enabled=true")
+    public void testNestedEntryWithCache() {
+        nestedEntryAndExit();
+    }
+
+    @Benchmark
+    @Threads(4)
+    @Fork(value = 1, jvmArgsAppend = "-Dcsp.sentinel.entry.cache.enabled=true")
+    public void test4ThreadsEntryWithCache() {
+        entryAndExit();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(SentinelEntryCacheBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.authority.AuthorityRule;
+import com.alibaba.csp.sentinel.slots.block.authority.AuthorityRuleManager;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRuleManager;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.slots.system.SystemRule;
+import com.alibaba.csp.sentinel.slots.system.SystemRuleManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for entering a resource without any rules (whose rule checking slots are unlinked
+ * from the slot chain) compared with a resource with all types of rules. The thresholds of the rules
+ * are large enough, so that no request will be blocked.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SlotChainSpecializationBenchmark {
+
+    private static final String NO_RULE_RESOURCE = "benchmark-no-rule";
+    private static final String ALL_RULE_RESOURCE = "benchmark-all-rules";
+
+    @Setup
+    public void setUp() {
+        FlowRule flowRule = new FlowRule(ALL_RULE_RESOURCE)
+            .setGrade(RuleConstant.FLOW_GRADE_QPS)
+            .setCount(Integer.MAX_VALUE);
+        FlowRuleManager.loadRules(Collections.singletonList(flowRule));
+
+        DegradeRule degradeRule = new DegradeRule(ALL_RULE_RESOURCE)
+            .setGrade(RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT)
+            .setCount(Integer.MAX_VALUE)
+            .setTimeWindow(10);
+        DegradeRuleManager.loadRules(Collections.singletonList(degradeRule));
+
+        AuthorityRule authorityRule = new AuthorityRule();
+        authorityRule.setResource(ALL_RULE_RESOURCE);
+        authorityRule.setStrategy(RuleConstant.AUTHORITY_BLACK);
+        authorityRule.setLimitApp("appA,appB");
+        AuthorityRuleManager.loadRules(Collections.singletonList(authorityRule));
+
+        // System rules are global, only inbound traffic of resources will be checked.
+        SystemRule systemRule = new SystemRule();
+        systemRule.setQps(Integer.MAX_VALUE);
+        SystemRuleManager.loadRules(Collections.singletonList(systemRule));
+    }
+
+    @TearDown
+    public void tearDown() {
+        FlowRuleManager.loadRules(null);
+        DegradeRuleManager.loadRules(null);
+        AuthorityRuleManager.loadRules(null);
+        SystemRuleManager.loadRules(null);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testNoRuleResource() throws BlockException {
+        Entry e = SphU.entry(NO_RULE_RESOURCE, EntryType.OUT);
+        e.exit();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testAllRulesResource() throws BlockException {
+        Entry e = SphU.entry(ALL_RULE_RESOURCE, EntryType.IN);
+        e.exit();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void test4ThreadsNoRuleResource() throws BlockException {
+        Entry e = SphU.entry(NO_RULE_RESOURCE, EntryType.OUT);
+        e.exit();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void test4ThreadsAllRulesResource() throws BlockException {
+        Entry e = SphU.entry(ALL_RULE_RESOURCE, EntryType.IN);
+        e.exit();
+    }
+}
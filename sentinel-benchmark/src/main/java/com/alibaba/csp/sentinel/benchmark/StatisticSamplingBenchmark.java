@@ -0,0 +1,100 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.slots.statistic.StatisticSampler;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the entry throughput with different sample intervals of the completion statistics
+ * (see {@link StatisticSampler}). The relative error (in percent) of the estimated total success count
+ * (against the exact pass count of the same window, as every passed entry completes successfully) is
+ * reported as the {@code estimationErrorPercent} secondary metric.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class StatisticSamplingBenchmark {
+
+    private static final String RESOURCE_NAME = "benchmark-statistic-sampling";
+
+    @Param({"1", "4", "16", "64"})
+    private int sampleInterval;
+
+    @Setup
+    public void setUp() {
+        StatisticSampler.setSampleInterval(RESOURCE_NAME, sampleInterval);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EstimationError {
+
+        public double estimationErrorPercent;
+
+        @TearDown(Level.Iteration)
+        public void calculate() {
+            ClusterNode node = ClusterBuilderSlot.getClusterNode(RESOURCE_NAME);
+            if (node == null) {
+                return;
+            }
+            long pass = node.totalPass();
+            if (pass > 0) {
+                estimationErrorPercent = Math.abs(node.totalSuccess() - pass) * 100.0 / pass;
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testEntry(EstimationError error) {
+        Entry e = null;
+        try {
+            e = SphU.entry(RESOURCE_NAME);
+        } catch (BlockException ex) {
+            // Should not happen, as no rule is loaded.
+        } finally {
+            if (e != null) {
+                e.exit();
+            }
+        }
+    }
+}
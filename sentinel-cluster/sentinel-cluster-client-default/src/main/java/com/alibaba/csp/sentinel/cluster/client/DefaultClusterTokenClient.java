@@ -16,6 +16,7 @@
 package com.alibaba.csp.sentinel.cluster.client;
 
 import java.util.Collection;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.alibaba.csp.sentinel.cluster.ClusterConstants;
@@ -26,13 +27,17 @@ import com.alibaba.csp.sentinel.cluster.TokenResultStatus;
 import com.alibaba.csp.sentinel.cluster.TokenServerDescriptor;
 import com.alibaba.csp.sentinel.cluster.client.config.ClusterClientAssignConfig;
 import com.alibaba.csp.sentinel.cluster.client.config.ClusterClientConfigManager;
+import com.alibaba.csp.sentinel.cluster.client.config.ClusterClientStartUpConfig;
 import com.alibaba.csp.sentinel.cluster.client.config.ServerChangeObserver;
 import com.alibaba.csp.sentinel.cluster.log.ClusterClientStatLogUtil;
 import com.alibaba.csp.sentinel.cluster.request.ClusterRequest;
+import com.alibaba.csp.sentinel.cluster.request.data.FlowLeaseRequestData;
 import com.alibaba.csp.sentinel.cluster.request.data.FlowRequestData;
 import com.alibaba.csp.sentinel.cluster.request.data.ParamFlowRequestData;
 import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+import com.alibaba.csp.sentinel.cluster.response.data.FlowLeaseResponseData;
 import com.alibaba.csp.sentinel.cluster.response.data.FlowTokenResponseData;
+import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.util.StringUtil;
 
@@ -49,7 +54,30 @@ public class DefaultClusterTokenClient implements ClusterTokenClient {
 
     private final AtomicBoolean shouldStart = new AtomicBoolean(false);
 
+    /**
+     * Token leases of cluster flow rules, which is null if token leasing is disabled.
+     */
+    private final TokenLeaseManager leaseManager;
+
     public DefaultClusterTokenClient() {
+        this.leaseManager = ClusterClientStartUpConfig.isTokenLeaseEnabled() ? new TokenLeaseManager(
+            new TokenLeaseManager.LeaseRequester() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public ClusterResponse<FlowLeaseResponseData> requestLease(long flowId, int acquireCount,
+                                                                           int leaseCount, int returnedCount,
+                                                                           long returnedGrantTime) throws Exception {
+                    if (transportClient == null) {
+                        throw new IllegalStateException("client not created");
+                    }
+                    FlowLeaseRequestData data = new FlowLeaseRequestData().setFlowId(flowId)
+                        .setAcquireCount(acquireCount).setLeaseCount(leaseCount).setReturnedCount(returnedCount)
+                        .setReturnedGrantTime(returnedGrantTime);
+                    return transportClient.sendRequest(
+                        new ClusterRequest<>(ClusterConstants.MSG_TYPE_FLOW_LEASE, data));
+                }
+            }, Executors.newSingleThreadExecutor(new NamedThreadFactory("sentinel-cluster-token-lease-task", true)))
+            : null;
         ClusterClientConfigManager.addServerChangeObserver(new ServerChangeObserver() {
             @Override
             public void onRemoteServerChange(ClusterClientAssignConfig assignConfig) {
@@ -93,6 +121,10 @@ public class DefaultClusterTokenClient implements ClusterTokenClient {
             if (transportClient != null) {
                 transportClient.stop();
             }
+            if (leaseManager != null) {
+                // Tokens leased from the previous server are not valid anymore.
+                leaseManager.clear();
+            }
             // Replace with new, even if the new client is not ready.
             this.transportClient = new NettyTransportClient(config.getServerHost(), config.getServerPort());
             this.serverDescriptor = new TokenServerDescriptor(config.getServerHost(), config.getServerPort());
@@ -151,6 +183,13 @@ public class DefaultClusterTokenClient implements ClusterTokenClient {
         if (notValidRequest(flowId, acquireCount)) {
             return badRequest();
         }
+        if (leaseManager != null && !prioritized) {
+            TokenResult result = leaseManager.requestToken(flowId, acquireCount);
+            if (result != null) {
+                logForResult(result);
+                return result;
+            }
+        }
         FlowRequestData data = new FlowRequestData().setCount(acquireCount)
             .setFlowId(flowId).setPriority(prioritized);
         ClusterRequest<FlowRequestData> request = new ClusterRequest<>(ClusterConstants.MSG_TYPE_FLOW, data);
@@ -0,0 +1,255 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.client;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.csp.sentinel.cluster.TokenResult;
+import com.alibaba.csp.sentinel.cluster.TokenResultStatus;
+import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+import com.alibaba.csp.sentinel.cluster.response.data.FlowLeaseResponseData;
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * <p>Token leases of cluster flow rules on the client side. Instead of requesting the token server for every
+ * invocation, the client leases a batch of tokens and spends them locally:</p>
+ * <ul>
+ * <li>The lease size is the recent demand of the rule within the lease TTL (with some headroom), which will be
+ * cut down by the server to {@code maxLeaseRatio} of the global threshold.</li>
+ * <li>When the tokens left fall below a quarter of the lease, a new lease is requested asynchronously,
+ * so that the invocations do not wait for the server.</li>
+ * <li>When the lease is used up or expired, a new lease is requested synchronously by one invocation, while
+ * the others request tokens one by one rather than waiting for it. The unused tokens are given back with the
+ * grant time of the lease, so that the server can grant them to other clients in the window.</li>
+ * </ul>
+ * <p>If the server does not support leasing (or fails), the tokens of the rule are requested one by one for
+ * a while.</p>
+ *
+ * @since 2.0.0
+ */
+final class TokenLeaseManager {
+
+    static final int DEFAULT_LEASE_TTL_MS = 200;
+    static final long RETRY_INTERVAL_MS = 10 * 1000;
+
+    private static final double LEASE_HEADROOM = 1.5;
+    /**
+     * Min time span to estimate the demand rate, to avoid huge leases from a few invocations in a short time.
+     */
+    private static final long MIN_SAMPLE_MS = 10;
+
+    private final LeaseRequester requester;
+    private final ExecutorService renewExecutor;
+    private final ConcurrentMap<Long, TokenLease> leases = new ConcurrentHashMap<>();
+
+    TokenLeaseManager(LeaseRequester requester, ExecutorService renewExecutor) {
+        this.requester = requester;
+        this.renewExecutor = renewExecutor;
+    }
+
+    /**
+     * Acquire tokens from the lease of the flow rule, or lease new tokens from the server if not enough.
+     *
+     * @param flowId       cluster flow ID
+     * @param acquireCount count to acquire
+     * @return the token result, or null if leasing is not available and the token should be requested as usual
+     */
+    TokenResult requestToken(long flowId, int acquireCount) {
+        long currentTime = TimeUtil.currentTimeMillis();
+        TokenLease lease = leases.get(flowId);
+        if (lease == null) {
+            TokenLease newLease = new TokenLease(currentTime);
+            lease = leases.putIfAbsent(flowId, newLease);
+            if (lease == null) {
+                lease = newLease;
+            }
+        }
+        if (currentTime < lease.disabledUntil) {
+            return null;
+        }
+        lease.demand.addAndGet(acquireCount);
+
+        if (currentTime < lease.expireAt) {
+            int left = lease.tryConsume(acquireCount);
+            if (left >= 0) {
+                if (left < lease.lowWatermark && lease.renewing.compareAndSet(false, true)) {
+                    renewAsync(flowId, lease);
+                }
+                return new TokenResult(TokenResultStatus.OK).setRemaining(left).setWaitInMs(0);
+            }
+        }
+        if (!lease.renewing.compareAndSet(false, true)) {
+            // Another invocation is leasing tokens, so request the token as usual rather than waiting for it.
+            return null;
+        }
+        try {
+            return leaseSync(flowId, lease, acquireCount, currentTime);
+        } finally {
+            lease.renewing.set(false);
+        }
+    }
+
+    private TokenResult leaseSync(long flowId, TokenLease lease, int acquireCount, long currentTime) {
+        // The tokens are spent in order, so the unused ones are from the latest grant.
+        int returned = Math.min(lease.tokens.getAndSet(0), lease.granted);
+        int leaseCount = lease.nextLeaseCount(acquireCount, currentTime);
+        ClusterResponse<FlowLeaseResponseData> response;
+        try {
+            response = requester.requestLease(flowId, acquireCount, leaseCount, returned, lease.grantTime);
+        } catch (Exception ex) {
+            disable(flowId, lease, ex.getMessage());
+            return null;
+        }
+        FlowLeaseResponseData data = response.getData();
+        switch (response.getStatus()) {
+            case TokenResultStatus.OK:
+                if (data == null) {
+                    disable(flowId, lease, "no response data");
+                    return null;
+                }
+                lease.grant(data.getGrantedCount() - acquireCount, data);
+                return new TokenResult(TokenResultStatus.OK).setRemaining(lease.tokens.get()).setWaitInMs(0);
+            case TokenResultStatus.FAIL:
+            case TokenResultStatus.BAD_REQUEST:
+                disable(flowId, lease, "status " + response.getStatus());
+                return null;
+            default:
+                return new TokenResult(response.getStatus());
+        }
+    }
+
+    private void renewAsync(final long flowId, final TokenLease lease) {
+        try {
+            renewExecutor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        int leaseCount = lease.nextLeaseCount(0, TimeUtil.currentTimeMillis());
+                        ClusterResponse<FlowLeaseResponseData> response = requester.requestLease(flowId, 0,
+                            leaseCount, 0, 0);
+                        FlowLeaseResponseData data = response.getData();
+                        if (response.getStatus() == TokenResultStatus.OK && data != null) {
+                            lease.grant(data.getGrantedCount(), data);
+                        }
+                    } catch (Throwable ex) {
+                        // Ignore, as new tokens will be leased synchronously when the lease is used up.
+                    } finally {
+                        lease.renewing.set(false);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            lease.renewing.set(false);
+        }
+    }
+
+    private void disable(long flowId, TokenLease lease, String reason) {
+        RecordLog.warn("[TokenLeaseManager] Failed to lease tokens of flow {} ({}), requesting tokens one by one"
+            + " in {} ms", flowId, reason, RETRY_INTERVAL_MS);
+        lease.disabledUntil = TimeUtil.currentTimeMillis() + RETRY_INTERVAL_MS;
+    }
+
+    /**
+     * Drop all the leases, e.g. when the token server has changed.
+     */
+    void clear() {
+        leases.clear();
+    }
+
+    int getTokens(long flowId) {
+        TokenLease lease = leases.get(flowId);
+        return lease == null ? 0 : lease.tokens.get();
+    }
+
+    interface LeaseRequester {
+
+        /**
+         * Lease tokens from the token server.
+         *
+         * @param flowId            cluster flow ID
+         * @param acquireCount      count that the current invocation needs (0 for an asynchronous renewal)
+         * @param leaseCount        count of tokens to lease
+         * @param returnedCount     count of unused tokens given back
+         * @param returnedGrantTime server time when the returned tokens were granted
+         * @return response with the granted count, the lease TTL and the grant time if passed
+         * @throws Exception if failed to communicate with the server
+         */
+        ClusterResponse<FlowLeaseResponseData> requestLease(long flowId, int acquireCount, int leaseCount,
+                                                            int returnedCount, long returnedGrantTime)
+            throws Exception;
+    }
+
+    private static final class TokenLease {
+        private final AtomicInteger tokens = new AtomicInteger();
+        private final AtomicBoolean renewing = new AtomicBoolean();
+        private volatile long expireAt = 0;
+        private volatile int ttlMs = DEFAULT_LEASE_TTL_MS;
+        private volatile int lowWatermark = 0;
+        /**
+         * Count and server time of the latest grant.
+         */
+        private volatile int granted = 0;
+        private volatile long grantTime = 0;
+        private volatile long disabledUntil = 0;
+
+        /**
+         * Count acquired since the last lease request.
+         */
+        private final AtomicInteger demand = new AtomicInteger();
+        private volatile long demandStart;
+
+        private TokenLease(long currentTime) {
+            this.demandStart = currentTime;
+        }
+
+        private int tryConsume(int count) {
+            while (true) {
+                int current = tokens.get();
+                if (current < count) {
+                    return -1;
+                }
+                if (tokens.compareAndSet(current, current - count)) {
+                    return current - count;
+                }
+            }
+        }
+
+        private int nextLeaseCount(int acquireCount, long currentTime) {
+            long elapsed = Math.max(currentTime - demandStart, MIN_SAMPLE_MS);
+            demandStart = currentTime;
+            double rate = (double)demand.getAndSet(0) / elapsed;
+            double count = Math.ceil(rate * ttlMs * LEASE_HEADROOM);
+            return (int)Math.max(Math.max(acquireCount, 1), Math.min(count, Integer.MAX_VALUE));
+        }
+
+        private void grant(int newTokens, FlowLeaseResponseData data) {
+            if (data.getTtlMs() > 0) {
+                this.ttlMs = data.getTtlMs();
+            }
+            granted = data.getGrantedCount();
+            grantTime = data.getGrantTime();
+            tokens.addAndGet(newTokens);
+            lowWatermark = granted / 4;
+            expireAt = TimeUtil.currentTimeMillis() + this.ttlMs;
+        }
+    }
+}
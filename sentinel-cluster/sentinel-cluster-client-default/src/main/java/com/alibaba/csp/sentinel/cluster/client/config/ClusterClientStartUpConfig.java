@@ -29,6 +29,7 @@ import com.alibaba.csp.sentinel.log.RecordLog;
 public class ClusterClientStartUpConfig {
 
     private static final String MAX_PARAM_BYTE_SIZE = "csp.sentinel.cluster.max.param.byte.size";
+    private static final String TOKEN_LEASE_ENABLED = "csp.sentinel.cluster.client.token.lease.enabled";
 
     /**
      * Get the max bytes params can be serialized
@@ -45,5 +46,14 @@ public class ClusterClientStartUpConfig {
         }
     }
 
-
+    /**
+     * Whether the client should lease a batch of tokens from the token server and spend them locally,
+     * rather than requesting the server for every invocation.
+     *
+     * @return true if token leasing is enabled, false by default
+     * @since 2.0.0
+     */
+    public static boolean isTokenLeaseEnabled() {
+        return Boolean.parseBoolean(SentinelConfig.getConfig(TOKEN_LEASE_ENABLED));
+    }
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.client;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.cluster.TokenResult;
+import com.alibaba.csp.sentinel.cluster.TokenResultStatus;
+import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+import com.alibaba.csp.sentinel.cluster.response.data.FlowLeaseResponseData;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link TokenLeaseManager}.
+ */
+public class TokenLeaseManagerTest {
+
+    private final long flowId = 1001L;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSpendLeasedTokensLocally() throws Exception {
+        FakeRequester requester = new FakeRequester(TokenResultStatus.OK, 10, 10000);
+        TokenLeaseManager manager = new TokenLeaseManager(requester, executor);
+
+        for (int i = 0; i < 6; i++) {
+            TokenResult result = manager.requestToken(flowId, 1);
+            assertEquals(TokenResultStatus.OK, (int) result.getStatus());
+        }
+        // Only the first invocation requests the server.
+        assertEquals(1, requester.requests.size());
+        assertEquals(4, manager.getTokens(flowId));
+
+        // Renew asynchronously when the tokens left fall below a quarter of the lease.
+        for (int i = 0; i < 3; i++) {
+            manager.requestToken(flowId, 1);
+        }
+        executor.submit(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }).get(1, TimeUnit.SECONDS);
+        assertEquals(2, requester.requests.size());
+        assertEquals(0, requester.requests.get(1)[0]);
+        assertEquals(11, manager.getTokens(flowId));
+    }
+
+    @Test
+    public void testReturnUnusedTokens() throws Exception {
+        FakeRequester requester = new FakeRequester(TokenResultStatus.OK, 10, 50);
+        TokenLeaseManager manager = new TokenLeaseManager(requester, executor);
+
+        manager.requestToken(flowId, 1);
+        Thread.sleep(60);
+        // The lease has expired, so the unused tokens are given back with the new lease request.
+        assertEquals(TokenResultStatus.OK, (int) manager.requestToken(flowId, 1).getStatus());
+        assertEquals(2, requester.requests.size());
+        assertEquals(9, requester.requests.get(1)[2]);
+        // The grant time of the previous lease is sent back with the unused tokens.
+        assertEquals(FakeRequester.GRANT_TIME_BASE + 1, requester.requests.get(1)[3]);
+        assertEquals(9, manager.getTokens(flowId));
+    }
+
+    @Test
+    public void testLeaseSyncSingleFlight() throws Exception {
+        final FakeRequester requester = new FakeRequester(TokenResultStatus.OK, 10, 10000);
+        final CountDownLatch leasing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        requester.leasing = leasing;
+        requester.release = release;
+        final TokenLeaseManager manager = new TokenLeaseManager(requester, executor);
+
+        ExecutorService leaseThread = Executors.newSingleThreadExecutor();
+        try {
+            Future<TokenResult> future = leaseThread.submit(new Callable<TokenResult>() {
+                @Override
+                public TokenResult call() {
+                    return manager.requestToken(flowId, 1);
+                }
+            });
+            assertTrue(leasing.await(1, TimeUnit.SECONDS));
+            // Other invocations request tokens one by one rather than waiting for the lease.
+            assertNull(manager.requestToken(flowId, 1));
+            assertNull(manager.requestToken(flowId, 1));
+
+            release.countDown();
+            assertEquals(TokenResultStatus.OK, (int) future.get(1, TimeUnit.SECONDS).getStatus());
+            assertEquals(1, requester.requests.size());
+            assertEquals(TokenResultStatus.OK, (int) manager.requestToken(flowId, 1).getStatus());
+            assertEquals(1, requester.requests.size());
+        } finally {
+            leaseThread.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBlockedByServer() {
+        FakeRequester requester = new FakeRequester(TokenResultStatus.BLOCKED, 0, 0);
+        TokenLeaseManager manager = new TokenLeaseManager(requester, executor);
+
+        assertEquals(TokenResultStatus.BLOCKED, (int) manager.requestToken(flowId, 1).getStatus());
+        assertEquals(TokenResultStatus.BLOCKED, (int) manager.requestToken(flowId, 1).getStatus());
+        assertEquals(2, requester.requests.size());
+    }
+
+    @Test
+    public void testFallbackIfNotSupported() {
+        FakeRequester requester = new FakeRequester(TokenResultStatus.FAIL, 0, 0);
+        TokenLeaseManager manager = new TokenLeaseManager(requester, executor);
+
+        assertNull(manager.requestToken(flowId, 1));
+        // Do not try leasing again for a while.
+        assertNull(manager.requestToken(flowId, 1));
+        assertEquals(1, requester.requests.size());
+
+        // Only the rule that failed is disabled.
+        requester.status = TokenResultStatus.OK;
+        assertEquals(TokenResultStatus.OK, (int) manager.requestToken(flowId + 1, 1).getStatus());
+        assertNull(manager.requestToken(flowId, 1));
+        assertEquals(2, requester.requests.size());
+
+        manager.clear();
+        requester.status = TokenResultStatus.OK;
+        assertEquals(TokenResultStatus.OK, (int) manager.requestToken(flowId, 1).getStatus());
+    }
+
+    private static class FakeRequester implements TokenLeaseManager.LeaseRequester {
+
+        private static final long GRANT_TIME_BASE = 1000;
+
+        private final List<long[]> requests = new ArrayList<>();
+        private volatile int status;
+        private volatile CountDownLatch leasing;
+        private volatile CountDownLatch release;
+        private final int grantCount;
+        private final int ttlMs;
+
+        FakeRequester(int status, int grantCount, int ttlMs) {
+            this.status = status;
+            this.grantCount = grantCount;
+            this.ttlMs = ttlMs;
+        }
+
+        @Override
+        public ClusterResponse<FlowLeaseResponseData> requestLease(long flowId, int acquireCount, int leaseCount,
+                                                                   int returnedCount, long returnedGrantTime)
+            throws Exception {
+            int size;
+            synchronized (this) {
+                requests.add(new long[] {acquireCount, leaseCount, returnedCount, returnedGrantTime});
+                size = requests.size();
+            }
+            if (leasing != null) {
+                leasing.countDown();
+                release.await(1, TimeUnit.SECONDS);
+            }
+            return new ClusterResponse<>(0, 0, status, new FlowLeaseResponseData()
+                .setGrantedCount(grantCount).setTtlMs(ttlMs).setGrantTime(GRANT_TIME_BASE + size));
+        }
+    }
+}
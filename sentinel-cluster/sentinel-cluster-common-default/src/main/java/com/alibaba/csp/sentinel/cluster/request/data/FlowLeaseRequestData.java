@@ -0,0 +1,99 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.request.data;
+
+/**
+ * Request data for leasing a batch of tokens of a cluster flow rule, which may be spent locally by the client.
+ *
+ * @since 2.0.0
+ */
+public class FlowLeaseRequestData {
+
+    private long flowId;
+    /**
+     * Count that the current invocation needs, which is 0 for an asynchronous renewal.
+     */
+    private int acquireCount;
+    /**
+     * Count of tokens that the client wants to lease (including the acquire count).
+     */
+    private int leaseCount;
+    /**
+     * Count of unused tokens of the previous lease that the client gives back.
+     */
+    private int returnedCount;
+    /**
+     * Server time when the previous lease was granted, so that the returned tokens are taken back from the bucket
+     * where they were granted.
+     */
+    private long returnedGrantTime;
+
+    public long getFlowId() {
+        return flowId;
+    }
+
+    public FlowLeaseRequestData setFlowId(long flowId) {
+        this.flowId = flowId;
+        return this;
+    }
+
+    public int getAcquireCount() {
+        return acquireCount;
+    }
+
+    public FlowLeaseRequestData setAcquireCount(int acquireCount) {
+        this.acquireCount = acquireCount;
+        return this;
+    }
+
+    public int getLeaseCount() {
+        return leaseCount;
+    }
+
+    public FlowLeaseRequestData setLeaseCount(int leaseCount) {
+        this.leaseCount = leaseCount;
+        return this;
+    }
+
+    public int getReturnedCount() {
+        return returnedCount;
+    }
+
+    public FlowLeaseRequestData setReturnedCount(int returnedCount) {
+        this.returnedCount = returnedCount;
+        return this;
+    }
+
+    public long getReturnedGrantTime() {
+        return returnedGrantTime;
+    }
+
+    public FlowLeaseRequestData setReturnedGrantTime(long returnedGrantTime) {
+        this.returnedGrantTime = returnedGrantTime;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "FlowLeaseRequestData{" +
+            "flowId=" + flowId +
+            ", acquireCount=" + acquireCount +
+            ", leaseCount=" + leaseCount +
+            ", returnedCount=" + returnedCount +
+            ", returnedGrantTime=" + returnedGrantTime +
+            '}';
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.response.data;
+
+/**
+ * Response data of a token lease request.
+ *
+ * @since 2.0.0
+ */
+public class FlowLeaseResponseData {
+
+    /**
+     * Count of tokens granted (including the acquire count).
+     */
+    private int grantedCount;
+    private int ttlMs;
+    /**
+     * Server time when the tokens were granted, which is sent back with the unused tokens of the lease.
+     */
+    private long grantTime;
+
+    public int getGrantedCount() {
+        return grantedCount;
+    }
+
+    public FlowLeaseResponseData setGrantedCount(int grantedCount) {
+        this.grantedCount = grantedCount;
+        return this;
+    }
+
+    public int getTtlMs() {
+        return ttlMs;
+    }
+
+    public FlowLeaseResponseData setTtlMs(int ttlMs) {
+        this.ttlMs = ttlMs;
+        return this;
+    }
+
+    public long getGrantTime() {
+        return grantTime;
+    }
+
+    public FlowLeaseResponseData setGrantTime(long grantTime) {
+        this.grantTime = grantTime;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "FlowLeaseResponseData{" +
+            "grantedCount=" + grantedCount +
+            ", ttlMs=" + ttlMs +
+            ", grantTime=" + grantTime +
+            '}';
+    }
+}
@@ -111,6 +111,59 @@ final class ClusterFlowChecker {
         }
     }
 
+    /**
+     * <p>Lease a batch of tokens for the client, which will be spent locally by the client within the lease TTL.
+     * The granted tokens are counted as passed at once, so the tokens granted in the window never exceed the
+     * threshold. Unused tokens of the previous lease are taken back from the bucket where they were granted, so no
+     * bucket would go negative, and they are dropped if that bucket has rotated out of the window.</p>
+     * <p>As a lease takes at most {@code maxLeaseRatio * threshold} tokens, the difference between the tokens
+     * granted and actually spent in the window is bounded by {@code clientCount * maxLeaseRatio * threshold}.</p>
+     *
+     * @param rule              valid cluster flow rule
+     * @param acquireCount      count that the current invocation needs (0 for an asynchronous renewal)
+     * @param leaseCount        count of tokens that the client wants to lease
+     * @param returnedCount     count of unused tokens of the previous lease
+     * @param returnedGrantTime time when the previous lease was granted
+     * @param grantTime         current time to grant the tokens
+     * @return result with the granted count as the remaining and the lease TTL as the waiting time if passed
+     */
+    static TokenResult acquireClusterTokenLease(/*@Valid*/ FlowRule rule, int acquireCount, int leaseCount,
+                                                int returnedCount, long returnedGrantTime, long grantTime) {
+        Long id = rule.getClusterConfig().getFlowId();
+
+        if (!allowProceed(id)) {
+            return new TokenResult(TokenResultStatus.TOO_MANY_REQUEST);
+        }
+
+        ClusterMetric metric = ClusterMetricStatistics.getMetric(id);
+        if (metric == null) {
+            return new TokenResult(TokenResultStatus.FAIL);
+        }
+
+        if (returnedCount > 0) {
+            metric.takeBack(ClusterFlowEvent.PASS, returnedCount, returnedGrantTime);
+        }
+        double latestQps = metric.getAvg(ClusterFlowEvent.PASS);
+        double globalThreshold = calcGlobalThreshold(rule) * ClusterServerConfigManager.getExceedCount();
+        double maxLease = Math.max(acquireCount, globalThreshold * ClusterServerConfigManager.getMaxLeaseRatio());
+        int granted = (int) Math.min(Math.min(leaseCount, maxLease), globalThreshold - latestQps);
+
+        if (granted > 0 && granted >= acquireCount) {
+            metric.add(ClusterFlowEvent.PASS, granted, grantTime);
+            metric.add(ClusterFlowEvent.PASS_REQUEST, 1, grantTime);
+            return new TokenResult(TokenResultStatus.OK)
+                .setRemaining(granted)
+                .setWaitInMs(ClusterServerConfigManager.getLeaseTtlMs());
+        }
+        if (acquireCount > 0) {
+            metric.add(ClusterFlowEvent.BLOCK, acquireCount);
+            metric.add(ClusterFlowEvent.BLOCK_REQUEST, 1);
+            ClusterServerStatLogUtil.log("flow|block|" + id, acquireCount);
+            ClusterServerStatLogUtil.log("flow|block_request|" + id, 1);
+        }
+        return blockedResult();
+    }
+
     private static TokenResult blockedResult() {
         return new TokenResult(TokenResultStatus.BLOCKED)
             .setRemaining(0)
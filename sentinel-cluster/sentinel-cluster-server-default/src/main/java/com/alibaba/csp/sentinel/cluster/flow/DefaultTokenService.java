@@ -49,6 +49,34 @@ public class DefaultTokenService implements TokenService {
         return ClusterFlowChecker.acquireClusterToken(rule, acquireCount, prioritized);
     }
 
+    /**
+     * Lease a batch of tokens of the cluster flow rule, which may be spent locally by the client.
+     *
+     * @param ruleId            the unique rule ID
+     * @param acquireCount      count that the current invocation needs (0 for an asynchronous renewal)
+     * @param leaseCount        count of tokens to lease, which should not be less than the acquire count
+     * @param returnedCount     count of unused tokens of the previous lease
+     * @param returnedGrantTime time when the previous lease was granted
+     * @param grantTime         current time to grant the tokens
+     * @return result with the granted count as the remaining and the lease TTL as the waiting time if passed
+     * @since 2.0.0
+     */
+    public TokenResult requestTokenLease(Long ruleId, int acquireCount, int leaseCount, int returnedCount,
+                                         long returnedGrantTime, long grantTime) {
+        if (ruleId == null || ruleId <= 0 || acquireCount < 0 || leaseCount <= 0 || leaseCount < acquireCount
+            || returnedCount < 0) {
+            return badRequest();
+        }
+        // The rule should be valid.
+        FlowRule rule = ClusterFlowRuleManager.getFlowRuleById(ruleId);
+        if (rule == null) {
+            return new TokenResult(TokenResultStatus.NO_RULE_EXISTS);
+        }
+
+        return ClusterFlowChecker.acquireClusterTokenLease(rule, acquireCount, leaseCount, returnedCount,
+            returnedGrantTime, grantTime);
+    }
+
     @Override
     public TokenResult requestParamToken(Long ruleId, int acquireCount, Collection<Object> params) {
         if (notValidRequest(ruleId, acquireCount) || params == null || params.isEmpty()) {
@@ -40,6 +40,33 @@ public class ClusterMetric {
         metric.currentWindow().value().add(event, count);
     }
 
+    public void add(ClusterFlowEvent event, long count, long timeMillis) {
+        metric.currentWindow(timeMillis).value().add(event, count);
+    }
+
+    /**
+     * Take back the count of the event added to the bucket of provided time. The count taken back will not
+     * exceed the count in the bucket, and nothing will be taken back if the bucket has rotated out of the window.
+     *
+     * @param event      event to take back
+     * @param count      count to take back
+     * @param timeMillis time when the count was added
+     * @return the count actually taken back
+     * @since 2.0.0
+     */
+    public long takeBack(ClusterFlowEvent event, long count, long timeMillis) {
+        ClusterMetricBucket bucket = metric.getWindowValue(timeMillis);
+        if (bucket == null) {
+            return 0;
+        }
+        long taken = Math.min(count, bucket.get(event));
+        if (taken <= 0) {
+            return 0;
+        }
+        bucket.add(event, -taken);
+        return taken;
+    }
+
     public long getCurrentCount(ClusterFlowEvent event) {
         return metric.currentWindow().value().get(event);
     }
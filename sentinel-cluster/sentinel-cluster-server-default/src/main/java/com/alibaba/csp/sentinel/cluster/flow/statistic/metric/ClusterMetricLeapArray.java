@@ -49,10 +49,15 @@ public class ClusterMetricLeapArray extends LeapArray<ClusterMetricBucket> {
     protected WindowWrap<ClusterMetricBucket> resetWindowTo(WindowWrap<ClusterMetricBucket> w, long startTime) {
         w.resetTo(startTime);
         w.value().reset();
-        transferOccupyToBucket(w.value());
         return w;
     }
 
+    @Override
+    protected void onWindowRotated(WindowWrap<ClusterMetricBucket> w) {
+        // Transfer only once per rotation, as the reset copy may be dropped under contention.
+        transferOccupyToBucket(w.value());
+    }
+
     private void transferOccupyToBucket(/*@Valid*/ ClusterMetricBucket bucket) {
         if (hasOccupied) {
             transferOccupiedCount(bucket, ClusterFlowEvent.PASS, ClusterFlowEvent.OCCUPIED_PASS);
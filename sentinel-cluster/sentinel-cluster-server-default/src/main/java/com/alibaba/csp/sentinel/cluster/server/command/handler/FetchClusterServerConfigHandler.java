@@ -60,7 +60,9 @@ public class FetchClusterServerConfigHandler implements CommandHandler<String> {
             .setExceedCount(ClusterServerConfigManager.getExceedCount())
             .setMaxOccupyRatio(ClusterServerConfigManager.getMaxOccupyRatio())
             .setIntervalMs(ClusterServerConfigManager.getIntervalMs())
-            .setSampleCount(ClusterServerConfigManager.getSampleCount());
+            .setSampleCount(ClusterServerConfigManager.getSampleCount())
+            .setMaxLeaseRatio(ClusterServerConfigManager.getMaxLeaseRatio())
+            .setLeaseTtlMs(ClusterServerConfigManager.getLeaseTtlMs());
         JSONObject config = new JSONObject()
             .fluentPut("transport", transportConfig)
             .fluentPut("flow", flowConfig)
@@ -58,7 +58,9 @@ public class FetchClusterServerInfoCommandHandler implements CommandHandler<Stri
             .setMaxOccupyRatio(ClusterServerConfigManager.getMaxOccupyRatio())
             .setIntervalMs(ClusterServerConfigManager.getIntervalMs())
             .setSampleCount(ClusterServerConfigManager.getSampleCount())
-            .setMaxAllowedQps(ClusterServerConfigManager.getMaxAllowedQps());
+            .setMaxAllowedQps(ClusterServerConfigManager.getMaxAllowedQps())
+            .setMaxLeaseRatio(ClusterServerConfigManager.getMaxLeaseRatio())
+            .setLeaseTtlMs(ClusterServerConfigManager.getLeaseTtlMs());
 
         JSONArray requestLimitData = buildRequestLimitData(namespaceSet);
 
@@ -30,6 +30,16 @@ public class ServerFlowConfig {
     public static final int DEFAULT_SAMPLE_COUNT= 10;
     public static final double DEFAULT_MAX_ALLOWED_QPS= 30000;
 
+    /**
+     * Max ratio of the global threshold that a single token lease may take.
+     */
+    public static final double DEFAULT_MAX_LEASE_RATIO = 0.1d;
+    /**
+     * Time-to-live of a token lease, which is cut down to half of the interval if longer,
+     * so that the unused tokens are given back within the statistic window that they were granted in.
+     */
+    public static final int DEFAULT_LEASE_TTL_MS = 200;
+
     private final String namespace;
 
     private double exceedCount = DEFAULT_EXCEED_COUNT;
@@ -39,6 +49,9 @@ public class ServerFlowConfig {
 
     private double maxAllowedQps = DEFAULT_MAX_ALLOWED_QPS;
 
+    private double maxLeaseRatio = DEFAULT_MAX_LEASE_RATIO;
+    private int leaseTtlMs = DEFAULT_LEASE_TTL_MS;
+
     public ServerFlowConfig() {
         this(ServerConstants.DEFAULT_NAMESPACE);
     }
@@ -96,6 +109,24 @@ public class ServerFlowConfig {
         return this;
     }
 
+    public double getMaxLeaseRatio() {
+        return maxLeaseRatio;
+    }
+
+    public ServerFlowConfig setMaxLeaseRatio(double maxLeaseRatio) {
+        this.maxLeaseRatio = maxLeaseRatio;
+        return this;
+    }
+
+    public int getLeaseTtlMs() {
+        return leaseTtlMs;
+    }
+
+    public ServerFlowConfig setLeaseTtlMs(int leaseTtlMs) {
+        this.leaseTtlMs = leaseTtlMs;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "ServerFlowConfig{" +
@@ -105,6 +136,8 @@ public class ServerFlowConfig {
             ", intervalMs=" + intervalMs +
             ", sampleCount=" + sampleCount +
             ", maxAllowedQps=" + maxAllowedQps +
+            ", maxLeaseRatio=" + maxLeaseRatio +
+            ", leaseTtlMs=" + leaseTtlMs +
             '}';
     }
 }
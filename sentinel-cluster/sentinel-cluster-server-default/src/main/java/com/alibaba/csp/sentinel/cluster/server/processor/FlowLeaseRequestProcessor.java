@@ -0,0 +1,64 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.server.processor;
+
+import com.alibaba.csp.sentinel.cluster.ClusterConstants;
+import com.alibaba.csp.sentinel.cluster.TokenResult;
+import com.alibaba.csp.sentinel.cluster.TokenResultStatus;
+import com.alibaba.csp.sentinel.cluster.TokenService;
+import com.alibaba.csp.sentinel.cluster.annotation.RequestType;
+import com.alibaba.csp.sentinel.cluster.flow.DefaultTokenService;
+import com.alibaba.csp.sentinel.cluster.request.ClusterRequest;
+import com.alibaba.csp.sentinel.cluster.request.data.FlowLeaseRequestData;
+import com.alibaba.csp.sentinel.cluster.response.ClusterResponse;
+import com.alibaba.csp.sentinel.cluster.response.data.FlowLeaseResponseData;
+import com.alibaba.csp.sentinel.cluster.server.TokenServiceProvider;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * Processor for token lease requests. Leasing is only supported by the {@link DefaultTokenService},
+ * so the clients will fall back to request tokens one by one if other token services are used.
+ *
+ * @since 2.0.0
+ */
+@RequestType(ClusterConstants.MSG_TYPE_FLOW_LEASE)
+public class FlowLeaseRequestProcessor implements RequestProcessor<FlowLeaseRequestData, FlowLeaseResponseData> {
+
+    @Override
+    public ClusterResponse<FlowLeaseResponseData> processRequest(ClusterRequest<FlowLeaseRequestData> request) {
+        TokenService tokenService = TokenServiceProvider.getService();
+        if (!(tokenService instanceof DefaultTokenService)) {
+            return toResponse(new TokenResult(TokenResultStatus.FAIL), 0, request);
+        }
+
+        FlowLeaseRequestData data = request.getData();
+        long grantTime = TimeUtil.currentTimeMillis();
+        TokenResult result = ((DefaultTokenService)tokenService).requestTokenLease(data.getFlowId(),
+            data.getAcquireCount(), data.getLeaseCount(), data.getReturnedCount(), data.getReturnedGrantTime(),
+            grantTime);
+        return toResponse(result, grantTime, request);
+    }
+
+    private ClusterResponse<FlowLeaseResponseData> toResponse(TokenResult result, long grantTime,
+                                                              ClusterRequest request) {
+        return new ClusterResponse<>(request.getId(), request.getType(), result.getStatus(),
+            new FlowLeaseResponseData()
+                .setGrantedCount(result.getRemaining())
+                .setTtlMs(result.getWaitInMs())
+                .setGrantTime(grantTime)
+        );
+    }
+}
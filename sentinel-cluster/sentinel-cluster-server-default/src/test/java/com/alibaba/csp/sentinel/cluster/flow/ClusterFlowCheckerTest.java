@@ -15,12 +15,20 @@
  */
 package com.alibaba.csp.sentinel.cluster.flow;
 
+import java.util.ArrayList;
+import java.util.Collections;
+
 import com.alibaba.csp.sentinel.cluster.TokenResult;
+import com.alibaba.csp.sentinel.cluster.TokenResultStatus;
+import com.alibaba.csp.sentinel.cluster.flow.rule.ClusterFlowRuleManager;
 import com.alibaba.csp.sentinel.cluster.flow.statistic.ClusterMetricStatistics;
+import com.alibaba.csp.sentinel.cluster.flow.statistic.data.ClusterFlowEvent;
 import com.alibaba.csp.sentinel.cluster.flow.statistic.metric.ClusterMetric;
+import com.alibaba.csp.sentinel.cluster.server.config.ClusterServerConfigManager;
 import com.alibaba.csp.sentinel.slots.block.ClusterRuleConstant;
 import com.alibaba.csp.sentinel.slots.block.flow.ClusterFlowConfig;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.util.TimeUtil;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -72,6 +80,85 @@ public class ClusterFlowCheckerTest {
         ClusterMetricStatistics.removeMetric(flowId);
     }
 
+    @Test
+    public void testAcquireClusterTokenLease() {
+        String namespace = "lease-test";
+        long flowId = 98766L;
+        FlowRule clusterRule = new FlowRule("testAcquireClusterTokenLease")
+            .setCount(100)
+            .setClusterMode(true)
+            .setClusterConfig(new ClusterFlowConfig()
+                .setFlowId(flowId)
+                .setThresholdType(ClusterRuleConstant.FLOW_THRESHOLD_GLOBAL));
+        ClusterFlowRuleManager.registerPropertyIfAbsent(namespace);
+        ClusterFlowRuleManager.loadRules(namespace, Collections.singletonList(clusterRule));
+        try {
+            FlowRule rule = ClusterFlowRuleManager.getFlowRuleById(flowId);
+            ClusterMetric metric = ClusterMetricStatistics.getMetric(flowId);
+            long grantTime = TimeUtil.currentTimeMillis();
+            // A lease takes at most 10% of the threshold by default.
+            for (int i = 0; i < 10; i++) {
+                TokenResult result = ClusterFlowChecker.acquireClusterTokenLease(rule, 1, 50, 0, 0, grantTime);
+                assertEquals(TokenResultStatus.OK, (int) result.getStatus());
+                assertEquals(10, result.getRemaining());
+                assertEquals(ClusterServerConfigManager.getLeaseTtlMs(), result.getWaitInMs());
+            }
+            assertEquals(100, metric.getSum(ClusterFlowEvent.PASS));
+
+            assertResultBlock(ClusterFlowChecker.acquireClusterTokenLease(rule, 1, 5, 0, 0, grantTime));
+            assertEquals(1, metric.getSum(ClusterFlowEvent.BLOCK));
+            // Blocked renewals are not counted as blocked invocations.
+            assertResultBlock(ClusterFlowChecker.acquireClusterTokenLease(rule, 0, 5, 0, 0, grantTime));
+            assertEquals(1, metric.getSum(ClusterFlowEvent.BLOCK));
+
+            // Unused tokens given back can be granted again.
+            TokenResult result = ClusterFlowChecker.acquireClusterTokenLease(rule, 1, 5, 4, grantTime, grantTime);
+            assertEquals(TokenResultStatus.OK, (int) result.getStatus());
+            assertEquals(4, result.getRemaining());
+            assertEquals(100, metric.getSum(ClusterFlowEvent.PASS));
+        } finally {
+            ClusterFlowRuleManager.loadRules(namespace, new ArrayList<FlowRule>());
+        }
+    }
+
+    @Test
+    public void testReturnLeasedTokensAcrossBucketRotation() {
+        String namespace = "lease-rotation-test";
+        long flowId = 98767L;
+        FlowRule clusterRule = new FlowRule("testReturnLeasedTokensAcrossBucketRotation")
+            .setCount(100)
+            .setClusterMode(true)
+            .setClusterConfig(new ClusterFlowConfig()
+                .setFlowId(flowId)
+                .setThresholdType(ClusterRuleConstant.FLOW_THRESHOLD_GLOBAL));
+        ClusterFlowRuleManager.registerPropertyIfAbsent(namespace);
+        ClusterFlowRuleManager.loadRules(namespace, Collections.singletonList(clusterRule));
+        try {
+            FlowRule rule = ClusterFlowRuleManager.getFlowRuleById(flowId);
+            ClusterMetric metric = ClusterMetricStatistics.getMetric(flowId);
+            long firstGrantTime = TimeUtil.currentTimeMillis();
+            assertEquals(10, ClusterFlowChecker.acquireClusterTokenLease(rule, 1, 10, 0, 0, firstGrantTime)
+                .getRemaining());
+
+            sleep(500);
+            // The returned tokens are taken back from the bucket of the first lease, no more than granted there.
+            long secondGrantTime = TimeUtil.currentTimeMillis();
+            assertEquals(10, ClusterFlowChecker.acquireClusterTokenLease(rule, 1, 10, 15, firstGrantTime,
+                secondGrantTime).getRemaining());
+            assertEquals(10, metric.getSum(ClusterFlowEvent.PASS));
+
+            sleep(600);
+            // The bucket of the first lease has rotated out, which does not affect the tokens of the second lease.
+            assertEquals(10, metric.getSum(ClusterFlowEvent.PASS));
+            // Tokens returned to a bucket that has rotated out are dropped.
+            assertEquals(1, ClusterFlowChecker.acquireClusterTokenLease(rule, 1, 1, 10, firstGrantTime,
+                TimeUtil.currentTimeMillis()).getRemaining());
+            assertEquals(11, metric.getSum(ClusterFlowEvent.PASS));
+        } finally {
+            ClusterFlowRuleManager.loadRules(namespace, new ArrayList<FlowRule>());
+        }
+    }
+
     private TokenResult tryAcquire(FlowRule clusterRule, boolean occupy) {
         return ClusterFlowChecker.acquireClusterToken(clusterRule, 1, occupy);
     }
@@ -78,6 +78,7 @@ public final class Constants {
     public static final int ORDER_LOG_SLOT = -8000;
     public static final int ORDER_STATISTIC_SLOT = -7000;
     public static final int ORDER_AUTHORITY_SLOT = -6000;
+    public static final int ORDER_CODEL_SLOT = -5500;
     public static final int ORDER_SYSTEM_SLOT = -5000;
     public static final int ORDER_FLOW_SLOT = -2000;
     public static final int ORDER_DEFAULT_CIRCUIT_BREAKER_SLOT = -1500;
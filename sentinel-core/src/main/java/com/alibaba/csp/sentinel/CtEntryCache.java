@@ -0,0 +1,85 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+
+/**
+ * <p>Per-thread cache for the synchronous entry path, which is enabled by
+ * {@link com.alibaba.csp.sentinel.config.SentinelConfig#ENTRY_CACHE_ENABLED}.</p>
+ *
+ * <p>The cache holds:</p>
+ * <ul>
+ * <li>the {@link Context} instance used for the auto-entered default context;</li>
+ * <li>a tiny direct-mapped cache of immutable {@link StringResourceWrapper}s of recently used resources.</li>
+ * </ul>
+ *
+ * <p>Entries are not cached: the caller may still hold an exited entry, and a second exit on it must stay
+ * a no-op rather than exiting whichever invocation would reuse the instance.</p>
+ *
+ * <p>The cache is only accessed by its owner thread, so no synchronization is needed.</p>
+ *
+ * @since 2.0.0
+ */
+final class CtEntryCache {
+
+    private static final int WRAPPER_CACHE_SIZE = 64;
+    private static final int WRAPPER_CACHE_MASK = WRAPPER_CACHE_SIZE - 1;
+
+    private static final ThreadLocal<CtEntryCache> CACHE_HOLDER = new ThreadLocal<CtEntryCache>() {
+        @Override
+        protected CtEntryCache initialValue() {
+            return new CtEntryCache();
+        }
+    };
+
+    private final StringResourceWrapper[] wrappers = new StringResourceWrapper[WRAPPER_CACHE_SIZE];
+
+    private Context defaultContext;
+
+    static CtEntryCache current() {
+        return CACHE_HOLDER.get();
+    }
+
+    /**
+     * Get a cached resource wrapper for given resource, or create a new one if absent (or evicted).
+     * The {@link StringResourceWrapper} is immutable, so it's safe to share among invocations.
+     */
+    StringResourceWrapper getResourceWrapper(String name, EntryType entryType, int resourceType) {
+        if (name == null) {
+            // Let the wrapper do the validation.
+            return new StringResourceWrapper(name, entryType, resourceType);
+        }
+        int idx = name.hashCode() & WRAPPER_CACHE_MASK;
+        StringResourceWrapper wrapper = wrappers[idx];
+        if (wrapper != null && wrapper.getEntryType() == entryType && wrapper.getResourceType() == resourceType
+            && name.equals(wrapper.getName())) {
+            return wrapper;
+        }
+        wrapper = new StringResourceWrapper(name, entryType, resourceType);
+        wrappers[idx] = wrapper;
+        return wrapper;
+    }
+
+    Context getDefaultContext() {
+        return defaultContext;
+    }
+
+    void setDefaultContext(Context defaultContext) {
+        this.defaultContext = defaultContext;
+    }
+}
@@ -16,21 +16,26 @@
 package com.alibaba.csp.sentinel;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.Map;
 
+import com.alibaba.csp.sentinel.concurrent.ConcurrentRegistry;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.context.NullContext;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.slotchain.DefaultProcessorSlotChain;
 import com.alibaba.csp.sentinel.slotchain.MethodResourceWrapper;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlotChain;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slotchain.SlotChainProvider;
+import com.alibaba.csp.sentinel.slotchain.SlotChainSpecializer;
 import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.Rule;
+import com.alibaba.csp.sentinel.util.function.Function;
 
 /**
  * {@inheritDoc}
@@ -48,10 +53,29 @@ public class CtSph implements Sph {
      * Same resource({@link ResourceWrapper#equals(Object)}) will share the same
      * {@link ProcessorSlotChain}, no matter in which {@link Context}.
      */
-    private static volatile Map<ResourceWrapper, ProcessorSlotChain> chainMap
-        = new HashMap<ResourceWrapper, ProcessorSlotChain>();
+    private static final ConcurrentRegistry<ResourceWrapper, ProcessorSlotChain> chainMap
+        = new ConcurrentRegistry<>();
+
+    private static final Function<ResourceWrapper, ProcessorSlotChain> CHAIN_FACTORY
+        = new Function<ResourceWrapper, ProcessorSlotChain>() {
+            @Override
+            public ProcessorSlotChain apply(ResourceWrapper resourceWrapper) {
+                // Entry size limit.
+                if (chainMap.size() >= Constants.MAX_SLOT_CHAIN_SIZE) {
+                    return null;
+                }
+                ProcessorSlotChain chain = SlotChainProvider.newSlotChain();
+                SlotChainSpecializer.specialize(resourceWrapper, chain);
+                return chain;
+            }
+        };
 
-    private static final Object LOCK = new Object();
+    /**
+     * Whether the synchronous entry path uses the per-thread {@link CtEntryCache}.
+     *
+     * @see SentinelConfig#entryCacheEnabled()
+     */
+    private static boolean entryCacheEnabled = SentinelConfig.entryCacheEnabled();
 
     private AsyncEntry asyncEntryWithNoChain(ResourceWrapper resourceWrapper, Context context) {
         AsyncEntry entry = new AsyncEntry(resourceWrapper, null, context);
@@ -63,6 +87,11 @@ public class CtSph implements Sph {
 
     private AsyncEntry asyncEntryWithPriorityInternal(ResourceWrapper resourceWrapper, int count, boolean prioritized,
                                                       Object... args) throws BlockException {
+        return asyncEntryWithPriorityInternal(resourceWrapper, count, prioritized, false, args);
+    }
+
+    private AsyncEntry asyncEntryWithPriorityInternal(ResourceWrapper resourceWrapper, int count, boolean prioritized,
+                                                      boolean nonBlocking, Object... args) throws BlockException {
         Context context = ContextUtil.getContext();
         if (context instanceof NullContext) {
             // The {@link NullContext} indicates that the amount of context has exceeded the threshold,
@@ -85,8 +114,10 @@ public class CtSph implements Sph {
         if (chain == null) {
             return asyncEntryWithNoChain(resourceWrapper, context);
         }
+        chain = specializedSlots(chain);
 
         AsyncEntry asyncEntry = new AsyncEntry(resourceWrapper, chain, context);
+        asyncEntry.setNonBlocking(nonBlocking);
         try {
             chain.entry(context, resourceWrapper, null, count, prioritized, args);
             // Initiate the async context only when the entry successfully passed the slot chain.
@@ -116,6 +147,15 @@ public class CtSph implements Sph {
 
     private Entry entryWithPriority(ResourceWrapper resourceWrapper, int count, boolean prioritized, Object... args)
         throws BlockException {
+        return entryWithPriority(resourceWrapper, null, count, prioritized, args);
+    }
+
+    /**
+     * Enter the resource. If the {@link ResourceHandle} is provided, the cached slot chain and statistic
+     * node of the handle will be used rather than looking up them.
+     */
+    private Entry entryWithPriority(ResourceWrapper resourceWrapper, ResourceHandle handle, int count,
+                                    boolean prioritized, Object... args) throws BlockException {
         Context context = ContextUtil.getContext();
         if (context instanceof NullContext) {
             // The {@link NullContext} indicates that the amount of context has exceeded the threshold,
@@ -125,7 +165,7 @@ public class CtSph implements Sph {
 
         if (context == null) {
             // Using default context.
-            context = InternalContextUtil.internalEnter(Constants.CONTEXT_DEFAULT_NAME);
+            context = enterDefaultContext(entryCacheEnabled ? CtEntryCache.current() : null);
         }
 
         // Global switch is close, no rule checking will do.
@@ -133,7 +173,7 @@ public class CtSph implements Sph {
             return new CtEntry(resourceWrapper, null, context);
         }
 
-        ProcessorSlot<Object> chain = lookProcessChain(resourceWrapper);
+        ProcessorSlot<Object> chain = handle == null ? lookProcessChain(resourceWrapper) : handle.getChain(this);
 
         /*
          * Means amount of resources (slot chain) exceeds {@link Constants.MAX_SLOT_CHAIN_SIZE},
@@ -142,20 +182,64 @@ public class CtSph implements Sph {
         if (chain == null) {
             return new CtEntry(resourceWrapper, null, context);
         }
+        chain = specializedSlots(chain);
 
+        // The pre-resolved node (if present) will be used by NodeSelectorSlot directly.
+        DefaultNode node = handle == null ? null : handle.getCachedNode(context);
         Entry e = new CtEntry(resourceWrapper, chain, context);
         try {
-            chain.entry(context, resourceWrapper, null, count, prioritized, args);
+            chain.entry(context, resourceWrapper, node, count, prioritized, args);
         } catch (BlockException e1) {
+            if (handle != null && node == null) {
+                handle.cacheNode(context, e.getCurNode());
+            }
             e.exit(count, args);
             throw e1;
         } catch (Throwable e1) {
             // This should not happen, unless there are errors existing in Sentinel internal.
             RecordLog.info("Sentinel unexpected exception", e1);
         }
+        if (handle != null && node == null) {
+            handle.cacheNode(context, e.getCurNode());
+        }
         return e;
     }
 
+    /**
+     * Enter the resource of the pre-resolved {@link ResourceHandle}.
+     *
+     * @param handle      the resource handle
+     * @param count       tokens needed
+     * @param prioritized whether the entry is prioritized
+     * @param args        arguments of user method call
+     * @return {@link Entry} represents this call
+     * @throws BlockException if any rule's threshold is exceeded
+     * @since 2.0.0
+     */
+    Entry entry(ResourceHandle handle, int count, boolean prioritized, Object... args) throws BlockException {
+        return entryWithPriority(handle.getResourceWrapper(), handle, count, prioritized, args);
+    }
+
+    private Context enterDefaultContext(CtEntryCache cache) {
+        if (cache == null) {
+            return InternalContextUtil.internalEnter(Constants.CONTEXT_DEFAULT_NAME);
+        }
+        // Reuse the default context of current thread, which has been exited with the outermost entry.
+        Context context = InternalContextUtil.internalEnter(Constants.CONTEXT_DEFAULT_NAME, "",
+            cache.getDefaultContext());
+        if (!(context instanceof NullContext)) {
+            cache.setDefaultContext(context);
+        }
+        return context;
+    }
+
+    private StringResourceWrapper newStringResourceWrapper(String name, EntryType type, int resourceType) {
+        if (entryCacheEnabled) {
+            return CtEntryCache.current().getResourceWrapper(name, type, resourceType);
+        }
+        return new StringResourceWrapper(name, type, resourceType);
+    }
+
     /**
      * Do all {@link Rule}s checking about the resource.
      *
@@ -192,24 +276,16 @@ public class CtSph implements Sph {
      * @return {@link ProcessorSlotChain} of the resource
      */
     ProcessorSlot<Object> lookProcessChain(ResourceWrapper resourceWrapper) {
-        ProcessorSlotChain chain = chainMap.get(resourceWrapper);
-        if (chain == null) {
-            synchronized (LOCK) {
-                chain = chainMap.get(resourceWrapper);
-                if (chain == null) {
-                    // Entry size limit.
-                    if (chainMap.size() >= Constants.MAX_SLOT_CHAIN_SIZE) {
-                        return null;
-                    }
-
-                    chain = SlotChainProvider.newSlotChain();
-                    Map<ResourceWrapper, ProcessorSlotChain> newMap = new HashMap<ResourceWrapper, ProcessorSlotChain>(
-                        chainMap.size() + 1);
-                    newMap.putAll(chainMap);
-                    newMap.put(resourceWrapper, chain);
-                    chainMap = newMap;
-                }
-            }
+        return chainMap.getOrCreate(resourceWrapper, CHAIN_FACTORY);
+    }
+
+    /**
+     * Get the slots that an invocation of the chain goes through. The entry keeps the returned slots,
+     * so that it exits the same slots it has entered even if the chain is relinked in between.
+     */
+    private static ProcessorSlot<Object> specializedSlots(ProcessorSlot<Object> chain) {
+        if (chain instanceof DefaultProcessorSlotChain) {
+            return ((DefaultProcessorSlotChain) chain).specialized();
         }
         return chain;
     }
@@ -239,7 +315,16 @@ public class CtSph implements Sph {
      * @since 0.2.0
      */
     static Map<ResourceWrapper, ProcessorSlotChain> getChainMap() {
-        return chainMap;
+        return chainMap.asMap();
+    }
+
+    /**
+     * Enable or disable the per-thread entry cache. Only for internal test.
+     *
+     * @since 2.0.0
+     */
+    static void setEntryCacheEnabled(boolean enabled) {
+        entryCacheEnabled = enabled;
     }
 
     /**
@@ -253,11 +338,16 @@ public class CtSph implements Sph {
         static Context internalEnter(String name, String origin) {
             return trueEnter(name, origin);
         }
+
+        static Context internalEnter(String name, String origin, Context reusable) {
+            return trueEnter(name, origin, reusable);
+        }
     }
 
     @Override
     public Entry entry(String name) throws BlockException {
-        StringResourceWrapper resource = new StringResourceWrapper(name, EntryType.OUT);
+        StringResourceWrapper resource = newStringResourceWrapper(name, EntryType.OUT,
+            ResourceTypeConstants.COMMON);
         return entry(resource, 1, OBJECTS0);
     }
 
@@ -275,7 +365,7 @@ public class CtSph implements Sph {
 
     @Override
     public Entry entry(String name, EntryType type) throws BlockException {
-        StringResourceWrapper resource = new StringResourceWrapper(name, type);
+        StringResourceWrapper resource = newStringResourceWrapper(name, type, ResourceTypeConstants.COMMON);
         return entry(resource, 1, OBJECTS0);
     }
 
@@ -287,7 +377,7 @@ public class CtSph implements Sph {
 
     @Override
     public Entry entry(String name, EntryType type, int count) throws BlockException {
-        StringResourceWrapper resource = new StringResourceWrapper(name, type);
+        StringResourceWrapper resource = newStringResourceWrapper(name, type, ResourceTypeConstants.COMMON);
         return entry(resource, count, OBJECTS0);
     }
 
@@ -299,7 +389,8 @@ public class CtSph implements Sph {
 
     @Override
     public Entry entry(String name, int count) throws BlockException {
-        StringResourceWrapper resource = new StringResourceWrapper(name, EntryType.OUT);
+        StringResourceWrapper resource = newStringResourceWrapper(name, EntryType.OUT,
+            ResourceTypeConstants.COMMON);
         return entry(resource, count, OBJECTS0);
     }
 
@@ -311,26 +402,26 @@ public class CtSph implements Sph {
 
     @Override
     public Entry entry(String name, EntryType type, int count, Object... args) throws BlockException {
-        StringResourceWrapper resource = new StringResourceWrapper(name, type);
+        StringResourceWrapper resource = newStringResourceWrapper(name, type, ResourceTypeConstants.COMMON);
         return entry(resource, count, args);
     }
 
     @Override
     public AsyncEntry asyncEntry(String name, EntryType type, int count, Object... args) throws BlockException {
-        StringResourceWrapper resource = new StringResourceWrapper(name, type);
+        StringResourceWrapper resource = newStringResourceWrapper(name, type, ResourceTypeConstants.COMMON);
         return asyncEntryInternal(resource, count, args);
     }
 
     @Override
     public Entry entryWithPriority(String name, EntryType type, int count, boolean prioritized) throws BlockException {
-        StringResourceWrapper resource = new StringResourceWrapper(name, type);
+        StringResourceWrapper resource = newStringResourceWrapper(name, type, ResourceTypeConstants.COMMON);
         return entryWithPriority(resource, count, prioritized);
     }
 
     @Override
     public Entry entryWithPriority(String name, EntryType type, int count, boolean prioritized, Object... args)
         throws BlockException {
-        StringResourceWrapper resource = new StringResourceWrapper(name, type);
+        StringResourceWrapper resource = newStringResourceWrapper(name, type, ResourceTypeConstants.COMMON);
         return entryWithPriority(resource, count, prioritized, args);
     }
 
@@ -343,14 +434,27 @@ public class CtSph implements Sph {
     @Override
     public Entry entryWithType(String name, int resourceType, EntryType entryType, int count, boolean prioritized,
                                Object[] args) throws BlockException {
-        StringResourceWrapper resource = new StringResourceWrapper(name, entryType, resourceType);
+        StringResourceWrapper resource = newStringResourceWrapper(name, entryType, resourceType);
         return entryWithPriority(resource, count, prioritized, args);
     }
 
     @Override
     public AsyncEntry asyncEntryWithType(String name, int resourceType, EntryType entryType, int count,
                                          boolean prioritized, Object[] args) throws BlockException {
-        StringResourceWrapper resource = new StringResourceWrapper(name, entryType, resourceType);
+        StringResourceWrapper resource = newStringResourceWrapper(name, entryType, resourceType);
         return asyncEntryWithPriorityInternal(resource, count, prioritized, args);
     }
+
+    @Override
+    public AsyncEntry asyncEntryNonBlocking(String name, int resourceType, EntryType entryType, int count,
+                                            boolean prioritized, Object[] args) throws BlockException {
+        StringResourceWrapper resource = newStringResourceWrapper(name, entryType, resourceType);
+        return asyncEntryWithPriorityInternal(resource, count, prioritized, true, args);
+    }
+
+    @Override
+    public ResourceHandle handle(String name, int resourceType, EntryType trafficType) {
+        StringResourceWrapper resource = new StringResourceWrapper(name, trafficType, resourceType);
+        return new ResourceHandle(this, resource, lookProcessChain(resource));
+    }
 }
@@ -67,6 +67,16 @@ public abstract class Entry implements AutoCloseable {
     private Throwable error;
     private BlockException blockError;
 
+    /**
+     * Whether the slots should reserve the pass time rather than blocking current thread when the request
+     * is queued (e.g. by a rate limiter).
+     */
+    private boolean nonBlocking;
+    /**
+     * The time (in nanoseconds) that the invocation should be delayed by, only for non-blocking entries.
+     */
+    private long delayNanos;
+
     protected final ResourceWrapper resourceWrapper;
 
     public Entry(ResourceWrapper resourceWrapper) {
@@ -165,6 +175,44 @@ public abstract class Entry implements AutoCloseable {
         this.error = error;
     }
 
+    /**
+     * Whether the entry is non-blocking, i.e. the request won't be queued by blocking current thread,
+     * but by delaying the invocation for {@link #getDelayNanos()}.
+     *
+     * @return whether the entry is non-blocking
+     * @since 2.0.0
+     */
+    public boolean isNonBlocking() {
+        return nonBlocking;
+    }
+
+    void setNonBlocking(boolean nonBlocking) {
+        this.nonBlocking = nonBlocking;
+    }
+
+    /**
+     * Get the time that the invocation should be delayed by before it proceeds, which has been reserved
+     * when the non-blocking entry is queued.
+     *
+     * @return the time to delay in nanoseconds, 0 if the invocation could proceed immediately
+     * @since 2.0.0
+     */
+    public long getDelayNanos() {
+        return delayNanos;
+    }
+
+    /**
+     * Make sure that the invocation is delayed by at least given time.
+     *
+     * @param delayNanos the time to delay in nanoseconds
+     * @since 2.0.0
+     */
+    public void delayAtLeast(long delayNanos) {
+        if (delayNanos > this.delayNanos) {
+            this.delayNanos = delayNanos;
+        }
+    }
+
     /**
      * Get origin {@link Node} of the this {@link Entry}.
      *
@@ -0,0 +1,248 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
+import com.alibaba.csp.sentinel.slotchain.ProcessorSlotChain;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.slots.nodeselector.NodeSelectorSlot;
+
+/**
+ * <p>A pre-resolved handle of a protected resource. The handle caches the {@link ResourceWrapper}, the
+ * {@link ProcessorSlotChain} and the statistic nodes of the resource, so that entering the resource via
+ * {@link #entry()} won't create the resource wrapper or look up the slot chain map and node maps
+ * for each invocation.</p>
+ *
+ * <p>It's recommended to resolve handles once (e.g. when the RPC framework exports its methods) and reuse them:</p>
+ *
+ * <pre>
+ *  private static final ResourceHandle HANDLE = SphU.handle("orderService", EntryType.IN);
+ *
+ *  public void foo() {
+ *     Entry entry = null;
+ *     try {
+ *        entry = HANDLE.entry();
+ *        // resource that need protection
+ *     } catch (BlockException blockException) {
+ *         // when goes there, it is blocked
+ *     } finally {
+ *         if (entry != null) {
+ *             entry.exit();
+ *         }
+ *     }
+ *  }
+ * </pre>
+ *
+ * <p>The handle is thread-safe. Entries created by the handle behave the same as entries created by
+ * {@link SphU#entry(String, EntryType)} with the same resource.</p>
+ *
+ * @since 2.0.0
+ */
+public final class ResourceHandle {
+
+    private static final Object[] OBJECTS0 = new Object[0];
+
+    /**
+     * Max amount of distinct contexts whose {@link DefaultNode} will be cached in the handle.
+     * Entries in other contexts will fall back to the lookup in {@link NodeSelectorSlot}.
+     */
+    static final int MAX_CACHED_CONTEXT_COUNT = 8;
+
+    private static final ContextNode[] EMPTY_CONTEXT_NODES = new ContextNode[0];
+
+    private final Sph sph;
+    private final StringResourceWrapper resourceWrapper;
+    /**
+     * The slot chain of the resource, or null if it has not been resolved yet
+     * (e.g. the amount of slot chains exceeded {@link Constants#MAX_SLOT_CHAIN_SIZE}).
+     */
+    private volatile ProcessorSlot<Object> chain;
+
+    /**
+     * The resolved {@link DefaultNode}s of the resource in different contexts (copy-on-write).
+     */
+    private volatile ContextNode[] contextNodes = EMPTY_CONTEXT_NODES;
+
+    private volatile ClusterNode clusterNode;
+
+    ResourceHandle(Sph sph, StringResourceWrapper resourceWrapper, ProcessorSlot<Object> chain) {
+        this.sph = sph;
+        this.resourceWrapper = resourceWrapper;
+        this.chain = chain;
+    }
+
+    /**
+     * Record statistics and perform rule checking for the resource.
+     *
+     * @return the {@link Entry} of this invocation
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     */
+    public Entry entry() throws BlockException {
+        return entry(1, false, OBJECTS0);
+    }
+
+    /**
+     * Record statistics and perform rule checking for the resource.
+     *
+     * @param batchCount the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @return the {@link Entry} of this invocation
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     */
+    public Entry entry(int batchCount) throws BlockException {
+        return entry(batchCount, false, OBJECTS0);
+    }
+
+    /**
+     * Record statistics and perform rule checking for the resource.
+     *
+     * @param batchCount the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args       args for parameter flow control or customized slots
+     * @return the {@link Entry} of this invocation
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     */
+    public Entry entry(int batchCount, Object... args) throws BlockException {
+        return entry(batchCount, false, args);
+    }
+
+    /**
+     * Record statistics and perform rule checking for the resource. The entry is prioritized.
+     *
+     * @return the {@link Entry} of this invocation
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     */
+    public Entry entryWithPriority() throws BlockException {
+        return entry(1, true, OBJECTS0);
+    }
+
+    private Entry entry(int batchCount, boolean prioritized, Object[] args) throws BlockException {
+        if (sph instanceof CtSph) {
+            return ((CtSph) sph).entry(this, batchCount, prioritized, args);
+        }
+        // Other implementations can't make use of the cached chain and nodes.
+        return sph.entryWithType(resourceWrapper.getName(), resourceWrapper.getResourceType(),
+            resourceWrapper.getEntryType(), batchCount, prioritized, args);
+    }
+
+    public ResourceWrapper getResourceWrapper() {
+        return resourceWrapper;
+    }
+
+    /**
+     * Get the {@link ClusterNode} of the resource.
+     *
+     * @return the cluster node of the resource, or null if the resource has never been entered
+     */
+    public ClusterNode getClusterNode() {
+        ClusterNode node = clusterNode;
+        if (node == null) {
+            node = ClusterBuilderSlot.getClusterNode(resourceWrapper.getName(), resourceWrapper.getEntryType());
+            if (node != null) {
+                this.clusterNode = node;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Get the slot chain of the resource. The chain will be resolved again if it's absent,
+     * so that the handle will take effect once the slot chain could be created.
+     *
+     * @param ctSph the {@link CtSph} which looks up the slot chain
+     * @return the slot chain of the resource, or null if the slot chain can't be created
+     */
+    ProcessorSlot<Object> getChain(CtSph ctSph) {
+        ProcessorSlot<Object> c = chain;
+        if (c == null) {
+            c = ctSph.lookProcessChain(resourceWrapper);
+            if (c != null) {
+                this.chain = c;
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Get the cached {@link DefaultNode} of the resource in given context.
+     *
+     * @param context current context
+     * @return the cached node, or null if absent
+     */
+    DefaultNode getCachedNode(Context context) {
+        ContextNode[] nodes = contextNodes;
+        String contextName = context.getName();
+        for (ContextNode n : nodes) {
+            if (n.contextName.equals(contextName)) {
+                return n.node;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cache the {@link DefaultNode} which has been selected by {@link NodeSelectorSlot} for given context.
+     *
+     * @param context current context
+     * @param node    the node of current entry
+     */
+    void cacheNode(Context context, Node node) {
+        if (!(node instanceof DefaultNode)) {
+            return;
+        }
+        DefaultNode defaultNode = (DefaultNode) node;
+        if (clusterNode == null && defaultNode.getClusterNode() != null) {
+            this.clusterNode = defaultNode.getClusterNode();
+        }
+        synchronized (this) {
+            ContextNode[] nodes = contextNodes;
+            if (nodes.length >= MAX_CACHED_CONTEXT_COUNT || getCachedNode(context) != null) {
+                return;
+            }
+            ContextNode[] newNodes = new ContextNode[nodes.length + 1];
+            System.arraycopy(nodes, 0, newNodes, 0, nodes.length);
+            newNodes[nodes.length] = new ContextNode(context.getName(), defaultNode);
+            contextNodes = newNodes;
+        }
+    }
+
+    int cachedContextCount() {
+        return contextNodes.length;
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceHandle{" +
+            "resourceWrapper=" + resourceWrapper +
+            ", cachedContextCount=" + contextNodes.length +
+            '}';
+    }
+
+    private static final class ContextNode {
+        private final String contextName;
+        private final DefaultNode node;
+
+        ContextNode(String contextName, DefaultNode node) {
+            this.contextName = contextName;
+            this.node = node;
+        }
+    }
+}
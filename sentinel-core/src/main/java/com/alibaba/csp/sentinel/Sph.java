@@ -17,6 +17,7 @@ package com.alibaba.csp.sentinel;
 
 import java.lang.reflect.Method;
 
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.system.SystemRule;
 
@@ -193,4 +194,22 @@ public interface Sph extends SphResourceTypeSupport {
      */
     Entry entryWithPriority(String name, EntryType trafficType, int batchCount, boolean prioritized, Object... args)
         throws BlockException;
+
+    /**
+     * Resolve a {@link ResourceHandle} of the given resource. The slot chain and statistic nodes of the
+     * resource will be cached in the handle, so entering via the handle won't look up them again.
+     * The default implementation resolves nothing in advance: entries of the handle are created via
+     * {@link #entryWithType(String, int, EntryType, int, boolean, Object[])}.
+     *
+     * @param name         the unique name for the protected resource
+     * @param resourceType classification of the resource (e.g. Web or RPC)
+     * @param trafficType  the traffic type (inbound, outbound or internal). This is used
+     *                     to mark whether it can be blocked when the system is unstable,
+     *                     only inbound traffic could be blocked by {@link SystemRule}
+     * @return the resolved handle of the resource
+     * @since 2.0.0
+     */
+    default ResourceHandle handle(String name, int resourceType, EntryType trafficType) {
+        return new ResourceHandle(this, new StringResourceWrapper(name, trafficType, resourceType), null);
+    }
 }
@@ -74,4 +74,29 @@ public interface SphResourceTypeSupport {
     AsyncEntry asyncEntryWithType(String name, int resourceType, EntryType trafficType, int batchCount,
                                   boolean prioritized,
                                   Object[] args) throws BlockException;
+
+    /**
+     * Record statistics and perform rule checking for the given resource that indicates an async invocation,
+     * without blocking current thread. When the request is queued by a rate limiter, the pass time is reserved
+     * and the caller MUST delay the invocation by {@link Entry#getDelayNanos()} by itself.
+     * Implementations without support of reservation fall back to
+     * {@link #asyncEntryWithType(String, int, EntryType, int, boolean, Object[])}, which waits in current thread
+     * and leaves no delay to the caller.
+     *
+     * @param name         the unique name for the protected resource
+     * @param resourceType classification of the resource (e.g. Web or RPC)
+     * @param trafficType  the traffic type (inbound, outbound or internal). This is used
+     *                     to mark whether it can be blocked when the system is unstable,
+     *                     only inbound traffic could be blocked by {@link SystemRule}
+     * @param batchCount   the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param prioritized  whether the entry is prioritized
+     * @param args         args for parameter flow control or customized slots
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met
+     * @since 2.0.0
+     */
+    default AsyncEntry asyncEntryNonBlocking(String name, int resourceType, EntryType trafficType, int batchCount,
+                                             boolean prioritized, Object[] args) throws BlockException {
+        return asyncEntryWithType(name, resourceType, trafficType, batchCount, prioritized, args);
+    }
 }
@@ -365,4 +365,58 @@ public class SphU {
                                         Object[] args) throws BlockException {
         return Env.sph.asyncEntryWithType(name, resourceType, trafficType, batchCount, false, args);
     }
+
+    /**
+     * Record statistics and perform rule checking for the given resource that indicates an async invocation,
+     * without blocking current thread (e.g. on an event loop). If the request is queued by a rate limiter
+     * (e.g. {@link com.alibaba.csp.sentinel.slots.block.RuleConstant#CONTROL_BEHAVIOR_RATE_LIMITER}),
+     * the pass time will be reserved, and the caller MUST delay the invocation by
+     * {@link Entry#getDelayNanos()} asynchronously.
+     *
+     * @param name         the unique name for the protected resource
+     * @param trafficType  the traffic type (inbound, outbound or internal). This is used
+     *                     to mark whether it can be blocked when the system is unstable,
+     *                     only inbound traffic could be blocked by {@link SystemRule}
+     * @param resourceType classification of the resource (e.g. Web or RPC)
+     * @param batchCount   the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args         args for parameter flow control or customized slots
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     * @since 2.0.0
+     */
+    public static AsyncEntry asyncEntryNonBlocking(String name, int resourceType, EntryType trafficType,
+                                                   int batchCount, Object[] args) throws BlockException {
+        return Env.sph.asyncEntryNonBlocking(name, resourceType, trafficType, batchCount, false, args);
+    }
+
+    /**
+     * Resolve a {@link ResourceHandle} of the given resource, which could be reused to enter the resource
+     * without looking up the slot chain and statistic nodes for each invocation.
+     *
+     * @param name        the unique name for the protected resource
+     * @param trafficType the traffic type (inbound, outbound or internal). This is used
+     *                    to mark whether it can be blocked when the system is unstable,
+     *                    only inbound traffic could be blocked by {@link SystemRule}
+     * @return the resolved handle of the resource
+     * @since 2.0.0
+     */
+    public static ResourceHandle handle(String name, EntryType trafficType) {
+        return Env.sph.handle(name, ResourceTypeConstants.COMMON, trafficType);
+    }
+
+    /**
+     * Resolve a {@link ResourceHandle} of the given resource, which could be reused to enter the resource
+     * without looking up the slot chain and statistic nodes for each invocation.
+     *
+     * @param name         the unique name for the protected resource
+     * @param resourceType classification of the resource (e.g. Web or RPC)
+     * @param trafficType  the traffic type (inbound, outbound or internal). This is used
+     *                     to mark whether it can be blocked when the system is unstable,
+     *                     only inbound traffic could be blocked by {@link SystemRule}
+     * @return the resolved handle of the resource
+     * @since 2.0.0
+     */
+    public static ResourceHandle handle(String name, int resourceType, EntryType trafficType) {
+        return Env.sph.handle(name, resourceType, trafficType);
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.concurrent;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.function.Function;
+
+/**
+ * <p>A concurrent registry of lazily created items (e.g. slot chains, nodes and contexts of resources).</p>
+ * <p>Lookups are lock-free, and registering a new item only locks the hash bin of the key, so
+ * registering new items costs O(1) and never blocks registrations of other keys or any lookup.
+ * The registry starts small and grows incrementally as items are registered.</p>
+ *
+ * @param <K> type of the key
+ * @param <V> type of the registered item
+ * @since 2.0.0
+ */
+public final class ConcurrentRegistry<K, V> {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private final ConcurrentHashMap<K, V> map;
+
+    public ConcurrentRegistry() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public ConcurrentRegistry(int initialCapacity) {
+        this.map = new ConcurrentHashMap<>(initialCapacity);
+    }
+
+    /**
+     * Get the item registered with the key.
+     *
+     * @param key the key
+     * @return the registered item, or null if absent
+     */
+    public V get(K key) {
+        return map.get(key);
+    }
+
+    /**
+     * <p>Get the item registered with the key, or create and register a new one via the factory if absent.</p>
+     * <p>The factory will be invoked at most once for an absent key. It may return null to reject the
+     * registration (e.g. when the amount of registered items exceeds the threshold), and then nothing
+     * will be registered. The factory must not register any other item of this registry.</p>
+     *
+     * @param key     the key
+     * @param factory factory for creating the item of the key
+     * @return the registered item, or null if the registration is rejected by the factory
+     */
+    public V getOrCreate(K key, final Function<? super K, ? extends V> factory) {
+        V value = map.get(key);
+        if (value != null) {
+            return value;
+        }
+        AssertUtil.notNull(factory, "factory cannot be null");
+        return map.computeIfAbsent(key, factory::apply);
+    }
+
+    /**
+     * Register the item with the key, replacing the former one.
+     *
+     * @param key   the key
+     * @param value the item
+     * @return the former item registered with the key, or null if absent
+     */
+    public V put(K key, V value) {
+        return map.put(key, value);
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public void clear() {
+        map.clear();
+    }
+
+    /**
+     * Get the live map view of the registry. Modifications of the map will be reflected in the registry.
+     *
+     * @return the map view of the registry
+     */
+    public ConcurrentMap<K, V> asMap() {
+        return map;
+    }
+}
@@ -61,6 +61,13 @@ public final class SentinelConfig {
     public static final String STATISTIC_MAX_RT = "csp.sentinel.statistic.max.rt";
     public static final String SPI_CLASSLOADER = "csp.sentinel.spi.classloader";
     public static final String METRIC_FLUSH_INTERVAL = "csp.sentinel.metric.flush.interval";
+    public static final String ENTRY_CACHE_ENABLED = "csp.sentinel.entry.cache.enabled";
+    public static final String STATISTIC_ROLLING_SUM_ENABLED = "csp.sentinel.statistic.rolling.sum.enabled";
+    public static final String STATISTIC_BUCKET_STRIPED = "csp.sentinel.statistic.bucket.striped";
+    public static final String STATISTIC_RT_HISTOGRAM_ENABLED = "csp.sentinel.statistic.rt.histogram.enabled";
+    public static final String STATISTIC_SAMPLE_INTERVAL = "csp.sentinel.statistic.sample.interval";
+    public static final String SYSTEM_METRICS_SOURCE = "csp.sentinel.system.metrics.source";
+    public static final String STATISTIC_MAX_ORIGIN_COUNT = "csp.sentinel.statistic.max.origin.count";
 
     public static final String DEFAULT_CHARSET = "UTF-8";
     public static final long DEFAULT_SINGLE_METRIC_FILE_SIZE = 1024 * 1024 * 50;
@@ -68,6 +75,13 @@ public final class SentinelConfig {
     public static final int DEFAULT_COLD_FACTOR = 3;
     public static final int DEFAULT_STATISTIC_MAX_RT = 5000;
     public static final long DEFAULT_METRIC_FLUSH_INTERVAL = 1L;
+    public static final boolean DEFAULT_ENTRY_CACHE_ENABLED = false;
+    public static final boolean DEFAULT_STATISTIC_ROLLING_SUM_ENABLED = false;
+    public static final boolean DEFAULT_STATISTIC_BUCKET_STRIPED = false;
+    public static final boolean DEFAULT_STATISTIC_RT_HISTOGRAM_ENABLED = false;
+    public static final int DEFAULT_STATISTIC_SAMPLE_INTERVAL = 1;
+    public static final String DEFAULT_SYSTEM_METRICS_SOURCE = "jmx";
+    public static final int DEFAULT_STATISTIC_MAX_ORIGIN_COUNT = 0;
 
     static {
         try {
@@ -259,6 +273,151 @@ public final class SentinelConfig {
         }
     }
 
+    /**
+     * <p>Whether the synchronous entry path should use a per-thread cache, which reuses the auto-entered
+     * default context and the resource wrappers rather than allocating them for each invocation.
+     * Entries are still allocated for each invocation.</p>
+     * <p>Note that with the cache enabled, the default {@link com.alibaba.csp.sentinel.context.Context} MUST NOT
+     * be accessed anymore after its outermost entry has been exited.</p>
+     *
+     * @return whether the entry cache is enabled, false by default
+     * @since 2.0.0
+     */
+    public static boolean entryCacheEnabled() {
+        String v = props.get(ENTRY_CACHE_ENABLED);
+        if (StringUtil.isBlank(v)) {
+            return DEFAULT_ENTRY_CACHE_ENABLED;
+        }
+        return Boolean.parseBoolean(v.trim());
+    }
+
+    /**
+     * <p>Whether the statistic nodes should keep rolling sums of the sliding window
+     * ({@link com.alibaba.csp.sentinel.slots.statistic.metric.RollingSumArrayMetric}), so that reading
+     * the window statistics costs O(1) rather than summing all buckets.</p>
+     * <p>Note that this only takes effect on startup.</p>
+     *
+     * @return whether rolling sums are enabled, false by default
+     * @since 2.0.0
+     */
+    public static boolean statisticRollingSumEnabled() {
+        String v = props.get(STATISTIC_ROLLING_SUM_ENABLED);
+        if (StringUtil.isBlank(v)) {
+            return DEFAULT_STATISTIC_ROLLING_SUM_ENABLED;
+        }
+        return Boolean.parseBoolean(v.trim());
+    }
+
+    /**
+     * <p>Whether the statistic buckets should keep the counters of all events in cache-line-padded stripes
+     * ({@link com.alibaba.csp.sentinel.slots.statistic.data.StripedMetricBucket}) rather than an adder per event.</p>
+     * <p>Note that this only takes effect on startup.</p>
+     *
+     * @return whether striped buckets are enabled, false by default
+     * @since 2.0.0
+     */
+    public static boolean statisticBucketStriped() {
+        String v = props.get(STATISTIC_BUCKET_STRIPED);
+        if (StringUtil.isBlank(v)) {
+            return DEFAULT_STATISTIC_BUCKET_STRIPED;
+        }
+        return Boolean.parseBoolean(v.trim());
+    }
+
+    /**
+     * <p>Whether the statistic nodes should record response time histograms, so that the response time
+     * percentiles (e.g. p99) are available. Each node keeps at most two histograms (one per second),
+     * whose size is bounded by {@link #statisticMaxRt()}.</p>
+     * <p>Note that this only takes effect on startup.</p>
+     *
+     * @return whether response time histograms are enabled, false by default
+     * @since 2.0.0
+     */
+    public static boolean statisticRtHistogramEnabled() {
+        String v = props.get(STATISTIC_RT_HISTOGRAM_ENABLED);
+        if (StringUtil.isBlank(v)) {
+            return DEFAULT_STATISTIC_RT_HISTOGRAM_ENABLED;
+        }
+        return Boolean.parseBoolean(v.trim());
+    }
+
+    /**
+     * <p>Get the global sample interval of the completion statistics (response time and success count).
+     * When the interval {@code N} is greater than 1, only 1-in-N completed invocations (chosen randomly)
+     * are recorded, with their counts scaled by N. See
+     * {@link com.alibaba.csp.sentinel.slots.statistic.StatisticSampler} for the error bound.</p>
+     *
+     * @return the global sample interval, 1 (exact statistics) by default
+     * @since 2.0.0
+     */
+    public static int statisticSampleInterval() {
+        String v = props.get(STATISTIC_SAMPLE_INTERVAL);
+        try {
+            if (StringUtil.isBlank(v)) {
+                return DEFAULT_STATISTIC_SAMPLE_INTERVAL;
+            }
+            int interval = Integer.parseInt(v.trim());
+            if (interval < 1) {
+                throw new IllegalArgumentException("sample interval should be positive");
+            }
+            return interval;
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Invalid statisticSampleInterval value: {}, using the default value instead: "
+                    + DEFAULT_STATISTIC_SAMPLE_INTERVAL, v, throwable);
+            return DEFAULT_STATISTIC_SAMPLE_INTERVAL;
+        }
+    }
+
+    /**
+     * <p>Get the maximum amount of origins that have their own statistics per resource. When there are more
+     * origins, only the most frequent origins (heavy hitters) are tracked exactly, and the others are
+     * aggregated into a shared node. See {@link com.alibaba.csp.sentinel.node.ClusterNode}.</p>
+     * <p>The origins specified by rules, and all origins of the resources with {@code other} flow rules (which
+     * limit each origin separately), always have their own statistics.</p>
+     * <p>Note that this only takes effect on startup.</p>
+     *
+     * @return the maximum amount of origins per resource, 0 (unbounded) by default
+     * @since 2.0.0
+     */
+    public static int statisticMaxOriginCount() {
+        String v = props.get(STATISTIC_MAX_ORIGIN_COUNT);
+        try {
+            if (StringUtil.isBlank(v)) {
+                return DEFAULT_STATISTIC_MAX_ORIGIN_COUNT;
+            }
+            int count = Integer.parseInt(v.trim());
+            if (count < 0) {
+                throw new IllegalArgumentException("max origin count should not be negative");
+            }
+            return count;
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Invalid statisticMaxOriginCount value: {}, using the default value instead: "
+                    + DEFAULT_STATISTIC_MAX_ORIGIN_COUNT, v, throwable);
+            return DEFAULT_STATISTIC_MAX_ORIGIN_COUNT;
+        }
+    }
+
+    /**
+     * <p>Get the source of the system metrics (load and CPU usage) for system rules:</p>
+     * <ul>
+     * <li>{@code jmx}: the operating system MXBean, which reports host-wide values in containers</li>
+     * <li>{@code cgroup}: the cgroup (v1 or v2) of the process and the PSI (pressure stall information)</li>
+     * <li>{@code auto}: {@code cgroup} if the process is limited by a cgroup CPU quota or memory limit
+     * (e.g. in a container), otherwise {@code jmx}</li>
+     * </ul>
+     * <p>Note that this only takes effect on startup.</p>
+     *
+     * @return the source of the system metrics, {@code jmx} by default
+     * @since 2.0.0
+     */
+    public static String systemMetricsSource() {
+        String v = props.get(SYSTEM_METRICS_SOURCE);
+        if (StringUtil.isBlank(v)) {
+            return DEFAULT_SYSTEM_METRICS_SOURCE;
+        }
+        return v.trim().toLowerCase();
+    }
+
     /**
      * Function for resolving project name. The order is elaborated below:
      *
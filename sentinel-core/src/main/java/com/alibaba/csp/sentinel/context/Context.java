@@ -76,6 +76,12 @@ public class Context {
      */
     private String origin = "";
 
+    /**
+     * The time (in milliseconds) when the request arrives, which is provided by the inbound adapters.
+     * Non-positive value indicates that the arrival time is unknown.
+     */
+    private long arrivalTime = -1;
+
     private final boolean async;
 
     /**
@@ -135,6 +141,29 @@ public class Context {
         return this;
     }
 
+    /**
+     * Get the arrival time of current request, so that the queueing delay of the request
+     * (before being processed) could be calculated.
+     *
+     * @return the arrival time in milliseconds, or non-positive value if unknown
+     * @since 2.0.0
+     */
+    public long getArrivalTime() {
+        return arrivalTime;
+    }
+
+    /**
+     * Set the arrival time of current request.
+     *
+     * @param arrivalTime the arrival time in milliseconds (as {@link System#currentTimeMillis()})
+     * @return current context
+     * @since 2.0.0
+     */
+    public Context setArrivalTime(long arrivalTime) {
+        this.arrivalTime = arrivalTime;
+        return this;
+    }
+
     public double getOriginTotalQps() {
         return getOriginNode() == null ? 0 : getOriginNode().totalQps();
     }
@@ -15,20 +15,18 @@
  */
 package com.alibaba.csp.sentinel.context;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.locks.ReentrantLock;
-
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.SphO;
 import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.concurrent.ConcurrentRegistry;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.node.EntranceNode;
 import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.slots.nodeselector.NodeSelectorSlot;
+import com.alibaba.csp.sentinel.util.function.Function;
 
 /**
  * Utility class to get or create {@link Context} in current thread.
@@ -52,9 +50,21 @@ public class ContextUtil {
     /**
      * Holds all {@link EntranceNode}. Each {@link EntranceNode} is associated with a distinct context name.
      */
-    private static volatile Map<String, DefaultNode> contextNameNodeMap = new HashMap<>();
+    private static final ConcurrentRegistry<String, DefaultNode> contextNameNodeMap = new ConcurrentRegistry<>();
+
+    private static final Function<String, DefaultNode> ENTRANCE_NODE_FACTORY = new Function<String, DefaultNode>() {
+        @Override
+        public DefaultNode apply(String name) {
+            if (contextNameNodeMap.size() > Constants.MAX_CONTEXT_NAME_SIZE) {
+                return null;
+            }
+            EntranceNode node = new EntranceNode(new StringResourceWrapper(name, EntryType.IN), null);
+            // Add entrance node.
+            Constants.ROOT.addChild(node);
+            return node;
+        }
+    };
 
-    private static final ReentrantLock LOCK = new ReentrantLock();
     private static final Context NULL_CONTEXT = new NullContext();
 
     static {
@@ -73,11 +83,9 @@ public class ContextUtil {
      * Not thread-safe, only for test.
      */
     static void resetContextMap() {
-        if (contextNameNodeMap != null) {
-            RecordLog.warn("Context map cleared and reset to initial state");
-            contextNameNodeMap.clear();
-            initDefaultContext();
-        }
+        RecordLog.warn("Context map cleared and reset to initial state");
+        contextNameNodeMap.clear();
+        initDefaultContext();
     }
 
     /**
@@ -118,39 +126,38 @@ public class ContextUtil {
     }
 
     protected static Context trueEnter(String name, String origin) {
+        return trueEnter(name, origin, null);
+    }
+
+    /**
+     * Enter the context with a context instance that could be reused. If the provided context is bound
+     * to the same name and entrance node, and has no entry in it, it will be reused rather than
+     * creating a new {@link Context}. This is mainly designed for the auto-entered default context
+     * with the per-thread entry cache enabled.
+     *
+     * @param name     the context name
+     * @param origin   the origin of this invocation
+     * @param reusable a context that is no longer in use by the caller thread, nullable
+     * @return the invocation context of the current thread
+     * @since 2.0.0
+     */
+    protected static Context trueEnter(String name, String origin, Context reusable) {
         Context context = contextHolder.get();
         if (context == null) {
-            Map<String, DefaultNode> localCacheNameMap = contextNameNodeMap;
-            DefaultNode node = localCacheNameMap.get(name);
+            DefaultNode node = contextNameNodeMap.getOrCreate(name, ENTRANCE_NODE_FACTORY);
             if (node == null) {
-                if (localCacheNameMap.size() > Constants.MAX_CONTEXT_NAME_SIZE) {
-                    setNullContext();
-                    return NULL_CONTEXT;
-                } else {
-                    LOCK.lock();
-                    try {
-                        node = contextNameNodeMap.get(name);
-                        if (node == null) {
-                            if (contextNameNodeMap.size() > Constants.MAX_CONTEXT_NAME_SIZE) {
-                                setNullContext();
-                                return NULL_CONTEXT;
-                            } else {
-                                node = new EntranceNode(new StringResourceWrapper(name, EntryType.IN), null);
-                                // Add entrance node.
-                                Constants.ROOT.addChild(node);
-
-                                Map<String, DefaultNode> newMap = new HashMap<>(contextNameNodeMap.size() + 1);
-                                newMap.putAll(contextNameNodeMap);
-                                newMap.put(name, node);
-                                contextNameNodeMap = newMap;
-                            }
-                        }
-                    } finally {
-                        LOCK.unlock();
-                    }
-                }
+                setNullContext();
+                return NULL_CONTEXT;
+            }
+            if (reusable != null && !reusable.isAsync() && reusable.getCurEntry() == null
+                && reusable.getEntranceNode() == node
+                && name.equals(reusable.getName())) {
+                context = reusable;
+                // Do not leak the arrival time of the previous invocation.
+                context.setArrivalTime(-1);
+            } else {
+                context = new Context(node, name);
             }
-            context = new Context(node, name);
             context.setOrigin(origin);
             contextHolder.set(context);
         }
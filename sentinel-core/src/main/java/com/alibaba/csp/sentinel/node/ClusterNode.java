@@ -15,14 +15,14 @@
  */
 package com.alibaba.csp.sentinel.node;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.locks.ReentrantLock;
 
 import com.alibaba.csp.sentinel.ResourceTypeConstants;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.function.Predicate;
 
 /**
  * <p>
@@ -47,27 +47,45 @@ public class ClusterNode extends StatisticNode {
     private final String name;
     private final int resourceType;
 
+    private static final int MAX_ORIGIN_COUNT = SentinelConfig.statisticMaxOriginCount();
+
     public ClusterNode(String name) {
         this(name, ResourceTypeConstants.COMMON);
     }
 
     public ClusterNode(String name, int resourceType) {
+        this(name, resourceType, null);
+    }
+
+    /**
+     * @param name             resource name
+     * @param resourceType     classification (type) of the resource
+     * @param dedicatedOrigins tests whether an origin is specified by rules (e.g. as the {@code limitApp}),
+     *                         whose node is kept regardless of {@link SentinelConfig#statisticMaxOriginCount()};
+     *                         nullable
+     * @since 2.0.0
+     */
+    public ClusterNode(String name, int resourceType, Predicate<String> dedicatedOrigins) {
+        this(name, resourceType, MAX_ORIGIN_COUNT, dedicatedOrigins);
+    }
+
+    ClusterNode(String name, int resourceType, int maxOriginCount, Predicate<String> dedicatedOrigins) {
         AssertUtil.notEmpty(name, "name cannot be empty");
         this.name = name;
         this.resourceType = resourceType;
+        // Non-positive count means unbounded.
+        this.originCountMap = new OriginNodeRegistry(maxOriginCount > 0 ? maxOriginCount : Integer.MAX_VALUE,
+            dedicatedOrigins);
     }
 
     /**
      * <p>The origin map holds the pair: (origin, originNode) for one specific resource.</p>
      * <p>
-     * The longer the application runs, the more stable this mapping will become.
-     * So we didn't use concurrent map here, but a lock, as this lock only happens
-     * at the very beginning while concurrent map will hold the lock all the time.
+     * Lookups are lock-free, and new origins are registered without any lock shared by other origins.
+     * The amount of origin nodes may be bounded by {@link SentinelConfig#statisticMaxOriginCount()}.
      * </p>
      */
-    private Map<String, StatisticNode> originCountMap = new HashMap<>();
-
-    private final ReentrantLock lock = new ReentrantLock();
+    private final OriginNodeRegistry originCountMap;
 
     /**
      * Get resource name of the resource node.
@@ -93,34 +111,33 @@ public class ClusterNode extends StatisticNode {
      * <p>Get {@link Node} of the specific origin. Usually the origin is the Service Consumer's app name.</p>
      * <p>If the origin node for given origin is absent, then a new {@link StatisticNode}
      * for the origin will be created and returned.</p>
+     * <p>If the amount of origins is bounded and there are already
+     * {@link SentinelConfig#statisticMaxOriginCount()} origins, the node
+     * of the least frequent origin may be replaced by the node of given origin, if given origin is more
+     * frequent. Otherwise the shared node of the other origins ({@link #getOthersOriginNode()}) will be
+     * returned. The origins specified by rules always have their own nodes.</p>
      *
      * @param origin The caller's name, which is designated in the {@code parameter} parameter
      *               {@link ContextUtil#enter(String name, String origin)}.
      * @return the {@link Node} of the specific origin
      */
     public Node getOrCreateOriginNode(String origin) {
-        StatisticNode statisticNode = originCountMap.get(origin);
-        if (statisticNode == null) {
-            lock.lock();
-            try {
-                statisticNode = originCountMap.get(origin);
-                if (statisticNode == null) {
-                    // The node is absent, create a new node for the origin.
-                    statisticNode = new StatisticNode();
-                    HashMap<String, StatisticNode> newMap = new HashMap<>(originCountMap.size() + 1);
-                    newMap.putAll(originCountMap);
-                    newMap.put(origin, statisticNode);
-                    originCountMap = newMap;
-                }
-            } finally {
-                lock.unlock();
-            }
-        }
-        return statisticNode;
+        return originCountMap.getOrCreate(origin);
     }
 
     public Map<String, StatisticNode> getOriginCountMap() {
-        return originCountMap;
+        return originCountMap.asMap();
+    }
+
+    /**
+     * Get the node that aggregates the statistics of the origins not in {@link #getOriginCountMap()}
+     * (when the amount of origins exceeds {@link SentinelConfig#statisticMaxOriginCount()}).
+     *
+     * @return the node of the other origins
+     * @since 2.0.0
+     */
+    public StatisticNode getOthersOriginNode() {
+        return originCountMap.getOthersNode();
     }
 
 }
@@ -124,6 +124,12 @@ public class DefaultNode extends StatisticNode {
         this.clusterNode.addRtAndSuccess(rt, successCount);
     }
 
+    @Override
+    public void addRtAndSuccess(long rt, int successCount, int weight) {
+        super.addRtAndSuccess(rt, successCount, weight);
+        this.clusterNode.addRtAndSuccess(rt, successCount, weight);
+    }
+
     @Override
     public void increaseThreadNum() {
         super.increaseThreadNum();
@@ -124,6 +124,20 @@ public interface Node extends OccupySupport, DebugSupport {
      */
     double minRt();
 
+    /**
+     * Get the response time at given percentile (e.g. 99 for p99) in the recent seconds.
+     * The response time histogram should be enabled via
+     * {@link com.alibaba.csp.sentinel.config.SentinelConfig#statisticRtHistogramEnabled()}.
+     * By default, the average response time is returned for nodes without histograms.
+     *
+     * @param percentile the percentile in (0, 100]
+     * @return the response time at given percentile, or the average response time by default
+     * @since 2.0.0
+     */
+    default double rtPercentile(double percentile) {
+        return avgRt();
+    }
+
     /**
      * Get current active thread count.
      *
@@ -172,6 +186,22 @@ public interface Node extends OccupySupport, DebugSupport {
      */
     void addRtAndSuccess(long rt, int success);
 
+    /**
+     * Add rt and success count of a sampled invocation, which stands for {@code weight} invocations,
+     * so the success count and total rt are scaled by the weight.
+     *
+     * @param rt      response time of the sampled invocation
+     * @param success success count of the sampled invocation
+     * @param weight  weight of the sample, i.e. the sample interval
+     * @since 2.0.0
+     */
+    default void addRtAndSuccess(long rt, int success, int weight) {
+        // Record the sample once per invocation it stands for, which costs one record per invocation on average.
+        for (int i = 0; i < weight; i++) {
+            addRtAndSuccess(rt, success);
+        }
+    }
+
     /**
      * Increase the block count.
      *
@@ -0,0 +1,219 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.concurrent.ConcurrentRegistry;
+import com.alibaba.csp.sentinel.slots.statistic.base.CountMinSketch;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+import com.alibaba.csp.sentinel.util.function.Function;
+import com.alibaba.csp.sentinel.util.function.Predicate;
+
+/**
+ * <p>Bounded registry of the origin nodes of a resource.</p>
+ * <p>The origins specified by rules (see {@code dedicatedOrigins}) always have their own {@link StatisticNode},
+ * which are neither limited by the capacity nor evicted. Besides, at most {@code capacity} origins have their
+ * own nodes. Once the registry is full, the invocations of other origins are recorded in a shared "others" node,
+ * while their frequencies are estimated by a {@link CountMinSketch}, which is halved at the start of every
+ * {@link #REFRESH_INTERVAL_MS} period. The origin with the lowest QPS in the registry is the eviction candidate,
+ * and it's replaced when an untracked origin becomes more frequent than it (like the TinyLFU admission policy).
+ * Origins with invocations in progress are not evicted, so that their thread counts are kept.
+ * So the heavy hitters are always tracked exactly, and a flood of distinct origins (e.g. random caller IDs)
+ * only costs the sketch.</p>
+ *
+ * @since 2.0.0
+ */
+final class OriginNodeRegistry {
+
+    static final long REFRESH_INTERVAL_MS = 1000;
+
+    private static final int MIN_SKETCH_WIDTH = 1024;
+    /**
+     * Counters of the sketch are negligible after being halved so many times, so at most such times of aging
+     * are done after idle periods.
+     */
+    private static final int MAX_AGING_TIMES = 16;
+
+    private final int capacity;
+    private final Predicate<String> dedicatedOrigins;
+    private final ConcurrentRegistry<String, StatisticNode> nodes = new ConcurrentRegistry<>(4);
+    /**
+     * Origins in {@link #nodes} which are specified by rules, so they are not counted in the capacity.
+     */
+    private final Set<String> dedicated = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private final StatisticNode othersNode = new StatisticNode();
+
+    private final Function<String, StatisticNode> nodeFactory = new Function<String, StatisticNode>() {
+        @Override
+        public StatisticNode apply(String origin) {
+            // Reject the registration when full, then the origin goes to the admission.
+            return trackedCount() < capacity ? new StatisticNode() : null;
+        }
+    };
+
+    /**
+     * Frequencies of the untracked origins, created once the registry is full.
+     */
+    private volatile CountMinSketch sketch;
+    private volatile Victim victim;
+    /**
+     * Start time of current aging period.
+     */
+    private final AtomicLong periodStart = new AtomicLong();
+
+    OriginNodeRegistry(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * @param capacity         max amount of the origins (not specified by rules) with their own nodes
+     * @param dedicatedOrigins tests whether an origin is specified by rules, which is only tested for
+     *                         untracked origins when the registry is full and when refreshing; nullable
+     */
+    OriginNodeRegistry(int capacity, Predicate<String> dedicatedOrigins) {
+        AssertUtil.isTrue(capacity > 0, "capacity should be positive");
+        this.capacity = capacity;
+        this.dedicatedOrigins = dedicatedOrigins;
+    }
+
+    StatisticNode getOrCreate(String origin) {
+        StatisticNode node = nodes.getOrCreate(origin, nodeFactory);
+        if (node != null) {
+            return node;
+        }
+        if (isDedicated(origin)) {
+            dedicated.add(origin);
+            node = new StatisticNode();
+            StatisticNode former = nodes.asMap().putIfAbsent(origin, node);
+            return former == null ? node : former;
+        }
+        return admitOrAggregate(origin);
+    }
+
+    private boolean isDedicated(String origin) {
+        return dedicatedOrigins != null && dedicatedOrigins.test(origin);
+    }
+
+    private int trackedCount() {
+        return nodes.size() - dedicated.size();
+    }
+
+    private StatisticNode admitOrAggregate(String origin) {
+        CountMinSketch sketch = getSketch();
+        long currentTime = TimeUtil.currentTimeMillis();
+        long currentPeriodStart = currentTime - currentTime % REFRESH_INTERVAL_MS;
+        long lastPeriodStart = periodStart.get();
+        if (currentPeriodStart > lastPeriodStart && periodStart.compareAndSet(lastPeriodStart, currentPeriodStart)) {
+            refresh(sketch, (currentPeriodStart - lastPeriodStart) / REFRESH_INTERVAL_MS);
+        }
+        long frequency = sketch.add(origin, 1);
+        Victim victim = this.victim;
+        // The sketch counts the current period fully, and each former period half as much as the next one,
+        // so the weight of the counted time is (1 + elapsed fraction of current period) seconds in total.
+        // Convert the frequency to QPS, the same unit of the victim.
+        double weight = 1 + (double)(currentTime - currentPeriodStart) / REFRESH_INTERVAL_MS;
+        if (victim != null && frequency / weight > victim.qps) {
+            synchronized (this) {
+                StatisticNode victimNode = nodes.asMap().get(victim.origin);
+                // Keep the victim if it has got invocations in progress since the refresh.
+                if (this.victim == victim && (victimNode == null || victimNode.curThreadNum() <= 0)) {
+                    this.victim = null;
+                    nodes.asMap().remove(victim.origin);
+                    StatisticNode node = new StatisticNode();
+                    StatisticNode former = nodes.asMap().putIfAbsent(origin, node);
+                    return former == null ? node : former;
+                }
+            }
+        }
+        return othersNode;
+    }
+
+    private CountMinSketch getSketch() {
+        CountMinSketch sketch = this.sketch;
+        if (sketch == null) {
+            synchronized (this) {
+                sketch = this.sketch;
+                if (sketch == null) {
+                    sketch = new CountMinSketch(Math.max(MIN_SKETCH_WIDTH, capacity * 4));
+                    this.sketch = sketch;
+                }
+            }
+        }
+        return sketch;
+    }
+
+    /**
+     * Age the sketch for the elapsed periods and pick the origin with the lowest QPS (except the origins
+     * specified by rules) as the next eviction candidate.
+     */
+    private void refresh(CountMinSketch sketch, long periods) {
+        for (long i = 0; i < Math.min(periods, MAX_AGING_TIMES); i++) {
+            sketch.halve();
+        }
+        String minOrigin = null;
+        double minQps = Double.MAX_VALUE;
+        for (Map.Entry<String, StatisticNode> e : nodes.asMap().entrySet()) {
+            String origin = e.getKey();
+            // Rules may have changed since the origin was registered.
+            if (isDedicated(origin)) {
+                dedicated.add(origin);
+                continue;
+            }
+            dedicated.remove(origin);
+            if (e.getValue().curThreadNum() > 0) {
+                continue;
+            }
+            double qps = e.getValue().totalQps();
+            if (qps < minQps) {
+                minQps = qps;
+                minOrigin = origin;
+            }
+        }
+        if (trackedCount() < capacity) {
+            this.victim = null;
+            return;
+        }
+        this.victim = minOrigin == null ? null : new Victim(minOrigin, minQps);
+    }
+
+    Map<String, StatisticNode> asMap() {
+        return nodes.asMap();
+    }
+
+    StatisticNode getOthersNode() {
+        return othersNode;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    private static final class Victim {
+        private final String origin;
+        private final double qps;
+
+        private Victim(String origin, double qps) {
+            this.origin = origin;
+            this.qps = qps;
+        }
+    }
+}
@@ -20,9 +20,12 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.LongAdder;
 
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.node.metric.MetricNode;
 import com.alibaba.csp.sentinel.slots.statistic.metric.ArrayMetric;
+import com.alibaba.csp.sentinel.slots.statistic.metric.RollingSumArrayMetric;
 import com.alibaba.csp.sentinel.slots.statistic.metric.Metric;
+import com.alibaba.csp.sentinel.slots.statistic.metric.RtHistogramLeapArray;
 import com.alibaba.csp.sentinel.util.TimeUtil;
 import com.alibaba.csp.sentinel.util.function.Predicate;
 
@@ -89,18 +92,36 @@ import com.alibaba.csp.sentinel.util.function.Predicate;
  */
 public class StatisticNode implements Node {
 
+    private static boolean rollingSumEnabled = SentinelConfig.statisticRollingSumEnabled();
+
     /**
      * Holds statistics of the recent {@code INTERVAL} milliseconds. The {@code INTERVAL} is divided into time spans
      * by given {@code sampleCount}.
      */
-    private transient volatile Metric rollingCounterInSecond = new ArrayMetric(SampleCountProperty.SAMPLE_COUNT,
-        IntervalProperty.INTERVAL);
+    private transient volatile Metric rollingCounterInSecond = newMetric(SampleCountProperty.SAMPLE_COUNT,
+        IntervalProperty.INTERVAL, true);
 
     /**
      * Holds statistics of the recent 60 seconds. The windowLengthInMs is deliberately set to 1000 milliseconds,
      * meaning each bucket per second, in this way we can get accurate statistics of each second.
      */
-    private transient Metric rollingCounterInMinute = new ArrayMetric(60, 60 * 1000, false);
+    private transient Metric rollingCounterInMinute = newMetric(60, 60 * 1000, false);
+
+    /**
+     * Interval (in milliseconds) of the response time histograms of nodes.
+     *
+     * @since 2.0.0
+     */
+    public static final int RT_HISTOGRAM_INTERVAL_MS = 2 * 1000;
+
+    private static boolean rtHistogramEnabled = SentinelConfig.statisticRtHistogramEnabled();
+
+    /**
+     * Holds response time histograms of the recent 2 seconds (one histogram per second),
+     * present only if the histogram is enabled.
+     */
+    private final transient RtHistogramLeapArray rtHistogram = rtHistogramEnabled
+        ? new RtHistogramLeapArray(2, RT_HISTOGRAM_INTERVAL_MS) : null;
 
     /**
      * The counter for thread count.
@@ -123,6 +144,7 @@ public class StatisticNode implements Node {
         // Iterate metrics of all resources, filter valid metrics (not-empty and up-to-date).
         for (MetricNode node : nodesOfEverySecond) {
             if (isNodeInTime(node, currentTime) && isValidMetricNode(node)) {
+                fillRtPercentiles(node);
                 metrics.put(node.getTimestamp(), node);
                 newLastFetchTime = Math.max(newLastFetchTime, node.getTimestamp());
             }
@@ -137,6 +159,17 @@ public class StatisticNode implements Node {
         return rollingCounterInMinute.detailsOnCondition(timePredicate);
     }
 
+    private void fillRtPercentiles(MetricNode node) {
+        if (rtHistogram == null || node.getSuccessQps() <= 0) {
+            return;
+        }
+        long time = node.getTimestamp();
+        node.setRtP50(rtHistogram.percentile(time, 50))
+            .setRtP90(rtHistogram.percentile(time, 90))
+            .setRtP99(rtHistogram.percentile(time, 99))
+            .setRtP999(rtHistogram.percentile(time, 99.9));
+    }
+
     private boolean isNodeInTime(MetricNode node, long currentTime) {
         return node.getTimestamp() > lastFetchTime && node.getTimestamp() < currentTime;
     }
@@ -148,7 +181,12 @@ public class StatisticNode implements Node {
 
     @Override
     public void reset() {
-        rollingCounterInSecond = new ArrayMetric(SampleCountProperty.SAMPLE_COUNT, IntervalProperty.INTERVAL);
+        rollingCounterInSecond = newMetric(SampleCountProperty.SAMPLE_COUNT, IntervalProperty.INTERVAL, true);
+    }
+
+    private static Metric newMetric(int sampleCount, int intervalInMs, boolean enableOccupy) {
+        return rollingSumEnabled ? new RollingSumArrayMetric(sampleCount, intervalInMs, enableOccupy)
+            : new ArrayMetric(sampleCount, intervalInMs, enableOccupy);
     }
 
     @Override
@@ -237,6 +275,38 @@ public class StatisticNode implements Node {
         return rollingCounterInSecond.minRt();
     }
 
+    /**
+     * Check whether nodes record response time histograms (so that {@link #rtPercentile(double)} is available).
+     *
+     * @return whether response time histograms are enabled
+     * @since 2.0.0
+     */
+    public static boolean isRtHistogramEnabled() {
+        return rtHistogramEnabled;
+    }
+
+    /**
+     * Get the amount of response times recorded in the histogram window ({@link #RT_HISTOGRAM_INTERVAL_MS}),
+     * i.e. the amount of requests that {@link #rtPercentile(double)} is computed from.
+     *
+     * @return the amount of recorded response times, or 0 if the histogram is disabled
+     * @since 2.0.0
+     */
+    public long rtHistogramCount() {
+        if (rtHistogram == null) {
+            return 0;
+        }
+        return rtHistogram.totalCount();
+    }
+
+    @Override
+    public double rtPercentile(double percentile) {
+        if (rtHistogram == null) {
+            return 0;
+        }
+        return rtHistogram.percentile(percentile);
+    }
+
     @Override
     public int curThreadNum() {
         return (int)curThreadNum.sum();
@@ -255,6 +325,24 @@ public class StatisticNode implements Node {
 
         rollingCounterInMinute.addSuccess(successCount);
         rollingCounterInMinute.addRT(rt);
+
+        if (rtHistogram != null) {
+            rtHistogram.record(rt);
+        }
+    }
+
+    @Override
+    public void addRtAndSuccess(long rt, int successCount, int weight) {
+        rollingCounterInSecond.addSuccess(successCount * weight);
+        rollingCounterInSecond.addRT(rt, weight);
+
+        rollingCounterInMinute.addSuccess(successCount * weight);
+        rollingCounterInMinute.addRT(rt, weight);
+
+        // Uniform sampling keeps the distribution, so the sample is recorded only once.
+        if (rtHistogram != null) {
+            rtHistogram.record(rt);
+        }
     }
 
     @Override
@@ -279,6 +367,13 @@ public class StatisticNode implements Node {
         curThreadNum.decrement();
     }
 
+    /**
+     * Enable or disable response time histograms of the nodes created afterwards. For test.
+     */
+    static void setRtHistogramEnabled(boolean enabled) {
+        rtHistogramEnabled = enabled;
+    }
+
     @Override
     public void debug() {
         rollingCounterInSecond.debug();
@@ -50,6 +50,17 @@ public class MetricNode {
      */
     private int concurrency;
 
+    /**
+     * Response time percentiles (p50, p90, p99 and p999), only present if the response time
+     * histogram is enabled.
+     *
+     * @since 2.0.0
+     */
+    private long rtP50;
+    private long rtP90;
+    private long rtP99;
+    private long rtP999;
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -132,6 +143,55 @@ public class MetricNode {
         return this;
     }
 
+    public long getRtP50() {
+        return rtP50;
+    }
+
+    public MetricNode setRtP50(long rtP50) {
+        this.rtP50 = rtP50;
+        return this;
+    }
+
+    public long getRtP90() {
+        return rtP90;
+    }
+
+    public MetricNode setRtP90(long rtP90) {
+        this.rtP90 = rtP90;
+        return this;
+    }
+
+    public long getRtP99() {
+        return rtP99;
+    }
+
+    public MetricNode setRtP99(long rtP99) {
+        this.rtP99 = rtP99;
+        return this;
+    }
+
+    public long getRtP999() {
+        return rtP999;
+    }
+
+    public MetricNode setRtP999(long rtP999) {
+        this.rtP999 = rtP999;
+        return this;
+    }
+
+    private boolean hasRtPercentiles() {
+        return rtP50 > 0 || rtP90 > 0 || rtP99 > 0 || rtP999 > 0;
+    }
+
+    private void appendRtPercentiles(StringBuilder sb) {
+        if (hasRtPercentiles()) {
+            sb.append("|").append(rtP50);
+            sb.append("|").append(rtP90);
+            sb.append("|").append(rtP99);
+            sb.append("|").append(rtP999);
+        }
+    }
+
     @Override
     public String toString() {
         return "MetricNode{" +
@@ -145,6 +205,10 @@ public class MetricNode {
             ", rt=" + rt +
             ", concurrency=" + concurrency +
             ", occupiedPassQps=" + occupiedPassQps +
+            ", rtP50=" + rtP50 +
+            ", rtP90=" + rtP90 +
+            ", rtP99=" + rtP99 +
+            ", rtP999=" + rtP999 +
             '}';
     }
 
@@ -152,8 +216,9 @@ public class MetricNode {
      * To formatting string. All "|" in {@link #resource} will be replaced with
      * "_", format is: <br/>
      * <code>
-     * timestamp|resource|passQps|blockQps|successQps|exceptionQps|rt|occupiedPassQps
-     * </code>
+     * timestamp|resource|passQps|blockQps|successQps|exceptionQps|rt|occupiedPassQps|concurrency|classification
+     * </code><br/>
+     * followed by {@code |rtP50|rtP90|rtP99|rtP999} if the response time percentiles are present.
      *
      * @return string format of this.
      */
@@ -170,6 +235,7 @@ public class MetricNode {
         sb.append(occupiedPassQps).append("|");
         sb.append(concurrency).append("|");
         sb.append(classification);
+        appendRtPercentiles(sb);
         return sb.toString();
     }
 
@@ -195,9 +261,12 @@ public class MetricNode {
         if (strs.length >= 9) {
             node.setConcurrency(Integer.parseInt(strs[8]));
         }
-        if (strs.length == 10) {
+        if (strs.length >= 10) {
             node.setClassification(Integer.parseInt(strs[9]));
         }
+        if (strs.length >= 14) {
+            parseRtPercentiles(node, strs, 10);
+        }
         return node;
     }
 
@@ -205,8 +274,9 @@ public class MetricNode {
      * To formatting string. All "|" in {@link MetricNode#resource} will be
      * replaced with "_", format is: <br/>
      * <code>
-     * timestamp|yyyy-MM-dd HH:mm:ss|resource|passQps|blockQps|successQps|exceptionQps|rt|occupiedPassQps\n
-     * </code>
+     * timestamp|yyyy-MM-dd HH:mm:ss|resource|passQps|blockQps|successQps|exceptionQps|rt|occupiedPassQps|concurrency|classification\n
+     * </code><br/>
+     * where {@code |rtP50|rtP90|rtP99|rtP999} follows the classification if the response time percentiles are present.
      *
      * @return string format of this.
      */
@@ -226,6 +296,7 @@ public class MetricNode {
         sb.append(getOccupiedPassQps()).append("|");
         sb.append(concurrency).append("|");
         sb.append(classification);
+        appendRtPercentiles(sb);
         sb.append('\n');
         return sb.toString();
     }
@@ -253,10 +324,20 @@ public class MetricNode {
         if (strs.length >= 10) {
             node.setConcurrency(Integer.parseInt(strs[9]));
         }
-        if (strs.length == 11) {
+        if (strs.length >= 11) {
             node.setClassification(Integer.parseInt(strs[10]));
         }
+        if (strs.length >= 15) {
+            parseRtPercentiles(node, strs, 11);
+        }
         return node;
     }
 
+    private static void parseRtPercentiles(MetricNode node, String[] strs, int offset) {
+        node.setRtP50(Long.parseLong(strs[offset]))
+            .setRtP90(Long.parseLong(strs[offset + 1]))
+            .setRtP99(Long.parseLong(strs[offset + 2]))
+            .setRtP999(Long.parseLong(strs[offset + 3].trim()));
+    }
+
 }
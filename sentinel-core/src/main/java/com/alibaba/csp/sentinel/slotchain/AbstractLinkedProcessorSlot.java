@@ -21,9 +21,9 @@ import com.alibaba.csp.sentinel.context.Context;
  * @author qinan.qn
  * @author jialiang.linjl
  */
-public abstract class AbstractLinkedProcessorSlot<T> implements ProcessorSlot<T> {
+public abstract class AbstractLinkedProcessorSlot<T> implements ProcessorSlot<T>, Cloneable {
 
-    private AbstractLinkedProcessorSlot<?> next = null;
+    private volatile AbstractLinkedProcessorSlot<?> next = null;
 
     @Override
     public void fireEntry(Context context, ResourceWrapper resourceWrapper, Object obj, int count, boolean prioritized, Object... args)
@@ -55,4 +55,21 @@ public abstract class AbstractLinkedProcessorSlot<T> implements ProcessorSlot<T>
         this.next = next;
     }
 
+    /**
+     * Create an unlinked shallow copy of the slot. The copy shares the objects referenced by the slot,
+     * so that a slot chain could be relinked with copies without touching the slots in use.
+     *
+     * @return the copy of the slot
+     */
+    AbstractLinkedProcessorSlot<?> copy() {
+        try {
+            AbstractLinkedProcessorSlot<?> slot = (AbstractLinkedProcessorSlot<?>) clone();
+            slot.next = null;
+            return slot;
+        } catch (CloneNotSupportedException ex) {
+            // Should not happen.
+            throw new IllegalStateException(ex);
+        }
+    }
+
 }
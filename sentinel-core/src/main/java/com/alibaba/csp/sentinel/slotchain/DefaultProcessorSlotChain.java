@@ -15,6 +15,9 @@
  */
 package com.alibaba.csp.sentinel.slotchain;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.alibaba.csp.sentinel.context.Context;
 
 /**
@@ -39,19 +42,108 @@ public class DefaultProcessorSlotChain extends ProcessorSlotChain {
     };
     AbstractLinkedProcessorSlot<?> end = first;
 
+    /**
+     * All slots of the chain in order, including the unlinked ones.
+     */
+    private final List<AbstractLinkedProcessorSlot<?>> slots = new ArrayList<>();
+    private volatile ResourceWrapper resourceWrapper;
+    /**
+     * The slots linked for the bound resource. It's never modified once published, but replaced as a whole.
+     */
+    private volatile SpecializedChain specialized;
+
     @Override
-    public void addFirst(AbstractLinkedProcessorSlot<?> protocolProcessor) {
+    public synchronized void addFirst(AbstractLinkedProcessorSlot<?> protocolProcessor) {
         protocolProcessor.setNext(first.getNext());
         first.setNext(protocolProcessor);
         if (end == first) {
             end = protocolProcessor;
         }
+        slots.add(0, protocolProcessor);
+        relink();
     }
 
     @Override
-    public void addLast(AbstractLinkedProcessorSlot<?> protocolProcessor) {
+    public synchronized void addLast(AbstractLinkedProcessorSlot<?> protocolProcessor) {
         end.setNext(protocolProcessor);
         end = protocolProcessor;
+        slots.add(protocolProcessor);
+        relink();
+    }
+
+    /**
+     * Bind the chain to the resource and relink the slots according to current rules.
+     *
+     * @param resourceWrapper the resource of the chain
+     * @since 2.0.0
+     */
+    public synchronized void bindResource(ResourceWrapper resourceWrapper) {
+        this.resourceWrapper = resourceWrapper;
+        relink();
+    }
+
+    public ResourceWrapper getResourceWrapper() {
+        return resourceWrapper;
+    }
+
+    /**
+     * <p>Get the slots to go through for an invocation of the bound resource.</p>
+     * <p>The returned chain is never modified: relinking publishes a new one instead. So an invocation
+     * should keep the returned chain and exit it on completion, so that it exits exactly the slots
+     * it has entered even if rules are updated in between.</p>
+     *
+     * @return the specialized chain of the bound resource, or this chain if not bound to any resource
+     * @since 2.0.0
+     */
+    public ProcessorSlot<Object> specialized() {
+        SpecializedChain chain = specialized;
+        return chain == null ? this : chain;
+    }
+
+    /**
+     * <p>Relink the slots so that {@link RuleCheckingSlot}s without any rules for the bound resource
+     * are skipped. Nothing will be changed if the chain has not been bound to a resource.</p>
+     * <p>The linked slots are shallow copies (see {@link AbstractLinkedProcessorSlot#copy()}), which are
+     * published as a new {@link #specialized()} chain at once, so in-flight invocations keep the slots
+     * they have entered. As a result, state of exclusive slots should be held by objects that are
+     * referenced by the slots rather than by mutable fields of the slots.</p>
+     * <p>Only slots owned by this chain exclusively could be relinked. Once a shared slot is met,
+     * the rest of the chain is shared among all chains, so the rest slots will be kept as they are.</p>
+     *
+     * @since 2.0.0
+     */
+    public synchronized void relink() {
+        ResourceWrapper resource = this.resourceWrapper;
+        if (resource == null) {
+            return;
+        }
+        List<AbstractLinkedProcessorSlot<?>> linked = new ArrayList<>(slots.size());
+        boolean exclusive = true;
+        int exclusiveCount = 0;
+        for (AbstractLinkedProcessorSlot<?> slot : slots) {
+            boolean skip = exclusive && slot instanceof RuleCheckingSlot
+                && !((RuleCheckingSlot) slot).hasRules(resource);
+            exclusive = exclusive && SlotChainSpecializer.isExclusive(slot);
+            if (skip) {
+                continue;
+            }
+            linked.add(slot);
+            if (exclusive) {
+                exclusiveCount++;
+            }
+        }
+        SpecializedChain current = specialized;
+        if (current != null && current.slots.equals(linked)) {
+            return;
+        }
+        // Link from the tail, so every copy is completely linked before it becomes reachable.
+        AbstractLinkedProcessorSlot<?> next = exclusiveCount < linked.size() ? linked.get(exclusiveCount) : null;
+        for (int i = exclusiveCount - 1; i >= 0; i--) {
+            AbstractLinkedProcessorSlot<?> slot = linked.get(i).copy();
+            slot.setNext(next);
+            next = slot;
+        }
+        specialized = new SpecializedChain(linked, next);
     }
 
     /**
@@ -66,18 +158,62 @@ public class DefaultProcessorSlotChain extends ProcessorSlotChain {
 
     @Override
     public AbstractLinkedProcessorSlot<?> getNext() {
-        return first.getNext();
+        SpecializedChain chain = specialized;
+        return chain == null ? first.getNext() : chain.head;
     }
 
+    /**
+     * Enter the slots of the chain. For a chain bound to a resource, the entry and the exit of an invocation
+     * may go through different slots if rules are updated in between, so {@link #specialized()}
+     * is preferred.
+     */
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, Object t, int count, boolean prioritized, Object... args)
         throws Throwable {
-        first.transformEntry(context, resourceWrapper, t, count, prioritized, args);
+        SpecializedChain chain = specialized;
+        if (chain == null) {
+            first.transformEntry(context, resourceWrapper, t, count, prioritized, args);
+        } else {
+            chain.entry(context, resourceWrapper, t, count, prioritized, args);
+        }
     }
 
     @Override
     public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
-        first.exit(context, resourceWrapper, count, args);
+        SpecializedChain chain = specialized;
+        if (chain == null) {
+            first.exit(context, resourceWrapper, count, args);
+        } else {
+            chain.exit(context, resourceWrapper, count, args);
+        }
     }
 
+    private static final class SpecializedChain extends AbstractLinkedProcessorSlot<Object> {
+
+        /**
+         * The original slots linked in the chain, which are used to check whether the chain needs relinking.
+         */
+        private final List<AbstractLinkedProcessorSlot<?>> slots;
+        private final AbstractLinkedProcessorSlot<?> head;
+
+        SpecializedChain(List<AbstractLinkedProcessorSlot<?>> slots, AbstractLinkedProcessorSlot<?> head) {
+            this.slots = slots;
+            this.head = head;
+        }
+
+        @Override
+        public void entry(Context context, ResourceWrapper resourceWrapper, Object t, int count,
+                          boolean prioritized, Object... args) throws Throwable {
+            if (head != null) {
+                head.transformEntry(context, resourceWrapper, t, count, prioritized, args);
+            }
+        }
+
+        @Override
+        public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
+            if (head != null) {
+                head.exit(context, resourceWrapper, count, args);
+            }
+        }
+    }
 }
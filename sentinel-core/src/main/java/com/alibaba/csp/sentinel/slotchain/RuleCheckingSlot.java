@@ -0,0 +1,35 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slotchain;
+
+/**
+ * <p>A {@link ProcessorSlot} which only takes effect when there are rules for the resource.</p>
+ * <p>Slots implementing this interface could be unlinked from the slot chain of resources without
+ * any rules (see {@link SlotChainSpecializer}), so that these resources won't pay for rule lookups.
+ * The result of {@link #hasRules(ResourceWrapper)} should only change when rules are updated.</p>
+ *
+ * @since 2.0.0
+ */
+public interface RuleCheckingSlot {
+
+    /**
+     * Check whether there are active rules of the slot for the given resource.
+     *
+     * @param resourceWrapper the resource
+     * @return true if the slot has rules to check for the resource; otherwise false
+     */
+    boolean hasRules(ResourceWrapper resourceWrapper);
+}
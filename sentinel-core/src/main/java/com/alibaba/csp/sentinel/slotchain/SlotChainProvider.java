@@ -30,28 +30,38 @@ public final class SlotChainProvider {
     private static volatile SlotChainBuilder slotChainBuilder = null;
 
     /**
-     * The load and pick process is not thread-safe, but it's okay since the method should be only invoked
-     * via {@code lookProcessChain} in {@link com.alibaba.csp.sentinel.CtSph} under lock.
+     * Create a new slot chain via the resolved slot chain builder. This method could be invoked concurrently
+     * when slot chains of different resources are being created.
      *
      * @return new created slot chain
      */
     public static ProcessorSlotChain newSlotChain() {
-        if (slotChainBuilder != null) {
-            return slotChainBuilder.build();
+        SlotChainBuilder builder = slotChainBuilder;
+        if (builder == null) {
+            builder = resolveSlotChainBuilder();
         }
+        return builder.build();
+    }
 
+    private static synchronized SlotChainBuilder resolveSlotChainBuilder() {
+        if (slotChainBuilder != null) {
+            return slotChainBuilder;
+        }
         // Resolve the slot chain builder SPI.
-        slotChainBuilder = SpiLoader.of(SlotChainBuilder.class).loadFirstInstanceOrDefault();
+        SlotChainBuilder builder = SpiLoader.of(SlotChainBuilder.class).loadFirstInstanceOrDefault();
 
-        if (slotChainBuilder == null) {
+        if (builder == null) {
             // Should not go through here.
             RecordLog.warn("[SlotChainProvider] Wrong state when resolving slot chain builder, using default");
-            slotChainBuilder = new DefaultSlotChainBuilder();
+            builder = new DefaultSlotChainBuilder();
         } else {
             RecordLog.info("[SlotChainProvider] Global slot chain builder resolved: {}",
-                slotChainBuilder.getClass().getCanonicalName());
+                builder.getClass().getCanonicalName());
         }
-        return slotChainBuilder.build();
+        // Load the slots before publishing the builder, as loading of SPI is not thread-safe.
+        SpiLoader.of(ProcessorSlot.class).load();
+        slotChainBuilder = builder;
+        return builder;
     }
 
     private SlotChainProvider() {}
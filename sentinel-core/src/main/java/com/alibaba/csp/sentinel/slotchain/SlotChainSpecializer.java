@@ -0,0 +1,123 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slotchain;
+
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.spi.Spi;
+
+/**
+ * <p>Specializes slot chains of resources according to current rules, so that {@link RuleCheckingSlot}s
+ * without any rules for the resource are unlinked from the chain. Rule managers should invoke
+ * {@link #refresh(Set, Set)} (or {@link #refresh()} for rules of all resources) once the rules
+ * have been updated.</p>
+ *
+ * @since 2.0.0
+ */
+public final class SlotChainSpecializer {
+
+    /**
+     * Specialized chains by resource name. Chains are weakly referenced, so chains which have been
+     * dropped by the chain map won't be retained here.
+     */
+    private static final Map<String, WeakReference<DefaultProcessorSlotChain>> CHAINS = new ConcurrentHashMap<>();
+
+    /**
+     * Bind the slot chain to the resource and link the slots according to current rules.
+     * Only {@link DefaultProcessorSlotChain} could be specialized, other chains will be left untouched.
+     *
+     * @param resourceWrapper the resource of the slot chain
+     * @param chain           the slot chain of the resource
+     */
+    public static void specialize(ResourceWrapper resourceWrapper, ProcessorSlotChain chain) {
+        if (resourceWrapper == null || !(chain instanceof DefaultProcessorSlotChain)) {
+            return;
+        }
+        DefaultProcessorSlotChain defaultChain = (DefaultProcessorSlotChain) chain;
+        // Register before binding, so that concurrent rule updates won't be missed.
+        CHAINS.put(resourceWrapper.getName(), new WeakReference<>(defaultChain));
+        defaultChain.bindResource(resourceWrapper);
+    }
+
+    /**
+     * Relink all specialized slot chains according to current rules. This is meant for rules taking
+     * effect on all resources (e.g. system rules).
+     */
+    public static void refresh() {
+        for (Map.Entry<String, WeakReference<DefaultProcessorSlotChain>> entry : CHAINS.entrySet()) {
+            relink(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Relink the slot chains of resources which have rules in either of the given sets, but not in both.
+     * For rule checking slots whose {@link RuleCheckingSlot#hasRules(ResourceWrapper)} only depends on
+     * whether the resource has any rule, these are the only chains that could be changed by the update.
+     *
+     * @param previousResources names of resources having rules before the update
+     * @param currentResources  names of resources having rules after the update
+     */
+    public static void refresh(Set<String> previousResources, Set<String> currentResources) {
+        refreshAbsent(previousResources, currentResources);
+        refreshAbsent(currentResources, previousResources);
+    }
+
+    private static void refreshAbsent(Collection<String> resources, Set<String> excluded) {
+        if (resources == null) {
+            return;
+        }
+        for (String resource : resources) {
+            if (excluded == null || !excluded.contains(resource)) {
+                WeakReference<DefaultProcessorSlotChain> reference = CHAINS.get(resource);
+                if (reference != null) {
+                    relink(resource, reference);
+                }
+            }
+        }
+    }
+
+    private static void relink(String resource, WeakReference<DefaultProcessorSlotChain> reference) {
+        DefaultProcessorSlotChain chain = reference.get();
+        if (chain == null) {
+            CHAINS.remove(resource, reference);
+            return;
+        }
+        try {
+            chain.relink();
+        } catch (Throwable ex) {
+            RecordLog.warn("[SlotChainSpecializer] Failed to relink the slot chain of resource: " + resource, ex);
+        }
+    }
+
+    /**
+     * Check whether the slot is owned by a single slot chain exclusively,
+     * i.e. the slot is annotated with {@code @Spi(isSingleton = false)}.
+     *
+     * @param slot the slot
+     * @return true if the slot is created for each slot chain; otherwise false
+     */
+    public static boolean isExclusive(ProcessorSlot<?> slot) {
+        Spi spi = slot.getClass().getAnnotation(Spi.class);
+        return spi != null && !spi.isSingleton();
+    }
+
+    private SlotChainSpecializer() {}
+}
@@ -21,10 +21,13 @@ import com.alibaba.csp.sentinel.slotchain.DefaultProcessorSlotChain;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlotChain;
 import com.alibaba.csp.sentinel.slotchain.SlotChainBuilder;
+import com.alibaba.csp.sentinel.slotchain.SlotChainSpecializer;
 import com.alibaba.csp.sentinel.spi.Spi;
 import com.alibaba.csp.sentinel.spi.SpiLoader;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Builder for a default {@link ProcessorSlotChain}.
@@ -35,18 +38,34 @@ import java.util.List;
 @Spi(isDefault = true)
 public class DefaultSlotChainBuilder implements SlotChainBuilder {
 
+    /**
+     * Slots placed after a shared (singleton) slot, which should be shared among all chains as well.
+     */
+    private final Map<Class<?>, ProcessorSlot> sharedSlots = new ConcurrentHashMap<>();
+
     @Override
     public ProcessorSlotChain build() {
         ProcessorSlotChain chain = new DefaultProcessorSlotChain();
 
         List<ProcessorSlot> sortedSlotList = SpiLoader.of(ProcessorSlot.class).loadInstanceListSorted();
+        boolean shared = false;
         for (ProcessorSlot slot : sortedSlotList) {
             if (!(slot instanceof AbstractLinkedProcessorSlot)) {
                 RecordLog.warn("The ProcessorSlot(" + slot.getClass().getCanonicalName() + ") is not an instance of AbstractLinkedProcessorSlot, can't be added into ProcessorSlotChain");
                 continue;
             }
 
-            chain.addLast((AbstractLinkedProcessorSlot<?>) slot);
+            ProcessorSlot linkedSlot = slot;
+            if (!SlotChainSpecializer.isExclusive(slot)) {
+                shared = true;
+            } else if (shared) {
+                // The successor of a shared slot is the same in all chains, so the slot can't be per-chain.
+                ProcessorSlot existing = sharedSlots.putIfAbsent(slot.getClass(), slot);
+                if (existing != null) {
+                    linkedSlot = existing;
+                }
+            }
+            chain.addLast((AbstractLinkedProcessorSlot<?>) linkedSlot);
         }
 
         return chain;
@@ -35,6 +35,12 @@ public final class RuleConstant {
      * Degrade by biz exception count in the last 60 seconds.
      */
     public static final int DEGRADE_GRADE_EXCEPTION_COUNT = 2;
+    /**
+     * Degrade by the response time at given percentile (e.g. p99) in the recent statistic window.
+     *
+     * @since 2.0.0
+     */
+    public static final int DEGRADE_GRADE_RT_PERCENTILE = 3;
 
     public static final int DEGRADE_DEFAULT_SLOW_REQUEST_AMOUNT = 5;
     public static final int DEGRADE_DEFAULT_MIN_REQUEST_AMOUNT = 5;
@@ -50,6 +56,26 @@ public final class RuleConstant {
     public static final int CONTROL_BEHAVIOR_WARM_UP = 1;
     public static final int CONTROL_BEHAVIOR_RATE_LIMITER = 2;
     public static final int CONTROL_BEHAVIOR_WARM_UP_RATE_LIMITER = 3;
+    /**
+     * Adaptive concurrency limit, which only works with {@link #FLOW_GRADE_THREAD}.
+     *
+     * @since 2.0.0
+     */
+    public static final int CONTROL_BEHAVIOR_ADAPTIVE_CONCURRENCY = 4;
+
+    /**
+     * Parameter flow control keeps exact statistics for each recent parameter value (in LRU maps).
+     *
+     * @since 2.0.0
+     */
+    public static final int PARAM_FLOW_STORAGE_EXACT = 0;
+    /**
+     * Parameter flow control keeps estimated statistics of all parameter values in fixed-size sketches,
+     * which only works with {@link #FLOW_GRADE_QPS} and {@link #CONTROL_BEHAVIOR_DEFAULT}.
+     *
+     * @since 2.0.0
+     */
+    public static final int PARAM_FLOW_STORAGE_SKETCH = 1;
 
     public static final int DEFAULT_BLOCK_STRATEGY = 0;
     public static final int TRY_AGAIN_BLOCK_STRATEGY = 1;
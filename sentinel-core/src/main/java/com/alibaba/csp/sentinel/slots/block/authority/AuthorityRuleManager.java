@@ -29,6 +29,7 @@ import com.alibaba.csp.sentinel.util.StringUtil;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
 import com.alibaba.csp.sentinel.property.PropertyListener;
 import com.alibaba.csp.sentinel.property.SentinelProperty;
+import com.alibaba.csp.sentinel.slotchain.SlotChainSpecializer;
 
 /**
  * Manager for authority rules.
@@ -73,6 +74,29 @@ public final class AuthorityRuleManager {
         return authorityRules.containsKey(resource);
     }
 
+    /**
+     * Check whether provided origin is listed in the {@code limitApp} of the rule of the resource.
+     *
+     * @param origin   origin of the invocation
+     * @param resource name of the resource
+     * @return true if the origin is listed by the rule of the resource
+     * @since 2.0.0
+     */
+    public static boolean isSpecifiedOrigin(String origin, String resource) {
+        Set<AuthorityRule> rules = authorityRules.get(resource);
+        if (rules == null || StringUtil.isEmpty(origin)) {
+            return false;
+        }
+        for (AuthorityRule rule : rules) {
+            for (String app : rule.getLimitApp().split(",")) {
+                if (origin.equals(app)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Get a copy of the rules.
      *
@@ -89,18 +113,24 @@ public final class AuthorityRuleManager {
         return rules;
     }
 
+    private static void applyRules(Map<String, Set<AuthorityRule>> rules) {
+        Set<String> previousResources = authorityRules.keySet();
+        authorityRules = rules;
+        SlotChainSpecializer.refresh(previousResources, rules.keySet());
+    }
+
     private static class RulePropertyListener implements PropertyListener<List<AuthorityRule>> {
 
         @Override
         public synchronized void configLoad(List<AuthorityRule> value) {
-            authorityRules = loadAuthorityConf(value);
+            applyRules(loadAuthorityConf(value));
 
             RecordLog.info("[AuthorityRuleManager] Authority rules loaded: {}", authorityRules);
         }
 
         @Override
         public synchronized void configUpdate(List<AuthorityRule> conf) {
-            authorityRules = loadAuthorityConf(conf);
+            applyRules(loadAuthorityConf(conf));
             
             RecordLog.info("[AuthorityRuleManager] Authority rules received: {}", authorityRules);
         }
@@ -24,6 +24,7 @@ import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.RuleCheckingSlot;
 import com.alibaba.csp.sentinel.spi.Spi;
 
 /**
@@ -32,8 +33,8 @@ import com.alibaba.csp.sentinel.spi.Spi;
  * @author leyou
  * @author Eric Zhao
  */
-@Spi(order = Constants.ORDER_AUTHORITY_SLOT)
-public class AuthoritySlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+@Spi(isSingleton = false, order = Constants.ORDER_AUTHORITY_SLOT)
+public class AuthoritySlot extends AbstractLinkedProcessorSlot<DefaultNode> implements RuleCheckingSlot {
 
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, DefaultNode node, int count, boolean prioritized, Object... args)
@@ -65,4 +66,9 @@ public class AuthoritySlot extends AbstractLinkedProcessorSlot<DefaultNode> {
             }
         }
     }
+
+    @Override
+    public boolean hasRules(ResourceWrapper resourceWrapper) {
+        return AuthorityRuleManager.hasConfig(resourceWrapper.getName());
+    }
 }
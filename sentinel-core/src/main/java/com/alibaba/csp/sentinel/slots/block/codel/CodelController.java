@@ -0,0 +1,87 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.codel;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Queueing delay controller of a {@link CodelRule}, which is the server-side variant of CoDel:</p>
+ * <ul>
+ * <li>The minimum queueing delay of requests is tracked in each interval. If the minimum delay of last interval
+ * is above the target, the queue has never been drained during the whole interval (i.e. it's a standing queue
+ * rather than a burst), so the queue is considered as overloaded.</li>
+ * <li>When overloaded, requests which have been queued longer than the target delay are dropped, otherwise only
+ * requests queued longer than the interval are dropped.</li>
+ * </ul>
+ * <p>So bursts are absorbed by the queue, while under sustained overload the requests that would probably time out
+ * are dropped quickly, and the processing capacity is spent on the requests that can still be served in time.</p>
+ *
+ * @since 2.0.0
+ */
+final class CodelController {
+
+    private static final long NO_DELAY = Long.MAX_VALUE;
+
+    private final CodelRule rule;
+    private final long targetDelayMs;
+    private final long intervalMs;
+
+    private final AtomicLong intervalEnd = new AtomicLong();
+    private final AtomicLong minDelay = new AtomicLong(NO_DELAY);
+    private volatile boolean overloaded;
+
+    CodelController(/*@Valid*/ CodelRule rule) {
+        this.rule = rule;
+        this.targetDelayMs = rule.getTargetDelayMs();
+        this.intervalMs = rule.getIntervalMs();
+    }
+
+    CodelRule getRule() {
+        return rule;
+    }
+
+    boolean isOverloaded() {
+        return overloaded;
+    }
+
+    /**
+     * Record the queueing delay of a request and check whether the request can be processed.
+     *
+     * @param currentTime current time in milliseconds
+     * @param delayMs     the queueing delay of the request in milliseconds
+     * @return true if the request can be processed, false if the request should be dropped
+     */
+    boolean canPass(long currentTime, long delayMs) {
+        long end = intervalEnd.get();
+        if (currentTime >= end && intervalEnd.compareAndSet(end, currentTime + intervalMs)) {
+            long lastMinDelay = minDelay.getAndSet(NO_DELAY);
+            // If there were no requests for more than an interval, the queue must have been drained.
+            overloaded = lastMinDelay != NO_DELAY && lastMinDelay > targetDelayMs && currentTime < end + intervalMs;
+        }
+        updateMinDelay(delayMs);
+
+        return delayMs <= (overloaded ? targetDelayMs : intervalMs);
+    }
+
+    private void updateMinDelay(long delayMs) {
+        long cur;
+        while (delayMs < (cur = minDelay.get())) {
+            if (minDelay.compareAndSet(cur, delayMs)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.codel;
+
+import com.alibaba.csp.sentinel.slots.block.AbstractRule;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+
+/**
+ * <p>Rule of load shedding by the queueing delay of inbound requests (i.e. the time between the arrival of
+ * the request and the time it's processed), in the style of CoDel (controlled delay).</p>
+ * <p>The queueing delay is only available when the arrival time of the request is provided by the
+ * inbound adapter (see {@link com.alibaba.csp.sentinel.context.Context#getArrivalTime()}). The rule applies to
+ * all origins, so the limit app is ignored.</p>
+ *
+ * @since 2.0.0
+ */
+public class CodelRule extends AbstractRule {
+
+    /**
+     * The target of the minimum queueing delay within an interval (in milliseconds).
+     */
+    private long targetDelayMs = 5;
+
+    /**
+     * The interval (in milliseconds) to track the minimum queueing delay, which is also the max queueing delay
+     * when the queue is not considered as overloaded.
+     */
+    private long intervalMs = 100;
+
+    public CodelRule() {
+        setLimitApp(RuleConstant.LIMIT_APP_DEFAULT);
+    }
+
+    public CodelRule(String resourceName) {
+        setResource(resourceName);
+        setLimitApp(RuleConstant.LIMIT_APP_DEFAULT);
+    }
+
+    public long getTargetDelayMs() {
+        return targetDelayMs;
+    }
+
+    public CodelRule setTargetDelayMs(long targetDelayMs) {
+        this.targetDelayMs = targetDelayMs;
+        return this;
+    }
+
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    public CodelRule setIntervalMs(long intervalMs) {
+        this.intervalMs = intervalMs;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) { return true; }
+        if (!(o instanceof CodelRule)) { return false; }
+        if (!super.equals(o)) { return false; }
+
+        CodelRule rule = (CodelRule)o;
+
+        if (targetDelayMs != rule.targetDelayMs) { return false; }
+        return intervalMs == rule.intervalMs;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + (int)(targetDelayMs ^ (targetDelayMs >>> 32));
+        result = 31 * result + (int)(intervalMs ^ (intervalMs >>> 32));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CodelRule{" +
+            "resource=" + getResource() +
+            ", targetDelayMs=" + targetDelayMs +
+            ", intervalMs=" + intervalMs +
+            "}";
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.codel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
+import com.alibaba.csp.sentinel.property.PropertyListener;
+import com.alibaba.csp.sentinel.property.SentinelProperty;
+import com.alibaba.csp.sentinel.slotchain.SlotChainSpecializer;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.StringUtil;
+
+/**
+ * Manager for queueing delay ({@link CodelRule}) rules. One resource should only have at most one rule.
+ *
+ * @since 2.0.0
+ */
+public final class CodelRuleManager {
+
+    private static volatile Map<String, CodelController> controllers = new HashMap<>();
+
+    private static final RulePropertyListener LISTENER = new RulePropertyListener();
+    private static SentinelProperty<List<CodelRule>> currentProperty = new DynamicSentinelProperty<>();
+
+    static {
+        currentProperty.addListener(LISTENER);
+    }
+
+    public static void register2Property(SentinelProperty<List<CodelRule>> property) {
+        AssertUtil.notNull(property, "property cannot be null");
+        synchronized (LISTENER) {
+            RecordLog.info("[CodelRuleManager] Registering new property to CoDel rule manager");
+            currentProperty.removeListener(LISTENER);
+            property.addListener(LISTENER);
+            currentProperty = property;
+        }
+    }
+
+    /**
+     * Load the queueing delay rules to memory, former rules will be replaced.
+     *
+     * @param rules list of queueing delay rules
+     */
+    public static void loadRules(List<CodelRule> rules) {
+        currentProperty.updateValue(rules);
+    }
+
+    public static boolean hasConfig(String resource) {
+        return resource != null && controllers.containsKey(resource);
+    }
+
+    /**
+     * Get a copy of the rules.
+     *
+     * @return a new copy of the rules.
+     */
+    public static List<CodelRule> getRules() {
+        List<CodelRule> rules = new ArrayList<>();
+        for (CodelController controller : controllers.values()) {
+            rules.add(controller.getRule());
+        }
+        return rules;
+    }
+
+    static CodelController getController(String resource) {
+        return controllers.get(resource);
+    }
+
+    public static boolean isValidRule(CodelRule rule) {
+        return rule != null && !StringUtil.isBlank(rule.getResource()) && rule.getTargetDelayMs() > 0
+            && rule.getIntervalMs() >= rule.getTargetDelayMs();
+    }
+
+    private static Map<String, CodelController> buildControllers(List<CodelRule> list) {
+        Map<String, CodelController> newControllers = new HashMap<>();
+        if (list == null || list.isEmpty()) {
+            return newControllers;
+        }
+        Map<String, CodelController> currentControllers = controllers;
+        for (CodelRule rule : list) {
+            if (!isValidRule(rule)) {
+                RecordLog.warn("[CodelRuleManager] Ignoring invalid CoDel rule when loading new rules: {}", rule);
+                continue;
+            }
+            String resource = rule.getResource();
+            if (newControllers.containsKey(resource)) {
+                RecordLog.warn("[CodelRuleManager] Ignoring redundant rule: {}", rule);
+                continue;
+            }
+            // Retain the state (e.g. overloaded) of unchanged rules.
+            CodelController controller = currentControllers.get(resource);
+            if (controller == null || !controller.getRule().equals(rule)) {
+                controller = new CodelController(rule);
+            }
+            newControllers.put(resource, controller);
+        }
+        return newControllers;
+    }
+
+    private static void applyControllers(Map<String, CodelController> newControllers) {
+        Set<String> previousResources = controllers.keySet();
+        controllers = newControllers;
+        SlotChainSpecializer.refresh(previousResources, newControllers.keySet());
+    }
+
+    private static final class RulePropertyListener implements PropertyListener<List<CodelRule>> {
+
+        @Override
+        public synchronized void configUpdate(List<CodelRule> value) {
+            applyControllers(buildControllers(value));
+            RecordLog.info("[CodelRuleManager] CoDel rules received: {}", controllers.keySet());
+        }
+
+        @Override
+        public synchronized void configLoad(List<CodelRule> value) {
+            applyControllers(buildControllers(value));
+            RecordLog.info("[CodelRuleManager] CoDel rules loaded: {}", controllers.keySet());
+        }
+    }
+
+    private CodelRuleManager() {}
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.codel;
+
+import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
+import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.RuleCheckingSlot;
+import com.alibaba.csp.sentinel.spi.Spi;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * A {@link ProcessorSlot} that dedicates to {@link CodelRule} checking. The queueing delay is calculated from
+ * the arrival time of current request in the context, so requests without arrival time will always pass.
+ *
+ * @since 2.0.0
+ */
+@Spi(isSingleton = false, order = Constants.ORDER_CODEL_SLOT)
+public class CodelSlot extends AbstractLinkedProcessorSlot<DefaultNode> implements RuleCheckingSlot {
+
+    @Override
+    public void entry(Context context, ResourceWrapper resourceWrapper, DefaultNode node, int count,
+                      boolean prioritized, Object... args) throws Throwable {
+        checkQueueingDelay(resourceWrapper, context);
+        fireEntry(context, resourceWrapper, node, count, prioritized, args);
+    }
+
+    @Override
+    public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
+        fireExit(context, resourceWrapper, count, args);
+    }
+
+    void checkQueueingDelay(ResourceWrapper resource, Context context) throws CodelException {
+        long arrivalTime = context.getArrivalTime();
+        if (arrivalTime <= 0) {
+            return;
+        }
+        CodelController controller = CodelRuleManager.getController(resource.getName());
+        if (controller == null) {
+            return;
+        }
+        long currentTime = TimeUtil.currentTimeMillis();
+        // The arrival time may come from another host (e.g. the load balancer), so ignore the clock skew.
+        long delayMs = Math.max(0, currentTime - arrivalTime);
+        if (!controller.canPass(currentTime, delayMs)) {
+            CodelRule rule = controller.getRule();
+            throw new CodelException(rule.getLimitApp(), rule);
+        }
+    }
+
+    @Override
+    public boolean hasRules(ResourceWrapper resourceWrapper) {
+        return CodelRuleManager.hasConfig(resourceWrapper.getName());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.codel;
+
+import com.alibaba.csp.sentinel.util.StringUtil;
+
+/**
+ * <p>Parser of the request start header (e.g. {@code X-Request-Start}) that load balancers or reverse proxies add
+ * when they receive the request, which is the common source of the arrival time of inbound requests
+ * (see {@link CodelRule}), as the servlet containers don't expose the time when the request is accepted.</p>
+ * <p>Supported formats (with an optional {@code t=} prefix): timestamp in seconds with fraction
+ * (e.g. {@code 1577808000.123}, the {@code $msec} variable of Nginx), or an integer timestamp
+ * in seconds, milliseconds, microseconds or nanoseconds.</p>
+ *
+ * @since 2.0.0
+ */
+public final class RequestStartHeaderParser {
+
+    public static final String DEFAULT_HEADER_NAME = "X-Request-Start";
+
+    private static final String TIME_PREFIX = "t=";
+
+    /**
+     * Parse the arrival time from the value of the request start header.
+     *
+     * @param headerValue value of the header
+     * @return the arrival time in milliseconds, or -1 if the value is absent or malformed
+     */
+    public static long parseArrivalTime(String headerValue) {
+        if (StringUtil.isBlank(headerValue)) {
+            return -1;
+        }
+        String value = headerValue.trim();
+        if (value.startsWith(TIME_PREFIX)) {
+            value = value.substring(TIME_PREFIX.length());
+        }
+        try {
+            if (value.indexOf('.') >= 0) {
+                return (long)(Double.parseDouble(value) * 1000);
+            }
+            long time = Long.parseLong(value);
+            if (time <= 0) {
+                return -1;
+            }
+            // Guess the unit by the magnitude (valid until the year 5138).
+            if (time < 100_000_000_000L) {
+                return time * 1000;
+            } else if (time < 100_000_000_000_000L) {
+                return time;
+            } else if (time < 100_000_000_000_000_000L) {
+                return time / 1000;
+            } else {
+                return time / 1000_000;
+            }
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    private RequestStartHeaderParser() {}
+}
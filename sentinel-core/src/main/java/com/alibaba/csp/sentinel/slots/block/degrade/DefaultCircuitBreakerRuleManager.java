@@ -19,9 +19,11 @@ import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
 import com.alibaba.csp.sentinel.property.PropertyListener;
 import com.alibaba.csp.sentinel.property.SentinelProperty;
+import com.alibaba.csp.sentinel.slotchain.SlotChainSpecializer;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.CircuitBreaker;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.ExceptionCircuitBreaker;
+import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.PercentileCircuitBreaker;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.ResponseTimeCircuitBreaker;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.StringUtil;
@@ -76,6 +78,10 @@ public final class DefaultCircuitBreakerRuleManager {
         }
     }
 
+    static boolean hasDefaultRules() {
+        return rules != null && !rules.isEmpty();
+    }
+
     static List<CircuitBreaker> getDefaultCircuitBreakers(String resourceName) {
         if (rules == null || rules.isEmpty()) {
             return null;
@@ -150,6 +156,8 @@ public final class DefaultCircuitBreakerRuleManager {
             case RuleConstant.DEGRADE_GRADE_EXCEPTION_RATIO:
             case RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT:
                 return new ExceptionCircuitBreaker(rule);
+            case RuleConstant.DEGRADE_GRADE_RT_PERCENTILE:
+                return new PercentileCircuitBreaker(rule);
             default:
                 return null;
         }
@@ -176,11 +184,12 @@ public final class DefaultCircuitBreakerRuleManager {
     private static class RulePropertyListener implements PropertyListener<List<DegradeRule>> {
 
         private synchronized void reloadFrom(List<DegradeRule> list) {
-
+            boolean hadDefaultRules = hasDefaultRules();
             if (list == null || list.isEmpty()) {
                 // clearing all rules
                 DefaultCircuitBreakerRuleManager.circuitBreakers = new ConcurrentHashMap<>();
                 DefaultCircuitBreakerRuleManager.rules = new HashSet<>();
+                refreshSlotChains(hadDefaultRules);
                 return;
             }
 
@@ -211,6 +220,14 @@ public final class DefaultCircuitBreakerRuleManager {
 
             DefaultCircuitBreakerRuleManager.rules = rules;
             DefaultCircuitBreakerRuleManager.circuitBreakers = cbMap;
+            refreshSlotChains(hadDefaultRules);
+        }
+
+        private void refreshSlotChains(boolean hadDefaultRules) {
+            // Default rules take effect on all resources, so only relink the slot chains when they come or go.
+            if (hadDefaultRules != hasDefaultRules()) {
+                SlotChainSpecializer.refresh();
+            }
         }
 
         @Override
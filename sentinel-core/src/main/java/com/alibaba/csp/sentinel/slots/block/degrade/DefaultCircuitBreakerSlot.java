@@ -22,6 +22,7 @@ import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.RuleCheckingSlot;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.CircuitBreaker;
 import com.alibaba.csp.sentinel.spi.Spi;
@@ -34,8 +35,8 @@ import java.util.List;
  * @author wuwen
  * @since 2.0.0
  */
-@Spi(order = Constants.ORDER_DEFAULT_CIRCUIT_BREAKER_SLOT)
-public class DefaultCircuitBreakerSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+@Spi(isSingleton = false, order = Constants.ORDER_DEFAULT_CIRCUIT_BREAKER_SLOT)
+public class DefaultCircuitBreakerSlot extends AbstractLinkedProcessorSlot<DefaultNode> implements RuleCheckingSlot {
 
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, DefaultNode node, int count,
@@ -93,4 +94,10 @@ public class DefaultCircuitBreakerSlot extends AbstractLinkedProcessorSlot<Defau
 
         fireExit(context, r, count, args);
     }
+
+    @Override
+    public boolean hasRules(ResourceWrapper resourceWrapper) {
+        // Excluded resources could be changed at any time, so only check whether default rules exist.
+        return DefaultCircuitBreakerRuleManager.hasDefaultRules();
+    }
 }
@@ -54,7 +54,7 @@ public class DegradeRule extends AbstractRule {
     }
 
     /**
-     * Circuit breaking strategy (0: average RT, 1: exception ratio, 2: exception count).
+     * Circuit breaking strategy (0: average RT, 1: exception ratio, 2: exception count, 3: RT percentile).
      */
     private int grade = RuleConstant.DEGRADE_GRADE_RT;
 
@@ -64,6 +64,7 @@ public class DegradeRule extends AbstractRule {
      *     <li>In average RT mode, it means the maximum response time(RT) in milliseconds.</li>
      *     <li>In exception ratio mode, it means exception ratio which between 0.0 and 1.0.</li>
      *     <li>In exception count mode, it means exception count</li>
+     *     <li>In RT percentile mode, it means the maximum response time(RT) at the percentile in milliseconds.</li>
      * <ul/>
      */
     private double count;
@@ -95,6 +96,22 @@ public class DegradeRule extends AbstractRule {
      */
     private int statIntervalMs = 1000;
 
+    /**
+     * The percentile (in (0, 100], e.g. 99 for p99) of response time in RT percentile mode.
+     *
+     * @since 2.0.0
+     */
+    private double percentile = 99.0d;
+
+    /**
+     * The duration (in milliseconds) of gradual recovery after the circuit breaker closes from half-open state.
+     * During the recovery, the share of requests allowed to pass rises linearly from 0 to 100%, so that the
+     * recovered resource won't be overwhelmed at once. 0 means the requests are fully allowed once closed.
+     *
+     * @since 2.0.0
+     */
+    private int recoveryRampMs = 0;
+
     public int getGrade() {
         return grade;
     }
@@ -149,6 +166,24 @@ public class DegradeRule extends AbstractRule {
         return this;
     }
 
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public DegradeRule setPercentile(double percentile) {
+        this.percentile = percentile;
+        return this;
+    }
+
+    public int getRecoveryRampMs() {
+        return recoveryRampMs;
+    }
+
+    public DegradeRule setRecoveryRampMs(int recoveryRampMs) {
+        this.recoveryRampMs = recoveryRampMs;
+        return this;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) { return true; }
@@ -160,13 +195,15 @@ public class DegradeRule extends AbstractRule {
             grade == rule.grade &&
             minRequestAmount == rule.minRequestAmount &&
             Double.compare(rule.slowRatioThreshold, slowRatioThreshold) == 0 &&
-            statIntervalMs == rule.statIntervalMs;
+            statIntervalMs == rule.statIntervalMs &&
+            Double.compare(rule.percentile, percentile) == 0 &&
+            recoveryRampMs == rule.recoveryRampMs;
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(super.hashCode(), count, timeWindow, grade, minRequestAmount,
-            slowRatioThreshold, statIntervalMs);
+            slowRatioThreshold, statIntervalMs, percentile, recoveryRampMs);
     }
 
     @Override
@@ -180,6 +217,8 @@ public class DegradeRule extends AbstractRule {
             ", minRequestAmount=" + minRequestAmount +
             ", slowRatioThreshold=" + slowRatioThreshold +
             ", statIntervalMs=" + statIntervalMs +
+            ", percentile=" + percentile +
+            ", recoveryRampMs=" + recoveryRampMs +
             '}';
     }
 }
@@ -23,12 +23,16 @@ import java.util.Map;
 import java.util.Set;
 
 import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.node.StatisticNode;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
 import com.alibaba.csp.sentinel.property.PropertyListener;
 import com.alibaba.csp.sentinel.property.SentinelProperty;
+import com.alibaba.csp.sentinel.slotchain.SlotChainSpecializer;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.CircuitBreaker;
+import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.CircuitBreakerStat;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.ExceptionCircuitBreaker;
+import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.PercentileCircuitBreaker;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.ResponseTimeCircuitBreaker;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.StringUtil;
@@ -148,10 +152,9 @@ public final class DegradeRuleManager {
         }
     }
 
-    private static CircuitBreaker getExistingSameCbOrNew(/*@Valid*/ DegradeRule rule) {
-        List<CircuitBreaker> cbs = getCircuitBreakers(rule.getResource());
+    private static CircuitBreaker getExistingSameCb(List<CircuitBreaker> cbs, /*@Valid*/ DegradeRule rule) {
         if (cbs == null || cbs.isEmpty()) {
-            return newCircuitBreakerFrom(rule);
+            return null;
         }
         for (CircuitBreaker cb : cbs) {
             if (rule.equals(cb.getRule())) {
@@ -159,22 +162,45 @@ public final class DegradeRuleManager {
                 return cb;
             }
         }
-        return newCircuitBreakerFrom(rule);
+        return null;
+    }
+
+    private static boolean isStatShareable(DegradeRule rule) {
+        int grade = rule.getGrade();
+        return grade == RuleConstant.DEGRADE_GRADE_RT || grade == RuleConstant.DEGRADE_GRADE_EXCEPTION_RATIO
+            || grade == RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT;
+    }
+
+    private static CircuitBreakerStat newSharedStat(int statIntervalMs, List<DegradeRule> rules) {
+        List<Long> slowRtThresholds = new ArrayList<>();
+        for (DegradeRule rule : rules) {
+            if (rule.getGrade() == RuleConstant.DEGRADE_GRADE_RT) {
+                slowRtThresholds.add(Math.round(rule.getCount()));
+            }
+        }
+        long[] thresholds = new long[slowRtThresholds.size()];
+        for (int i = 0; i < thresholds.length; i++) {
+            thresholds[i] = slowRtThresholds.get(i);
+        }
+        return new CircuitBreakerStat(statIntervalMs, thresholds);
     }
 
     /**
      * Create a circuit breaker instance from provided circuit breaking rule.
      *
-     * @param rule a valid circuit breaking rule
+     * @param rule       a valid circuit breaking rule
+     * @param sharedStat statistics shared with other circuit breakers of the resource, or null if absent
      * @return new circuit breaker based on provided rule; null if rule is invalid or unsupported type
      */
-    private static CircuitBreaker newCircuitBreakerFrom(/*@Valid*/ DegradeRule rule) {
+    private static CircuitBreaker newCircuitBreakerFrom(/*@Valid*/ DegradeRule rule, CircuitBreakerStat sharedStat) {
         switch (rule.getGrade()) {
             case RuleConstant.DEGRADE_GRADE_RT:
-                return new ResponseTimeCircuitBreaker(rule);
+                return new ResponseTimeCircuitBreaker(rule, sharedStat);
             case RuleConstant.DEGRADE_GRADE_EXCEPTION_RATIO:
             case RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT:
-                return new ExceptionCircuitBreaker(rule);
+                return new ExceptionCircuitBreaker(rule, sharedStat);
+            case RuleConstant.DEGRADE_GRADE_RT_PERCENTILE:
+                return new PercentileCircuitBreaker(rule);
             default:
                 return null;
         }
@@ -186,7 +212,7 @@ public final class DegradeRuleManager {
         if (!baseValid) {
             return false;
         }
-        if (rule.getMinRequestAmount() <= 0 || rule.getStatIntervalMs() <= 0) {
+        if (rule.getMinRequestAmount() <= 0 || rule.getStatIntervalMs() <= 0 || rule.getRecoveryRampMs() < 0) {
             return false;
         }
         switch (rule.getGrade()) {
@@ -196,6 +222,12 @@ public final class DegradeRuleManager {
                 return rule.getCount() <= 1;
             case RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT:
                 return true;
+            case RuleConstant.DEGRADE_GRADE_RT_PERCENTILE:
+                // When node histograms are enabled, the percentile is read from the node histogram,
+                // so the statistic interval must be the same as its window.
+                return rule.getPercentile() > 0 && rule.getPercentile() <= 100
+                    && (!StatisticNode.isRtHistogramEnabled()
+                        || rule.getStatIntervalMs() == StatisticNode.RT_HISTOGRAM_INTERVAL_MS);
             default:
                 return false;
         }
@@ -210,6 +242,12 @@ public final class DegradeRuleManager {
             for (Map.Entry<String, List<CircuitBreaker>> e : cbs.entrySet()) {
                 assert e.getValue() != null && !e.getValue().isEmpty();
 
+                Set<DegradeRule> currentRules = ruleMap.get(e.getKey());
+                if (currentRules != null && e.getValue() == circuitBreakers.get(e.getKey())) {
+                    // Circuit breakers of the resource remain unchanged.
+                    rm.put(e.getKey(), currentRules);
+                    continue;
+                }
                 Set<DegradeRule> rules = new HashSet<>(e.getValue().size());
                 for (CircuitBreaker cb : e.getValue()) {
                     rules.add(cb.getRule());
@@ -217,8 +255,10 @@ public final class DegradeRuleManager {
                 rm.put(e.getKey(), rules);
             }
 
+            Set<String> previousResources = DegradeRuleManager.circuitBreakers.keySet();
             DegradeRuleManager.circuitBreakers = cbs;
             DegradeRuleManager.ruleMap = rm;
+            SlotChainSpecializer.refresh(previousResources, cbs.keySet());
         }
 
         @Override
@@ -238,6 +278,7 @@ public final class DegradeRuleManager {
             if (list == null || list.isEmpty()) {
                 return cbMap;
             }
+            Map<String, List<DegradeRule>> resourceRules = new HashMap<>(8);
             for (DegradeRule rule : list) {
                 if (!isValidRule(rule)) {
                     RecordLog.warn("[DegradeRuleManager] Ignoring invalid rule when loading new rules: {}", rule);
@@ -247,22 +288,63 @@ public final class DegradeRuleManager {
                 if (StringUtil.isBlank(rule.getLimitApp())) {
                     rule.setLimitApp(RuleConstant.LIMIT_APP_DEFAULT);
                 }
-                CircuitBreaker cb = getExistingSameCbOrNew(rule);
-                if (cb == null) {
-                    RecordLog.warn("[DegradeRuleManager] Unknown circuit breaking strategy, ignoring: {}", rule);
+                String resourceName = rule.getResource();
+                List<DegradeRule> rules = resourceRules.get(resourceName);
+                if (rules == null) {
+                    rules = new ArrayList<>();
+                    resourceRules.put(resourceName, rules);
+                }
+                rules.add(rule);
+            }
+            for (Map.Entry<String, List<DegradeRule>> e : resourceRules.entrySet()) {
+                List<CircuitBreaker> cbList = buildCircuitBreakersOfResource(e.getKey(), e.getValue());
+                if (cbList.isEmpty()) {
                     continue;
                 }
+                List<CircuitBreaker> currentCbs = getCircuitBreakers(e.getKey());
+                if (currentCbs != null && currentCbs.size() == cbList.size()
+                    && currentCbs.containsAll(cbList)) {
+                    // All circuit breakers of the resource are reused, so the current list could be retained.
+                    cbList = currentCbs;
+                }
+                CircuitBreakerStat.assignRecorders(cbList);
+                cbMap.put(e.getKey(), cbList);
+            }
+            return cbMap;
+        }
 
-                String resourceName = rule.getResource();
+        private List<CircuitBreaker> buildCircuitBreakersOfResource(String resourceName, List<DegradeRule> rules) {
+            List<CircuitBreaker> currentCbs = getCircuitBreakers(resourceName);
+            // New circuit breakers with the same statIntervalMs share the statistics.
+            Map<Integer, List<DegradeRule>> sharedStatRules = new HashMap<>(4);
+            for (DegradeRule rule : rules) {
+                if (getExistingSameCb(currentCbs, rule) == null && isStatShareable(rule)) {
+                    List<DegradeRule> group = sharedStatRules.get(rule.getStatIntervalMs());
+                    if (group == null) {
+                        group = new ArrayList<>();
+                        sharedStatRules.put(rule.getStatIntervalMs(), group);
+                    }
+                    group.add(rule);
+                }
+            }
+            Map<Integer, CircuitBreakerStat> sharedStats = new HashMap<>(sharedStatRules.size());
+            for (Map.Entry<Integer, List<DegradeRule>> e : sharedStatRules.entrySet()) {
+                sharedStats.put(e.getKey(), newSharedStat(e.getKey(), e.getValue()));
+            }
 
-                List<CircuitBreaker> cbList = cbMap.get(resourceName);
-                if (cbList == null) {
-                    cbList = new ArrayList<>();
-                    cbMap.put(resourceName, cbList);
+            List<CircuitBreaker> cbList = new ArrayList<>(rules.size());
+            for (DegradeRule rule : rules) {
+                CircuitBreaker cb = getExistingSameCb(currentCbs, rule);
+                if (cb == null) {
+                    cb = newCircuitBreakerFrom(rule, sharedStats.get(rule.getStatIntervalMs()));
+                }
+                if (cb == null) {
+                    RecordLog.warn("[DegradeRuleManager] Unknown circuit breaking strategy, ignoring: {}", rule);
+                    continue;
                 }
                 cbList.add(cb);
             }
-            return cbMap;
+            return cbList;
         }
     }
 }
@@ -15,6 +15,7 @@
  */
 package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
 
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.alibaba.csp.sentinel.Entry;
@@ -34,11 +35,16 @@ public abstract class AbstractCircuitBreaker implements CircuitBreaker {
 
     protected final DegradeRule rule;
     protected final int recoveryTimeoutMs;
+    protected final int recoveryRampMs;
 
     private final EventObserverRegistry observerRegistry;
 
     protected final AtomicReference<State> currentState = new AtomicReference<>(State.CLOSED);
     protected volatile long nextRetryTimestamp;
+    /**
+     * The timestamp when the circuit breaker closed from half-open state, or -1 if not in recovery ramp.
+     */
+    protected volatile long recoveryStartTimestamp = -1;
 
     public AbstractCircuitBreaker(DegradeRule rule) {
         this(rule, EventObserverRegistry.getInstance());
@@ -52,6 +58,7 @@ public abstract class AbstractCircuitBreaker implements CircuitBreaker {
         this.observerRegistry = observerRegistry;
         this.rule = rule;
         this.recoveryTimeoutMs = rule.getTimeWindow() * 1000;
+        this.recoveryRampMs = rule.getRecoveryRampMs();
     }
 
     @Override
@@ -68,7 +75,7 @@ public abstract class AbstractCircuitBreaker implements CircuitBreaker {
     public boolean tryPass(Context context) {
         // Template implementation.
         if (currentState.get() == State.CLOSED) {
-            return true;
+            return recoveryStartTimestamp < 0 || tryPassInRecoveryRamp();
         }
         if (currentState.get() == State.OPEN) {
             // For half-open state we allow a request for probing.
@@ -77,6 +84,24 @@ public abstract class AbstractCircuitBreaker implements CircuitBreaker {
         return false;
     }
 
+    /**
+     * Gradual recovery after closed from half-open state: the share of passed requests rises linearly
+     * within the ramp. Requests are admitted randomly (rather than by a deterministic pattern), so that
+     * the recovered traffic from many instances won't be synchronized.
+     */
+    private boolean tryPassInRecoveryRamp() {
+        long startTime = recoveryStartTimestamp;
+        if (startTime < 0) {
+            return true;
+        }
+        long elapsed = TimeUtil.currentTimeMillis() - startTime;
+        if (elapsed >= recoveryRampMs) {
+            recoveryStartTimestamp = -1;
+            return true;
+        }
+        return ThreadLocalRandom.current().nextInt(recoveryRampMs) <= elapsed;
+    }
+
     /**
      * Reset the statistic data.
      */
@@ -93,6 +118,7 @@ public abstract class AbstractCircuitBreaker implements CircuitBreaker {
     protected boolean fromCloseToOpen(double snapshotValue) {
         State prev = State.CLOSED;
         if (currentState.compareAndSet(prev, State.OPEN)) {
+            recoveryStartTimestamp = -1;
             updateNextRetryTimestamp();
 
             notifyObservers(prev, State.OPEN, snapshotValue);
@@ -141,6 +167,9 @@ public abstract class AbstractCircuitBreaker implements CircuitBreaker {
     protected boolean fromHalfOpenToClose() {
         if (currentState.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
             resetStat();
+            if (recoveryRampMs > 0) {
+                recoveryStartTimestamp = TimeUtil.currentTimeMillis();
+            }
             notifyObservers(State.HALF_OPEN, State.CLOSED, null);
             return true;
         }
@@ -0,0 +1,248 @@
+/*
+ * Copyright 1999-2019 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
+import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * <p>Statistics of completed requests (total, error and slow count) within a single-bucket window
+ * of {@code statIntervalMs}, which could be shared by the circuit breakers of the same resource
+ * and the same {@code statIntervalMs}.</p>
+ * <p>Slow requests are counted for each distinct max allowed RT of the response time circuit breakers
+ * sharing the statistics. Each request is recorded only once (by the recorder circuit breaker, see
+ * {@link #setRecorder(CircuitBreaker)}), no matter how many circuit breakers share the statistics.
+ * Each circuit breaker reads the statistics via its own {@link View}, so that resetting the statistics of
+ * a circuit breaker won't affect others.</p>
+ *
+ * @since 2.0.0
+ */
+public class CircuitBreakerStat {
+
+    static final int ERROR_COUNT_INDEX = -1;
+
+    private final long[] slowRtThresholds;
+    private final LeapArray<Counter> window;
+
+    private volatile CircuitBreaker recorder;
+
+    /**
+     * @param statIntervalMs   statistic interval in milliseconds
+     * @param slowRtThresholds max allowed RTs (in milliseconds) of the response time circuit breakers
+     *                         sharing the statistics
+     */
+    public CircuitBreakerStat(int statIntervalMs, long... slowRtThresholds) {
+        AssertUtil.isTrue(statIntervalMs > 0, "statIntervalMs should be positive");
+        long[] thresholds = slowRtThresholds == null ? new long[0] : slowRtThresholds.clone();
+        Arrays.sort(thresholds);
+        int n = 0;
+        for (int i = 0; i < thresholds.length; i++) {
+            if (i == 0 || thresholds[i] != thresholds[i - 1]) {
+                thresholds[n++] = thresholds[i];
+            }
+        }
+        this.slowRtThresholds = Arrays.copyOf(thresholds, n);
+        this.window = new CounterLeapArray(statIntervalMs, this.slowRtThresholds.length);
+    }
+
+    /**
+     * Set the circuit breaker which records the completed requests. The recorder should be the
+     * first circuit breaker sharing the statistics in the circuit breaker list of the resource,
+     * so that other circuit breakers will see the request when checking the statistics.
+     *
+     * @param recorder the circuit breaker that records completed requests
+     */
+    public void setRecorder(CircuitBreaker recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Set the first circuit breaker of each statistics in provided circuit breaker list as its recorder.
+     *
+     * @param circuitBreakers circuit breakers of a resource
+     */
+    public static void assignRecorders(List<CircuitBreaker> circuitBreakers) {
+        Set<CircuitBreakerStat> assigned = Collections.newSetFromMap(new IdentityHashMap<CircuitBreakerStat, Boolean>());
+        for (CircuitBreaker cb : circuitBreakers) {
+            CircuitBreakerStat stat = statOf(cb);
+            if (stat != null && assigned.add(stat)) {
+                stat.setRecorder(cb);
+            }
+        }
+    }
+
+    private static CircuitBreakerStat statOf(CircuitBreaker circuitBreaker) {
+        if (circuitBreaker instanceof ExceptionCircuitBreaker) {
+            return ((ExceptionCircuitBreaker)circuitBreaker).getStat();
+        }
+        if (circuitBreaker instanceof ResponseTimeCircuitBreaker) {
+            return ((ResponseTimeCircuitBreaker)circuitBreaker).getStat();
+        }
+        return null;
+    }
+
+    boolean isRecorder(CircuitBreaker circuitBreaker) {
+        return recorder == circuitBreaker;
+    }
+
+    void record(Entry entry) {
+        long completeTime = entry.getCompleteTimestamp();
+        if (completeTime <= 0) {
+            completeTime = TimeUtil.currentTimeMillis();
+        }
+        record(completeTime - entry.getCreateTimestamp(), entry.getError() != null);
+    }
+
+    void record(long rt, boolean error) {
+        Counter counter = window.currentWindow().value();
+        counter.totalCount.add(1);
+        if (error) {
+            counter.errorCount.add(1);
+        }
+        for (int i = 0; i < slowRtThresholds.length && rt > slowRtThresholds[i]; i++) {
+            counter.slowCounts[i].add(1);
+        }
+    }
+
+    /**
+     * Create a view of the error count.
+     */
+    View errorCountView() {
+        return new View(ERROR_COUNT_INDEX);
+    }
+
+    /**
+     * Create a view of the count of the requests slower than given max allowed RT.
+     */
+    View slowCountView(long maxAllowedRt) {
+        int index = Arrays.binarySearch(slowRtThresholds, maxAllowedRt);
+        AssertUtil.isTrue(index >= 0, "maxAllowedRt is absent in the statistics");
+        return new View(index);
+    }
+
+    /**
+     * Counts of a circuit breaker, which is relative to the latest reset of the circuit breaker.
+     */
+    final class View {
+
+        private final int index;
+        private volatile Baseline baseline;
+
+        private View(int index) {
+            this.index = index;
+        }
+
+        private long countOf(Counter counter) {
+            return index == ERROR_COUNT_INDEX ? counter.errorCount.sum() : counter.slowCounts[index].sum();
+        }
+
+        /**
+         * Reset the counts of current window for this view only.
+         */
+        void reset() {
+            WindowWrap<Counter> w = window.currentWindow();
+            Counter counter = w.value();
+            baseline = new Baseline(w.windowStart(), counter.totalCount.sum(), countOf(counter));
+        }
+
+        /**
+         * @return the total count within current window
+         */
+        long totalCount() {
+            WindowWrap<Counter> w = window.currentWindow();
+            Baseline b = baseline;
+            long total = w.value().totalCount.sum();
+            return b != null && b.windowStart == w.windowStart() ? total - b.totalCount : total;
+        }
+
+        /**
+         * @return the error or slow count within current window
+         */
+        long count() {
+            WindowWrap<Counter> w = window.currentWindow();
+            Baseline b = baseline;
+            long count = countOf(w.value());
+            return b != null && b.windowStart == w.windowStart() ? count - b.count : count;
+        }
+    }
+
+    private static final class Baseline {
+        private final long windowStart;
+        private final long totalCount;
+        private final long count;
+
+        private Baseline(long windowStart, long totalCount, long count) {
+            this.windowStart = windowStart;
+            this.totalCount = totalCount;
+            this.count = count;
+        }
+    }
+
+    static final class Counter {
+        private final LongAdder totalCount = new LongAdder();
+        private final LongAdder errorCount = new LongAdder();
+        private final LongAdder[] slowCounts;
+
+        Counter(int slowThresholdCount) {
+            this.slowCounts = new LongAdder[slowThresholdCount];
+            for (int i = 0; i < slowThresholdCount; i++) {
+                slowCounts[i] = new LongAdder();
+            }
+        }
+
+        Counter reset() {
+            totalCount.reset();
+            errorCount.reset();
+            for (LongAdder slowCount : slowCounts) {
+                slowCount.reset();
+            }
+            return this;
+        }
+    }
+
+    static final class CounterLeapArray extends LeapArray<Counter> {
+
+        private final int slowThresholdCount;
+
+        CounterLeapArray(int intervalInMs, int slowThresholdCount) {
+            super(1, intervalInMs);
+            this.slowThresholdCount = slowThresholdCount;
+        }
+
+        @Override
+        public Counter newEmptyBucket(long timeMillis) {
+            return new Counter(slowThresholdCount);
+        }
+
+        @Override
+        protected WindowWrap<Counter> resetWindowTo(WindowWrap<Counter> w, long startTime) {
+            // Update the start time and reset value.
+            w.resetTo(startTime);
+            w.value().reset();
+            return w;
+        }
+    }
+}
@@ -29,6 +29,8 @@ public interface CircuitBreakerStateChangeObserver {
      * <li>From {@code CLOSED} to {@code OPEN} (with the triggered metric)</li>
      * <li>From {@code OPEN} to {@code HALF_OPEN}</li>
      * <li>From {@code OPEN} to {@code CLOSED}</li>
+     * <li>From {@code HALF_OPEN} to {@code CLOSED} (the gradual recovery starts if
+     * {@link DegradeRule#getRecoveryRampMs()} is configured)</li>
      * <li>From {@code HALF_OPEN} to {@code OPEN} (with the triggered metric)</li>
      * </ul>
      *
@@ -15,14 +15,9 @@
  */
 package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
 
-import java.util.List;
-import java.util.concurrent.atomic.LongAdder;
-
 import com.alibaba.csp.sentinel.Entry;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
-import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
-import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 
 import static com.alibaba.csp.sentinel.slots.block.RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT;
@@ -38,27 +33,38 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
     private final int minRequestAmount;
     private final double threshold;
 
-    private final LeapArray<SimpleErrorCounter> stat;
+    private final CircuitBreakerStat stat;
+    private final CircuitBreakerStat.View statView;
 
     public ExceptionCircuitBreaker(DegradeRule rule) {
-        this(rule, new SimpleErrorCounterLeapArray(1, rule.getStatIntervalMs()));
+        this(rule, null);
     }
 
-    ExceptionCircuitBreaker(DegradeRule rule, LeapArray<SimpleErrorCounter> stat) {
+    /**
+     * Create a circuit breaker with the statistics shared with other circuit breakers of the resource.
+     *
+     * @param rule a valid error ratio or error count rule
+     * @param stat shared statistics with the same statIntervalMs as the rule, or null to create own statistics
+     * @since 2.0.0
+     */
+    public ExceptionCircuitBreaker(DegradeRule rule, CircuitBreakerStat stat) {
         super(rule);
         this.strategy = rule.getGrade();
         boolean modeOk = strategy == DEGRADE_GRADE_EXCEPTION_RATIO || strategy == DEGRADE_GRADE_EXCEPTION_COUNT;
         AssertUtil.isTrue(modeOk, "rule strategy should be error-ratio or error-count");
-        AssertUtil.notNull(stat, "stat cannot be null");
         this.minRequestAmount = rule.getMinRequestAmount();
         this.threshold = rule.getCount();
+        if (stat == null) {
+            stat = new CircuitBreakerStat(rule.getStatIntervalMs());
+            stat.setRecorder(this);
+        }
         this.stat = stat;
+        this.statView = stat.errorCountView();
     }
 
     @Override
     protected void resetStat() {
-        // Reset current bucket (bucket count = 1).
-        stat.currentWindow().value().reset();
+        statView.reset();
     }
 
     @Override
@@ -68,11 +74,9 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
             return;
         }
         Throwable error = entry.getError();
-        SimpleErrorCounter counter = stat.currentWindow().value();
-        if (error != null) {
-            counter.getErrorCount().add(1);
+        if (stat.isRecorder(this)) {
+            stat.record(entry);
         }
-        counter.getTotalCount().add(1);
 
         handleStateChangeWhenThresholdExceeded(error);
     }
@@ -92,16 +96,11 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
             return;
         }
         
-        List<SimpleErrorCounter> counters = stat.values();
-        long errCount = 0;
-        long totalCount = 0;
-        for (SimpleErrorCounter counter : counters) {
-            errCount += counter.errorCount.sum();
-            totalCount += counter.totalCount.sum();
-        }
+        long totalCount = statView.totalCount();
         if (totalCount < minRequestAmount) {
             return;
         }
+        long errCount = statView.count();
         double curCount = errCount;
         if (strategy == DEGRADE_GRADE_EXCEPTION_RATIO) {
             // Use errorRatio
@@ -112,55 +111,7 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
         }
     }
 
-    static class SimpleErrorCounter {
-        private LongAdder errorCount;
-        private LongAdder totalCount;
-
-        public SimpleErrorCounter() {
-            this.errorCount = new LongAdder();
-            this.totalCount = new LongAdder();
-        }
-
-        public LongAdder getErrorCount() {
-            return errorCount;
-        }
-
-        public LongAdder getTotalCount() {
-            return totalCount;
-        }
-
-        public SimpleErrorCounter reset() {
-            errorCount.reset();
-            totalCount.reset();
-            return this;
-        }
-
-        @Override
-        public String toString() {
-            return "SimpleErrorCounter{" +
-                "errorCount=" + errorCount +
-                ", totalCount=" + totalCount +
-                '}';
-        }
-    }
-
-    static class SimpleErrorCounterLeapArray extends LeapArray<SimpleErrorCounter> {
-
-        public SimpleErrorCounterLeapArray(int sampleCount, int intervalInMs) {
-            super(sampleCount, intervalInMs);
-        }
-
-        @Override
-        public SimpleErrorCounter newEmptyBucket(long timeMillis) {
-            return new SimpleErrorCounter();
-        }
-
-        @Override
-        protected WindowWrap<SimpleErrorCounter> resetWindowTo(WindowWrap<SimpleErrorCounter> w, long startTime) {
-            // Update the start time and reset value.
-            w.resetTo(startTime);
-            w.value().reset();
-            return w;
-        }
+    CircuitBreakerStat getStat() {
+        return stat;
     }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 1999-2019 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.node.StatisticNode;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.slots.statistic.metric.RtHistogramLeapArray;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * <p>Circuit breaker that opens when the response time at given percentile (e.g. p99) within the
+ * statistic window exceeds the threshold ({@code count} of the rule, in milliseconds).</p>
+ * <p>If the response time histograms of nodes are enabled
+ * (see {@link com.alibaba.csp.sentinel.config.SentinelConfig#statisticRtHistogramEnabled()}),
+ * the percentile is read from the histogram of the cluster node of the resource, so the circuit breaker
+ * holds no statistics of its own. In this case the statistic window is the window of the node histogram
+ * ({@link StatisticNode#RT_HISTOGRAM_INTERVAL_MS}), so rules with any other {@code statIntervalMs} are
+ * rejected as invalid, and the minimum request amount is checked against the amount of requests recorded
+ * in the node histogram. As the node statistics cannot be reset, the circuit breaker won't open again until
+ * the node histogram has rolled over after recovery.</p>
+ * <p>Otherwise the circuit breaker records the response time in its own bounded histogram
+ * (a single bucket covering {@code statIntervalMs}).</p>
+ *
+ * @since 2.0.0
+ */
+public class PercentileCircuitBreaker extends AbstractCircuitBreaker {
+
+    private final long maxAllowedRt;
+    private final double percentile;
+    private final int minRequestAmount;
+
+    /**
+     * Own response time histogram, present only if the node histograms are disabled.
+     */
+    private final RtHistogramLeapArray slidingHistogram;
+    private volatile long statStartTime;
+
+    public PercentileCircuitBreaker(DegradeRule rule) {
+        this(rule, StatisticNode.isRtHistogramEnabled() ? null : new RtHistogramLeapArray(1, rule.getStatIntervalMs()));
+    }
+
+    PercentileCircuitBreaker(DegradeRule rule, RtHistogramLeapArray stat) {
+        super(rule);
+        AssertUtil.isTrue(rule.getGrade() == RuleConstant.DEGRADE_GRADE_RT_PERCENTILE,
+            "rule metric type should be RT percentile");
+        this.maxAllowedRt = Math.round(rule.getCount());
+        this.percentile = rule.getPercentile();
+        this.minRequestAmount = rule.getMinRequestAmount();
+        this.slidingHistogram = stat;
+    }
+
+    @Override
+    public void resetStat() {
+        if (slidingHistogram != null) {
+            // Reset current bucket (bucket count = 1).
+            slidingHistogram.currentWindow().value().reset();
+        } else {
+            statStartTime = TimeUtil.currentTimeMillis();
+        }
+    }
+
+    @Override
+    public void onRequestComplete(Context context) {
+        Entry entry = context.getCurEntry();
+        if (entry == null) {
+            return;
+        }
+        long completeTime = entry.getCompleteTimestamp();
+        if (completeTime <= 0) {
+            completeTime = TimeUtil.currentTimeMillis();
+        }
+        long rt = completeTime - entry.getCreateTimestamp();
+        if (slidingHistogram != null) {
+            slidingHistogram.record(rt);
+        }
+
+        handleStateChangeWhenThresholdExceeded(entry, rt);
+    }
+
+    private void handleStateChangeWhenThresholdExceeded(Entry entry, long rt) {
+        if (currentState.get() == State.OPEN) {
+            return;
+        }
+
+        if (currentState.get() == State.HALF_OPEN) {
+            // In detecting request
+            if (rt > maxAllowedRt) {
+                fromHalfOpenToOpen(rt);
+            } else {
+                fromHalfOpenToClose();
+            }
+            return;
+        }
+
+        long currentRt;
+        if (slidingHistogram != null) {
+            if (slidingHistogram.totalCount() < minRequestAmount) {
+                return;
+            }
+            currentRt = slidingHistogram.percentile(percentile);
+        } else {
+            StatisticNode node = resourceNodeOf(entry);
+            if (node == null
+                || TimeUtil.currentTimeMillis() - statStartTime < StatisticNode.RT_HISTOGRAM_INTERVAL_MS
+                || node.rtHistogramCount() < minRequestAmount) {
+                return;
+            }
+            currentRt = (long)node.rtPercentile(percentile);
+        }
+        if (currentRt > maxAllowedRt) {
+            transformToOpen(currentRt);
+        }
+    }
+
+    private static StatisticNode resourceNodeOf(Entry entry) {
+        Node node = entry.getCurNode();
+        if (node instanceof DefaultNode) {
+            // The statistics of the resource (among all contexts).
+            return ((DefaultNode)node).getClusterNode();
+        }
+        return node instanceof StatisticNode ? (StatisticNode)node : null;
+    }
+}
@@ -15,15 +15,10 @@
  */
 package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
 
-import java.util.List;
-import java.util.concurrent.atomic.LongAdder;
-
 import com.alibaba.csp.sentinel.Entry;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
-import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
-import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.TimeUtil;
 
@@ -39,44 +34,54 @@ public class ResponseTimeCircuitBreaker extends AbstractCircuitBreaker {
     private final double maxSlowRequestRatio;
     private final int minRequestAmount;
 
-    private final LeapArray<SlowRequestCounter> slidingCounter;
+    private final CircuitBreakerStat stat;
+    private final CircuitBreakerStat.View statView;
 
     public ResponseTimeCircuitBreaker(DegradeRule rule) {
-        this(rule, new SlowRequestLeapArray(1, rule.getStatIntervalMs()));
+        this(rule, null);
     }
 
-    ResponseTimeCircuitBreaker(DegradeRule rule, LeapArray<SlowRequestCounter> stat) {
+    /**
+     * Create a circuit breaker with the statistics shared with other circuit breakers of the resource.
+     *
+     * @param rule a valid slow request ratio rule
+     * @param stat shared statistics with the same statIntervalMs as the rule and counting slow requests
+     *             of the max allowed RT of the rule, or null to create own statistics
+     * @since 2.0.0
+     */
+    public ResponseTimeCircuitBreaker(DegradeRule rule, CircuitBreakerStat stat) {
         super(rule);
         AssertUtil.isTrue(rule.getGrade() == RuleConstant.DEGRADE_GRADE_RT, "rule metric type should be RT");
-        AssertUtil.notNull(stat, "stat cannot be null");
         this.maxAllowedRt = Math.round(rule.getCount());
         this.maxSlowRequestRatio = rule.getSlowRatioThreshold();
         this.minRequestAmount = rule.getMinRequestAmount();
-        this.slidingCounter = stat;
+        if (stat == null) {
+            stat = new CircuitBreakerStat(rule.getStatIntervalMs(), maxAllowedRt);
+            stat.setRecorder(this);
+        }
+        this.stat = stat;
+        this.statView = stat.slowCountView(maxAllowedRt);
     }
 
     @Override
     public void resetStat() {
-        // Reset current bucket (bucket count = 1).
-        slidingCounter.currentWindow().value().reset();
+        statView.reset();
     }
 
     @Override
     public void onRequestComplete(Context context) {
-        SlowRequestCounter counter = slidingCounter.currentWindow().value();
         Entry entry = context.getCurEntry();
         if (entry == null) {
             return;
         }
+        if (stat.isRecorder(this)) {
+            stat.record(entry);
+        }
         long completeTime = entry.getCompleteTimestamp();
         if (completeTime <= 0) {
             completeTime = TimeUtil.currentTimeMillis();
         }
         long rt = completeTime - entry.getCreateTimestamp();
-        if (rt > maxAllowedRt) {
-            counter.slowCount.add(1);
-        }
-        counter.totalCount.add(1);
 
         handleStateChangeWhenThresholdExceeded(rt);
     }
@@ -97,16 +102,11 @@ public class ResponseTimeCircuitBreaker extends AbstractCircuitBreaker {
             return;
         }
 
-        List<SlowRequestCounter> counters = slidingCounter.values();
-        long slowCount = 0;
-        long totalCount = 0;
-        for (SlowRequestCounter counter : counters) {
-            slowCount += counter.slowCount.sum();
-            totalCount += counter.totalCount.sum();
-        }
+        long totalCount = statView.totalCount();
         if (totalCount < minRequestAmount) {
             return;
         }
+        long slowCount = statView.count();
         double currentRatio = slowCount * 1.0d / totalCount;
         if (currentRatio > maxSlowRequestRatio) {
             transformToOpen(currentRatio);
@@ -117,54 +117,7 @@ public class ResponseTimeCircuitBreaker extends AbstractCircuitBreaker {
         }
     }
 
-    static class SlowRequestCounter {
-        private LongAdder slowCount;
-        private LongAdder totalCount;
-
-        public SlowRequestCounter() {
-            this.slowCount = new LongAdder();
-            this.totalCount = new LongAdder();
-        }
-
-        public LongAdder getSlowCount() {
-            return slowCount;
-        }
-
-        public LongAdder getTotalCount() {
-            return totalCount;
-        }
-
-        public SlowRequestCounter reset() {
-            slowCount.reset();
-            totalCount.reset();
-            return this;
-        }
-
-        @Override
-        public String toString() {
-            return "SlowRequestCounter{" +
-                "slowCount=" + slowCount +
-                ", totalCount=" + totalCount +
-                '}';
-        }
-    }
-
-    static class SlowRequestLeapArray extends LeapArray<SlowRequestCounter> {
-
-        public SlowRequestLeapArray(int sampleCount, int intervalInMs) {
-            super(sampleCount, intervalInMs);
-        }
-
-        @Override
-        public SlowRequestCounter newEmptyBucket(long timeMillis) {
-            return new SlowRequestCounter();
-        }
-
-        @Override
-        protected WindowWrap<SlowRequestCounter> resetWindowTo(WindowWrap<SlowRequestCounter> w, long startTime) {
-            w.resetTo(startTime);
-            w.value().reset();
-            return w;
-        }
+    CircuitBreakerStat getStat() {
+        return stat;
     }
 }
@@ -72,7 +72,8 @@ public class FlowRule extends AbstractRule {
 
     /**
      * Rate limiter control behavior.
-     * 0. default(reject directly), 1. warm up, 2. rate limiter, 3. warm up + rate limiter
+     * 0. default(reject directly), 1. warm up, 2. rate limiter, 3. warm up + rate limiter,
+     * 4. adaptive concurrency limit (thread count grade only, the count is the initial limit)
      */
     private int controlBehavior = RuleConstant.CONTROL_BEHAVIOR_DEFAULT;
 
@@ -83,6 +84,19 @@ public class FlowRule extends AbstractRule {
      */
     private int maxQueueingTimeMs = 500;
 
+    /**
+     * Lower bound of the estimated concurrency limit in adaptive concurrency behavior.
+     *
+     * @since 2.0.0
+     */
+    private int minConcurrencyLimit = 1;
+    /**
+     * Upper bound of the estimated concurrency limit in adaptive concurrency behavior.
+     *
+     * @since 2.0.0
+     */
+    private int maxConcurrencyLimit = 1000;
+
     private boolean clusterMode;
     /**
      * Flow rule config for cluster mode.
@@ -112,6 +126,24 @@ public class FlowRule extends AbstractRule {
         return this;
     }
 
+    public int getMinConcurrencyLimit() {
+        return minConcurrencyLimit;
+    }
+
+    public FlowRule setMinConcurrencyLimit(int minConcurrencyLimit) {
+        this.minConcurrencyLimit = minConcurrencyLimit;
+        return this;
+    }
+
+    public int getMaxConcurrencyLimit() {
+        return maxConcurrencyLimit;
+    }
+
+    public FlowRule setMaxConcurrencyLimit(int maxConcurrencyLimit) {
+        this.maxConcurrencyLimit = maxConcurrencyLimit;
+        return this;
+    }
+
     FlowRule setRater(TrafficShapingController rater) {
         this.controller = rater;
         return this;
@@ -198,6 +230,8 @@ public class FlowRule extends AbstractRule {
         if (controlBehavior != rule.controlBehavior) { return false; }
         if (warmUpPeriodSec != rule.warmUpPeriodSec) { return false; }
         if (maxQueueingTimeMs != rule.maxQueueingTimeMs) { return false; }
+        if (minConcurrencyLimit != rule.minConcurrencyLimit) { return false; }
+        if (maxConcurrencyLimit != rule.maxConcurrencyLimit) { return false; }
         if (clusterMode != rule.clusterMode) { return false; }
         if (refResource != null ? !refResource.equals(rule.refResource) : rule.refResource != null) { return false; }
         return clusterConfig != null ? clusterConfig.equals(rule.clusterConfig) : rule.clusterConfig == null;
@@ -215,6 +249,8 @@ public class FlowRule extends AbstractRule {
         result = 31 * result + controlBehavior;
         result = 31 * result + warmUpPeriodSec;
         result = 31 * result + maxQueueingTimeMs;
+        result = 31 * result + minConcurrencyLimit;
+        result = 31 * result + maxConcurrencyLimit;
         result = 31 * result + (clusterMode ? 1 : 0);
         result = 31 * result + (clusterConfig != null ? clusterConfig.hashCode() : 0);
         return result;
@@ -232,6 +268,8 @@ public class FlowRule extends AbstractRule {
             ", controlBehavior=" + controlBehavior +
             ", warmUpPeriodSec=" + warmUpPeriodSec +
             ", maxQueueingTimeMs=" + maxQueueingTimeMs +
+            ", minConcurrencyLimit=" + minConcurrencyLimit +
+            ", maxConcurrencyLimit=" + maxConcurrencyLimit +
             ", clusterMode=" + clusterMode +
             ", clusterConfig=" + clusterConfig +
             ", controller=" + controller +
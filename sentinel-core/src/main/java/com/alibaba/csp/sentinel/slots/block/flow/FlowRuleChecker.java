@@ -16,7 +16,9 @@
 package com.alibaba.csp.sentinel.slots.block.flow;
 
 import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 
+import com.alibaba.csp.sentinel.Entry;
 import com.alibaba.csp.sentinel.cluster.ClusterStateManager;
 import com.alibaba.csp.sentinel.cluster.server.EmbeddedClusterTokenServerProvider;
 import com.alibaba.csp.sentinel.cluster.client.TokenClientProvider;
@@ -46,7 +48,12 @@ public class FlowRuleChecker {
         if (ruleProvider == null || resource == null) {
             return;
         }
-        Collection<FlowRule> rules = ruleProvider.apply(resource.getName());
+        Collection<FlowRule> rules;
+        if (ruleProvider instanceof OriginFlowRuleProvider) {
+            rules = ((OriginFlowRuleProvider)ruleProvider).apply(resource.getName(), context.getOrigin());
+        } else {
+            rules = ruleProvider.apply(resource.getName());
+        }
         if (rules != null) {
             for (FlowRule rule : rules) {
                 if (!canPassCheck(rule, context, node, count, prioritized)) {
@@ -82,7 +89,19 @@ public class FlowRuleChecker {
             return true;
         }
 
-        return rule.getRater().canPass(selectedNode, acquireCount, prioritized);
+        TrafficShapingController rater = rule.getRater();
+        Entry curEntry = context.getCurEntry();
+        if (curEntry != null && curEntry.isNonBlocking() && rater instanceof ReservableTrafficShapingController) {
+            // Reserve the pass time and let the caller delay the invocation, rather than blocking current thread.
+            long waitTimeNs = ((ReservableTrafficShapingController)rater)
+                .tryReserve(selectedNode, acquireCount, prioritized);
+            if (waitTimeNs < 0) {
+                return false;
+            }
+            curEntry.delayAtLeast(waitTimeNs);
+            return true;
+        }
+        return rater.canPass(selectedNode, acquireCount, prioritized);
     }
 
     static Node selectReferenceNode(FlowRule rule, Context context, DefaultNode node) {
@@ -190,6 +209,11 @@ public class FlowRuleChecker {
             case TokenResultStatus.OK:
                 return true;
             case TokenResultStatus.SHOULD_WAIT:
+                Entry curEntry = context.getCurEntry();
+                if (curEntry != null && curEntry.isNonBlocking()) {
+                    curEntry.delayAtLeast(TimeUnit.MILLISECONDS.toNanos(result.getWaitInMs()));
+                    return true;
+                }
                 // Wait for next tick.
                 try {
                     Thread.sleep(result.getWaitInMs());
@@ -0,0 +1,150 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.util.StringUtil;
+
+/**
+ * <p>Index of the flow rules of a resource by origin, which is built when the rules are loaded.</p>
+ * <p>For each origin, the index resolves the rules that may take effect (in the original order of the rules):</p>
+ * <ul>
+ * <li>rules whose {@code limitApp} is the origin</li>
+ * <li>rules whose {@code limitApp} is {@code default}</li>
+ * <li>rules whose {@code limitApp} is {@code other}, if no rule is specific to the origin</li>
+ * <li>cluster mode rules, which are always checked by the token server</li>
+ * </ul>
+ * <p>So that the flow checking only iterates the rules matching the origin, rather than all rules of
+ * the resource.</p>
+ *
+ * @since 2.0.0
+ */
+final class FlowRuleIndex {
+
+    private final List<FlowRule> rules;
+
+    /**
+     * Applicable rules of the origins that appear as {@code limitApp} of some rule.
+     */
+    private final Map<String, List<FlowRule>> originRules;
+    /**
+     * Applicable rules when origin is absent.
+     */
+    private final List<FlowRule> noOriginRules;
+    /**
+     * Applicable rules of other origins (i.e. not specified by any rule).
+     */
+    private final List<FlowRule> otherOriginRules;
+
+    FlowRuleIndex(/*@NonNull*/ List<FlowRule> rules) {
+        this.rules = rules;
+        this.originRules = new HashMap<>();
+        for (FlowRule rule : rules) {
+            String limitApp = rule.getLimitApp();
+            if (limitApp != null && !originRules.containsKey(limitApp)) {
+                // Put a placeholder first, as the "other" rules depend on all the specific origins.
+                originRules.put(limitApp, null);
+            }
+        }
+        for (Map.Entry<String, List<FlowRule>> entry : originRules.entrySet()) {
+            entry.setValue(resolveRules(entry.getKey()));
+        }
+        this.noOriginRules = resolveRules(null);
+        this.otherOriginRules = resolveRules(null, true);
+    }
+
+    private List<FlowRule> resolveRules(String origin) {
+        return resolveRules(origin, isOtherOrigin(origin));
+    }
+
+    private List<FlowRule> resolveRules(String origin, boolean otherOrigin) {
+        List<FlowRule> list = new ArrayList<>();
+        for (FlowRule rule : rules) {
+            if (isApplicable(rule, origin, otherOrigin)) {
+                list.add(rule);
+            }
+        }
+        if (list.size() == rules.size()) {
+            return rules;
+        }
+        return list.isEmpty() ? Collections.<FlowRule>emptyList() : list;
+    }
+
+    /**
+     * Keep consistent with {@link FlowRuleChecker#selectNodeByRequesterAndStrategy}.
+     */
+    private static boolean isApplicable(FlowRule rule, String origin, boolean otherOrigin) {
+        String limitApp = rule.getLimitApp();
+        if (limitApp == null) {
+            return false;
+        }
+        if (rule.isClusterMode()) {
+            return true;
+        }
+        if (limitApp.equals(origin) && !RuleConstant.LIMIT_APP_DEFAULT.equals(origin)
+            && !RuleConstant.LIMIT_APP_OTHER.equals(origin)) {
+            return true;
+        }
+        if (RuleConstant.LIMIT_APP_DEFAULT.equals(limitApp)) {
+            return true;
+        }
+        return RuleConstant.LIMIT_APP_OTHER.equals(limitApp) && otherOrigin;
+    }
+
+    List<FlowRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * Get the rules that may take effect for provided origin.
+     *
+     * @param origin origin of the invocation
+     * @return applicable rules of the origin, never null
+     */
+    List<FlowRule> getApplicableRules(String origin) {
+        if (StringUtil.isEmpty(origin)) {
+            return noOriginRules;
+        }
+        List<FlowRule> list = originRules.get(origin);
+        return list == null ? otherOriginRules : list;
+    }
+
+    /**
+     * Check whether any rule of the resource limits the other origins (i.e. its {@code limitApp} is
+     * {@code other}), which limits each of these origins separately.
+     *
+     * @return true if there is any rule for other origins
+     */
+    boolean hasOtherOriginRule() {
+        return originRules.containsKey(RuleConstant.LIMIT_APP_OTHER);
+    }
+
+    /**
+     * Check whether provided origin is not specified by any rule of the resource.
+     *
+     * @param origin origin of the invocation
+     * @return true if the origin is non-empty and not specified by any rule
+     */
+    boolean isOtherOrigin(String origin) {
+        return !StringUtil.isEmpty(origin) && !originRules.containsKey(origin);
+    }
+}
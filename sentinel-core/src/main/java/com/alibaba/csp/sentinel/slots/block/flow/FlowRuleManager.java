@@ -22,6 +22,8 @@ import com.alibaba.csp.sentinel.node.metric.MetricTimerListener;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
 import com.alibaba.csp.sentinel.property.PropertyListener;
 import com.alibaba.csp.sentinel.property.SentinelProperty;
+import com.alibaba.csp.sentinel.slotchain.SlotChainSpecializer;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.StringUtil;
 
@@ -29,6 +31,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -49,6 +52,7 @@ import java.util.concurrent.TimeUnit;
 public class FlowRuleManager {
 
     private static volatile Map<String, List<FlowRule>> flowRules = new HashMap<>();
+    private static volatile Map<String, FlowRuleIndex> ruleIndexes = new HashMap<>();
 
     private static final FlowPropertyListener LISTENER = new FlowPropertyListener();
     private static SentinelProperty<List<FlowRule>> currentProperty = new DynamicSentinelProperty<List<FlowRule>>();
@@ -129,40 +133,99 @@ public class FlowRuleManager {
         return flowRules.containsKey(resource);
     }
 
+    /**
+     * Get the rules of provided resource that may take effect for provided origin.
+     *
+     * @param resourceName name of the resource
+     * @param origin       origin of the invocation
+     * @return applicable rules, or null if the resource has no rules
+     * @since 2.0.0
+     */
+    static List<FlowRule> getApplicableRules(String resourceName, String origin) {
+        FlowRuleIndex index = ruleIndexes.get(resourceName);
+        return index == null ? null : index.getApplicableRules(origin);
+    }
+
+    /**
+     * Check whether provided origin is specified as the {@code limitApp} of any rule of the resource.
+     *
+     * @param origin       origin of the invocation
+     * @param resourceName name of the resource
+     * @return true if the origin is specified by a rule of the resource
+     * @since 2.0.0
+     */
+    public static boolean isSpecifiedOrigin(String origin, String resourceName) {
+        if (StringUtil.isEmpty(origin) || RuleConstant.LIMIT_APP_DEFAULT.equals(origin)
+            || RuleConstant.LIMIT_APP_OTHER.equals(origin)) {
+            return false;
+        }
+        FlowRuleIndex index = ruleIndexes.get(resourceName);
+        return index != null && !index.isOtherOrigin(origin);
+    }
+
+    /**
+     * Check whether provided origin needs its own statistic node for the flow rules of the resource, i.e. the
+     * origin is specified as the {@code limitApp} of any rule, or any rule limits each of the other origins
+     * separately (whose {@code limitApp} is {@code other}).
+     *
+     * @param origin       origin of the invocation
+     * @param resourceName name of the resource
+     * @return true if the origin needs its own statistic node
+     * @since 2.0.0
+     */
+    public static boolean needsOriginNode(String origin, String resourceName) {
+        if (StringUtil.isEmpty(origin)) {
+            return false;
+        }
+        FlowRuleIndex index = ruleIndexes.get(resourceName);
+        return index != null && (index.hasOtherOriginRule() || isSpecifiedOrigin(origin, resourceName));
+    }
+
     public static boolean isOtherOrigin(String origin, String resourceName) {
         if (StringUtil.isEmpty(origin)) {
             return false;
         }
 
-        List<FlowRule> rules = flowRules.get(resourceName);
+        FlowRuleIndex index = ruleIndexes.get(resourceName);
+        return index == null || index.isOtherOrigin(origin);
+    }
 
-        if (rules != null) {
-            for (FlowRule rule : rules) {
-                if (origin.equals(rule.getLimitApp())) {
-                    return false;
-                }
+    private static void applyRules(Map<String, List<FlowRule>> rules) {
+        Map<String, FlowRuleIndex> currentIndexes = ruleIndexes;
+        Map<String, FlowRuleIndex> indexes = new HashMap<>(rules.size());
+        for (Map.Entry<String, List<FlowRule>> entry : rules.entrySet()) {
+            FlowRuleIndex index = currentIndexes.get(entry.getKey());
+            // Retained rule lists (see FlowRuleUtil#buildFlowRuleMapIncrementally) keep their index.
+            if (index == null || index.getRules() != entry.getValue()) {
+                index = new FlowRuleIndex(entry.getValue());
             }
+            indexes.put(entry.getKey(), index);
         }
-
-        return true;
+        ruleIndexes = indexes;
+        flowRules = rules;
     }
 
     private static final class FlowPropertyListener implements PropertyListener<List<FlowRule>> {
 
         @Override
         public synchronized void configUpdate(List<FlowRule> value) {
-            Map<String, List<FlowRule>> rules = FlowRuleUtil.buildFlowRuleMap(value);
+            // Only changed rules are rebuilt, so that the state of unchanged rules is retained.
+            Map<String, List<FlowRule>> rules = FlowRuleUtil.buildFlowRuleMapIncrementally(value, flowRules);
             if (rules != null) {
-                flowRules = rules;
+                Set<String> previousResources = flowRules.keySet();
+                applyRules(rules);
+                SlotChainSpecializer.refresh(previousResources, rules.keySet());
             }
             RecordLog.info("[FlowRuleManager] Flow rules received: {}", rules);
         }
 
         @Override
         public synchronized void configLoad(List<FlowRule> conf) {
-            Map<String, List<FlowRule>> rules = FlowRuleUtil.buildFlowRuleMap(conf);
+            Map<String, List<FlowRule>> rules = FlowRuleUtil.buildFlowRuleMapIncrementally(conf, flowRules);
             if (rules != null) {
-                flowRules = rules;
+                Set<String> previousResources = flowRules.keySet();
+                applyRules(rules);
+                SlotChainSpecializer.refresh(previousResources, rules.keySet());
             }
             RecordLog.info("[FlowRuleManager] Flow rules loaded: {}", rules);
         }
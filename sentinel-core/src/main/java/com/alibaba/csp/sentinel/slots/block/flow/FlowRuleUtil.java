@@ -18,6 +18,7 @@ package com.alibaba.csp.sentinel.slots.block.flow;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.slots.block.ClusterRuleConstant;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.AdaptiveConcurrencyController;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.DefaultController;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.ThrottlingController;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.WarmUpController;
@@ -82,12 +83,40 @@ public final class FlowRuleUtil {
      */
     public static <K> Map<K, List<FlowRule>> buildFlowRuleMap(List<FlowRule> list, Function<FlowRule, K> groupFunction,
                                                               Predicate<FlowRule> filter, boolean shouldSort) {
+        return buildFlowRuleMap(list, groupFunction, filter, shouldSort, Collections.<K, List<FlowRule>>emptyMap());
+    }
+
+    /**
+     * <p>Build the flow rule map from raw list of flow rules incrementally, grouping by resource name.</p>
+     * <p>A new rule which equals to a rule of the same resource in the current map (including the same instance)
+     * will take over its traffic shaping controller, so the controller state (e.g. stored tokens of warm-up or
+     * the latest passed time of rate limiter) is retained, just like the circuit breakers of degrade rules.
+     * If all rules of a resource remain unchanged, the current rule list of the resource will be reused as
+     * a whole. Note that a rule modified in place after loaded is still equal to itself, so load a new instance
+     * to change the rule.</p>
+     *
+     * @param list           raw list of flow rules
+     * @param currentRuleMap current flow rule map (grouping by resource name), could be null
+     * @return constructed new flow rule map; empty map if list is null or empty, or no valid rules
+     * @since 2.0.0
+     */
+    public static Map<String, List<FlowRule>> buildFlowRuleMapIncrementally(List<FlowRule> list,
+                                                                            Map<String, List<FlowRule>> currentRuleMap) {
+        if (currentRuleMap == null) {
+            currentRuleMap = Collections.emptyMap();
+        }
+        return buildFlowRuleMap(list, extractResource, null, true, currentRuleMap);
+    }
+
+    private static <K> Map<K, List<FlowRule>> buildFlowRuleMap(List<FlowRule> list, Function<FlowRule, K> groupFunction,
+                                                               Predicate<FlowRule> filter, boolean shouldSort,
+                                                               Map<K, List<FlowRule>> currentRuleMap) {
         Map<K, List<FlowRule>> newRuleMap = new ConcurrentHashMap<>();
         if (list == null || list.isEmpty()) {
             return newRuleMap;
         }
-        Map<K, Set<FlowRule>> tmpMap = new ConcurrentHashMap<>();
-
+        // Most resources have only one rule, so rules are grouped by lists rather than hash sets.
+        Map<K, List<FlowRule>> tmpMap = new HashMap<>(list.size() * 4 / 3 + 1);
         for (FlowRule rule : list) {
             if (!isValidRule(rule)) {
                 RecordLog.warn("[FlowRuleManager] Ignoring invalid flow rule when loading new flow rules: " + rule);
@@ -99,37 +128,81 @@ public final class FlowRuleUtil {
             if (StringUtil.isBlank(rule.getLimitApp())) {
                 rule.setLimitApp(RuleConstant.LIMIT_APP_DEFAULT);
             }
-            TrafficShapingController rater = generateRater(rule);
-            rule.setRater(rater);
-
             K key = groupFunction.apply(rule);
             if (key == null) {
                 continue;
             }
-            Set<FlowRule> flowRules = tmpMap.get(key);
-
+            List<FlowRule> flowRules = tmpMap.get(key);
             if (flowRules == null) {
-                // Use hash set here to remove duplicate rules.
-                flowRules = new HashSet<>();
+                flowRules = new ArrayList<>(1);
                 tmpMap.put(key, flowRules);
             }
-
             flowRules.add(rule);
         }
+
         Comparator<FlowRule> comparator = new FlowRuleComparator();
-        for (Entry<K, Set<FlowRule>> entries : tmpMap.entrySet()) {
-            List<FlowRule> rules = new ArrayList<>(entries.getValue());
-            if (shouldSort) {
-                // Sort the rules.
+        for (Entry<K, List<FlowRule>> entries : tmpMap.entrySet()) {
+            List<FlowRule> rules = entries.getValue();
+            if (rules.size() > 1) {
+                // Remove duplicate rules.
+                rules = new ArrayList<>(new LinkedHashSet<>(rules));
+            }
+            List<FlowRule> currentRules = currentRuleMap.get(entries.getKey());
+            Map<FlowRule, FlowRule> currentRuleIndex = indexRules(currentRules);
+            int retained = 0;
+            for (FlowRule rule : rules) {
+                FlowRule current = currentRuleIndex != null ? currentRuleIndex.get(rule)
+                    : findEqualRule(currentRules, rule);
+                if (current != null && current.getRater() != null) {
+                    rule.setRater(current.getRater());
+                    retained++;
+                } else {
+                    rule.setRater(generateRater(rule));
+                }
+            }
+            if (currentRules != null && retained == rules.size() && retained == currentRules.size()) {
+                // Rules of the resource remain unchanged.
+                newRuleMap.put(entries.getKey(), currentRules);
+                continue;
+            }
+            if (shouldSort && rules.size() > 1) {
                 Collections.sort(rules, comparator);
             }
             newRuleMap.put(entries.getKey(), rules);
         }
-
         return newRuleMap;
     }
 
+    private static Map<FlowRule, FlowRule> indexRules(List<FlowRule> rules) {
+        // Linear search is fast enough for a few rules.
+        if (rules == null || rules.size() <= 8) {
+            return null;
+        }
+        Map<FlowRule, FlowRule> index = new HashMap<>(rules.size() * 4 / 3 + 1);
+        for (FlowRule rule : rules) {
+            index.put(rule, rule);
+        }
+        return index;
+    }
+
+    private static FlowRule findEqualRule(List<FlowRule> rules, FlowRule rule) {
+        if (rules == null) {
+            return null;
+        }
+        for (FlowRule r : rules) {
+            if (r.equals(rule)) {
+                return r;
+            }
+        }
+        return null;
+    }
+
     private static TrafficShapingController generateRater(/*@Valid*/ FlowRule rule) {
+        if (rule.getGrade() == RuleConstant.FLOW_GRADE_THREAD
+            && rule.getControlBehavior() == RuleConstant.CONTROL_BEHAVIOR_ADAPTIVE_CONCURRENCY) {
+            return new AdaptiveConcurrencyController(rule.getCount(), rule.getMinConcurrencyLimit(),
+                rule.getMaxConcurrencyLimit());
+        }
         if (rule.getGrade() == RuleConstant.FLOW_GRADE_QPS) {
             switch (rule.getControlBehavior()) {
                 case RuleConstant.CONTROL_BEHAVIOR_WARM_UP:
@@ -174,7 +247,7 @@ public final class FlowRuleUtil {
             // Check strategy and control (shaping) behavior.
             return checkClusterField(rule) && checkStrategyField(rule) && checkControlBehaviorField(rule);
         } else if (rule.getGrade() == RuleConstant.FLOW_GRADE_THREAD) {
-            return checkClusterConcurrentField(rule);
+            return checkClusterConcurrentField(rule) && checkAdaptiveConcurrencyField(rule);
         } else {
             return false;
         }
@@ -245,11 +318,21 @@ public final class FlowRuleUtil {
                 return rule.getMaxQueueingTimeMs() > 0;
             case RuleConstant.CONTROL_BEHAVIOR_WARM_UP_RATE_LIMITER:
                 return rule.getWarmUpPeriodSec() > 0 && rule.getMaxQueueingTimeMs() > 0;
+            case RuleConstant.CONTROL_BEHAVIOR_ADAPTIVE_CONCURRENCY:
+                // Adaptive concurrency limit only works with thread count grade.
+                return false;
             default:
                 return true;
         }
     }
 
+    private static boolean checkAdaptiveConcurrencyField(/*@NonNull*/ FlowRule rule) {
+        if (rule.getControlBehavior() != RuleConstant.CONTROL_BEHAVIOR_ADAPTIVE_CONCURRENCY) {
+            return true;
+        }
+        return rule.getMinConcurrencyLimit() > 0 && rule.getMaxConcurrencyLimit() >= rule.getMinConcurrencyLimit();
+    }
+
     private static final Function<FlowRule, String> extractResource = new Function<FlowRule, String>() {
         @Override
         public String apply(FlowRule rule) {
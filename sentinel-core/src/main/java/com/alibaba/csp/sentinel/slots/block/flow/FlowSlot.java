@@ -20,6 +20,7 @@ import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.RuleCheckingSlot;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.spi.Spi;
 import com.alibaba.csp.sentinel.util.AssertUtil;
@@ -138,8 +139,8 @@ import java.util.Map;
  * @author jialiang.linjl
  * @author Eric Zhao
  */
-@Spi(order = Constants.ORDER_FLOW_SLOT)
-public class FlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+@Spi(isSingleton = false, order = Constants.ORDER_FLOW_SLOT)
+public class FlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> implements RuleCheckingSlot {
 
     private final FlowRuleChecker checker;
 
@@ -176,12 +177,23 @@ public class FlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
         fireExit(context, resourceWrapper, count, args);
     }
 
-    private final Function<String, Collection<FlowRule>> ruleProvider = new Function<String, Collection<FlowRule>>() {
+    private final Function<String, Collection<FlowRule>> ruleProvider = new OriginFlowRuleProvider() {
         @Override
         public Collection<FlowRule> apply(String resource) {
             // Flow rule map should not be null.
             Map<String, List<FlowRule>> flowRules = FlowRuleManager.getFlowRuleMap();
             return flowRules.get(resource);
         }
+
+        @Override
+        public Collection<FlowRule> apply(String resource, String origin) {
+            return FlowRuleManager.getApplicableRules(resource, origin);
+        }
     };
+
+    @Override
+    public boolean hasRules(ResourceWrapper resourceWrapper) {
+        Collection<FlowRule> rules = ruleProvider.apply(resourceWrapper.getName());
+        return rules != null && !rules.isEmpty();
+    }
 }
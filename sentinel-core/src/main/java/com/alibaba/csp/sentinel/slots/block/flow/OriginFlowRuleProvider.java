@@ -0,0 +1,38 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow;
+
+import java.util.Collection;
+
+import com.alibaba.csp.sentinel.util.function.Function;
+
+/**
+ * Flow rule provider which is able to select the rules by the origin of the invocation,
+ * so that {@link FlowRuleChecker} only checks the rules that may take effect for the origin.
+ *
+ * @since 2.0.0
+ */
+public interface OriginFlowRuleProvider extends Function<String, Collection<FlowRule>> {
+
+    /**
+     * Get the rules of provided resource that may take effect for provided origin.
+     *
+     * @param resource name of the resource
+     * @param origin   origin of the invocation, may be empty
+     * @return applicable rules of the origin
+     */
+    Collection<FlowRule> apply(String resource, String origin);
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow;
+
+import com.alibaba.csp.sentinel.node.Node;
+
+/**
+ * <p>A {@link TrafficShapingController} which queues requests by reserving their pass time. Rather than
+ * blocking current thread until the reserved time (as {@link #canPass(Node, int, boolean)} does), the caller
+ * could get the time to wait via {@link #tryReserve(Node, int, boolean)}, and then delay the request without
+ * blocking any thread (e.g. on an event loop).</p>
+ *
+ * @since 2.0.0
+ */
+public interface ReservableTrafficShapingController extends TrafficShapingController {
+
+    /**
+     * Reserve the pass time of given resource entry without waiting.
+     *
+     * @param node         resource node
+     * @param acquireCount count to acquire
+     * @param prioritized  whether the request is prioritized
+     * @return the time to wait (in nanoseconds) before the request could pass, 0 if it could pass immediately,
+     * or a negative value if it should be blocked
+     */
+    long tryReserve(Node node, int acquireCount, boolean prioritized);
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * <p>Traffic shaping controller that limits the concurrency (thread count) with a limit estimated from
+ * the response time, in the style of TCP Vegas and the gradient algorithm.</p>
+ * <p>Every {@link #UPDATE_INTERVAL_MS}, the average RT of the node within the recent statistic window
+ * (the short RT) is compared with the baseline RT, i.e. the minimum short RT (the RT without queueing):</p>
+ * <pre>
+ * gradient = max(0.5, min(1.0, tolerance * baselineRt / shortRt))
+ * newLimit = limit * gradient + sqrt(limit)
+ * limit = limit * (1 - smoothing) + newLimit * smoothing
+ * </pre>
+ * <p>So the limit keeps growing while the RT stays stable (no queueing in the downstream), and shrinks once
+ * the RT grows beyond the tolerance (requests start queueing), which makes the concurrency converge near
+ * the knee of the latency curve. The limit will not grow while less than half of it is used.</p>
+ * <p>Under sustained load the queue never drains, so the baseline cannot be refreshed by a lower RT
+ * (e.g. after the downstream has become slower). So if the baseline has not been refreshed for
+ * {@link #PROBE_INTERVAL} updates, the limit is halved for {@link #PROBE_UPDATES} updates (to drain the queue)
+ * and the minimum RT during the probe becomes the new baseline, like the RTT probing of TCP BBR.</p>
+ *
+ * @since 2.0.0
+ */
+public class AdaptiveConcurrencyController implements TrafficShapingController {
+
+    static final long UPDATE_INTERVAL_MS = 500;
+
+    private static final double RT_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    /**
+     * Number of updates without a refreshed baseline RT before probing (i.e. 30s with 500ms interval).
+     */
+    static final int PROBE_INTERVAL = 60;
+    /**
+     * Number of updates that a probe lasts, so that the statistic window (1s) only covers the probe.
+     */
+    static final int PROBE_UPDATES = 3;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private volatile double limit;
+    /*
+     * Following fields are only accessed by the thread that wins the update of lastUpdateTime.
+     */
+    private double baselineRt = -1;
+    private int updatesSinceBaseline;
+    private int probeRemaining;
+    private double probeMinRt;
+    private double limitBeforeProbe;
+    private final AtomicLong lastUpdateTime = new AtomicLong();
+
+    public AdaptiveConcurrencyController(double initialLimit, int minLimit, int maxLimit) {
+        AssertUtil.isTrue(minLimit > 0, "minLimit should be positive");
+        AssertUtil.isTrue(maxLimit >= minLimit, "maxLimit should not be smaller than minLimit");
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = clamp(initialLimit);
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount) {
+        return canPass(node, acquireCount, false);
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount, boolean prioritized) {
+        if (node == null) {
+            return true;
+        }
+        tryUpdateLimit(node);
+        return node.curThreadNum() + acquireCount <= (int)limit;
+    }
+
+    private void tryUpdateLimit(Node node) {
+        long currentTime = TimeUtil.currentTimeMillis();
+        long lastTime = lastUpdateTime.get();
+        if (currentTime - lastTime < UPDATE_INTERVAL_MS || !lastUpdateTime.compareAndSet(lastTime, currentTime)) {
+            return;
+        }
+        double shortRt = node.avgRt();
+        if (shortRt <= 0) {
+            // No completed requests in the window.
+            return;
+        }
+        limit = nextLimit(limit, shortRt, node.curThreadNum());
+    }
+
+    double nextLimit(double currentLimit, double shortRt, int inflight) {
+        if (probeRemaining > 0) {
+            probeMinRt = Math.min(probeMinRt, shortRt);
+            if (--probeRemaining > 0) {
+                return currentLimit;
+            }
+            baselineRt = probeMinRt;
+            updatesSinceBaseline = 0;
+            return limitBeforeProbe;
+        }
+        if (baselineRt < 0 || shortRt <= baselineRt) {
+            baselineRt = shortRt;
+            updatesSinceBaseline = 0;
+        } else if (++updatesSinceBaseline >= PROBE_INTERVAL) {
+            probeRemaining = PROBE_UPDATES;
+            probeMinRt = Double.MAX_VALUE;
+            limitBeforeProbe = currentLimit;
+            return clamp(currentLimit / 2);
+        }
+        // The RT tells nothing about the capacity while the limit is far from being reached.
+        if (inflight < currentLimit / 2) {
+            return currentLimit;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, RT_TOLERANCE * baselineRt / shortRt));
+        double newLimit = currentLimit * gradient + Math.sqrt(currentLimit);
+        return clamp(currentLimit * (1 - SMOOTHING) + newLimit * SMOOTHING);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    /**
+     * Get current estimated concurrency limit.
+     *
+     * @return current concurrency limit
+     */
+    public int getLimit() {
+        return (int)limit;
+    }
+}
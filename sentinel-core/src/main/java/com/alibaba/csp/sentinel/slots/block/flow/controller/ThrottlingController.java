@@ -20,7 +20,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.LockSupport;
 
 import com.alibaba.csp.sentinel.node.Node;
-import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
+import com.alibaba.csp.sentinel.slots.block.flow.ReservableTrafficShapingController;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.TimeUtil;
 
@@ -29,7 +29,7 @@ import com.alibaba.csp.sentinel.util.TimeUtil;
  * @author jialiang.linjl
  * @since 2.0
  */
-public class ThrottlingController implements TrafficShapingController {
+public class ThrottlingController implements ReservableTrafficShapingController {
 
     // Refactored from legacy RateLimitController of Sentinel 1.x.
 
@@ -67,7 +67,43 @@ public class ThrottlingController implements TrafficShapingController {
         return canPass(node, acquireCount, false);
     }
 
-    private boolean checkPassUsingNanoSeconds(int acquireCount, double maxCountPerStat) {
+    @Override
+    public boolean canPass(Node node, int acquireCount, boolean prioritized) {
+        long waitTimeNs = tryReserve(node, acquireCount, prioritized);
+        if (waitTimeNs < 0) {
+            return false;
+        }
+        // in race condition waitTime may <= 0
+        if (waitTimeNs > 0) {
+            if (useNanoSeconds) {
+                sleepNanos(waitTimeNs);
+            } else {
+                sleepMs(TimeUnit.NANOSECONDS.toMillis(waitTimeNs));
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long tryReserve(Node node, int acquireCount, boolean prioritized) {
+        // Pass when acquire count is less or equal than 0.
+        if (acquireCount <= 0) {
+            return 0;
+        }
+        // Reject when count is less or equal than 0.
+        // Otherwise, the costTime will be max of long and waitTime will overflow in some cases.
+        if (count <= 0) {
+            return -1;
+        }
+        if (useNanoSeconds) {
+            return reserveUsingNanoSeconds(acquireCount, this.count);
+        } else {
+            long waitTimeMs = reserveUsingCachedMs(acquireCount, this.count);
+            return waitTimeMs < 0 ? waitTimeMs : waitTimeMs * MS_TO_NS_OFFSET;
+        }
+    }
+
+    private long reserveUsingNanoSeconds(int acquireCount, double maxCountPerStat) {
         final long maxQueueingTimeNs = maxQueueingTimeMs * MS_TO_NS_OFFSET;
         long currentTime = System.nanoTime();
         // Calculate the interval between every two requests.
@@ -79,30 +115,26 @@ public class ThrottlingController implements TrafficShapingController {
         if (expectedTime <= currentTime) {
             // Contention may exist here, but it's okay.
             latestPassedTime.set(currentTime);
-            return true;
+            return 0;
         } else {
             final long curNanos = System.nanoTime();
             // Calculate the time to wait.
             long waitTime = costTimeNs + latestPassedTime.get() - curNanos;
             if (waitTime > maxQueueingTimeNs) {
-                return false;
+                return -1;
             }
 
             long oldTime = latestPassedTime.addAndGet(costTimeNs);
             waitTime = oldTime - curNanos;
             if (waitTime > maxQueueingTimeNs) {
                 latestPassedTime.addAndGet(-costTimeNs);
-                return false;
-            }
-            // in race condition waitTime may <= 0
-            if (waitTime > 0) {
-                sleepNanos(waitTime);
+                return -1;
             }
-            return true;
+            return Math.max(waitTime, 0);
         }
     }
 
-    private boolean checkPassUsingCachedMs(int acquireCount, double maxCountPerStat) {
+    private long reserveUsingCachedMs(int acquireCount, double maxCountPerStat) {
         long currentTime = TimeUtil.currentTimeMillis();
         // Calculate the interval between every two requests.
         long costTime = Math.round(1.0d * statDurationMs * acquireCount / maxCountPerStat);
@@ -113,43 +145,21 @@ public class ThrottlingController implements TrafficShapingController {
         if (expectedTime <= currentTime) {
             // Contention may exist here, but it's okay.
             latestPassedTime.set(currentTime);
-            return true;
+            return 0;
         } else {
             // Calculate the time to wait.
             long waitTime = costTime + latestPassedTime.get() - TimeUtil.currentTimeMillis();
             if (waitTime > maxQueueingTimeMs) {
-                return false;
+                return -1;
             }
 
             long oldTime = latestPassedTime.addAndGet(costTime);
             waitTime = oldTime - TimeUtil.currentTimeMillis();
             if (waitTime > maxQueueingTimeMs) {
                 latestPassedTime.addAndGet(-costTime);
-                return false;
+                return -1;
             }
-            // in race condition waitTime may <= 0
-            if (waitTime > 0) {
-                sleepMs(waitTime);
-            }
-            return true;
-        }
-    }
-
-    @Override
-    public boolean canPass(Node node, int acquireCount, boolean prioritized) {
-        // Pass when acquire count is less or equal than 0.
-        if (acquireCount <= 0) {
-            return true;
-        }
-        // Reject when count is less or equal than 0.
-        // Otherwise, the costTime will be max of long and waitTime will overflow in some cases.
-        if (count <= 0) {
-            return false;
-        }
-        if (useNanoSeconds) {
-            return checkPassUsingNanoSeconds(acquireCount, this.count);
-        } else {
-            return checkPassUsingCachedMs(acquireCount, this.count);
+            return Math.max(waitTime, 0);
         }
     }
 
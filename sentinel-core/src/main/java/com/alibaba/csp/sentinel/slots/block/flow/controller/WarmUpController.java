@@ -59,18 +59,34 @@ import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
  * occupied token.
  * </p>
  *
+ * <p>
+ * The stored tokens and the time (in second) when they were last filled are packed into a single
+ * {@code long} (the second in the high 32 bits and the tokens in the low 32 bits), so that refilling
+ * the tokens at the start of a second is a single CAS. Only the thread that wins the CAS applies the
+ * refill, and the others just go on with the refilled tokens. The QPS of the previous second is only
+ * read when refilling.
+ * </p>
+ *
  * @author jialiang.linjl
  */
 public class WarmUpController implements TrafficShapingController {
 
+    private static final long TOKEN_MASK = 0xFFFFFFFFL;
+
     protected double count;
     private int coldFactor;
     protected int warningToken = 0;
     private int maxToken;
     protected double slope;
+    /**
+     * Interval (in second) of a single request in the stable stage, i.e. {@code 1 / count}.
+     */
+    protected double stableInterval;
 
-    protected AtomicLong storedTokens = new AtomicLong(0);
-    protected AtomicLong lastFilledTime = new AtomicLong(0);
+    /**
+     * Last filled second (high 32 bits) and stored tokens (low 32 bits).
+     */
+    private final AtomicLong tokenState = new AtomicLong(0);
 
     public WarmUpController(double count, int warmUpPeriodInSec, int coldFactor) {
         construct(count, warmUpPeriodInSec, coldFactor);
@@ -103,6 +119,7 @@ public class WarmUpController implements TrafficShapingController {
         // - thresholdPermits);
         slope = (coldFactor - 1.0) / count / (maxToken - warningToken);
 
+        stableInterval = 1.0 / count;
     }
 
     @Override
@@ -112,19 +129,16 @@ public class WarmUpController implements TrafficShapingController {
 
     @Override
     public boolean canPass(Node node, int acquireCount, boolean prioritized) {
+        long restToken = syncToken(node);
         long passQps = (long) node.passQps();
 
-        long previousQps = (long) node.previousPassQps();
-        syncToken(previousQps);
-
         // 开始计算它的斜率
         // 如果进入了警戒线，开始调整他的qps
-        long restToken = storedTokens.get();
         if (restToken >= warningToken) {
             long aboveToken = restToken - warningToken;
             // 消耗的速度要比warning快，但是要比慢
             // current interval = restToken*slope+1/count
-            double warningQps = Math.nextUp(1.0 / (aboveToken * slope + 1.0 / count));
+            double warningQps = Math.nextUp(1.0 / (aboveToken * slope + stableInterval));
             if (passQps + acquireCount <= warningQps) {
                 return true;
             }
@@ -137,41 +151,53 @@ public class WarmUpController implements TrafficShapingController {
         return false;
     }
 
-    protected void syncToken(long passQps) {
-        long currentTime = TimeUtil.currentTimeMillis();
-        currentTime = currentTime - currentTime % 1000;
-        long oldLastFillTime = lastFilledTime.get();
-        if (currentTime <= oldLastFillTime) {
-            return;
+    /**
+     * Refill the tokens (and consume the tokens of the passed requests in the previous second)
+     * if a new second has started.
+     *
+     * @param node the node of the resource
+     * @return the stored tokens after refilling
+     */
+    protected long syncToken(Node node) {
+        long currentSecond = TimeUtil.currentTimeMillis() / 1000;
+        long oldState = tokenState.get();
+        long lastFilledSecond = oldState >>> 32;
+        if (currentSecond <= lastFilledSecond) {
+            return oldState & TOKEN_MASK;
         }
 
-        long oldValue = storedTokens.get();
-        long newValue = coolDownTokens(currentTime, passQps);
-
-        if (storedTokens.compareAndSet(oldValue, newValue)) {
-            long currentValue = storedTokens.addAndGet(0 - passQps);
-            if (currentValue < 0) {
-                storedTokens.set(0L);
-            }
-            lastFilledTime.set(currentTime);
+        long passQps = (long) node.previousPassQps();
+        long newValue = coolDownTokens(oldState & TOKEN_MASK, currentSecond - lastFilledSecond, passQps);
+        newValue = Math.max(newValue - passQps, 0);
+        long newState = (currentSecond << 32) | newValue;
+        if (tokenState.compareAndSet(oldState, newState)) {
+            return newValue;
         }
-
+        // Other thread has refilled the tokens.
+        return tokenState.get() & TOKEN_MASK;
     }
 
-    private long coolDownTokens(long currentTime, long passQps) {
-        long oldValue = storedTokens.get();
+    private long coolDownTokens(long oldValue, long elapsedSeconds, long passQps) {
         long newValue = oldValue;
 
         // 添加令牌的判断前提条件:
         // 当令牌的消耗程度远远低于警戒线的时候
         if (oldValue < warningToken) {
-            newValue = (long)(oldValue + (currentTime - lastFilledTime.get()) * count / 1000);
+            newValue = (long)Math.min(oldValue + elapsedSeconds * count, maxToken);
         } else if (oldValue > warningToken) {
             if (passQps < (int)count / coldFactor) {
-                newValue = (long)(oldValue + (currentTime - lastFilledTime.get()) * count / 1000);
+                newValue = (long)Math.min(oldValue + elapsedSeconds * count, maxToken);
             }
         }
         return Math.min(newValue, maxToken);
     }
 
+    /**
+     * Get current stored tokens (without refilling).
+     *
+     * @return current stored tokens
+     */
+    long getStoredTokens() {
+        return tokenState.get() & TOKEN_MASK;
+    }
 }
@@ -15,16 +15,18 @@
  */
 package com.alibaba.csp.sentinel.slots.block.flow.controller;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slots.block.flow.ReservableTrafficShapingController;
 import com.alibaba.csp.sentinel.util.TimeUtil;
 
 /**
  * @author jialiang.linjl
  * @since 1.4.0
  */
-public class WarmUpRateLimiterController extends WarmUpController {
+public class WarmUpRateLimiterController extends WarmUpController implements ReservableTrafficShapingController {
 
     private final int timeoutInMs;
     private final AtomicLong latestPassedTime = new AtomicLong(-1);
@@ -41,19 +43,33 @@ public class WarmUpRateLimiterController extends WarmUpController {
 
     @Override
     public boolean canPass(Node node, int acquireCount, boolean prioritized) {
-        long previousQps = (long) node.previousPassQps();
-        syncToken(previousQps);
+        long waitTimeNs = tryReserve(node, acquireCount, prioritized);
+        if (waitTimeNs < 0) {
+            return false;
+        }
+        if (waitTimeNs > 0) {
+            try {
+                Thread.sleep(TimeUnit.NANOSECONDS.toMillis(waitTimeNs));
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long tryReserve(Node node, int acquireCount, boolean prioritized) {
+        long restToken = syncToken(node);
 
         long currentTime = TimeUtil.currentTimeMillis();
 
-        long restToken = storedTokens.get();
         long costTime = 0;
         long expectedTime = 0;
         if (restToken >= warningToken) {
             long aboveToken = restToken - warningToken;
 
             // current interval = restToken*slope+1/count
-            double warmingQps = Math.nextUp(1.0 / (aboveToken * slope + 1.0 / count));
+            double warmingQps = Math.nextUp(1.0 / (aboveToken * slope + stableInterval));
             costTime = Math.round(1.0 * (acquireCount) / warmingQps * 1000);
         } else {
             costTime = Math.round(1.0 * (acquireCount) / count * 1000);
@@ -62,27 +78,19 @@ public class WarmUpRateLimiterController extends WarmUpController {
 
         if (expectedTime <= currentTime) {
             latestPassedTime.set(currentTime);
-            return true;
+            return 0;
         } else {
             long waitTime = costTime + latestPassedTime.get() - currentTime;
             if (waitTime > timeoutInMs) {
-                return false;
-            } else {
-                long oldTime = latestPassedTime.addAndGet(costTime);
-                try {
-                    waitTime = oldTime - TimeUtil.currentTimeMillis();
-                    if (waitTime > timeoutInMs) {
-                        latestPassedTime.addAndGet(-costTime);
-                        return false;
-                    }
-                    if (waitTime > 0) {
-                        Thread.sleep(waitTime);
-                    }
-                    return true;
-                } catch (InterruptedException e) {
-                }
+                return -1;
+            }
+            long oldTime = latestPassedTime.addAndGet(costTime);
+            waitTime = oldTime - TimeUtil.currentTimeMillis();
+            if (waitTime > timeoutInMs) {
+                latestPassedTime.addAndGet(-costTime);
+                return -1;
             }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(waitTime, 0));
         }
-        return false;
     }
 }
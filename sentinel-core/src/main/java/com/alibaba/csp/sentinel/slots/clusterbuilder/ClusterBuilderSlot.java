@@ -15,11 +15,11 @@
  */
 package com.alibaba.csp.sentinel.slots.clusterbuilder;
 
-import java.util.HashMap;
 import java.util.Map;
 
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.concurrent.ConcurrentRegistry;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.node.ClusterNode;
@@ -31,7 +31,12 @@ import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlotChain;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.authority.AuthorityRuleManager;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
 import com.alibaba.csp.sentinel.spi.Spi;
+import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.csp.sentinel.util.function.Function;
+import com.alibaba.csp.sentinel.util.function.Predicate;
 
 /**
  * <p>
@@ -61,15 +66,24 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
      * shares the same {@link ClusterNode} globally. All {@link ClusterNode}s are cached
      * in this map.
      * </p>
-     * <p>
-     * The longer the application runs, the more stable this mapping will
-     * become. so we don't concurrent map but a lock. as this lock only happens
-     * at the very beginning while concurrent map will hold the lock all the time.
-     * </p>
      */
-    private static volatile Map<ResourceWrapper, ClusterNode> clusterNodeMap = new HashMap<>();
-
-    private static final Object lock = new Object();
+    private static final ConcurrentRegistry<ResourceWrapper, ClusterNode> clusterNodeMap = new ConcurrentRegistry<>();
+
+    private static final Function<ResourceWrapper, ClusterNode> CLUSTER_NODE_FACTORY
+        = new Function<ResourceWrapper, ClusterNode>() {
+            @Override
+            public ClusterNode apply(ResourceWrapper resourceWrapper) {
+                final String resourceName = resourceWrapper.getName();
+                return new ClusterNode(resourceName, resourceWrapper.getResourceType(), new Predicate<String>() {
+                    @Override
+                    public boolean test(String origin) {
+                        // Origins checked by rules keep their own nodes (e.g. for flow checking of the origin).
+                        return FlowRuleManager.needsOriginNode(origin, resourceName)
+                            || AuthorityRuleManager.isSpecifiedOrigin(origin, resourceName);
+                    }
+                });
+            }
+        };
 
     private volatile ClusterNode clusterNode = null;
 
@@ -78,17 +92,8 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
                       boolean prioritized, Object... args)
         throws Throwable {
         if (clusterNode == null) {
-            synchronized (lock) {
-                if (clusterNode == null) {
-                    // Create the cluster node.
-                    clusterNode = new ClusterNode(resourceWrapper.getName(), resourceWrapper.getResourceType());
-                    HashMap<ResourceWrapper, ClusterNode> newMap = new HashMap<>(Math.max(clusterNodeMap.size(), 16));
-                    newMap.putAll(clusterNodeMap);
-                    newMap.put(node.getId(), clusterNode);
-
-                    clusterNodeMap = newMap;
-                }
-            }
+            // Copies of the slot in relinked chains of the resource share the same cluster node.
+            clusterNode = clusterNodeMap.getOrCreate(node.getId(), CLUSTER_NODE_FACTORY);
         }
         node.setClusterNode(clusterNode);
 
@@ -96,7 +101,7 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
          * if context origin is set, we should get or create a new {@link Node} of
          * the specific origin.
          */
-        if (!"".equals(context.getOrigin())) {
+        if (StringUtil.isNotEmpty(context.getOrigin())) {
             Node originNode = node.getClusterNode().getOrCreateOriginNode(context.getOrigin());
             context.getCurEntry().setOriginNode(originNode);
         }
@@ -150,7 +155,7 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
      * @return all {@link ClusterNode}s
      */
     public static Map<ResourceWrapper, ClusterNode> getClusterNodeMap() {
-        return clusterNodeMap;
+        return clusterNodeMap.asMap();
     }
 
     /**
@@ -158,7 +163,7 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
      * {@link SampleCountProperty#SAMPLE_COUNT} is changed.
      */
     public static void resetClusterNodes() {
-        for (ClusterNode node : clusterNodeMap.values()) {
+        for (ClusterNode node : clusterNodeMap.asMap().values()) {
             node.reset();
         }
     }
@@ -16,6 +16,7 @@
 package com.alibaba.csp.sentinel.slots.nodeselector;
 
 import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.concurrent.ConcurrentRegistry;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.node.ClusterNode;
@@ -25,8 +26,6 @@ import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.spi.Spi;
 
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * </p>
@@ -130,7 +129,7 @@ public class NodeSelectorSlot extends AbstractLinkedProcessorSlot<Object> {
     /**
      * {@link DefaultNode}s of the same resource in different context.
      */
-    private volatile Map<String, DefaultNode> map = new HashMap<String, DefaultNode>(10);
+    private final ConcurrentRegistry<String, DefaultNode> map = new ConcurrentRegistry<>(4);
 
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, Object obj, int count, boolean prioritized, Object... args)
@@ -153,21 +152,16 @@ public class NodeSelectorSlot extends AbstractLinkedProcessorSlot<Object> {
          * The answer is all {@link DefaultNode}s with same resource name share one
          * {@link ClusterNode}. See {@link ClusterBuilderSlot} for detail.
          */
-        DefaultNode node = map.get(context.getName());
+        // The node may have been pre-resolved for current context by ResourceHandle,
+        // which comes from the lookup below in previous invocations.
+        DefaultNode node = obj instanceof DefaultNode ? (DefaultNode) obj : map.get(context.getName());
         if (node == null) {
-            synchronized (this) {
-                node = map.get(context.getName());
-                if (node == null) {
-                    node = new DefaultNode(resourceWrapper, null);
-                    HashMap<String, DefaultNode> cacheMap = new HashMap<String, DefaultNode>(map.size());
-                    cacheMap.putAll(map);
-                    cacheMap.put(context.getName(), node);
-                    map = cacheMap;
-                    // Build invocation tree
-                    ((DefaultNode) context.getLastNode()).addChild(node);
-                }
-
-            }
+            node = map.getOrCreate(context.getName(), contextName -> {
+                DefaultNode newNode = new DefaultNode(resourceWrapper, null);
+                // Build invocation tree
+                ((DefaultNode) context.getLastNode()).addChild(newNode);
+                return newNode;
+            });
         }
 
         context.setCurNode(node);
@@ -0,0 +1,117 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+
+/**
+ * <p>Sampling of the completion statistics (response time and success count) recorded by {@link StatisticSlot},
+ * for very hot resources where exact counting dominates the overhead.</p>
+ * <p>With a sample interval {@code N > 1}, each completed invocation is recorded with probability {@code 1/N},
+ * and a recorded invocation stands for {@code N} invocations (i.e. its success count and RT are scaled by N),
+ * so the success QPS and total RT are unbiased estimates. For {@code n} successful invocations within a window,
+ * the relative standard error of the estimated success count is {@code sqrt((N - 1) / n)}, e.g. 0.4% for
+ * {@code N = 16} and 1M invocations per second, and the estimate is within three standard errors with
+ * a probability of 99.7%. Average RT and RT percentiles are estimated from the sampled invocations, while
+ * min RT may be slightly higher than the exact one.</p>
+ * <p>Pass, block and exception count as well as thread count are always exact, so flow control decisions
+ * (based on pass QPS or thread count) are not affected. Only the rules based on success QPS or RT
+ * (e.g. adaptive system protection) will see the estimated values.</p>
+ * <p>The global sample interval is configured via {@link SentinelConfig#STATISTIC_SAMPLE_INTERVAL}, and can be
+ * overridden per resource.</p>
+ *
+ * @since 2.0.0
+ */
+public final class StatisticSampler {
+
+    private static volatile int globalSampleInterval = SentinelConfig.statisticSampleInterval();
+
+    private static final Map<String, Integer> resourceSampleIntervals = new ConcurrentHashMap<>();
+
+    /**
+     * Get the sample interval of provided resource.
+     *
+     * @param resourceName name of the resource
+     * @return the sample interval, 1 for exact statistics
+     */
+    public static int getSampleInterval(String resourceName) {
+        if (resourceName != null && !resourceSampleIntervals.isEmpty()) {
+            Integer interval = resourceSampleIntervals.get(resourceName);
+            if (interval != null) {
+                return interval;
+            }
+        }
+        return globalSampleInterval;
+    }
+
+    /**
+     * Set the sample interval of provided resource, which overrides the global sample interval.
+     *
+     * @param resourceName name of the resource
+     * @param interval     a positive sample interval, 1 for exact statistics
+     */
+    public static void setSampleInterval(String resourceName, int interval) {
+        AssertUtil.notNull(resourceName, "resourceName cannot be null");
+        AssertUtil.isTrue(interval > 0, "sample interval should be positive");
+        resourceSampleIntervals.put(resourceName, interval);
+    }
+
+    /**
+     * Remove the sample interval of provided resource, so that the global sample interval will be used.
+     *
+     * @param resourceName name of the resource
+     */
+    public static void removeSampleInterval(String resourceName) {
+        if (resourceName != null) {
+            resourceSampleIntervals.remove(resourceName);
+        }
+    }
+
+    public static int getGlobalSampleInterval() {
+        return globalSampleInterval;
+    }
+
+    public static void setGlobalSampleInterval(int interval) {
+        AssertUtil.isTrue(interval > 0, "sample interval should be positive");
+        globalSampleInterval = interval;
+    }
+
+    /**
+     * Decide whether the completion of current invocation should be recorded.
+     *
+     * @param resourceName name of the resource
+     * @return the weight of the sample (i.e. the sample interval), or 0 if current invocation should be skipped
+     */
+    public static int nextSampleWeight(String resourceName) {
+        int interval = getSampleInterval(resourceName);
+        if (interval <= 1) {
+            return 1;
+        }
+        return ThreadLocalRandom.current().nextInt(interval) == 0 ? interval : 0;
+    }
+
+    static void clearSampleIntervals() {
+        resourceSampleIntervals.clear();
+        globalSampleInterval = SentinelConfig.statisticSampleInterval();
+    }
+
+    private StatisticSampler() {}
+}
@@ -48,7 +48,7 @@ import com.alibaba.csp.sentinel.slots.block.BlockException;
  * @author jialiang.linjl
  * @author Eric Zhao
  */
-@Spi(order = Constants.ORDER_STATISTIC_SLOT)
+@Spi(isSingleton = false, order = Constants.ORDER_STATISTIC_SLOT)
 public class StatisticSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
 
     @Override
@@ -133,12 +133,14 @@ public class StatisticSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
             long rt = completeStatTime - context.getCurEntry().getCreateTimestamp();
 
             Throwable error = context.getCurEntry().getError();
+            // Response time and success count may be sampled for very hot resources.
+            int weight = StatisticSampler.nextSampleWeight(resourceWrapper.getName());
 
             // Record response time and success count.
-            recordCompleteFor(node, count, rt, error);
-            recordCompleteFor(context.getCurEntry().getOriginNode(), count, rt, error);
+            recordCompleteFor(node, count, rt, error, weight);
+            recordCompleteFor(context.getCurEntry().getOriginNode(), count, rt, error, weight);
             if (resourceWrapper.getEntryType() == EntryType.IN) {
-                recordCompleteFor(Constants.ENTRY_NODE, count, rt, error);
+                recordCompleteFor(Constants.ENTRY_NODE, count, rt, error, weight);
             }
         }
 
@@ -152,11 +154,15 @@ public class StatisticSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
         fireExit(context, resourceWrapper, count, args);
     }
 
-    private void recordCompleteFor(Node node, int batchCount, long rt, Throwable error) {
+    private void recordCompleteFor(Node node, int batchCount, long rt, Throwable error, int weight) {
         if (node == null) {
             return;
         }
-        node.addRtAndSuccess(rt, batchCount);
+        if (weight == 1) {
+            node.addRtAndSuccess(rt, batchCount);
+        } else if (weight > 1) {
+            node.addRtAndSuccess(rt, batchCount, weight);
+        }
         node.decreaseThreadNum();
 
         if (error != null && !(error instanceof BlockException)) {
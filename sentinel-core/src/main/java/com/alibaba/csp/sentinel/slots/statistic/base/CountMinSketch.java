@@ -0,0 +1,142 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.base;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.alibaba.csp.sentinel.util.AssertUtil;
+
+/**
+ * <p>A concurrent count-min sketch, which estimates the frequencies of a huge amount of keys in fixed memory.</p>
+ * <p>The sketch keeps {@link #DEPTH} rows of counters. Each key is hashed to one counter per row, and
+ * the estimated frequency is the minimum of these counters, so the estimation never underestimates
+ * (except the increments lost in {@link #halve()}), and overestimates by at most {@code e * N / width}
+ * with probability {@code 1 - e^-DEPTH}, where {@code N} is the total count.</p>
+ * <p>To let the estimation follow recent traffic, the owner should age the counters with {@link #halve()}
+ * periodically.</p>
+ *
+ * @since 2.0.0
+ */
+public final class CountMinSketch {
+
+    public static final int DEPTH = 4;
+
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+        0xcbf29ce484222325L};
+
+    private final int width;
+    private final int mask;
+    private final AtomicLongArray table;
+
+    /**
+     * @param width expected amount of counters per row, which will be rounded up to a power of 2
+     */
+    public CountMinSketch(int width) {
+        AssertUtil.isTrue(width > 0 && width <= (1 << 24), "width should be in (0, 2^24]");
+        int w = Integer.highestOneBit(width);
+        this.width = w < width ? w << 1 : w;
+        this.mask = this.width - 1;
+        this.table = new AtomicLongArray(this.width * DEPTH);
+    }
+
+    /**
+     * Add the count of the key and get the estimated frequency after adding.
+     *
+     * @param key   the key
+     * @param count count to add
+     * @return the estimated frequency of the key
+     */
+    public long add(Object key, long count) {
+        return addHash(key.hashCode(), count);
+    }
+
+    /**
+     * Add the count of the key with provided hash (e.g. a primitive key) and get the estimated
+     * frequency after adding.
+     *
+     * @param hash  hash of the key
+     * @param count count to add
+     * @return the estimated frequency of the key
+     */
+    public long addHash(long hash, long count) {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, table.addAndGet(indexOf(hash, i), count));
+        }
+        return min;
+    }
+
+    /**
+     * Add the count of the key with provided hash by conservative update, i.e. only the counters below
+     * {@code estimate + count} are raised to it, which reduces the overestimation caused by collisions
+     * significantly.
+     *
+     * @param hash  hash of the key
+     * @param count count to add
+     * @return the estimated frequency of the key
+     */
+    public long addHashConservatively(long hash, long count) {
+        long target = estimateHash(hash) + count;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = indexOf(hash, i);
+            long current;
+            while ((current = table.get(index)) < target) {
+                if (table.compareAndSet(index, current, target)) {
+                    break;
+                }
+            }
+        }
+        return target;
+    }
+
+    public long estimate(Object key) {
+        return estimateHash(key.hashCode());
+    }
+
+    public long estimateHash(long hash) {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, table.get(indexOf(hash, i)));
+        }
+        return min;
+    }
+
+    private int indexOf(long hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return row * width + ((int)h & mask);
+    }
+
+    /**
+     * Halve all counters, so that the earlier counts decay. Concurrent increments may be lost, which is
+     * acceptable for an estimation.
+     */
+    public void halve() {
+        for (int i = 0; i < table.length(); i++) {
+            table.set(i, table.get(i) >>> 1);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < table.length(); i++) {
+            table.set(i, 0);
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+}
@@ -18,7 +18,6 @@ package com.alibaba.csp.sentinel.slots.statistic.base;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReferenceArray;
-import java.util.concurrent.locks.ReentrantLock;
 
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.TimeUtil;
@@ -47,11 +46,6 @@ public abstract class LeapArray<T> {
 
     protected final AtomicReferenceArray<WindowWrap<T>> array;
 
-    /**
-     * The conditional (predicate) update lock is used only when current bucket is deprecated.
-     */
-    private final ReentrantLock updateLock = new ReentrantLock();
-
     /**
      * The total bucket count is: {@code sampleCount = intervalInMs / windowLengthInMs}.
      *
@@ -89,7 +83,11 @@ public abstract class LeapArray<T> {
     public abstract T newEmptyBucket(long timeMillis);
 
     /**
-     * Reset given bucket to provided start time and reset the value.
+     * <p>Reset given bucket to provided start time and reset the value.</p>
+     * <p>When a deprecated bucket is rotated, the given bucket is a new copy which is invisible to other
+     * threads until it replaces the deprecated one via CAS. The copy will be discarded if another thread
+     * replaces the deprecated bucket first, so this method should not have any other side effects.
+     * See {@link #onWindowRotated(WindowWrap)} for actions that should only be taken once per rotation.</p>
      *
      * @param startTime  the start time of the bucket in milliseconds
      * @param windowWrap current bucket
@@ -97,6 +95,16 @@ public abstract class LeapArray<T> {
      */
     protected abstract WindowWrap<T> resetWindowTo(WindowWrap<T> windowWrap, long startTime);
 
+    /**
+     * Invoked after a deprecated bucket has been replaced with the given bucket. Only the thread that
+     * succeeds to replace the bucket will invoke this, and the bucket may have been updated concurrently.
+     *
+     * @param windowWrap the new bucket
+     * @since 2.0.0
+     */
+    protected void onWindowRotated(WindowWrap<T> windowWrap) {
+    }
+
     private int calculateTimeIdx(/*@Valid*/ long timeMillis) {
         long timeId = timeMillis / windowLengthInMs;
         // Calculate current index so we can map the timestamp to the leap array.
@@ -127,7 +135,10 @@ public abstract class LeapArray<T> {
          *
          * (1) Bucket is absent, then just create a new bucket and CAS update to circular array.
          * (2) Bucket is up-to-date, then just return the bucket.
-         * (3) Bucket is deprecated, then reset current bucket.
+         * (3) Bucket is deprecated, then replace it with a reset copy via CAS.
+         *
+         * No thread will block or yield here: if the CAS fails, another thread must have succeeded
+         * to update the bucket, so we just retry to get the up-to-date bucket.
          */
         while (true) {
             WindowWrap<T> old = array.get(idx);
@@ -142,15 +153,12 @@ public abstract class LeapArray<T> {
                  *
                  * If the old bucket is absent, then we create a new bucket at {@code windowStart},
                  * then try to update circular array via a CAS operation. Only one thread can
-                 * succeed to update, while other threads yield its time slice.
+                 * succeed to update, while other threads retry to get the bucket created.
                  */
                 WindowWrap<T> window = new WindowWrap<T>(windowLengthInMs, windowStart, newEmptyBucket(timeMillis));
                 if (array.compareAndSet(idx, null, window)) {
                     // Successfully updated, return the created bucket.
                     return window;
-                } else {
-                    // Contention failed, the thread will yield its time slice to wait for bucket available.
-                    Thread.yield();
                 }
             } else if (windowStart == old.windowStart()) {
                 /*
@@ -177,22 +185,19 @@ public abstract class LeapArray<T> {
                  *
                  * If the start timestamp of old bucket is behind provided time, that means
                  * the bucket is deprecated. We have to reset the bucket to current {@code windowStart}.
-                 * Note that the reset and clean-up operations are hard to be atomic,
-                 * so we need a update lock to guarantee the correctness of bucket update.
+                 * Note that the reset and clean-up operations are hard to be atomic, so instead of
+                 * resetting the bucket in place, we reset a new copy of the bucket and then replace
+                 * the deprecated one via a CAS operation (the start time acts as the epoch of the slot).
+                 * Only one thread can succeed to replace, while the copies of other threads are dropped.
                  *
-                 * The update lock is conditional (tiny scope) and will take effect only when
-                 * bucket is deprecated, so in most cases it won't lead to performance loss.
+                 * Rotation happens only when bucket is deprecated, so the extra allocation
+                 * won't lead to performance loss in most cases.
                  */
-                if (updateLock.tryLock()) {
-                    try {
-                        // Successfully get the update lock, now we reset the bucket.
-                        return resetWindowTo(old, windowStart);
-                    } finally {
-                        updateLock.unlock();
-                    }
-                } else {
-                    // Contention failed, the thread will yield its time slice to wait for bucket available.
-                    Thread.yield();
+                WindowWrap<T> window = resetWindowTo(
+                    new WindowWrap<T>(windowLengthInMs, old.windowStart(), newEmptyBucket(timeMillis)), windowStart);
+                if (array.compareAndSet(idx, old, window)) {
+                    onWindowRotated(window);
+                    return window;
                 }
             } else if (windowStart < old.windowStart()) {
                 // Should not go through here, as the provided time is already behind.
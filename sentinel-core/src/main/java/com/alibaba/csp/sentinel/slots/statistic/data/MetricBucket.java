@@ -27,23 +27,50 @@ import java.util.concurrent.atomic.LongAdder;
  */
 public class MetricBucket {
 
+    private static final boolean STRIPED = SentinelConfig.statisticBucketStriped();
+
     private final LongAdder[] counters;
 
     private volatile long minRt;
 
     public MetricBucket() {
-        MetricEvent[] events = MetricEvent.values();
-        this.counters = new LongAdder[events.length];
-        for (MetricEvent event : events) {
-            counters[event.ordinal()] = new LongAdder();
+        this(true);
+    }
+
+    /**
+     * @param useAdders whether to keep the counters in {@link LongAdder}s. Subclasses that keep the counters
+     *                  by themselves should pass false, and override {@link #get(MetricEvent)},
+     *                  {@link #add(MetricEvent, long)} and {@link #resetCounters()}
+     * @since 2.0.0
+     */
+    protected MetricBucket(boolean useAdders) {
+        if (useAdders) {
+            MetricEvent[] events = MetricEvent.values();
+            this.counters = new LongAdder[events.length];
+            for (MetricEvent event : events) {
+                counters[event.ordinal()] = new LongAdder();
+            }
+        } else {
+            this.counters = null;
         }
         initMinRt();
     }
 
+    /**
+     * Create a new empty bucket. A {@link StripedMetricBucket} will be created if
+     * {@link SentinelConfig#statisticBucketStriped()} is enabled.
+     *
+     * @return new empty bucket
+     * @since 2.0.0
+     */
+    public static MetricBucket newBucket() {
+        return STRIPED ? new StripedMetricBucket() : new MetricBucket();
+    }
+
     public MetricBucket reset(MetricBucket bucket) {
+        resetCounters();
         for (MetricEvent event : MetricEvent.values()) {
-            counters[event.ordinal()].reset();
-            counters[event.ordinal()].add(bucket.get(event));
+            add(event, bucket.get(event));
         }
         initMinRt();
         return this;
@@ -59,11 +86,20 @@ public class MetricBucket {
      * @return new metric bucket in initial state
      */
     public MetricBucket reset() {
+        resetCounters();
+        initMinRt();
+        return this;
+    }
+
+    /**
+     * Reset all the event counters to zero.
+     *
+     * @since 2.0.0
+     */
+    protected void resetCounters() {
         for (MetricEvent event : MetricEvent.values()) {
             counters[event.ordinal()].reset();
         }
-        initMinRt();
-        return this;
     }
 
     public long get(MetricEvent event) {
@@ -124,7 +160,18 @@ public class MetricBucket {
     }
 
     public void addRT(long rt) {
-        add(MetricEvent.RT, rt);
+        addRT(rt, 1);
+    }
+
+    /**
+     * Add the RT of a sampled invocation which stands for {@code weight} invocations.
+     *
+     * @param rt     RT of the sampled invocation
+     * @param weight weight of the sample
+     * @since 2.0.0
+     */
+    public void addRT(long rt, int weight) {
+        add(MetricEvent.RT, rt * weight);
 
         // Not thread-safe, but it's okay.
         if (rt < minRt) {
@@ -0,0 +1,125 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.data;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.alibaba.csp.sentinel.util.AssertUtil;
+
+/**
+ * <p>A fixed-memory log-linear histogram of response time (in milliseconds).</p>
+ * <p>Values less than {@code 16} have their own buckets, and each power-of-two range above is divided
+ * into 16 linear sub-buckets, so the relative error of a recorded value is at most 1/16 (6.25%).
+ * Values greater than the max RT are recorded as the max RT, so the amount of buckets is bounded
+ * (e.g. 148 buckets for the default max RT 5000 ms). Recording is lock-free.</p>
+ *
+ * @since 2.0.0
+ */
+public class RtHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private final long maxRt;
+    private final AtomicLongArray counts;
+
+    public RtHistogram(long maxRt) {
+        AssertUtil.isTrue(maxRt > 0, "maxRt should be positive");
+        this.maxRt = maxRt;
+        this.counts = new AtomicLongArray(indexOf(maxRt) + 1);
+    }
+
+    public void record(long rt) {
+        if (rt < 0) {
+            rt = 0;
+        } else if (rt > maxRt) {
+            rt = maxRt;
+        }
+        counts.incrementAndGet(indexOf(rt));
+    }
+
+    public long totalCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    public RtHistogram reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        return this;
+    }
+
+    /**
+     * Get the value at given percentile of all values recorded in the histograms.
+     *
+     * @param histograms histograms to merge
+     * @param percentile the percentile in (0, 100]
+     * @return the highest value equivalent to the value at given percentile, or 0 if nothing was recorded
+     */
+    public static long valueAtPercentile(List<RtHistogram> histograms, double percentile) {
+        if (histograms == null || histograms.isEmpty()) {
+            return 0;
+        }
+        long total = 0;
+        for (RtHistogram histogram : histograms) {
+            total += histogram.totalCount();
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long)Math.ceil(Math.min(percentile, 100) / 100 * total));
+        long maxRt = 0;
+        for (RtHistogram histogram : histograms) {
+            maxRt = Math.max(maxRt, histogram.maxRt);
+        }
+        long count = 0;
+        for (int i = 0, n = indexOf(maxRt); i <= n; i++) {
+            for (RtHistogram histogram : histograms) {
+                if (i < histogram.counts.length()) {
+                    count += histogram.counts.get(i);
+                }
+            }
+            if (count >= rank) {
+                return Math.min(highestValueOf(i), maxRt);
+            }
+        }
+        return maxRt;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int)value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        // The leading bit of (value >>> shift) is always 1 << SUB_BUCKET_BITS.
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + (int)(value >>> shift) - SUB_BUCKET_COUNT;
+    }
+
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        long subBucket = SUB_BUCKET_COUNT + (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.data;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
+
+/**
+ * <p>A {@link MetricBucket} which keeps the counters of all events in a single slab, rather than
+ * a {@link java.util.concurrent.atomic.LongAdder} (with its own cell table) per event.</p>
+ * <p>Without contention, all counters are updated in a small base slab. Once an update fails due to
+ * contention, a striped slab is created, where each stripe holds the counters of all events and is
+ * padded to 128 bytes, so that stripes won't share (adjacent) cache lines. Then each thread updates
+ * the stripe chosen by its thread id. The counter of an event is the sum of the base and all stripes.</p>
+ *
+ * @since 2.0.0
+ */
+public class StripedMetricBucket extends MetricBucket {
+
+    private static final int EVENT_COUNT = MetricEvent.values().length;
+
+    /**
+     * Width of a single stripe in longs (128 bytes), which holds the counters of all events and the padding.
+     */
+    private static final int STRIPE_WIDTH = 16;
+    private static final int MAX_STRIPE_COUNT = 64;
+    private static final int STRIPE_COUNT = stripeCount(Runtime.getRuntime().availableProcessors());
+
+    private static final AtomicReferenceFieldUpdater<StripedMetricBucket, AtomicLongArray> STRIPES_UPDATER
+        = AtomicReferenceFieldUpdater.newUpdater(StripedMetricBucket.class, AtomicLongArray.class, "stripes");
+
+    private final AtomicLongArray base = new AtomicLongArray(EVENT_COUNT);
+
+    /**
+     * The striped slab, created lazily on contention.
+     */
+    private volatile AtomicLongArray stripes;
+
+    public StripedMetricBucket() {
+        super(false);
+    }
+
+    @Override
+    public long get(MetricEvent event) {
+        int idx = event.ordinal();
+        long sum = base.get(idx);
+        AtomicLongArray s = stripes;
+        if (s != null) {
+            for (int i = idx; i < s.length(); i += STRIPE_WIDTH) {
+                sum += s.get(i);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public MetricBucket add(MetricEvent event, long n) {
+        int idx = event.ordinal();
+        AtomicLongArray s = stripes;
+        if (s == null) {
+            long v = base.get(idx);
+            if (base.compareAndSet(idx, v, v + n)) {
+                return this;
+            }
+            s = initStripes();
+        }
+        s.getAndAdd(stripeOffset() + idx, n);
+        return this;
+    }
+
+    @Override
+    protected void resetCounters() {
+        this.stripes = null;
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            base.set(i, 0);
+        }
+    }
+
+    private AtomicLongArray initStripes() {
+        AtomicLongArray s = new AtomicLongArray(STRIPE_COUNT * STRIPE_WIDTH);
+        if (STRIPES_UPDATER.compareAndSet(this, null, s)) {
+            return s;
+        }
+        AtomicLongArray current = stripes;
+        return current != null ? current : s;
+    }
+
+    private static int stripeOffset() {
+        long id = Thread.currentThread().getId();
+        // Spread the sequential thread ids.
+        int h = (int)((id * 0x9E3779B97F4A7C15L) >>> 32);
+        return (h & (STRIPE_COUNT - 1)) * STRIPE_WIDTH;
+    }
+
+    static int stripeCount(int processors) {
+        int n = 1;
+        while (n < processors && n < MAX_STRIPE_COUNT) {
+            n <<= 1;
+        }
+        return n;
+    }
+}
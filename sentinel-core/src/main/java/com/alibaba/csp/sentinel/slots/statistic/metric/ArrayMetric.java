@@ -35,7 +35,7 @@ import com.alibaba.csp.sentinel.util.function.Predicate;
  */
 public class ArrayMetric implements Metric {
 
-    private final LeapArray<MetricBucket> data;
+    protected final LeapArray<MetricBucket> data;
 
     public ArrayMetric(int sampleCount, int intervalInMs) {
         this.data = new OccupiableBucketLeapArray(sampleCount, intervalInMs);
@@ -251,6 +251,12 @@ public class ArrayMetric implements Metric {
         wrap.value().addRT(rt);
     }
 
+    @Override
+    public void addRT(long rt, int weight) {
+        WindowWrap<MetricBucket> wrap = data.currentWindow();
+        wrap.value().addRT(rt, weight);
+    }
+
     @Override
     public void debug() {
         data.debug(System.currentTimeMillis());
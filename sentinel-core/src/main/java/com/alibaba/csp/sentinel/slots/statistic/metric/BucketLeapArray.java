@@ -34,7 +34,7 @@ public class BucketLeapArray extends LeapArray<MetricBucket> {
 
     @Override
     public MetricBucket newEmptyBucket(long time) {
-        return new MetricBucket();
+        return MetricBucket.newBucket();
     }
 
     @Override
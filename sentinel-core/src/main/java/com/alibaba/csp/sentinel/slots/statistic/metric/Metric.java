@@ -136,6 +136,21 @@ public interface Metric extends DebugSupport {
      */
     void addRT(long rt);
 
+    /**
+     * Add given RT of a sampled invocation, which stands for {@code weight} invocations, to current total RT.
+     * The min RT is updated with the original RT.
+     *
+     * @param rt     RT of the sampled invocation
+     * @param weight weight of the sample
+     * @since 2.0.0
+     */
+    default void addRT(long rt, int weight) {
+        // Add the RT once for each invocation that the sample stands for.
+        for (int i = 0; i < weight; i++) {
+            addRT(rt);
+        }
+    }
+
     /**
      * Get the sliding window length in seconds.
      *
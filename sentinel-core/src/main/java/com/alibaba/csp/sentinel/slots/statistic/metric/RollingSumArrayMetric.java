@@ -0,0 +1,155 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.metric;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
+import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
+import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
+import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
+
+/**
+ * <p>An {@link ArrayMetric} which keeps the rolling sums of the sliding window, so reading the
+ * statistics (e.g. {@link #pass()} for QPS in flow checking) costs O(1) rather than O(sampleCount).</p>
+ * <p>The sums of all buckets except the current one are taken once per bucket rotation (when the current
+ * bucket expires and a new one takes its place), then the statistics are the sums plus the values of the
+ * current bucket, which are updated on each add. In this way more buckets (e.g. 10 to 20) could be used
+ * for smoother limiting without paying more per check.</p>
+ * <p>Note that updates to a previous bucket after the sums are taken (e.g. from threads racing with the
+ * rotation) will not be reflected until the next rotation.</p>
+ * <p>Statistic nodes use it rather than {@link ArrayMetric} only if
+ * {@link SentinelConfig#statisticRollingSumEnabled()} is enabled.</p>
+ *
+ * @since 2.0.0
+ */
+public class RollingSumArrayMetric extends ArrayMetric {
+
+    private static final MetricEvent[] EVENTS = MetricEvent.values();
+
+    private volatile RollingSums previousSums = new RollingSums(-1, new long[EVENTS.length], 0,
+        SentinelConfig.statisticMaxRt());
+
+    public RollingSumArrayMetric(int sampleCount, int intervalInMs) {
+        super(sampleCount, intervalInMs);
+    }
+
+    public RollingSumArrayMetric(int sampleCount, int intervalInMs, boolean enableOccupy) {
+        super(sampleCount, intervalInMs, enableOccupy);
+    }
+
+    /**
+     * For unit test.
+     */
+    public RollingSumArrayMetric(LeapArray<MetricBucket> array) {
+        super(array);
+    }
+
+    /**
+     * Get the sums of all valid buckets before given current bucket.
+     */
+    private RollingSums previousSums(WindowWrap<MetricBucket> current) {
+        RollingSums sums = previousSums;
+        if (sums.windowStart == current.windowStart()) {
+            return sums;
+        }
+        // The current bucket has changed, so the valid buckets are those in (windowStart - interval, windowStart).
+        long windowStart = current.windowStart();
+        long validStart = windowStart - data.getIntervalInMs();
+        long[] counts = new long[EVENTS.length];
+        long maxSuccess = 0;
+        long minRt = SentinelConfig.statisticMaxRt();
+        for (WindowWrap<MetricBucket> wrap : data.listAll()) {
+            if (wrap.windowStart() >= windowStart || wrap.windowStart() <= validStart) {
+                continue;
+            }
+            MetricBucket bucket = wrap.value();
+            for (MetricEvent event : EVENTS) {
+                counts[event.ordinal()] += bucket.get(event);
+            }
+            maxSuccess = Math.max(maxSuccess, bucket.success());
+            minRt = Math.min(minRt, bucket.minRt());
+        }
+        sums = new RollingSums(windowStart, counts, maxSuccess, minRt);
+        this.previousSums = sums;
+        return sums;
+    }
+
+    private long sum(MetricEvent event) {
+        WindowWrap<MetricBucket> current = data.currentWindow();
+        return previousSums(current).counts[event.ordinal()] + current.value().get(event);
+    }
+
+    @Override
+    public long success() {
+        return sum(MetricEvent.SUCCESS);
+    }
+
+    @Override
+    public long maxSuccess() {
+        WindowWrap<MetricBucket> current = data.currentWindow();
+        return Math.max(Math.max(previousSums(current).maxSuccess, current.value().success()), 1);
+    }
+
+    @Override
+    public long exception() {
+        return sum(MetricEvent.EXCEPTION);
+    }
+
+    @Override
+    public long block() {
+        return sum(MetricEvent.BLOCK);
+    }
+
+    @Override
+    public long pass() {
+        return sum(MetricEvent.PASS);
+    }
+
+    @Override
+    public long occupiedPass() {
+        return sum(MetricEvent.OCCUPIED_PASS);
+    }
+
+    @Override
+    public long rt() {
+        return sum(MetricEvent.RT);
+    }
+
+    @Override
+    public long minRt() {
+        WindowWrap<MetricBucket> current = data.currentWindow();
+        return Math.max(1, Math.min(previousSums(current).minRt, current.value().minRt()));
+    }
+
+    @Override
+    public long getSum(MetricEvent event) {
+        return sum(event);
+    }
+
+    private static class RollingSums {
+        final long windowStart;
+        final long[] counts;
+        final long maxSuccess;
+        final long minRt;
+
+        RollingSums(long windowStart, long[] counts, long maxSuccess, long minRt) {
+            this.windowStart = windowStart;
+            this.counts = counts;
+            this.maxSuccess = maxSuccess;
+            this.minRt = minRt;
+        }
+    }
+}
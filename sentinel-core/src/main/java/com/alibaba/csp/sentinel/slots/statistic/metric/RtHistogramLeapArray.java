@@ -0,0 +1,92 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.metric;
+
+import java.util.Collections;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
+import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
+import com.alibaba.csp.sentinel.slots.statistic.data.RtHistogram;
+
+/**
+ * Sliding window of {@link RtHistogram}s. Buckets are created lazily, so the memory is bounded by
+ * {@code sampleCount} histograms.
+ *
+ * @since 2.0.0
+ */
+public class RtHistogramLeapArray extends LeapArray<RtHistogram> {
+
+    public RtHistogramLeapArray(int sampleCount, int intervalInMs) {
+        super(sampleCount, intervalInMs);
+    }
+
+    @Override
+    public RtHistogram newEmptyBucket(long timeMillis) {
+        return new RtHistogram(SentinelConfig.statisticMaxRt());
+    }
+
+    @Override
+    protected WindowWrap<RtHistogram> resetWindowTo(WindowWrap<RtHistogram> w, long startTime) {
+        w.resetTo(startTime);
+        w.value().reset();
+        return w;
+    }
+
+    public void record(long rt) {
+        currentWindow().value().record(rt);
+    }
+
+    /**
+     * Get the amount of recorded response times within the sliding window.
+     *
+     * @return the amount of recorded response times
+     */
+    public long totalCount() {
+        currentWindow();
+        long total = 0;
+        for (RtHistogram histogram : values()) {
+            total += histogram.totalCount();
+        }
+        return total;
+    }
+
+    /**
+     * Get the response time at given percentile within the sliding window.
+     *
+     * @param percentile the percentile in (0, 100]
+     * @return the response time at given percentile, or 0 if absent
+     */
+    public long percentile(double percentile) {
+        currentWindow();
+        return RtHistogram.valueAtPercentile(values(), percentile);
+    }
+
+    /**
+     * Get the response time at given percentile within the bucket at provided timestamp.
+     *
+     * @param timeMillis a valid timestamp in milliseconds
+     * @param percentile the percentile in (0, 100]
+     * @return the response time at given percentile, or 0 if absent
+     */
+    public long percentile(long timeMillis, double percentile) {
+        RtHistogram histogram = getWindowValue(timeMillis);
+        if (histogram == null) {
+            return 0;
+        }
+        return RtHistogram.valueAtPercentile(Collections.singletonList(histogram), percentile);
+    }
+}
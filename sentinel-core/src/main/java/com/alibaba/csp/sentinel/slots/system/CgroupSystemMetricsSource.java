@@ -0,0 +1,294 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>System metrics of the cgroup (v1 or v2) of current process, read from {@code /sys/fs/cgroup}
+ * and {@code /proc} directly, so that the metrics reflect the limits of the container rather than the host:</p>
+ * <ul>
+ * <li>CPU usage: the CPU time consumed by the cgroup against the CPU quota (or the available processors
+ * if no quota is set)</li>
+ * <li>System load: the busy CPU cores of the cgroup, plus the cores equivalent to the CPU pressure stall
+ * (PSI {@code some avg10}, if available) as the tasks waiting for CPU</li>
+ * <li>Memory usage: the memory usage against the memory limit of the cgroup</li>
+ * <li>CPU/memory pressure: PSI {@code some avg10} of the cgroup (v2 only, as cgroup v1 has no PSI
+ * of its own and the system-wide PSI would reflect the host rather than the container)</li>
+ * </ul>
+ *
+ * @since 2.0.0
+ */
+public class CgroupSystemMetricsSource implements SystemMetricsSource {
+
+    private static final String DEFAULT_CGROUP_ROOT = "/sys/fs/cgroup";
+    private static final String DEFAULT_PROC_ROOT = "/proc";
+
+    /**
+     * Memory limits above this are regarded as unlimited (cgroup v1 reports a huge number if unlimited).
+     */
+    private static final long UNLIMITED_MEMORY_THRESHOLD = Long.MAX_VALUE / 2;
+
+    private final Path procRoot;
+    private final boolean v2;
+    private final Path cpuDir;
+    private final Path cpuacctDir;
+    private final Path memoryDir;
+    private final int availableProcessors;
+
+    private volatile double currentLoad = -1;
+    private volatile double currentCpuUsage = -1;
+    private volatile double currentMemoryUsage = -1;
+    private volatile double currentCpuPressure = -1;
+    private volatile double currentMemoryPressure = -1;
+
+    private long lastCpuUsageNanos = -1;
+    private long lastSampleNanos;
+
+    public CgroupSystemMetricsSource() throws IOException {
+        this(Paths.get(DEFAULT_CGROUP_ROOT), Paths.get(DEFAULT_PROC_ROOT), Runtime.getRuntime().availableProcessors());
+    }
+
+    CgroupSystemMetricsSource(Path cgroupRoot, Path procRoot, int availableProcessors) throws IOException {
+        this.procRoot = procRoot;
+        this.availableProcessors = availableProcessors;
+        List<String> cgroups = Files.readAllLines(procRoot.resolve("self/cgroup"), StandardCharsets.UTF_8);
+        this.v2 = Files.exists(cgroupRoot.resolve("cgroup.controllers"));
+        if (v2) {
+            Path dir = resolveDir(cgroupRoot, cgroupPathOf(cgroups, ""));
+            this.cpuDir = dir;
+            this.cpuacctDir = dir;
+            this.memoryDir = dir;
+        } else {
+            this.cpuDir = resolveDir(controllerRoot(cgroupRoot, "cpu"), cgroupPathOf(cgroups, "cpu"));
+            this.cpuacctDir = resolveDir(controllerRoot(cgroupRoot, "cpuacct"), cgroupPathOf(cgroups, "cpuacct"));
+            this.memoryDir = resolveDir(controllerRoot(cgroupRoot, "memory"), cgroupPathOf(cgroups, "memory"));
+        }
+        if (readCpuUsageNanos() < 0) {
+            throw new IOException("CPU usage of the cgroup is not available");
+        }
+    }
+
+    private static Path controllerRoot(Path cgroupRoot, String controller) {
+        Path root = cgroupRoot.resolve(controller);
+        if (!Files.exists(root)) {
+            root = cgroupRoot.resolve("cpu,cpuacct");
+        }
+        return root;
+    }
+
+    /**
+     * Resolve the directory of the cgroup. With cgroup namespaces (e.g. in containers), the cgroup of the process
+     * is mounted as the root, while the path in {@code /proc/self/cgroup} may still be the full path.
+     */
+    private static Path resolveDir(Path controllerRoot, String cgroupPath) {
+        if (cgroupPath != null && !cgroupPath.isEmpty() && !"/".equals(cgroupPath)) {
+            Path dir = controllerRoot.resolve(cgroupPath.substring(1));
+            if (Files.isDirectory(dir)) {
+                return dir;
+            }
+        }
+        return controllerRoot;
+    }
+
+    /**
+     * Find the cgroup path of given controller (or the unified hierarchy if the controller is empty)
+     * from lines like {@code 4:cpu,cpuacct:/docker/xxx} or {@code 0::/kubepods/xxx}.
+     */
+    static String cgroupPathOf(List<String> cgroups, String controller) {
+        for (String line : cgroups) {
+            String[] parts = line.split(":", 3);
+            if (parts.length < 3) {
+                continue;
+            }
+            if (controller.isEmpty()) {
+                if (parts[1].isEmpty()) {
+                    return parts[2];
+                }
+                continue;
+            }
+            for (String c : parts[1].split(",")) {
+                if (controller.equals(c)) {
+                    return parts[2];
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check whether current process is limited by a CPU quota or memory limit of the cgroup.
+     *
+     * @return true if the CPU quota or memory limit is set
+     */
+    public boolean hasLimits() {
+        return readCpuQuotaCores() > 0 || readMemoryLimit() > 0;
+    }
+
+    @Override
+    public void refresh() {
+        long cpuUsageNanos = readCpuUsageNanos();
+        long now = System.nanoTime();
+        double cores = readCpuQuotaCores();
+        if (cores <= 0) {
+            cores = availableProcessors;
+        }
+        double cpuPressure = readPressure("cpu");
+        if (lastCpuUsageNanos >= 0 && cpuUsageNanos >= lastCpuUsageNanos && now > lastSampleNanos) {
+            double usedCores = (double)(cpuUsageNanos - lastCpuUsageNanos) / (now - lastSampleNanos);
+            currentCpuUsage = Math.min(1.0, usedCores / cores);
+            currentLoad = usedCores + Math.max(cpuPressure, 0) * cores;
+        }
+        lastCpuUsageNanos = cpuUsageNanos;
+        lastSampleNanos = now;
+        currentCpuPressure = cpuPressure;
+
+        long memoryLimit = readMemoryLimit();
+        long memoryUsage = readLong(memoryDir.resolve(v2 ? "memory.current" : "memory.usage_in_bytes"));
+        currentMemoryUsage = memoryLimit > 0 && memoryUsage >= 0 ? Math.min(1.0, (double)memoryUsage / memoryLimit)
+            : -1;
+        currentMemoryPressure = readPressure("memory");
+    }
+
+    /**
+     * @return the CPU time consumed by the cgroup in nanoseconds, or -1 if not available
+     */
+    long readCpuUsageNanos() {
+        if (!v2) {
+            return readLong(cpuacctDir.resolve("cpuacct.usage"));
+        }
+        for (String line : readLines(cpuDir.resolve("cpu.stat"))) {
+            if (line.startsWith("usage_usec ")) {
+                return parseLong(line.substring("usage_usec ".length())) * 1000;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the CPU quota in cores, or -1 if no quota is set
+     */
+    double readCpuQuotaCores() {
+        long quota;
+        long period;
+        if (v2) {
+            List<String> lines = readLines(cpuDir.resolve("cpu.max"));
+            if (lines.isEmpty()) {
+                return -1;
+            }
+            String[] parts = lines.get(0).trim().split("\\s+");
+            quota = parseLong(parts[0]);
+            period = parts.length > 1 ? parseLong(parts[1]) : -1;
+        } else {
+            quota = readLong(cpuDir.resolve("cpu.cfs_quota_us"));
+            period = readLong(cpuDir.resolve("cpu.cfs_period_us"));
+        }
+        if (quota <= 0 || period <= 0) {
+            return -1;
+        }
+        return (double)quota / period;
+    }
+
+    /**
+     * @return the memory limit in bytes, or -1 if no limit is set
+     */
+    long readMemoryLimit() {
+        long limit = readLong(memoryDir.resolve(v2 ? "memory.max" : "memory.limit_in_bytes"));
+        return limit > 0 && limit < UNLIMITED_MEMORY_THRESHOLD ? limit : -1;
+    }
+
+    /**
+     * @return PSI {@code some avg10} of given resource in [0, 1], or -1 if not available (e.g. on cgroup v1)
+     */
+    double readPressure(String resource) {
+        if (!v2) {
+            return -1;
+        }
+        List<String> lines = readLines(cpuDir.resolve(resource + ".pressure"));
+        if (lines.isEmpty()) {
+            // The root cgroup has no pressure files, where the system-wide PSI is that of the cgroup.
+            lines = readLines(procRoot.resolve("pressure/" + resource));
+        }
+        for (String line : lines) {
+            if (!line.startsWith("some ")) {
+                continue;
+            }
+            for (String field : line.split("\\s+")) {
+                if (field.startsWith("avg10=")) {
+                    try {
+                        return Double.parseDouble(field.substring("avg10=".length())) / 100;
+                    } catch (NumberFormatException ex) {
+                        return -1;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static List<String> readLines(Path file) {
+        try {
+            return Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException | RuntimeException ex) {
+            return Collections.emptyList();
+        }
+    }
+
+    private static long readLong(Path file) {
+        List<String> lines = readLines(file);
+        return lines.isEmpty() ? -1 : parseLong(lines.get(0));
+    }
+
+    private static long parseLong(String s) {
+        try {
+            return Long.parseLong(s.trim());
+        } catch (NumberFormatException ex) {
+            // e.g. "max" for unlimited
+            return -1;
+        }
+    }
+
+    @Override
+    public double getSystemLoad() {
+        return currentLoad;
+    }
+
+    @Override
+    public double getCpuUsage() {
+        return currentCpuUsage;
+    }
+
+    @Override
+    public double getMemoryUsage() {
+        return currentMemoryUsage;
+    }
+
+    @Override
+    public double getCpuPressure() {
+        return currentCpuPressure;
+    }
+
+    @Override
+    public double getMemoryPressure() {
+        return currentMemoryPressure;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.management.OperatingSystemMXBean;
+
+/**
+ * System metrics from the operating system MXBean. Note that the system load and CPU usage are host-wide
+ * in containers (though the CPU usage of the process is also taken into account).
+ *
+ * @author jialiang.linjl
+ * @since 2.0.0
+ */
+public class JmxSystemMetricsSource implements SystemMetricsSource {
+
+    private volatile double currentLoad = -1;
+    private volatile double currentCpuUsage = -1;
+
+    private long processCpuTime = 0;
+    private long processUpTime = 0;
+
+    @Override
+    public void refresh() {
+        OperatingSystemMXBean osBean = ManagementFactory.getPlatformMXBean(OperatingSystemMXBean.class);
+        currentLoad = osBean.getSystemLoadAverage();
+
+        /*
+         * Java Doc copied from {@link OperatingSystemMXBean#getSystemCpuLoad()}:</br>
+         * Returns the "recent cpu usage" for the whole system. This value is a double in the [0.0,1.0] interval.
+         * A value of 0.0 means that all CPUs were idle during the recent period of time observed, while a value
+         * of 1.0 means that all CPUs were actively running 100% of the time during the recent period being
+         * observed. All values between 0.0 and 1.0 are possible depending of the activities going on in the
+         * system. If the system recent cpu usage is not available, the method returns a negative value.
+         */
+        double systemCpuUsage = osBean.getSystemCpuLoad();
+
+        // calculate process cpu usage to support application running in container environment
+        RuntimeMXBean runtimeBean = ManagementFactory.getPlatformMXBean(RuntimeMXBean.class);
+        long newProcessCpuTime = osBean.getProcessCpuTime();
+        long newProcessUpTime = runtimeBean.getUptime();
+        int cpuCores = osBean.getAvailableProcessors();
+        long processCpuTimeDiffInMs = TimeUnit.NANOSECONDS
+                .toMillis(newProcessCpuTime - processCpuTime);
+        long processUpTimeDiffInMs = newProcessUpTime - processUpTime;
+        if (processUpTimeDiffInMs <= 0) {
+            return;
+        }
+        double processCpuUsage = (double) processCpuTimeDiffInMs / processUpTimeDiffInMs / cpuCores;
+        processCpuTime = newProcessCpuTime;
+        processUpTime = newProcessUpTime;
+
+        currentCpuUsage = Math.max(processCpuUsage, systemCpuUsage);
+    }
+
+    @Override
+    public double getSystemLoad() {
+        return currentLoad;
+    }
+
+    @Override
+    public double getCpuUsage() {
+        return currentCpuUsage;
+    }
+
+    @Override
+    public double getMemoryUsage() {
+        return -1;
+    }
+
+    @Override
+    public double getCpuPressure() {
+        return -1;
+    }
+
+    @Override
+    public double getMemoryPressure() {
+        return -1;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+/**
+ * <p>Source of the system metrics checked by {@link SystemRule}s. The metrics are sampled by
+ * {@link #refresh()} periodically (in a single thread), and read concurrently by the system rule checking.</p>
+ * <p>Custom sources could be provided via SPI or {@link SystemRuleManager#setSystemMetricsSource(SystemMetricsSource)}.</p>
+ *
+ * @since 2.0.0
+ */
+public interface SystemMetricsSource {
+
+    /**
+     * Sample the system metrics. This is invoked periodically from a single thread.
+     *
+     * @throws Exception if failed to sample the metrics
+     */
+    void refresh() throws Exception;
+
+    /**
+     * Get the system load, in the same unit as the load average (i.e. the number of busy CPU cores,
+     * including the tasks waiting for CPU).
+     *
+     * @return recent system load, or negative value if not available
+     */
+    double getSystemLoad();
+
+    /**
+     * Get the CPU usage.
+     *
+     * @return recent CPU usage in [0, 1], or negative value if not available
+     */
+    double getCpuUsage();
+
+    /**
+     * Get the memory usage against the memory limit.
+     *
+     * @return recent memory usage in [0, 1], or negative value if not available
+     */
+    double getMemoryUsage();
+
+    /**
+     * Get the share of the time that some tasks were stalled waiting for CPU (PSI {@code some avg10}).
+     *
+     * @return recent CPU pressure in [0, 1], or negative value if not available
+     */
+    double getCpuPressure();
+
+    /**
+     * Get the share of the time that some tasks were stalled waiting for memory (PSI {@code some avg10}).
+     *
+     * @return recent memory pressure in [0, 1], or negative value if not available
+     */
+    double getMemoryPressure();
+}
@@ -25,12 +25,16 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
 import com.alibaba.csp.sentinel.property.SentinelProperty;
 import com.alibaba.csp.sentinel.property.SimplePropertyListener;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.SlotChainSpecializer;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.spi.SpiLoader;
+import com.alibaba.csp.sentinel.util.AssertUtil;
 
 /**
  * <p>
@@ -94,11 +98,73 @@ public final class SystemRuleManager {
 
     static {
         checkSystemStatus.set(false);
-        statusListener = new SystemStatusListener();
-        scheduler.scheduleAtFixedRate(statusListener, 0, 1, TimeUnit.SECONDS);
+        statusListener = new SystemStatusListener(resolveSystemMetricsSource());
+        scheduleStatusTask(0);
         currentProperty.addListener(listener);
     }
 
+    private static void scheduleStatusTask(long delayMs) {
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    statusListener.run();
+                } finally {
+                    scheduleStatusTask(statusListener.nextIntervalMs());
+                }
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static SystemMetricsSource resolveSystemMetricsSource() {
+        try {
+            SystemMetricsSource source = SpiLoader.of(SystemMetricsSource.class).loadFirstInstance();
+            if (source != null) {
+                RecordLog.info("[SystemRuleManager] Using system metrics source from SPI: {}",
+                    source.getClass().getName());
+                return source;
+            }
+        } catch (Throwable ex) {
+            RecordLog.warn("[SystemRuleManager] Failed to load system metrics source from SPI", ex);
+        }
+        String type = SentinelConfig.systemMetricsSource();
+        if (!"jmx".equals(type)) {
+            try {
+                CgroupSystemMetricsSource source = new CgroupSystemMetricsSource();
+                if ("cgroup".equals(type) || source.hasLimits()) {
+                    RecordLog.info("[SystemRuleManager] Using system metrics from cgroup");
+                    return source;
+                }
+            } catch (Throwable ex) {
+                if ("cgroup".equals(type)) {
+                    RecordLog.warn("[SystemRuleManager] Failed to read system metrics from cgroup, using JMX instead", ex);
+                }
+            }
+        }
+        return new JmxSystemMetricsSource();
+    }
+
+    /**
+     * Set the source of the system metrics (load, CPU usage and so on) for system rules.
+     *
+     * @param source source of the system metrics
+     * @since 2.0.0
+     */
+    public static void setSystemMetricsSource(SystemMetricsSource source) {
+        AssertUtil.notNull(source, "source cannot be null");
+        statusListener.setSource(source);
+    }
+
+    /**
+     * Get current source of the system metrics.
+     *
+     * @return current source of the system metrics
+     * @since 2.0.0
+     */
+    public static SystemMetricsSource getSystemMetricsSource() {
+        return statusListener.getSource();
+    }
+
     /**
      * Listen to the {@link SentinelProperty} for {@link SystemRule}s. The property is the source
      * of {@link SystemRule}s. System rules can also be set by {@link #loadRules(List)} directly.
@@ -184,15 +250,19 @@ public final class SystemRuleManager {
 
         @Override
         public synchronized void configUpdate(List<SystemRule> rules) {
+            boolean previousStatus = checkSystemStatus.get();
             restoreSetting();
             // systemRules = rules;
             if (rules != null && rules.size() >= 1) {
                 for (SystemRule rule : rules) {
-                    loadSystemConf(rule);
+                    applySystemConf(rule);
                 }
             } else {
                 checkSystemStatus.set(false);
             }
+            if (checkSystemStatus.get() != previousStatus) {
+                SlotChainSpecializer.refresh();
+            }
 
             RecordLog.info(String.format("[SystemRuleManager] Current system check status: %s, "
                     + "highestSystemLoad: %e, "
@@ -240,6 +310,14 @@ public final class SystemRuleManager {
     }
 
     public static void loadSystemConf(SystemRule rule) {
+        boolean previousStatus = checkSystemStatus.get();
+        applySystemConf(rule);
+        if (checkSystemStatus.get() != previousStatus) {
+            SlotChainSpecializer.refresh();
+        }
+    }
+
+    private static void applySystemConf(SystemRule rule) {
         boolean checkStatus = false;
         // Check if it's valid.
 
@@ -278,7 +356,6 @@ public final class SystemRuleManager {
         }
 
         checkSystemStatus.set(checkStatus);
-
     }
 
     /**
@@ -346,4 +423,28 @@ public final class SystemRuleManager {
     public static double getCurrentCpuUsage() {
         return statusListener.getCpuUsage();
     }
+
+    /**
+     * @return current memory usage against the memory limit in [0, 1], or negative value if not available
+     * @since 2.0.0
+     */
+    public static double getCurrentMemoryUsage() {
+        return statusListener.getSource().getMemoryUsage();
+    }
+
+    /**
+     * @return current CPU pressure stall (PSI) in [0, 1], or negative value if not available
+     * @since 2.0.0
+     */
+    public static double getCurrentCpuPressure() {
+        return statusListener.getSource().getCpuPressure();
+    }
+
+    /**
+     * @return current memory pressure stall (PSI) in [0, 1], or negative value if not available
+     * @since 2.0.0
+     */
+    public static double getCurrentMemoryPressure() {
+        return statusListener.getSource().getMemoryPressure();
+    }
 }
@@ -15,28 +15,46 @@
  */
 package com.alibaba.csp.sentinel.slots.system;
 
-import java.lang.management.ManagementFactory;
-import java.lang.management.RuntimeMXBean;
-import java.util.concurrent.TimeUnit;
-
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.StringUtil;
 
-import com.sun.management.OperatingSystemMXBean;
-
 /**
+ * <p>Task that samples the system metrics from the {@link SystemMetricsSource}.</p>
+ * <p>The sampling is adaptive: the metrics are sampled every {@link #DEFAULT_INTERVAL_MS} normally, and
+ * every {@link #FAST_INTERVAL_MS} when the system load or CPU usage is approaching the threshold of the
+ * system rules, so that the load shedding reacts faster when it's most needed.</p>
+ *
  * @author jialiang.linjl
  */
 public class SystemStatusListener implements Runnable {
 
+    static final long DEFAULT_INTERVAL_MS = 1000;
+    static final long FAST_INTERVAL_MS = 200;
+    /**
+     * Sample faster when the metrics exceed the ratio of the threshold.
+     */
+    static final double FAST_SAMPLING_THRESHOLD_RATIO = 0.8;
+
+    private volatile SystemMetricsSource source;
+
     volatile double currentLoad = -1;
     volatile double currentCpuUsage = -1;
 
     volatile String reason = StringUtil.EMPTY;
 
-    volatile long processCpuTime = 0;
-    volatile long processUpTime = 0;
+    public SystemStatusListener() {
+        this(new JmxSystemMetricsSource());
+    }
+
+    /**
+     * @param source source of the system metrics
+     * @since 2.0.0
+     */
+    public SystemStatusListener(SystemMetricsSource source) {
+        setSource(source);
+    }
 
     public double getSystemAverageLoad() {
         return currentLoad;
@@ -46,42 +64,48 @@ public class SystemStatusListener implements Runnable {
         return currentCpuUsage;
     }
 
+    public SystemMetricsSource getSource() {
+        return source;
+    }
+
+    public void setSource(SystemMetricsSource source) {
+        AssertUtil.notNull(source, "source cannot be null");
+        this.source = source;
+    }
+
     @Override
     public void run() {
+        SystemMetricsSource source = this.source;
         try {
-            OperatingSystemMXBean osBean = ManagementFactory.getPlatformMXBean(OperatingSystemMXBean.class);
-            currentLoad = osBean.getSystemLoadAverage();
-
-            /*
-             * Java Doc copied from {@link OperatingSystemMXBean#getSystemCpuLoad()}:</br>
-             * Returns the "recent cpu usage" for the whole system. This value is a double in the [0.0,1.0] interval.
-             * A value of 0.0 means that all CPUs were idle during the recent period of time observed, while a value
-             * of 1.0 means that all CPUs were actively running 100% of the time during the recent period being
-             * observed. All values between 0.0 and 1.0 are possible depending of the activities going on in the
-             * system. If the system recent cpu usage is not available, the method returns a negative value.
-             */
-            double systemCpuUsage = osBean.getSystemCpuLoad();
-
-            // calculate process cpu usage to support application running in container environment
-            RuntimeMXBean runtimeBean = ManagementFactory.getPlatformMXBean(RuntimeMXBean.class);
-            long newProcessCpuTime = osBean.getProcessCpuTime();
-            long newProcessUpTime = runtimeBean.getUptime();
-            int cpuCores = osBean.getAvailableProcessors();
-            long processCpuTimeDiffInMs = TimeUnit.NANOSECONDS
-                    .toMillis(newProcessCpuTime - processCpuTime);
-            long processUpTimeDiffInMs = newProcessUpTime - processUpTime;
-            double processCpuUsage = (double) processCpuTimeDiffInMs / processUpTimeDiffInMs / cpuCores;
-            processCpuTime = newProcessCpuTime;
-            processUpTime = newProcessUpTime;
-
-            currentCpuUsage = Math.max(processCpuUsage, systemCpuUsage);
+            source.refresh();
+            currentLoad = source.getSystemLoad();
+            currentCpuUsage = source.getCpuUsage();
 
             if (currentLoad > SystemRuleManager.getSystemLoadThreshold()) {
                 writeSystemStatusLog();
             }
         } catch (Throwable e) {
-            RecordLog.warn("[SystemStatusListener] Failed to get system metrics from JMX", e);
+            RecordLog.warn("[SystemStatusListener] Failed to get system metrics from " + source.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Get the delay before next sampling.
+     *
+     * @return the delay in milliseconds
+     */
+    long nextIntervalMs() {
+        if (isApproaching(currentLoad, SystemRuleManager.getSystemLoadThreshold())
+            || isApproaching(currentCpuUsage, SystemRuleManager.getCpuUsageThreshold())) {
+            return FAST_INTERVAL_MS;
         }
+        return DEFAULT_INTERVAL_MS;
+    }
+
+    private static boolean isApproaching(double value, double threshold) {
+        // A zero threshold blocks all the time, and the short intervals only bring noise.
+        return value >= 0 && threshold > 0 && threshold < Double.MAX_VALUE
+            && value >= threshold * FAST_SAMPLING_THRESHOLD_RATIO;
     }
 
     private void writeSystemStatusLog() {
@@ -89,6 +113,15 @@ public class SystemStatusListener implements Runnable {
         sb.append("Load exceeds the threshold: ");
         sb.append("load:").append(String.format("%.4f", currentLoad)).append("; ");
         sb.append("cpuUsage:").append(String.format("%.4f", currentCpuUsage)).append("; ");
+        if (source.getCpuPressure() >= 0) {
+            sb.append("cpuPressure:").append(String.format("%.4f", source.getCpuPressure())).append("; ");
+        }
+        if (source.getMemoryUsage() >= 0) {
+            sb.append("memoryUsage:").append(String.format("%.4f", source.getMemoryUsage())).append("; ");
+        }
+        if (source.getMemoryPressure() >= 0) {
+            sb.append("memoryPressure:").append(String.format("%.4f", source.getMemoryPressure())).append("; ");
+        }
         sb.append("qps:").append(String.format("%.4f", Constants.ENTRY_NODE.passQps())).append("; ");
         sb.append("rt:").append(String.format("%.4f", Constants.ENTRY_NODE.avgRt())).append("; ");
         sb.append("thread:").append(Constants.ENTRY_NODE.curThreadNum()).append("; ");
@@ -0,0 +1,119 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for the per-thread entry cache.
+ */
+public class CtEntryCacheTest {
+
+    @Before
+    public void setUp() {
+        CtSph.setEntryCacheEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        CtSph.setEntryCacheEnabled(false);
+    }
+
+    @Test
+    public void testDefaultContextReusedAfterExit() throws Exception {
+        Entry entry = SphU.entry("testDefaultContextReusedAfterExit");
+        Context context = ContextUtil.getContext();
+        assertTrue(ContextUtil.isDefaultContext(context));
+        assertSame(entry, context.getCurEntry());
+        entry.exit();
+        assertNull(ContextUtil.getContext());
+
+        Entry next = SphU.entry("testDefaultContextReusedAfterExit2");
+        assertNotSame(entry, next);
+        // The default context should be reused.
+        assertSame(context, ContextUtil.getContext());
+        assertSame(next, context.getCurEntry());
+        next.exit();
+        assertNull(ContextUtil.getContext());
+    }
+
+    @Test
+    public void testStaleExitIgnored() throws Exception {
+        Entry entry = SphU.entry("testStaleExitIgnored");
+        entry.exit();
+
+        Entry next = SphU.entry("testStaleExitIgnored2");
+        Context context = ContextUtil.getContext();
+        // Exiting the stale entry again should not affect the current invocation.
+        entry.exit();
+        assertSame(context, ContextUtil.getContext());
+        assertSame(next, context.getCurEntry());
+        next.exit();
+        assertNull(ContextUtil.getContext());
+    }
+
+    @Test
+    public void testNestedEntriesWithCache() throws Exception {
+        Entry e1 = SphU.entry("testNestedEntriesWithCache1");
+        Entry e2 = SphU.entry("testNestedEntriesWithCache2");
+        assertNotSame(e1, e2);
+        assertSame(e1, ((CtEntry) e2).parent);
+        assertSame(e2, ((CtEntry) e1).child);
+        e2.exit();
+        assertSame(e1, ContextUtil.getContext().getCurEntry());
+        assertNull(((CtEntry) e1).child);
+        e1.exit();
+        assertNull(ContextUtil.getContext());
+    }
+
+    @Test
+    public void testExitNotMatchCurEntryWithCache() throws Exception {
+        ContextUtil.enter("testExitNotMatchCurEntryWithCache");
+        Context context = ContextUtil.getContext();
+        try {
+            Entry e1 = SphU.entry("testExitNotMatchCurEntryWithCache1");
+            SphU.entry("testExitNotMatchCurEntryWithCache2");
+            SphU.entry("testExitNotMatchCurEntryWithCache3");
+            try {
+                e1.exit();
+                fail("Mismatch entry-exit should throw an ErrorEntryFreeException");
+            } catch (ErrorEntryFreeException ex) {
+                // All entries in the call stack should be cleaned.
+                assertNull(context.getCurEntry());
+            }
+        } finally {
+            ContextUtil.exit();
+        }
+    }
+
+    @Test
+    public void testResourceWrapperCache() {
+        CtEntryCache cache = CtEntryCache.current();
+        StringResourceWrapper w1 = cache.getResourceWrapper("testResourceWrapperCache", EntryType.IN, 0);
+        assertSame(w1, cache.getResourceWrapper("testResourceWrapperCache", EntryType.IN, 0));
+        StringResourceWrapper w2 = cache.getResourceWrapper("testResourceWrapperCache", EntryType.OUT, 0);
+        assertNotSame(w1, w2);
+        assertEquals(EntryType.OUT, w2.getEntryType());
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import java.util.Collections;
+
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.SlotChainProvider;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for {@link ResourceHandle}.
+ */
+public class ResourceHandleTest {
+
+    @After
+    public void tearDown() {
+        FlowRuleManager.loadRules(null);
+        CtSph.resetChainMap();
+    }
+
+    @Test
+    public void testHandleSharesStatisticsWithPlainEntry() throws BlockException {
+        String resourceName = "testHandleSharesStatisticsWithPlainEntry";
+        ResourceHandle handle = SphU.handle(resourceName, EntryType.IN);
+        assertNull(handle.getClusterNode());
+
+        Entry e1 = handle.entry();
+        DefaultNode node = (DefaultNode) e1.getCurNode();
+        e1.exit();
+        Entry e2 = SphU.entry(resourceName, EntryType.IN);
+        assertSame(node, e2.getCurNode());
+        e2.exit();
+        Entry e3 = handle.entry();
+        assertSame(node, e3.getCurNode());
+        e3.exit();
+
+        ClusterNode clusterNode = handle.getClusterNode();
+        assertNotNull(clusterNode);
+        assertSame(ClusterBuilderSlot.getClusterNode(resourceName, EntryType.IN), clusterNode);
+        assertEquals(3, clusterNode.totalPass());
+        assertEquals(1, handle.cachedContextCount());
+    }
+
+    @Test
+    public void testHandleEntryInDifferentContexts() throws BlockException {
+        String resourceName = "testHandleEntryInDifferentContexts";
+        ResourceHandle handle = SphU.handle(resourceName, EntryType.OUT);
+
+        ContextUtil.enter("testHandleEntryInDifferentContexts-1");
+        Entry e1 = handle.entry();
+        DefaultNode node1 = (DefaultNode) e1.getCurNode();
+        e1.exit();
+        ContextUtil.exit();
+
+        ContextUtil.enter("testHandleEntryInDifferentContexts-2");
+        Entry e2 = handle.entry();
+        DefaultNode node2 = (DefaultNode) e2.getCurNode();
+        e2.exit();
+        ContextUtil.exit();
+
+        assertNotSame(node1, node2);
+        assertSame(node1.getClusterNode(), node2.getClusterNode());
+        assertEquals(2, handle.cachedContextCount());
+
+        ContextUtil.enter("testHandleEntryInDifferentContexts-1");
+        Entry e3 = handle.entry();
+        assertSame(node1, e3.getCurNode());
+        e3.exit();
+        ContextUtil.exit();
+    }
+
+    @Test
+    public void testHandleEntryBlocked() throws BlockException {
+        String resourceName = "testHandleEntryBlocked";
+        FlowRule rule = new FlowRule(resourceName).setCount(0).setGrade(RuleConstant.FLOW_GRADE_QPS);
+        FlowRuleManager.loadRules(Collections.singletonList(rule));
+        ResourceHandle handle = SphU.handle(resourceName, EntryType.IN);
+        for (int i = 0; i < 2; i++) {
+            try {
+                handle.entry();
+                fail("Should be blocked");
+            } catch (FlowException ex) {
+                assertNull(ContextUtil.getContext());
+            }
+        }
+        assertEquals(2, handle.getClusterNode().blockRequest());
+    }
+
+    @Test
+    public void testHandleResolvesChainOnceAvailable() throws BlockException {
+        String resourceName = "testHandleResolvesChainOnceAvailable";
+        CtSph.resetChainMap();
+        for (int i = 0; i < Constants.MAX_SLOT_CHAIN_SIZE; i++) {
+            ResourceWrapper resourceWrapper = new StringResourceWrapper("test-resource-" + i, EntryType.IN);
+            CtSph.getChainMap().put(resourceWrapper, SlotChainProvider.newSlotChain());
+        }
+        ResourceHandle handle = SphU.handle(resourceName, EntryType.IN);
+        Entry e1 = handle.entry();
+        assertNull(e1.getCurNode());
+        e1.exit();
+
+        CtSph.resetChainMap();
+        Entry e2 = handle.entry();
+        assertNotNull(e2.getCurNode());
+        e2.exit();
+        assertEquals(1, handle.getClusterNode().totalPass());
+    }
+
+    @Test
+    public void testHandleOfOtherSph() throws BlockException {
+        Sph sph = mock(Sph.class);
+        when(sph.handle(anyString(), anyInt(), any(EntryType.class))).thenCallRealMethod();
+        ResourceHandle handle = sph.handle("testHandleOfOtherSph", ResourceTypeConstants.COMMON_WEB, EntryType.IN);
+        assertEquals("testHandleOfOtherSph", handle.getResourceWrapper().getName());
+
+        Object[] args = new Object[] {"a"};
+        handle.entry(2, args);
+        verify(sph).entryWithType("testHandleOfOtherSph", ResourceTypeConstants.COMMON_WEB, EntryType.IN, 2,
+            false, args);
+    }
+}
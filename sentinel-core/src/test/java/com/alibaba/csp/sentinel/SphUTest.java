@@ -18,12 +18,18 @@ package com.alibaba.csp.sentinel;
 import static org.junit.Assert.*;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
 import com.alibaba.csp.sentinel.util.StringUtil;
 import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
 
 /**
  * Test cases for {@link SphU}.
@@ -157,4 +163,31 @@ public class SphUTest {
 
         e.exit(2, arg0, arg1);
     }
+
+    @Test
+    public void testAsyncEntryNonBlocking() throws BlockException {
+        String resourceName = "testAsyncEntryNonBlocking";
+        FlowRule rule = new FlowRule(resourceName)
+            .setCount(10)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER)
+            .setMaxQueueingTimeMs(1000);
+        FlowRuleManager.loadRules(Collections.singletonList(rule));
+        try {
+            long start = System.currentTimeMillis();
+            long lastDelayNanos = -1;
+            for (int i = 0; i < 5; i++) {
+                AsyncEntry entry = SphU.asyncEntryNonBlocking(resourceName, ResourceTypeConstants.COMMON,
+                    EntryType.OUT, 1, new Object[0]);
+                assertTrue(entry.isNonBlocking());
+                // The pass time is reserved (100 ms per request) and should be waited by the caller.
+                assertTrue(entry.getDelayNanos() > lastDelayNanos);
+                lastDelayNanos = entry.getDelayNanos();
+                entry.exit();
+            }
+            assertTrue(lastDelayNanos > TimeUnit.MILLISECONDS.toNanos(300));
+            assertTrue(System.currentTimeMillis() - start < 300);
+        } finally {
+            FlowRuleManager.loadRules(new ArrayList<FlowRule>());
+        }
+    }
 }
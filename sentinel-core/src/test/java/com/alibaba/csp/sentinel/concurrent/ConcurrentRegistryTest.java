@@ -0,0 +1,91 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.concurrent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.csp.sentinel.util.function.Function;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentRegistryTest {
+
+    @Test
+    public void testGetOrCreateOnlyOnce() throws Exception {
+        final ConcurrentRegistry<String, Object> registry = new ConcurrentRegistry<>();
+        final AtomicInteger created = new AtomicInteger();
+        final Function<String, Object> factory = new Function<String, Object>() {
+            @Override
+            public Object apply(String key) {
+                created.incrementAndGet();
+                return new Object();
+            }
+        };
+        int threadCount = 8;
+        final Set<Object> items = ConcurrentHashMap.newKeySet();
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            pool.submit(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        startLatch.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int k = 0; k < 1000; k++) {
+                        items.add(registry.getOrCreate("key" + k, factory));
+                    }
+                }
+            });
+        }
+        startLatch.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000, registry.size());
+        assertEquals(1000, created.get());
+        assertEquals(1000, items.size());
+    }
+
+    @Test
+    public void testRejectedByFactory() {
+        ConcurrentRegistry<String, Object> registry = new ConcurrentRegistry<>();
+        Function<String, Object> rejectFactory = new Function<String, Object>() {
+            @Override
+            public Object apply(String key) {
+                return null;
+            }
+        };
+        assertNull(registry.getOrCreate("a", rejectFactory));
+        assertEquals(0, registry.size());
+        assertNull(registry.get("a"));
+
+        Object item = new Object();
+        registry.put("a", item);
+        assertSame(item, registry.getOrCreate("a", rejectFactory));
+        assertSame(item, registry.asMap().get("a"));
+    }
+}
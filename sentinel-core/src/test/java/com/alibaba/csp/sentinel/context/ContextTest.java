@@ -71,6 +71,22 @@ public class ContextTest {
         }
     }
 
+    @Test
+    public void testReusedContextResetsArrivalTime() {
+        String contextName = "test-reused-context";
+        Context context = ContextUtil.enter(contextName, "");
+        context.setArrivalTime(System.currentTimeMillis() - 1000);
+        ContextUtil.exit();
+
+        Context reused = ContextUtil.trueEnter(contextName, "", context);
+        try {
+            assertSame(context, reused);
+            assertEquals(-1, reused.getArrivalTime());
+        } finally {
+            ContextUtil.exit();
+        }
+    }
+
     private void fillContext() {
         for (int i = 0; i < Constants.MAX_CONTEXT_NAME_SIZE; i++) {
             ContextUtil.enter("test-context-" + i);
@@ -0,0 +1,186 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node;
+
+import java.util.Collections;
+
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+import com.alibaba.csp.sentinel.util.function.Predicate;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link OriginNodeRegistry}.
+ */
+public class OriginNodeRegistryTest extends AbstractTimeBasedTest {
+
+    @Test
+    public void testHeavyHittersTracked() {
+        setCurrentMillis(10000);
+        OriginNodeRegistry registry = new OriginNodeRegistry(3);
+        registry.getOrCreate("a").addPassRequest(10);
+        registry.getOrCreate("b").addPassRequest(10);
+        StatisticNode nodeC = registry.getOrCreate("c");
+        nodeC.addPassRequest(1);
+        assertEquals(3, registry.asMap().size());
+
+        // A flood of distinct origins is aggregated into the others node.
+        for (int i = 0; i < 100; i++) {
+            assertSame(registry.getOthersNode(), registry.getOrCreate("random-" + i));
+        }
+        assertEquals(3, registry.asMap().size());
+        assertSame(nodeC, registry.getOrCreate("c"));
+
+        // A frequent origin replaces the least frequent one.
+        StatisticNode nodeD = registry.getOrCreate("d");
+        assertSame(registry.getOthersNode(), nodeD);
+        nodeD = registry.getOrCreate("d");
+        assertNotSame(registry.getOthersNode(), nodeD);
+        assertSame(nodeD, registry.getOrCreate("d"));
+        assertEquals(3, registry.asMap().size());
+        assertFalse(registry.asMap().containsKey("c"));
+        assertTrue(registry.asMap().containsKey("a"));
+        assertTrue(registry.asMap().containsKey("b"));
+
+        // Only one origin is replaced per refresh interval.
+        assertSame(registry.getOthersNode(), registry.getOrCreate("e"));
+        assertSame(registry.getOthersNode(), registry.getOrCreate("e"));
+        assertSame(registry.getOthersNode(), registry.getOrCreate("e"));
+
+        sleep((int)OriginNodeRegistry.REFRESH_INTERVAL_MS);
+        registry.getOrCreate("a").addPassRequest(10);
+        registry.getOrCreate("b").addPassRequest(10);
+        // Now "d" (without traffic) is the least frequent, and "e" is still frequent after aging.
+        StatisticNode nodeE = registry.getOrCreate("e");
+        assertNotSame(registry.getOthersNode(), nodeE);
+        assertFalse(registry.asMap().containsKey("d"));
+        assertEquals(3, registry.asMap().size());
+    }
+
+    @Test
+    public void testDedicatedOriginsKept() {
+        setCurrentMillis(10000);
+        OriginNodeRegistry registry = new OriginNodeRegistry(2, new Predicate<String>() {
+            @Override
+            public boolean test(String origin) {
+                return origin.startsWith("rule-");
+            }
+        });
+        registry.getOrCreate("a").addPassRequest(10);
+        registry.getOrCreate("b").addPassRequest(10);
+        // Origins specified by rules have their own nodes even if the registry is full.
+        StatisticNode ruleNode = registry.getOrCreate("rule-x");
+        assertNotSame(registry.getOthersNode(), ruleNode);
+        assertEquals(3, registry.asMap().size());
+        assertSame(registry.getOthersNode(), registry.getOrCreate("c"));
+
+        // The origin specified by rules (without traffic) is never the eviction candidate.
+        sleep((int)OriginNodeRegistry.REFRESH_INTERVAL_MS);
+        registry.getOrCreate("a").addPassRequest(10);
+        registry.getOrCreate("b").addPassRequest(5);
+        for (int i = 0; i < 5; i++) {
+            registry.getOrCreate("d");
+        }
+        assertNotSame(registry.getOthersNode(), registry.getOrCreate("d"));
+        assertSame(ruleNode, registry.getOrCreate("rule-x"));
+        assertTrue(registry.asMap().containsKey("a"));
+        assertFalse(registry.asMap().containsKey("b"));
+        assertEquals(3, registry.asMap().size());
+    }
+
+    @Test
+    public void testAdmissionComparedInQps() {
+        setCurrentMillis(10500);
+        OriginNodeRegistry registry = new OriginNodeRegistry(1);
+        registry.getOrCreate("a").addPassRequest(2);
+        // Half of current period has elapsed, so the frequency counted in the sketch is 1.5x of the QPS.
+        for (int i = 0; i < 3; i++) {
+            assertSame(registry.getOthersNode(), registry.getOrCreate("b"));
+        }
+        assertNotSame(registry.getOthersNode(), registry.getOrCreate("b"));
+        assertFalse(registry.asMap().containsKey("a"));
+    }
+
+    @Test
+    public void testClusterNodeBounded() {
+        ClusterNode clusterNode = new ClusterNode("testClusterNodeBounded", 0, 2, null);
+        Node node1 = clusterNode.getOrCreateOriginNode("origin1");
+        Node node2 = clusterNode.getOrCreateOriginNode("origin2");
+        assertNotSame(node1, node2);
+        assertSame(clusterNode.getOthersOriginNode(), clusterNode.getOrCreateOriginNode("origin3"));
+        assertEquals(2, clusterNode.getOriginCountMap().size());
+    }
+
+    @Test
+    public void testBusyOriginNotEvicted() {
+        setCurrentMillis(10000);
+        OriginNodeRegistry registry = new OriginNodeRegistry(1);
+        StatisticNode nodeA = registry.getOrCreate("a");
+        nodeA.increaseThreadNum();
+        for (int i = 0; i < 10; i++) {
+            assertSame(registry.getOthersNode(), registry.getOrCreate("b"));
+        }
+        assertSame(nodeA, registry.getOrCreate("a"));
+
+        // The thread count is kept until the invocation exits, and then the origin can be replaced.
+        nodeA.decreaseThreadNum();
+        sleep((int)OriginNodeRegistry.REFRESH_INTERVAL_MS);
+        assertNotSame(registry.getOthersNode(), registry.getOrCreate("b"));
+        assertFalse(registry.asMap().containsKey("a"));
+    }
+
+    @Test
+    public void testClusterNodeUnboundedByDefault() {
+        ClusterNode clusterNode = new ClusterNode("testClusterNodeUnboundedByDefault", 0);
+        for (int i = 0; i < 2000; i++) {
+            assertNotSame(clusterNode.getOthersOriginNode(), clusterNode.getOrCreateOriginNode("origin" + i));
+        }
+        assertEquals(2000, clusterNode.getOriginCountMap().size());
+    }
+
+    @Test
+    public void testOtherOriginRulePastCapacity() {
+        final String resourceName = "testOtherOriginRulePastCapacity";
+        FlowRule rule = new FlowRule(resourceName).setCount(1);
+        rule.setLimitApp(RuleConstant.LIMIT_APP_OTHER);
+        FlowRuleManager.loadRules(Collections.singletonList(rule));
+        try {
+            ClusterNode clusterNode = new ClusterNode(resourceName, 0, 2, new Predicate<String>() {
+                @Override
+                public boolean test(String origin) {
+                    return FlowRuleManager.needsOriginNode(origin, resourceName);
+                }
+            });
+            // Each of the other origins is limited separately, so all of them have their own nodes.
+            for (int i = 0; i < 10; i++) {
+                Node node = clusterNode.getOrCreateOriginNode("origin" + i);
+                assertNotSame(clusterNode.getOthersOriginNode(), node);
+                assertEquals(0, node.passQps(), 0.01);
+                node.addPassRequest(1);
+            }
+            assertEquals(10, clusterNode.getOriginCountMap().size());
+            assertFalse(FlowRuleManager.needsOriginNode("", resourceName));
+            assertFalse(FlowRuleManager.needsOriginNode("origin0", "non-existing"));
+        } finally {
+            FlowRuleManager.loadRules(null);
+        }
+    }
+}
@@ -325,4 +325,26 @@ public class StatisticNodeTest {
     }
 
 
+
+    @Test
+    public void testRtPercentile() {
+        StatisticNode disabledNode = new StatisticNode();
+        disabledNode.addRtAndSuccess(10, 1);
+        assertEquals(0, disabledNode.rtPercentile(99), 0.01);
+
+        StatisticNode.setRtHistogramEnabled(true);
+        try {
+            StatisticNode node = new StatisticNode();
+            for (int i = 0; i < 99; i++) {
+                node.addRtAndSuccess(5, 1);
+            }
+            node.addRtAndSuccess(300, 1);
+            assertEquals(5, node.rtPercentile(50), 0.01);
+            assertEquals(5, node.rtPercentile(99), 0.01);
+            double p999 = node.rtPercentile(99.9);
+            assertTrue(p999 >= 300 && p999 < 320);
+        } finally {
+            StatisticNode.setRtHistogramEnabled(false);
+        }
+    }
 }
@@ -34,4 +34,32 @@ public class MetricNodeTest {
         assertEquals(2, node.getConcurrency());
         assertEquals(1, node.getSuccessQps());
     }
+
+    @Test
+    public void testRtPercentilesInThinAndFatString() {
+        MetricNode node = new MetricNode();
+        node.setTimestamp(1564382218000L);
+        node.setResource("/foo/*");
+        node.setPassQps(10);
+        node.setSuccessQps(10);
+        node.setRt(5);
+        node.setClassification(ResourceTypeConstants.COMMON_WEB);
+        // Absent percentiles should keep the former format.
+        assertEquals("1564382218000|/foo/*|10|0|10|0|5|0|0|1", node.toThinString());
+
+        node.setRtP50(3).setRtP90(8).setRtP99(20).setRtP999(41);
+        MetricNode thin = MetricNode.fromThinString(node.toThinString());
+        assertEquals(ResourceTypeConstants.COMMON_WEB, thin.getClassification());
+        assertEquals(3, thin.getRtP50());
+        assertEquals(8, thin.getRtP90());
+        assertEquals(20, thin.getRtP99());
+        assertEquals(41, thin.getRtP999());
+
+        String fatString = node.toFatString();
+        MetricNode fat = MetricNode.fromFatString(fatString.substring(0, fatString.length() - 1));
+        assertEquals(ResourceTypeConstants.COMMON_WEB, fat.getClassification());
+        assertEquals(10, fat.getSuccessQps());
+        assertEquals(20, fat.getRtP99());
+        assertEquals(41, fat.getRtP999());
+    }
 }
@@ -0,0 +1,282 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slotchain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.context.ContextTestUtil;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.slots.DefaultSlotChainBuilder;
+import com.alibaba.csp.sentinel.slots.block.authority.AuthorityRule;
+import com.alibaba.csp.sentinel.slots.block.authority.AuthorityRuleManager;
+import com.alibaba.csp.sentinel.slots.block.authority.AuthoritySlot;
+import com.alibaba.csp.sentinel.slots.block.codel.CodelRule;
+import com.alibaba.csp.sentinel.slots.block.codel.CodelRuleManager;
+import com.alibaba.csp.sentinel.slots.block.codel.CodelSlot;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRuleManager;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeSlot;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowSlot;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.slots.logger.LogSlot;
+import com.alibaba.csp.sentinel.slots.nodeselector.NodeSelectorSlot;
+import com.alibaba.csp.sentinel.slots.statistic.StatisticSlot;
+import com.alibaba.csp.sentinel.slots.system.SystemRule;
+import com.alibaba.csp.sentinel.slots.system.SystemRuleManager;
+import com.alibaba.csp.sentinel.slots.system.SystemSlot;
+import com.alibaba.csp.sentinel.spi.Spi;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link SlotChainSpecializer}.
+ */
+public class SlotChainSpecializerTest {
+
+    @Before
+    public void setUp() {
+        clearRules();
+    }
+
+    @After
+    public void tearDown() {
+        clearRules();
+    }
+
+    private void clearRules() {
+        FlowRuleManager.loadRules(null);
+        DegradeRuleManager.loadRules(null);
+        AuthorityRuleManager.loadRules(null);
+        SystemRuleManager.loadRules(null);
+        CodelRuleManager.loadRules(null);
+    }
+
+    @Test
+    public void testSkipSlotsWithoutRules() {
+        ResourceWrapper resource = new StringResourceWrapper("testSkipSlotsWithoutRules", EntryType.IN);
+        ProcessorSlotChain chain = new DefaultSlotChainBuilder().build();
+        SlotChainSpecializer.specialize(resource, chain);
+
+        assertLinkedSlots(chain, NodeSelectorSlot.class, ClusterBuilderSlot.class, LogSlot.class,
+            StatisticSlot.class);
+    }
+
+    @Test
+    public void testRelinkOnRuleUpdates() {
+        String resourceName = "testRelinkOnRuleUpdates";
+        ResourceWrapper resource = new StringResourceWrapper(resourceName, EntryType.IN);
+        ProcessorSlotChain chain = new DefaultSlotChainBuilder().build();
+        SlotChainSpecializer.specialize(resource, chain);
+
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resourceName).setCount(10)));
+        assertLinkedSlots(chain, NodeSelectorSlot.class, ClusterBuilderSlot.class, LogSlot.class,
+            StatisticSlot.class, FlowSlot.class);
+
+        AuthorityRule authorityRule = new AuthorityRule();
+        authorityRule.setResource(resourceName);
+        authorityRule.setLimitApp("a,b");
+        AuthorityRuleManager.loadRules(Collections.singletonList(authorityRule));
+        DegradeRuleManager.loadRules(Collections.singletonList(new DegradeRule(resourceName)
+            .setCount(100).setTimeWindow(10)));
+        SystemRule systemRule = new SystemRule();
+        systemRule.setQps(1000);
+        SystemRuleManager.loadRules(Collections.singletonList(systemRule));
+        CodelRuleManager.loadRules(Collections.singletonList(new CodelRule(resourceName)));
+        assertLinkedSlots(chain, NodeSelectorSlot.class, ClusterBuilderSlot.class, LogSlot.class,
+            StatisticSlot.class, AuthoritySlot.class, CodelSlot.class, SystemSlot.class, FlowSlot.class,
+            DegradeSlot.class);
+
+        FlowRuleManager.loadRules(null);
+        DegradeRuleManager.loadRules(null);
+        CodelRuleManager.loadRules(null);
+        assertLinkedSlots(chain, NodeSelectorSlot.class, ClusterBuilderSlot.class, LogSlot.class,
+            StatisticSlot.class, AuthoritySlot.class, SystemSlot.class);
+    }
+
+    @Test
+    public void testSystemSlotOnlyLinkedForInboundTraffic() {
+        SystemRule systemRule = new SystemRule();
+        systemRule.setQps(1000);
+        SystemRuleManager.loadRules(Collections.singletonList(systemRule));
+
+        ProcessorSlotChain chain = new DefaultSlotChainBuilder().build();
+        SlotChainSpecializer.specialize(new StringResourceWrapper("testSystemSlotOut", EntryType.OUT), chain);
+        assertLinkedSlots(chain, NodeSelectorSlot.class, ClusterBuilderSlot.class, LogSlot.class,
+            StatisticSlot.class);
+    }
+
+    @Test
+    public void testKeepSlotsAfterSharedSlot() {
+        DefaultProcessorSlotChain chain = new DefaultProcessorSlotChain();
+        ExclusiveNoRuleSlot exclusiveNoRuleSlot = new ExclusiveNoRuleSlot();
+        SharedSlot shared = new SharedSlot();
+        SharedNoRuleSlot sharedNoRuleSlot = new SharedNoRuleSlot();
+        chain.addLast(exclusiveNoRuleSlot);
+        chain.addLast(shared);
+        chain.addLast(sharedNoRuleSlot);
+        chain.bindResource(new StringResourceWrapper("testKeepSlotsAfterSharedSlot", EntryType.IN));
+
+        assertSame(shared, chain.getNext());
+        // The successor of a shared slot could not be changed.
+        assertSame(sharedNoRuleSlot, shared.getNext());
+    }
+
+    @Test
+    public void testInFlightEntryExitsEnteredSlots() throws Throwable {
+        ResourceWrapper resource = new StringResourceWrapper("testInFlightEntryExitsEnteredSlots", EntryType.IN);
+        DefaultProcessorSlotChain chain = new DefaultProcessorSlotChain();
+        CountingSlot slot = new CountingSlot();
+        chain.addLast(slot);
+        SlotChainSpecializer.specialize(resource, chain);
+
+        ProcessorSlot<Object> entered = chain.specialized();
+        entered.entry(null, resource, null, 1, false);
+        CountingSlot.RULES.put(resource.getName(), true);
+        SlotChainSpecializer.refresh(Collections.<String>emptySet(), Collections.singleton(resource.getName()));
+        // The in-flight invocation exits the slots it has entered.
+        entered.exit(null, resource, 1);
+        assertEquals(0, slot.exitCount.get());
+
+        ProcessorSlot<Object> relinked = chain.specialized();
+        assertNotSame(entered, relinked);
+        relinked.entry(null, resource, null, 1, false);
+        CountingSlot.RULES.remove(resource.getName());
+        SlotChainSpecializer.refresh(Collections.singleton(resource.getName()), Collections.<String>emptySet());
+        relinked.exit(null, resource, 1);
+        // Copies of the slot share the counters.
+        assertEquals(1, slot.entryCount.get());
+        assertEquals(1, slot.exitCount.get());
+        // The original slot is never linked.
+        assertNull(slot.getNext());
+    }
+
+    @Test
+    public void testRefreshOnlyChangedResources() {
+        ResourceWrapper resourceA = new StringResourceWrapper("testRefreshOnlyChangedResources-A", EntryType.IN);
+        ResourceWrapper resourceB = new StringResourceWrapper("testRefreshOnlyChangedResources-B", EntryType.IN);
+        DefaultProcessorSlotChain chainA = new DefaultProcessorSlotChain();
+        chainA.addLast(new CountingSlot());
+        SlotChainSpecializer.specialize(resourceA, chainA);
+        DefaultProcessorSlotChain chainB = new DefaultProcessorSlotChain();
+        chainB.addLast(new CountingSlot());
+        SlotChainSpecializer.specialize(resourceB, chainB);
+        ProcessorSlot<Object> slotsB = chainB.specialized();
+
+        CountingSlot.RULES.put(resourceA.getName(), true);
+        CountingSlot.RULES.put(resourceB.getName(), true);
+        SlotChainSpecializer.refresh(Collections.singleton(resourceB.getName()),
+            new HashSet<>(CountingSlot.RULES.keySet()));
+        assertTrue(chainA.getNext() instanceof CountingSlot);
+        // Resource B has had rules before, so its chain is left untouched.
+        assertSame(slotsB, chainB.specialized());
+        CountingSlot.RULES.clear();
+    }
+
+    @Test
+    public void testStatisticsRetainedAfterRelink() throws Exception {
+        String resourceName = "testStatisticsRetainedAfterRelink";
+        ContextTestUtil.cleanUpContext();
+        Entry e1 = SphU.entry(resourceName, EntryType.IN);
+        DefaultNode node = (DefaultNode) e1.getCurNode();
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resourceName).setCount(10)));
+        e1.exit();
+
+        Entry e2 = SphU.entry(resourceName, EntryType.IN);
+        assertSame(node, e2.getCurNode());
+        e2.exit();
+        assertEquals(2, node.getClusterNode().totalPass());
+        assertEquals(2, node.getClusterNode().totalSuccess());
+        assertEquals(0, node.getClusterNode().curThreadNum());
+    }
+
+    private void assertLinkedSlots(ProcessorSlotChain chain, Class<?>... slotClasses) {
+        List<Class<?>> linked = new ArrayList<>();
+        for (AbstractLinkedProcessorSlot<?> slot = chain.getNext(); slot != null; slot = slot.getNext()) {
+            linked.add(slot.getClass());
+        }
+        List<Class<?>> expected = new ArrayList<>();
+        Collections.addAll(expected, slotClasses);
+        assertEquals(expected, linked);
+    }
+
+    private static class SharedSlot extends AbstractLinkedProcessorSlot<Object> {
+
+        @Override
+        public void entry(Context context, ResourceWrapper resourceWrapper, Object param, int count,
+                          boolean prioritized, Object... args) throws Throwable {
+            fireEntry(context, resourceWrapper, param, count, prioritized, args);
+        }
+
+        @Override
+        public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
+            fireExit(context, resourceWrapper, count, args);
+        }
+    }
+
+    private static class SharedNoRuleSlot extends SharedSlot implements RuleCheckingSlot {
+
+        @Override
+        public boolean hasRules(ResourceWrapper resourceWrapper) {
+            return false;
+        }
+    }
+
+    @Spi(isSingleton = false)
+    private static class ExclusiveNoRuleSlot extends SharedNoRuleSlot {}
+
+    @Spi(isSingleton = false)
+    private static class CountingSlot extends SharedSlot implements RuleCheckingSlot {
+
+        static final Map<String, Boolean> RULES = new ConcurrentHashMap<>();
+
+        private final AtomicInteger entryCount = new AtomicInteger();
+        private final AtomicInteger exitCount = new AtomicInteger();
+
+        @Override
+        public void entry(Context context, ResourceWrapper resourceWrapper, Object param, int count,
+                          boolean prioritized, Object... args) throws Throwable {
+            entryCount.incrementAndGet();
+            fireEntry(context, resourceWrapper, param, count, prioritized, args);
+        }
+
+        @Override
+        public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
+            exitCount.incrementAndGet();
+            fireExit(context, resourceWrapper, count, args);
+        }
+
+        @Override
+        public boolean hasRules(ResourceWrapper resourceWrapper) {
+            return RULES.containsKey(resourceWrapper.getName());
+        }
+    }
+}
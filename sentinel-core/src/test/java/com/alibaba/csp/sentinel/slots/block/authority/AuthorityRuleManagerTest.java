@@ -41,6 +41,22 @@ public class AuthorityRuleManagerTest {
         assertEquals(0, rules.size());
     }
 
+    @Test
+    public void testIsSpecifiedOrigin() {
+        String resourceName = "testIsSpecifiedOrigin";
+        AuthorityRule rule = new AuthorityRule();
+        rule.setResource(resourceName);
+        rule.setLimitApp("a,bc");
+        rule.setStrategy(RuleConstant.AUTHORITY_BLACK);
+        AuthorityRuleManager.loadRules(Collections.singletonList(rule));
+
+        assertTrue(AuthorityRuleManager.isSpecifiedOrigin("a", resourceName));
+        assertTrue(AuthorityRuleManager.isSpecifiedOrigin("bc", resourceName));
+        assertFalse(AuthorityRuleManager.isSpecifiedOrigin("b", resourceName));
+        assertFalse(AuthorityRuleManager.isSpecifiedOrigin("", resourceName));
+        assertFalse(AuthorityRuleManager.isSpecifiedOrigin("a", "non-existing"));
+    }
+
     @Test
     public void testIsValidRule() {
         AuthorityRule ruleA = new AuthorityRule();
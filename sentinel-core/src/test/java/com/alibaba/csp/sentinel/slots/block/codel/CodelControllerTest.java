@@ -0,0 +1,78 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.codel;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link CodelController}.
+ */
+public class CodelControllerTest {
+
+    private final CodelRule rule = new CodelRule("testCodelController").setTargetDelayMs(5).setIntervalMs(100);
+
+    @Test
+    public void testBurstAbsorbed() {
+        CodelController controller = new CodelController(rule);
+        long time = 10000;
+        // A burst queues requests up to 80ms, but the queue is drained within the interval.
+        for (int i = 0; i < 100; i++) {
+            assertTrue(controller.canPass(time + i, i < 80 ? 80 - i : 0));
+        }
+        assertTrue(controller.canPass(time + 100, 50));
+        assertFalse(controller.isOverloaded());
+
+        // Requests queued longer than the interval are always dropped.
+        assertFalse(controller.canPass(time + 101, 101));
+    }
+
+    @Test
+    public void testDropWithStandingQueue() {
+        CodelController controller = new CodelController(rule);
+        long time = 10000;
+        // The queueing delay never drops below the target within an interval.
+        for (int i = 0; i < 100; i++) {
+            assertTrue(controller.canPass(time + i, 20));
+        }
+        assertFalse(controller.canPass(time + 100, 20));
+        assertTrue(controller.isOverloaded());
+        assertTrue(controller.canPass(time + 101, 4));
+
+        // The queue has been drained in the interval, so it recovers.
+        for (int i = 102; i <= 200; i++) {
+            controller.canPass(time + i, 4);
+        }
+        assertFalse(controller.isOverloaded());
+        assertTrue(controller.canPass(time + 201, 20));
+    }
+
+    @Test
+    public void testRecoverAfterIdle() {
+        CodelController controller = new CodelController(rule);
+        long time = 10000;
+        for (int i = 0; i <= 100; i++) {
+            controller.canPass(time + i, 20);
+        }
+        assertTrue(controller.isOverloaded());
+
+        controller.canPass(time + 150, 20);
+        // No requests for more than an interval, so the queue should have been drained.
+        assertTrue(controller.canPass(time + 500, 20));
+        assertFalse(controller.isOverloaded());
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.codel;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link CodelSlot}.
+ */
+public class CodelSlotTest {
+
+    private final CodelSlot codelSlot = new CodelSlot();
+
+    @After
+    public void tearDown() {
+        CodelRuleManager.loadRules(null);
+    }
+
+    @Test
+    public void testPassWithoutArrivalTime() throws Exception {
+        String resourceName = "testPassWithoutArrivalTime";
+        CodelRuleManager.loadRules(Collections.singletonList(new CodelRule(resourceName)));
+        ResourceWrapper resourceWrapper = new StringResourceWrapper(resourceName, EntryType.IN);
+        ContextUtil.enter("entrance");
+        try {
+            codelSlot.checkQueueingDelay(resourceWrapper, ContextUtil.getContext());
+        } finally {
+            ContextUtil.exit();
+        }
+    }
+
+    @Test
+    public void testDropLongQueuedRequest() throws Exception {
+        String resourceName = "testDropLongQueuedRequest";
+        CodelRuleManager.loadRules(Collections.singletonList(new CodelRule(resourceName)
+            .setTargetDelayMs(5).setIntervalMs(100)));
+
+        ContextUtil.enter("entrance").setArrivalTime(TimeUtil.currentTimeMillis() - 2);
+        try {
+            Entry entry = SphU.entry(resourceName, EntryType.IN);
+            entry.exit();
+        } finally {
+            ContextUtil.exit();
+        }
+
+        ContextUtil.enter("entrance").setArrivalTime(TimeUtil.currentTimeMillis() - 1000);
+        try {
+            SphU.entry(resourceName, EntryType.IN);
+            fail("The request queued longer than the interval should be dropped");
+        } catch (BlockException ex) {
+            assertTrue(ex instanceof CodelException);
+            assertEquals(resourceName, ex.getRule().getResource());
+        } finally {
+            ContextUtil.exit();
+        }
+    }
+
+    @Test
+    public void testLoadRules() {
+        CodelRule ruleA = new CodelRule("testCodelLoadRulesA");
+        CodelRule ruleB = new CodelRule("testCodelLoadRulesB").setTargetDelayMs(200).setIntervalMs(100);
+        CodelRuleManager.loadRules(Arrays.asList(ruleA, ruleB, new CodelRule("testCodelLoadRulesA")
+            .setTargetDelayMs(10)));
+
+        // Invalid and redundant rules are ignored.
+        assertEquals(Collections.singletonList(ruleA), CodelRuleManager.getRules());
+        assertTrue(codelSlot.hasRules(new StringResourceWrapper("testCodelLoadRulesA", EntryType.IN)));
+        assertFalse(codelSlot.hasRules(new StringResourceWrapper("testCodelLoadRulesB", EntryType.IN)));
+
+        // State of unchanged rules is retained.
+        CodelController controller = CodelRuleManager.getController("testCodelLoadRulesA");
+        CodelRuleManager.loadRules(Collections.singletonList(new CodelRule("testCodelLoadRulesA")));
+        assertSame(controller, CodelRuleManager.getController("testCodelLoadRulesA"));
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.codel;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link RequestStartHeaderParser}.
+ */
+public class RequestStartHeaderParserTest {
+
+    @Test
+    public void testParseArrivalTime() {
+        long millis = 1577808000123L;
+        assertEquals(millis, RequestStartHeaderParser.parseArrivalTime("1577808000123"));
+        assertEquals(millis, RequestStartHeaderParser.parseArrivalTime("t=1577808000123456"));
+        assertEquals(millis, RequestStartHeaderParser.parseArrivalTime("1577808000123456789"));
+        assertEquals(1577808000000L, RequestStartHeaderParser.parseArrivalTime("1577808000"));
+        assertEquals(millis, RequestStartHeaderParser.parseArrivalTime(" t=1577808000.123 "), 1);
+    }
+
+    @Test
+    public void testParseMalformedValue() {
+        assertEquals(-1, RequestStartHeaderParser.parseArrivalTime(null));
+        assertEquals(-1, RequestStartHeaderParser.parseArrivalTime(""));
+        assertEquals(-1, RequestStartHeaderParser.parseArrivalTime("t="));
+        assertEquals(-1, RequestStartHeaderParser.parseArrivalTime("abc"));
+        assertEquals(-1, RequestStartHeaderParser.parseArrivalTime("-100"));
+    }
+}
@@ -235,6 +235,26 @@ public class CircuitBreakingIntegrationTest extends AbstractTimeBasedTest {
     public void testExceptionCountMode() {
         // TODO
     }
+
+    @Test
+    public void testCircuitBreakersShareStatistics() {
+        setCurrentMillis(System.currentTimeMillis() / 1000 * 1000);
+        String res = "CircuitBreakingIntegrationTest_testCircuitBreakersShareStatistics";
+        DegradeRuleManager.loadRules(Arrays.asList(
+            new DegradeRule(res).setTimeWindow(5).setCount(1000).setSlowRatioThreshold(0.5d)
+                .setStatIntervalMs(20000).setMinRequestAmount(1).setGrade(RuleConstant.DEGRADE_GRADE_RT),
+            new DegradeRule(res).setTimeWindow(5).setCount(2)
+                .setStatIntervalMs(20000).setMinRequestAmount(1)
+                .setGrade(RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT)
+        ));
+
+        // Each request should be recorded only once in the shared statistics.
+        assertTrue(entryWithErrorIfPresent(res, new IllegalArgumentException()));
+        assertTrue(entryWithErrorIfPresent(res, new IllegalArgumentException()));
+        assertTrue(entryWithErrorIfPresent(res, new IllegalArgumentException()));
+        verifyState(DegradeRuleManager.getCircuitBreakers(res), -1);
+        assertFalse(entryWithErrorIfPresent(res, null));
+    }
     
     private void verifyState(List<CircuitBreaker> breakers, int target) {
         int state = 0;
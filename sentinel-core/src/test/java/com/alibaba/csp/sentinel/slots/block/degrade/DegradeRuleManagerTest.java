@@ -17,6 +17,8 @@ package com.alibaba.csp.sentinel.slots.block.degrade;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.CircuitBreaker;
@@ -60,6 +62,28 @@ public class DegradeRuleManagerTest {
         assertSame(cb, DegradeRuleManager.getCircuitBreakers(resource).get(0));
     }
 
+    @Test
+    public void testUnchangedResourceRetainsCircuitBreakerList() {
+        String resource = "testUnchangedResourceRetainsCircuitBreakerList";
+        DegradeRuleManager.loadRules(Arrays.asList(newSlowRatioRule(resource, 100), newSlowRatioRule("abc", 20)));
+        List<CircuitBreaker> cbs = DegradeRuleManager.getCircuitBreakers(resource);
+        Set<DegradeRule> rules = DegradeRuleManager.getRulesOfResource(resource);
+
+        // Equal rules of another instance, while rules of "abc" have been changed.
+        DegradeRuleManager.loadRules(Arrays.asList(newSlowRatioRule(resource, 100), newSlowRatioRule("abc", 30)));
+        assertSame(cbs, DegradeRuleManager.getCircuitBreakers(resource));
+        assertSame(rules, DegradeRuleManager.getRulesOfResource(resource));
+        assertEquals(30, DegradeRuleManager.getCircuitBreakers("abc").get(0).getRule().getCount(), 0.01);
+    }
+
+    private DegradeRule newSlowRatioRule(String resource, double count) {
+        return new DegradeRule(resource)
+            .setCount(count)
+            .setSlowRatioThreshold(0.9d)
+            .setTimeWindow(20)
+            .setStatIntervalMs(20000);
+    }
+
     @Test
     public void testIsValidRule() {
         DegradeRule rule1 = new DegradeRule("abc");
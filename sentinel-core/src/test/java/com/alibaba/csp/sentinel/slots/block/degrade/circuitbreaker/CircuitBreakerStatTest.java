@@ -0,0 +1,93 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
+
+import java.util.Arrays;
+
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link CircuitBreakerStat}.
+ */
+public class CircuitBreakerStatTest extends AbstractTimeBasedTest {
+
+    @Test
+    public void testSlowCountsOfThresholds() {
+        setCurrentMillis(100000);
+        CircuitBreakerStat stat = new CircuitBreakerStat(1000, 100, 20, 100);
+        CircuitBreakerStat.View slow20 = stat.slowCountView(20);
+        CircuitBreakerStat.View slow100 = stat.slowCountView(100);
+        CircuitBreakerStat.View error = stat.errorCountView();
+
+        stat.record(10, false);
+        stat.record(50, true);
+        stat.record(150, false);
+        assertEquals(3, slow20.totalCount());
+        assertEquals(2, slow20.count());
+        assertEquals(1, slow100.count());
+        assertEquals(1, error.count());
+
+        sleep(1000);
+        assertEquals(0, slow20.totalCount());
+        assertEquals(0, error.count());
+    }
+
+    @Test
+    public void testResetViewIndependently() {
+        setCurrentMillis(100000);
+        CircuitBreakerStat stat = new CircuitBreakerStat(1000);
+        CircuitBreakerStat.View view1 = stat.errorCountView();
+        CircuitBreakerStat.View view2 = stat.errorCountView();
+
+        stat.record(10, true);
+        stat.record(10, true);
+        view1.reset();
+        stat.record(10, true);
+        assertEquals(1, view1.totalCount());
+        assertEquals(1, view1.count());
+        assertEquals(3, view2.totalCount());
+        assertEquals(3, view2.count());
+
+        // The baseline only applies to the window it was taken in.
+        sleep(1000);
+        stat.record(10, false);
+        assertEquals(1, view1.totalCount());
+        assertEquals(0, view1.count());
+    }
+
+    @Test
+    public void testAssignRecorders() {
+        DegradeRule slowRule = new DegradeRule("testAssignRecorders").setCount(50).setTimeWindow(10)
+            .setGrade(RuleConstant.DEGRADE_GRADE_RT);
+        DegradeRule errorRule = new DegradeRule("testAssignRecorders").setCount(5).setTimeWindow(10)
+            .setGrade(RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT);
+        CircuitBreakerStat stat = new CircuitBreakerStat(1000, 50);
+        ResponseTimeCircuitBreaker cb1 = new ResponseTimeCircuitBreaker(slowRule, stat);
+        ExceptionCircuitBreaker cb2 = new ExceptionCircuitBreaker(errorRule, stat);
+        ExceptionCircuitBreaker cb3 = new ExceptionCircuitBreaker(errorRule);
+
+        CircuitBreakerStat.assignRecorders(Arrays.<CircuitBreaker>asList(cb2, cb1, cb3));
+        assertTrue(stat.isRecorder(cb2));
+        assertFalse(stat.isRecorder(cb1));
+        assertTrue(cb3.getStat().isRecorder(cb3));
+    }
+}
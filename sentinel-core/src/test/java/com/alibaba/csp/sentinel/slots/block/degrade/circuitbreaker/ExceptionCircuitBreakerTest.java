@@ -15,8 +15,11 @@
  */
 package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -25,6 +28,8 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
@@ -82,4 +87,47 @@ public class ExceptionCircuitBreakerTest extends AbstractTimeBasedTest {
         assertTrue(entryWithErrorIfPresent(resource, new IllegalArgumentException()));
         assertTrue(entryAndSleepFor(resource, 100));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRecoveryRamp() {
+        int rampMs = 10 * 1000;
+        DegradeRule rule = new DegradeRule("testRecoveryRamp")
+            .setCount(1)
+            .setGrade(RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT)
+            .setTimeWindow(1)
+            .setMinRequestAmount(1)
+            .setRecoveryRampMs(rampMs);
+        ExceptionCircuitBreaker cb = new ExceptionCircuitBreaker(rule);
+        setCurrentMillis(100000);
+
+        Entry entry = mock(Entry.class);
+        Context context = mock(Context.class);
+        when(context.getCurEntry()).thenReturn(entry);
+        when(entry.getError()).thenReturn(new IllegalArgumentException());
+        cb.onRequestComplete(context);
+        cb.onRequestComplete(context);
+        assertEquals(CircuitBreaker.State.OPEN, cb.currentState());
+
+        sleep(1000);
+        // The probe succeeds.
+        assertTrue(cb.tryPass(context));
+        when(entry.getError()).thenReturn(null);
+        cb.onRequestComplete(context);
+        assertEquals(CircuitBreaker.State.CLOSED, cb.currentState());
+
+        sleep(rampMs / 4);
+        int passed = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (cb.tryPass(context)) {
+                passed++;
+            }
+        }
+        // About 25% of the requests should pass.
+        assertTrue(passed > 150 && passed < 350);
+
+        sleep(rampMs);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(cb.tryPass(context));
+        }
+    }
+}
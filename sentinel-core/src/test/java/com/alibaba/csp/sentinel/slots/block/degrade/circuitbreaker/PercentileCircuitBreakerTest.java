@@ -0,0 +1,116 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.node.StatisticNode;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRuleManager;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class PercentileCircuitBreakerTest extends AbstractTimeBasedTest {
+
+    @Before
+    public void setUp() {
+        DegradeRuleManager.loadRules(new ArrayList<DegradeRule>());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        DegradeRuleManager.loadRules(new ArrayList<DegradeRule>());
+    }
+
+    @Test
+    public void testPercentileExceedsThreshold() {
+        String resource = "testPercentileExceedsThreshold";
+        DegradeRule rule = new DegradeRule(resource)
+            .setCount(50)
+            .setGrade(RuleConstant.DEGRADE_GRADE_RT_PERCENTILE)
+            .setPercentile(90)
+            .setMinRequestAmount(10)
+            .setStatIntervalMs(10000)
+            .setTimeWindow(5);
+        DegradeRuleManager.loadRules(Collections.singletonList(rule));
+        setCurrentMillis(System.currentTimeMillis());
+
+        for (int i = 0; i < 9; i++) {
+            assertTrue(entryAndSleepFor(resource, 5));
+        }
+        // p90 of 10 requests (the 9th) is still fast.
+        assertTrue(entryAndSleepFor(resource, 100));
+        // p90 of 11 requests (the 10th) becomes slow.
+        assertTrue(entryAndSleepFor(resource, 100));
+        assertFalse(entryAndSleepFor(resource, 5));
+
+        sleep(5000);
+        // The probe is fast, so the circuit breaker recovers with fresh statistics.
+        assertTrue(entryAndSleepFor(resource, 5));
+        assertTrue(entryAndSleepFor(resource, 100));
+        assertTrue(entryAndSleepFor(resource, 5));
+    }
+
+    @Test
+    public void testSharedNodeHistogram() {
+        DegradeRule rule = new DegradeRule("testSharedNodeHistogram")
+            .setCount(50)
+            .setGrade(RuleConstant.DEGRADE_GRADE_RT_PERCENTILE)
+            .setMinRequestAmount(10)
+            .setStatIntervalMs(StatisticNode.RT_HISTOGRAM_INTERVAL_MS)
+            .setTimeWindow(5);
+        PercentileCircuitBreaker cb = new PercentileCircuitBreaker(rule, null);
+        setCurrentMillis(100000);
+
+        ClusterNode clusterNode = mock(ClusterNode.class);
+        DefaultNode node = mock(DefaultNode.class);
+        when(node.getClusterNode()).thenReturn(clusterNode);
+        Entry entry = mock(Entry.class);
+        when(entry.getCurNode()).thenReturn(node);
+        when(entry.getCreateTimestamp()).thenReturn(100000L - 10);
+        when(entry.getCompleteTimestamp()).thenReturn(100000L);
+        Context context = mock(Context.class);
+        when(context.getCurEntry()).thenReturn(entry);
+
+        when(clusterNode.rtPercentile(99)).thenReturn(100d);
+        when(clusterNode.rtHistogramCount()).thenReturn(5L);
+        cb.onRequestComplete(context);
+        // Not enough requests.
+        assertEquals(CircuitBreaker.State.CLOSED, cb.currentState());
+
+        when(clusterNode.rtHistogramCount()).thenReturn(20L);
+        when(clusterNode.rtPercentile(99)).thenReturn(40d);
+        cb.onRequestComplete(context);
+        assertEquals(CircuitBreaker.State.CLOSED, cb.currentState());
+
+        when(clusterNode.rtPercentile(99)).thenReturn(100d);
+        cb.onRequestComplete(context);
+        assertEquals(CircuitBreaker.State.OPEN, cb.currentState());
+        verify(clusterNode, never()).rtPercentile(90);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link FlowRuleIndex}.
+ */
+public class FlowRuleIndexTest {
+
+    private static final String RESOURCE_NAME = "testFlowRuleIndex";
+
+    @After
+    public void tearDown() {
+        FlowRuleManager.loadRules(null);
+    }
+
+    private static FlowRule newRule(String limitApp, double count) {
+        FlowRule rule = new FlowRule(RESOURCE_NAME).setCount(count);
+        rule.setLimitApp(limitApp);
+        return rule;
+    }
+
+    @Test
+    public void testApplicableRulesByOrigin() {
+        FlowRule ruleA = newRule("appA", 1);
+        FlowRule ruleB = newRule("appB", 2);
+        FlowRule ruleOther = newRule(RuleConstant.LIMIT_APP_OTHER, 3);
+        FlowRule ruleDefault = newRule(RuleConstant.LIMIT_APP_DEFAULT, 4);
+        FlowRuleIndex index = new FlowRuleIndex(Arrays.asList(ruleA, ruleB, ruleOther, ruleDefault));
+
+        assertEquals(Arrays.asList(ruleA, ruleDefault), index.getApplicableRules("appA"));
+        assertEquals(Arrays.asList(ruleB, ruleDefault), index.getApplicableRules("appB"));
+        assertEquals(Arrays.asList(ruleOther, ruleDefault), index.getApplicableRules("appC"));
+        assertEquals(Collections.singletonList(ruleDefault), index.getApplicableRules(""));
+        assertEquals(Collections.singletonList(ruleDefault), index.getApplicableRules(null));
+
+        assertFalse(index.isOtherOrigin("appA"));
+        assertTrue(index.isOtherOrigin("appC"));
+        assertFalse(index.isOtherOrigin(""));
+    }
+
+    @Test
+    public void testClusterRulesAlwaysApplicable() {
+        FlowRule ruleA = newRule("appA", 1);
+        FlowRule clusterRule = newRule("appB", 2);
+        clusterRule.setClusterMode(true);
+        List<FlowRule> rules = Arrays.asList(ruleA, clusterRule);
+        FlowRuleIndex index = new FlowRuleIndex(rules);
+
+        assertSame(rules, index.getApplicableRules("appA"));
+        assertEquals(Collections.singletonList(clusterRule), index.getApplicableRules("appB"));
+        assertEquals(Collections.singletonList(clusterRule), index.getApplicableRules("appC"));
+        assertEquals(Collections.singletonList(clusterRule), index.getApplicableRules(null));
+    }
+
+    @Test
+    public void testManagerIndexesLoadedRules() {
+        FlowRule ruleA = newRule("appA", 1);
+        FlowRule ruleOther = newRule(RuleConstant.LIMIT_APP_OTHER, 3);
+        FlowRuleManager.loadRules(Arrays.asList(ruleA, ruleOther));
+
+        assertEquals(Collections.singletonList(ruleA), FlowRuleManager.getApplicableRules(RESOURCE_NAME, "appA"));
+        assertEquals(Collections.singletonList(ruleOther), FlowRuleManager.getApplicableRules(RESOURCE_NAME, "appB"));
+        assertTrue(FlowRuleManager.getApplicableRules(RESOURCE_NAME, null).isEmpty());
+        assertNull(FlowRuleManager.getApplicableRules("non-existing", "appA"));
+        assertFalse(FlowRuleManager.isOtherOrigin("appA", RESOURCE_NAME));
+        assertTrue(FlowRuleManager.isOtherOrigin("appB", RESOURCE_NAME));
+        assertTrue(FlowRuleManager.isSpecifiedOrigin("appA", RESOURCE_NAME));
+        assertFalse(FlowRuleManager.isSpecifiedOrigin("appB", RESOURCE_NAME));
+        assertFalse(FlowRuleManager.isSpecifiedOrigin(RuleConstant.LIMIT_APP_OTHER, RESOURCE_NAME));
+
+        FlowRuleManager.loadRules(Collections.singletonList(ruleOther));
+        assertTrue(FlowRuleManager.isOtherOrigin("appA", RESOURCE_NAME));
+        assertFalse(FlowRuleManager.isSpecifiedOrigin("appA", RESOURCE_NAME));
+        assertEquals(Collections.singletonList(ruleOther), FlowRuleManager.getApplicableRules(RESOURCE_NAME, "appA"));
+    }
+}
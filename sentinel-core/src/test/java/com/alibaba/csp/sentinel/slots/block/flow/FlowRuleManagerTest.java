@@ -15,14 +15,24 @@
  */
 package com.alibaba.csp.sentinel.slots.block.flow;
 
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.AdaptiveConcurrencyController;
+
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Weihua
@@ -76,4 +86,71 @@ public class FlowRuleManagerTest {
         }
         latchEnd.await(10, TimeUnit.SECONDS);
     }
+
+    @Test
+    public void testReloadRetainsUnchangedRules() {
+        String resourceA = "testReloadRetainsUnchangedRulesA";
+        String resourceB = "testReloadRetainsUnchangedRulesB";
+        FlowRuleManager.loadRules(Arrays.asList(newWarmUpRule(resourceA, 10), newWarmUpRule(resourceB, 10)));
+        List<FlowRule> rulesOfA = FlowRuleManager.getFlowRuleMap().get(resourceA);
+        TrafficShapingController raterOfA = rulesOfA.get(0).getRater();
+        TrafficShapingController raterOfB = FlowRuleManager.getFlowRuleMap().get(resourceB).get(0).getRater();
+
+        // Equal rule (as another instance) of resource A, while the rule of resource B has been changed.
+        FlowRuleManager.loadRules(Arrays.asList(newWarmUpRule(resourceA, 10), newWarmUpRule(resourceB, 20)));
+        assertSame(rulesOfA, FlowRuleManager.getFlowRuleMap().get(resourceA));
+        assertSame(raterOfA, FlowRuleManager.getFlowRuleMap().get(resourceA).get(0).getRater());
+        assertNotSame(raterOfB, FlowRuleManager.getFlowRuleMap().get(resourceB).get(0).getRater());
+
+        // Loaded rules with a new one appended (the same instances are loaded again).
+        raterOfB = FlowRuleManager.getFlowRuleMap().get(resourceB).get(0).getRater();
+        List<FlowRule> rules = FlowRuleManager.getRules();
+        rules.add(newWarmUpRule(resourceB, 30));
+        FlowRuleManager.loadRules(rules);
+        assertSame(rulesOfA, FlowRuleManager.getFlowRuleMap().get(resourceA));
+        assertSame(raterOfA, FlowRuleManager.getFlowRuleMap().get(resourceA).get(0).getRater());
+        assertEquals(2, FlowRuleManager.getFlowRuleMap().get(resourceB).size());
+        for (FlowRule rule : FlowRuleManager.getFlowRuleMap().get(resourceB)) {
+            if (rule.getCount() == 20) {
+                assertSame(raterOfB, rule.getRater());
+            } else {
+                assertNotSame(raterOfB, rule.getRater());
+            }
+        }
+
+        // Equal rules of the same resource are counted once.
+        FlowRuleManager.loadRules(Arrays.asList(newWarmUpRule(resourceA, 10), newWarmUpRule(resourceA, 10)));
+        assertEquals(1, FlowRuleManager.getFlowRuleMap().get(resourceA).size());
+        assertSame(raterOfA, FlowRuleManager.getFlowRuleMap().get(resourceA).get(0).getRater());
+
+        FlowRuleManager.loadRules(new ArrayList<FlowRule>());
+        assertNull(FlowRuleManager.getFlowRuleMap().get(resourceA));
+    }
+
+    @Test
+    public void testAdaptiveConcurrencyRule() {
+        FlowRule rule = new FlowRule("testAdaptiveConcurrencyRule")
+            .setGrade(RuleConstant.FLOW_GRADE_THREAD)
+            .setCount(10)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_ADAPTIVE_CONCURRENCY)
+            .setMinConcurrencyLimit(2)
+            .setMaxConcurrencyLimit(50);
+        assertTrue(FlowRuleUtil.isValidRule(rule));
+        FlowRuleManager.loadRules(Collections.singletonList(rule));
+        TrafficShapingController rater = FlowRuleManager.getFlowRuleMap().get(rule.getResource()).get(0).getRater();
+        assertTrue(rater instanceof AdaptiveConcurrencyController);
+        assertEquals(10, ((AdaptiveConcurrencyController)rater).getLimit());
+
+        assertFalse(FlowRuleUtil.isValidRule(rule.setMaxConcurrencyLimit(1)));
+        assertFalse(FlowRuleUtil.isValidRule(rule.setMaxConcurrencyLimit(50).setGrade(RuleConstant.FLOW_GRADE_QPS)));
+
+        FlowRuleManager.loadRules(new ArrayList<FlowRule>());
+    }
+
+    private FlowRule newWarmUpRule(String resource, double count) {
+        return new FlowRule(resource)
+            .setCount(count)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_WARM_UP)
+            .setWarmUpPeriodSec(10);
+    }
 }
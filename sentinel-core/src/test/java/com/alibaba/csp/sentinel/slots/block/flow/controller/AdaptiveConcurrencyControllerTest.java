@@ -0,0 +1,142 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AdaptiveConcurrencyControllerTest extends AbstractTimeBasedTest {
+
+    private void nextInterval(AdaptiveConcurrencyController controller, Node node) {
+        sleep((int)AdaptiveConcurrencyController.UPDATE_INTERVAL_MS);
+        controller.canPass(node, 1);
+    }
+
+    @Test
+    public void testRejectWhenLimitReached() {
+        setCurrentMillis(System.currentTimeMillis());
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(10, 1, 100);
+        Node node = mock(Node.class);
+
+        when(node.curThreadNum()).thenReturn(9);
+        assertTrue(controller.canPass(node, 1));
+        when(node.curThreadNum()).thenReturn(10);
+        assertFalse(controller.canPass(node, 1));
+    }
+
+    @Test
+    public void testLimitGrowsWithStableRt() {
+        setCurrentMillis(System.currentTimeMillis());
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(10, 1, 100);
+        Node node = mock(Node.class);
+        when(node.avgRt()).thenReturn(20d);
+
+        // Concurrency is far below the limit, so the limit should not grow.
+        when(node.curThreadNum()).thenReturn(2);
+        for (int i = 0; i < 10; i++) {
+            nextInterval(controller, node);
+        }
+        assertEquals(10, controller.getLimit());
+
+        // Saturated with stable RT, the limit keeps growing until the upper bound.
+        int lastLimit = controller.getLimit();
+        for (int i = 0; i < 10; i++) {
+            when(node.curThreadNum()).thenReturn(controller.getLimit());
+            nextInterval(controller, node);
+            assertTrue(controller.getLimit() >= lastLimit);
+            lastLimit = controller.getLimit();
+        }
+        assertTrue(controller.getLimit() > 10);
+        for (int i = 0; i < 200; i++) {
+            when(node.curThreadNum()).thenReturn(controller.getLimit());
+            nextInterval(controller, node);
+        }
+        assertEquals(100, controller.getLimit());
+    }
+
+    @Test
+    public void testLimitShrinksWhenRtGrows() {
+        setCurrentMillis(System.currentTimeMillis());
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(50, 5, 100);
+        Node node = mock(Node.class);
+        when(node.curThreadNum()).thenReturn(50);
+
+        when(node.avgRt()).thenReturn(20d);
+        for (int i = 0; i < 5; i++) {
+            nextInterval(controller, node);
+        }
+        int limit = controller.getLimit();
+
+        // Requests start queueing in the downstream.
+        when(node.avgRt()).thenReturn(80d);
+        for (int i = 0; i < 5; i++) {
+            when(node.curThreadNum()).thenReturn(controller.getLimit());
+            nextInterval(controller, node);
+        }
+        assertTrue(controller.getLimit() < limit);
+        for (int i = 0; i < 100; i++) {
+            when(node.curThreadNum()).thenReturn(controller.getLimit());
+            nextInterval(controller, node);
+        }
+        assertTrue(controller.getLimit() >= 5);
+    }
+
+    @Test
+    public void testProbeBaselineRtUnderSustainedLoad() {
+        setCurrentMillis(System.currentTimeMillis());
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(20, 2, 100);
+        Node node = mock(Node.class);
+        when(node.curThreadNum()).thenReturn(20);
+        when(node.avgRt()).thenReturn(20d);
+        nextInterval(controller, node);
+
+        // The downstream has become slower (without queueing), so the limit keeps shrinking.
+        when(node.avgRt()).thenReturn(50d);
+        for (int i = 1; i < AdaptiveConcurrencyController.PROBE_INTERVAL; i++) {
+            when(node.curThreadNum()).thenReturn(controller.getLimit());
+            nextInterval(controller, node);
+        }
+        int shrunkLimit = controller.getLimit();
+        assertTrue(shrunkLimit < 10);
+
+        // Probe the RT with half of the limit, then the new baseline RT is learnt and the limit grows again.
+        for (int i = 0; i < AdaptiveConcurrencyController.PROBE_UPDATES + 20; i++) {
+            when(node.curThreadNum()).thenReturn(controller.getLimit());
+            nextInterval(controller, node);
+        }
+        assertTrue(controller.getLimit() > shrunkLimit * 2);
+    }
+
+    @Test
+    public void testNoUpdateWithoutCompletedRequests() {
+        setCurrentMillis(System.currentTimeMillis());
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(10, 1, 100);
+        Node node = mock(Node.class);
+        when(node.curThreadNum()).thenReturn(10);
+        when(node.avgRt()).thenReturn(0d);
+
+        for (int i = 0; i < 10; i++) {
+            nextInterval(controller, node);
+        }
+        assertEquals(10, controller.getLimit());
+    }
+}
@@ -16,6 +16,7 @@
 package com.alibaba.csp.sentinel.slots.block.flow.controller;
 
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import com.alibaba.csp.sentinel.node.Node;
@@ -94,4 +95,33 @@ public class ThrottlingControllerTest {
             assertTrue(paceController.canPass(node, 0));
         }
     }
+
+    @Test
+    public void testTryReserveWithoutBlocking() {
+        ThrottlingController paceController = new ThrottlingController(500, 10d);
+        Node node = mock(Node.class);
+
+        long start = TimeUtil.currentTimeMillis();
+        long lastWaitTimeNs = -1;
+        for (int i = 0; i < 6; i++) {
+            long waitTimeNs = paceController.tryReserve(node, 1, false);
+            assertTrue(waitTimeNs >= 0);
+            assertTrue(waitTimeNs > lastWaitTimeNs);
+            lastWaitTimeNs = waitTimeNs;
+        }
+        // The slots are reserved (100 ms per request) but current thread is not blocked.
+        assertTrue(lastWaitTimeNs > TimeUnit.MILLISECONDS.toNanos(400));
+        assertTrue(TimeUtil.currentTimeMillis() - start < 400);
+        // The queueing time would exceed the timeout.
+        assertTrue(paceController.tryReserve(node, 1, false) < 0);
+    }
+
+    @Test
+    public void testTryReserveZeroThreshold() {
+        ThrottlingController paceController = new ThrottlingController(500, 0d);
+        Node node = mock(Node.class);
+
+        assertTrue(paceController.tryReserve(node, 1, false) < 0);
+        assertEquals(0, paceController.tryReserve(node, 0, false));
+    }
 }
@@ -15,11 +15,17 @@
  */
 package com.alibaba.csp.sentinel.slots.block.flow.controller;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Test;
 
 import com.alibaba.csp.sentinel.node.Node;
@@ -60,4 +66,46 @@ public class WarmUpControllerTest extends AbstractTimeBasedTest {
         when(node.passQps()).thenReturn(10d);
         assertFalse(warmupController.canPass(node, 1));
     }
+
+    @Test
+    public void testSyncTokenOncePerSecondConcurrently() throws Exception {
+        // warningToken = 50, maxToken = 100
+        final WarmUpController warmupController = new WarmUpController(10, 10, 3);
+        setCurrentMillis(1000 * 1000);
+
+        final Node node = mock(Node.class);
+        when(node.passQps()).thenReturn(0d);
+        when(node.previousPassQps()).thenReturn(0d);
+
+        // The bucket is full initially.
+        warmupController.canPass(node, 1);
+        assertEquals(100, warmupController.getStoredTokens());
+
+        sleepSecond(1);
+        when(node.previousPassQps()).thenReturn(10d);
+        int threadCount = 64;
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final CountDownLatch endLatch = new CountDownLatch(threadCount);
+        ExecutorService pool = Executors.newFixedThreadPool(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            pool.submit(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        startLatch.await();
+                        warmupController.canPass(node, 1);
+                    } catch (InterruptedException ignored) {
+                    } finally {
+                        endLatch.countDown();
+                    }
+                }
+            });
+        }
+        startLatch.countDown();
+        assertTrue(endLatch.await(10, TimeUnit.SECONDS));
+        pool.shutdownNow();
+
+        // The passed requests of previous second should be consumed exactly once.
+        assertEquals(90, warmupController.getStoredTokens());
+    }
 }
@@ -4,8 +4,11 @@ import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.node.StatisticNode;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.WarmUpRateLimiterController;
 
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -50,4 +53,25 @@ public class WarmUpRateLimiterControllerTest {
 
         assertFalse(controller.canPass(node, 1));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testTryReserveWithoutBlocking() {
+        WarmUpRateLimiterController controller = new WarmUpRateLimiterController(10, 10, 1000, 3);
+
+        Node node = mock(Node.class);
+
+        when(node.passQps()).thenReturn(100d);
+        when(node.previousPassQps()).thenReturn(100d);
+
+        assertEquals(0, controller.tryReserve(node, 1, false));
+
+        long start = System.currentTimeMillis();
+        long waitTimeNs = 0;
+        for (int i = 0; i < 5; i++) {
+            waitTimeNs = controller.tryReserve(node, 1, false);
+        }
+        // 100 ms per request.
+        assertEquals(500, TimeUnit.NANOSECONDS.toMillis(waitTimeNs), 20);
+        assertTrue(System.currentTimeMillis() - start < 100);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic;
+
+import com.alibaba.csp.sentinel.node.StatisticNode;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link StatisticSampler}.
+ */
+public class StatisticSamplerTest {
+
+    @After
+    public void tearDown() {
+        StatisticSampler.clearSampleIntervals();
+    }
+
+    @Test
+    public void testExactByDefault() {
+        assertEquals(1, StatisticSampler.getSampleInterval("abc"));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(1, StatisticSampler.nextSampleWeight("abc"));
+        }
+    }
+
+    @Test
+    public void testResourceSampleInterval() {
+        StatisticSampler.setGlobalSampleInterval(4);
+        StatisticSampler.setSampleInterval("hot", 16);
+        StatisticSampler.setSampleInterval("exact", 1);
+
+        assertEquals(16, StatisticSampler.getSampleInterval("hot"));
+        assertEquals(1, StatisticSampler.getSampleInterval("exact"));
+        assertEquals(4, StatisticSampler.getSampleInterval("other"));
+
+        StatisticSampler.removeSampleInterval("hot");
+        assertEquals(4, StatisticSampler.getSampleInterval("hot"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSampleInterval() {
+        StatisticSampler.setSampleInterval("abc", 0);
+    }
+
+    @Test
+    public void testSampleWeight() {
+        final int interval = 8;
+        final int n = 100000;
+        StatisticSampler.setSampleInterval("hot", interval);
+        long sampled = 0;
+        for (int i = 0; i < n; i++) {
+            int weight = StatisticSampler.nextSampleWeight("hot");
+            assertTrue(weight == 0 || weight == interval);
+            sampled += weight;
+        }
+        // Relative standard error: sqrt((N - 1) / n) = 0.84%, so 5% is far beyond the bound.
+        assertEquals(n, sampled, n * 0.05);
+    }
+
+    @Test
+    public void testSampledNodeStatistics() {
+        final int interval = 16;
+        final int n = 50000;
+        StatisticNode node = new StatisticNode();
+        StatisticSampler.setSampleInterval("hot", interval);
+        for (int i = 0; i < n; i++) {
+            node.addPassRequest(1);
+            int weight = StatisticSampler.nextSampleWeight("hot");
+            if (weight > 0) {
+                node.addRtAndSuccess(10, 1, weight);
+            }
+        }
+
+        // Pass count is always exact.
+        assertEquals(n, node.totalPass());
+        // Relative standard error: sqrt((N - 1) / n) = 1.7%.
+        assertEquals(n, node.totalSuccess(), n * 0.1);
+        assertEquals(10, node.avgRt(), 0.01);
+        assertEquals(10, node.minRt(), 0.01);
+    }
+}
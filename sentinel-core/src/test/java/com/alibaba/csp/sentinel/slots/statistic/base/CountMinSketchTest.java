@@ -0,0 +1,84 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.base;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link CountMinSketch}.
+ */
+public class CountMinSketchTest {
+
+    @Test
+    public void testEstimate() {
+        CountMinSketch sketch = new CountMinSketch(1000);
+        assertEquals(1024, sketch.getWidth());
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("key-" + i, 1);
+        }
+        assertEquals(101, sketch.add("hot", 101));
+        assertEquals(0, sketch.estimateHash(Long.MAX_VALUE), 2);
+
+        int exact = 0;
+        for (int i = 0; i < 1000; i++) {
+            long estimate = sketch.estimate("key-" + i);
+            // Never underestimates.
+            assertTrue(estimate >= 1);
+            if (estimate == 1) {
+                exact++;
+            }
+        }
+        assertTrue("too many collisions: " + exact, exact > 900);
+        assertEquals(101, sketch.estimate("hot"));
+    }
+
+    @Test
+    public void testAddConservatively() {
+        CountMinSketch sketch = new CountMinSketch(64);
+        for (int i = 0; i < 1000; i++) {
+            sketch.addHashConservatively(i, 1);
+        }
+        assertEquals(sketch.estimateHash(5000L), sketch.addHashConservatively(5000L, 0));
+        long total = 0;
+        for (int i = 0; i < 1000; i++) {
+            long estimate = sketch.estimateHash(i);
+            assertTrue(estimate >= 1);
+            total += estimate;
+        }
+        CountMinSketch plain = new CountMinSketch(64);
+        long plainTotal = 0;
+        for (int i = 0; i < 1000; i++) {
+            plain.addHash(i, 1);
+        }
+        for (int i = 0; i < 1000; i++) {
+            plainTotal += plain.estimateHash(i);
+        }
+        // Conservative update never overestimates more than the plain update.
+        assertTrue(total <= plainTotal);
+    }
+
+    @Test
+    public void testHalveAndClear() {
+        CountMinSketch sketch = new CountMinSketch(64);
+        sketch.addHash(42L, 10);
+        sketch.halve();
+        assertEquals(5, sketch.estimateHash(42L));
+        sketch.clear();
+        assertEquals(0, sketch.estimateHash(42L));
+    }
+}
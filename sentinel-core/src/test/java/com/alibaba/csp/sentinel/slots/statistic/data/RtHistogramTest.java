@@ -0,0 +1,85 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for {@link RtHistogram}.
+ */
+public class RtHistogramTest {
+
+    @Test
+    public void testBucketIndex() {
+        for (long v = 0; v <= 100000; v++) {
+            int idx = RtHistogram.indexOf(v);
+            long highest = RtHistogram.highestValueOf(idx);
+            assertTrue(highest >= v);
+            // The relative error is at most 1/16.
+            assertTrue(highest - v <= v / 16);
+            if (v > 0) {
+                assertTrue(RtHistogram.indexOf(v - 1) <= idx);
+            }
+        }
+        assertEquals(147, RtHistogram.indexOf(5000));
+    }
+
+    @Test
+    public void testValueAtPercentile() {
+        RtHistogram histogram = new RtHistogram(5000);
+        assertEquals(0, RtHistogram.valueAtPercentile(Collections.singletonList(histogram), 99));
+        for (int rt = 1; rt <= 1000; rt++) {
+            histogram.record(rt);
+        }
+        assertEquals(1000, histogram.totalCount());
+        assertApproximate(500, RtHistogram.valueAtPercentile(Collections.singletonList(histogram), 50));
+        assertApproximate(900, RtHistogram.valueAtPercentile(Collections.singletonList(histogram), 90));
+        assertApproximate(990, RtHistogram.valueAtPercentile(Collections.singletonList(histogram), 99));
+        assertApproximate(1000, RtHistogram.valueAtPercentile(Collections.singletonList(histogram), 99.9));
+
+        histogram.reset();
+        assertEquals(0, histogram.totalCount());
+        assertEquals(0, RtHistogram.valueAtPercentile(new ArrayList<RtHistogram>(), 99));
+    }
+
+    @Test
+    public void testMergeAndClamp() {
+        RtHistogram h1 = new RtHistogram(5000);
+        RtHistogram h2 = new RtHistogram(5000);
+        for (int i = 0; i < 98; i++) {
+            h1.record(10);
+        }
+        h2.record(20000);
+        h2.record(-1);
+
+        assertEquals(10, RtHistogram.valueAtPercentile(Arrays.asList(h1, h2), 90));
+        // Values greater than the max RT are recorded as the max RT.
+        assertEquals(5000, RtHistogram.valueAtPercentile(Arrays.asList(h1, h2), 100));
+        assertEquals(0, RtHistogram.valueAtPercentile(Collections.singletonList(h2), 50));
+    }
+
+    private void assertApproximate(long expected, long actual) {
+        assertTrue("expected ~" + expected + " but was " + actual,
+            actual >= expected && actual - expected <= expected / 16);
+    }
+}
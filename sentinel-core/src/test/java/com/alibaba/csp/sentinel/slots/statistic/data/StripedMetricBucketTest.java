@@ -0,0 +1,105 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.data;
+
+import java.util.concurrent.CountDownLatch;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test cases for {@link StripedMetricBucket}.
+ */
+public class StripedMetricBucketTest {
+
+    @Test
+    public void testAddAndReset() {
+        StripedMetricBucket bucket = new StripedMetricBucket();
+        bucket.addPass(3);
+        bucket.addBlock(1);
+        bucket.addSuccess(2);
+        bucket.addException(1);
+        bucket.addOccupiedPass(4);
+        bucket.addRT(20);
+        bucket.addRT(10);
+
+        assertEquals(3, bucket.pass());
+        assertEquals(1, bucket.block());
+        assertEquals(2, bucket.success());
+        assertEquals(1, bucket.exception());
+        assertEquals(4, bucket.occupiedPass());
+        assertEquals(30, bucket.rt());
+        assertEquals(10, bucket.minRt());
+
+        MetricBucket copy = new MetricBucket().reset(bucket);
+        assertEquals(3, copy.pass());
+        assertEquals(30, copy.rt());
+
+        bucket.reset();
+        for (MetricEvent event : MetricEvent.values()) {
+            assertEquals(0, bucket.get(event));
+        }
+        assertEquals(SentinelConfig.statisticMaxRt(), bucket.minRt());
+
+        bucket.reset(copy);
+        assertEquals(3, bucket.pass());
+        assertEquals(4, bucket.occupiedPass());
+    }
+
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        final StripedMetricBucket bucket = new StripedMetricBucket();
+        final int threadCount = 16;
+        final int addCount = 10000;
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        startLatch.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < addCount; j++) {
+                        bucket.addPass(1);
+                        bucket.addSuccess(2);
+                    }
+                    latch.countDown();
+                }
+            }).start();
+        }
+        startLatch.countDown();
+        latch.await();
+
+        assertEquals(threadCount * addCount, bucket.pass());
+        assertEquals(2L * threadCount * addCount, bucket.success());
+        assertEquals(0, bucket.block());
+    }
+
+    @Test
+    public void testStripeCount() {
+        assertEquals(1, StripedMetricBucket.stripeCount(1));
+        assertEquals(8, StripedMetricBucket.stripeCount(6));
+        assertEquals(16, StripedMetricBucket.stripeCount(16));
+        assertEquals(64, StripedMetricBucket.stripeCount(200));
+    }
+}
@@ -146,6 +146,44 @@ public class BucketLeapArrayTest {
         assertEquals(nThreads, leapArray.currentWindow(time).value().pass());
     }
 
+    @Test
+    public void testMultiThreadRotateDeprecatedWindow() throws Exception {
+        final long time = TimeUtil.currentTimeMillis();
+        final long nextTime = time + intervalInMs;
+        final int nThreads = 32;
+        final BucketLeapArray leapArray = new BucketLeapArray(sampleCount, intervalInMs);
+        final WindowWrap<MetricBucket> deprecated = leapArray.currentWindow(time);
+        deprecated.value().addPass(1);
+
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final CountDownLatch latch = new CountDownLatch(nThreads);
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                leapArray.currentWindow(nextTime).value().addPass(1);
+                latch.countDown();
+            }
+        };
+        for (int i = 0; i < nThreads; i++) {
+            new Thread(task).start();
+        }
+        startLatch.countDown();
+        latch.await();
+
+        WindowWrap<MetricBucket> window = leapArray.currentWindow(nextTime);
+        assertNotSame(deprecated, window);
+        assertEquals(nextTime - nextTime % windowLengthInMs, window.windowStart());
+        assertEquals(nThreads, window.value().pass());
+        // The deprecated bucket won't be modified.
+        assertEquals(time - time % windowLengthInMs, deprecated.windowStart());
+        assertEquals(1, deprecated.value().pass());
+    }
+
     @Test
     public void testGetPreviousWindow() {
         BucketLeapArray leapArray = new BucketLeapArray(sampleCount, intervalInMs);
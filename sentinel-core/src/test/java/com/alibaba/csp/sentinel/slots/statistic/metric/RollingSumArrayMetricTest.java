@@ -0,0 +1,111 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.metric;
+
+import java.util.Random;
+
+import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test cases for {@link RollingSumArrayMetric}.
+ */
+public class RollingSumArrayMetricTest extends AbstractTimeBasedTest {
+
+    private final int sampleCount = 10;
+    private final int intervalInMs = 1000;
+
+    @Test
+    public void testRollingSumsAcrossWindows() {
+        setCurrentMillis(10000);
+        RollingSumArrayMetric metric = new RollingSumArrayMetric(sampleCount, intervalInMs);
+
+        metric.addPass(1);
+        metric.addRT(20);
+        assertEquals(1, metric.pass());
+        assertEquals(20, metric.minRt());
+
+        sleep(100);
+        metric.addPass(2);
+        metric.addBlock(1);
+        metric.addRT(10);
+        assertEquals(3, metric.pass());
+        assertEquals(1, metric.block());
+        assertEquals(30, metric.rt());
+        assertEquals(10, metric.minRt());
+
+        // Updates of the current bucket should be reflected immediately.
+        metric.addPass(3);
+        assertEquals(6, metric.pass());
+        assertEquals(6, metric.getSum(MetricEvent.PASS));
+
+        // The first bucket expires.
+        sleep(intervalInMs - 100);
+        assertEquals(5, metric.pass());
+        assertEquals(10, metric.minRt());
+
+        // All buckets expire.
+        sleep(intervalInMs);
+        assertEquals(0, metric.pass());
+        assertEquals(0, metric.block());
+        assertEquals(1, metric.maxSuccess());
+    }
+
+    @Test
+    public void testConsistentWithArrayMetric() {
+        setCurrentMillis(20000);
+        ArrayMetric expected = new ArrayMetric(sampleCount, intervalInMs, false);
+        RollingSumArrayMetric actual = new RollingSumArrayMetric(sampleCount, intervalInMs, false);
+        Random random = new Random(7);
+
+        for (int i = 0; i < 2000; i++) {
+            int count = random.nextInt(5) + 1;
+            switch (random.nextInt(4)) {
+                case 0:
+                    expected.addPass(count);
+                    actual.addPass(count);
+                    break;
+                case 1:
+                    expected.addBlock(count);
+                    actual.addBlock(count);
+                    break;
+                case 2:
+                    expected.addSuccess(count);
+                    actual.addSuccess(count);
+                    expected.addRT(count * 10);
+                    actual.addRT(count * 10);
+                    break;
+                default:
+                    expected.addException(count);
+                    actual.addException(count);
+                    break;
+            }
+            sleep(random.nextInt(i % 100 == 0 ? 1500 : 60));
+
+            assertEquals(expected.pass(), actual.pass());
+            assertEquals(expected.block(), actual.block());
+            assertEquals(expected.success(), actual.success());
+            assertEquals(expected.exception(), actual.exception());
+            assertEquals(expected.rt(), actual.rt());
+            assertEquals(expected.maxSuccess(), actual.maxSuccess());
+            assertEquals(expected.minRt(), actual.minRt());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link CgroupSystemMetricsSource} with fake cgroup file systems.
+ */
+public class CgroupSystemMetricsSourceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCgroupPathOf() {
+        List<String> cgroups = Arrays.asList("12:memory:/docker/abc", "4:cpu,cpuacct:/docker/abc",
+            "1:name=systemd:/docker/abc", "0::/kubepods/pod1");
+        assertEquals("/docker/abc", CgroupSystemMetricsSource.cgroupPathOf(cgroups, "cpu"));
+        assertEquals("/docker/abc", CgroupSystemMetricsSource.cgroupPathOf(cgroups, "cpuacct"));
+        assertEquals("/docker/abc", CgroupSystemMetricsSource.cgroupPathOf(cgroups, "memory"));
+        assertEquals("/kubepods/pod1", CgroupSystemMetricsSource.cgroupPathOf(cgroups, ""));
+        assertNull(CgroupSystemMetricsSource.cgroupPathOf(cgroups, "blkio"));
+    }
+
+    @Test
+    public void testCgroupV1() throws Exception {
+        Path root = folder.newFolder("cgroup").toPath();
+        Path proc = folder.newFolder("proc").toPath();
+        write(proc.resolve("self/cgroup"), "4:cpu,cpuacct:/docker/abc\n3:memory:/docker/abc");
+        Path cpu = root.resolve("cpu,cpuacct/docker/abc");
+        write(cpu.resolve("cpuacct.usage"), "1000000000");
+        write(cpu.resolve("cpu.cfs_quota_us"), "200000");
+        write(cpu.resolve("cpu.cfs_period_us"), "100000");
+        Path memory = root.resolve("memory/docker/abc");
+        write(memory.resolve("memory.limit_in_bytes"), "1000");
+        write(memory.resolve("memory.usage_in_bytes"), "250");
+        write(proc.resolve("pressure/cpu"), "some avg10=12.50 avg60=1.00 avg300=0.00 total=100\n"
+            + "full avg10=0.00 avg60=0.00 avg300=0.00 total=0");
+
+        CgroupSystemMetricsSource source = new CgroupSystemMetricsSource(root, proc, 8);
+        assertTrue(source.hasLimits());
+        assertEquals(1000000000L, source.readCpuUsageNanos());
+        assertEquals(2.0, source.readCpuQuotaCores(), 0.001);
+        assertEquals(1000, source.readMemoryLimit());
+        // The host-wide PSI is not regarded as the pressure of the cgroup.
+        assertEquals(-1, source.readPressure("cpu"), 0.0001);
+        assertEquals(-1, source.readPressure("memory"), 0.0001);
+
+        source.refresh();
+        // No CPU usage until the second sampling.
+        assertEquals(-1, source.getCpuUsage(), 0.0001);
+        assertEquals(0.25, source.getMemoryUsage(), 0.0001);
+        assertEquals(-1, source.getCpuPressure(), 0.0001);
+
+        write(cpu.resolve("cpuacct.usage"), "2000000000");
+        source.refresh();
+        double cpuUsage = source.getCpuUsage();
+        assertTrue(cpuUsage > 0 && cpuUsage <= 1);
+        // Load is the busy cores of the cgroup only, without the CPU pressure stall.
+        assertTrue(source.getSystemLoad() >= cpuUsage * 2 - 0.001);
+    }
+
+    @Test
+    public void testCgroupV1Unlimited() throws Exception {
+        Path root = folder.newFolder("cgroup").toPath();
+        Path proc = folder.newFolder("proc").toPath();
+        write(proc.resolve("self/cgroup"), "4:cpuacct:/\n3:cpu:/\n2:memory:/");
+        write(root.resolve("cpuacct/cpuacct.usage"), "1000");
+        write(root.resolve("cpu/cpu.cfs_quota_us"), "-1");
+        write(root.resolve("cpu/cpu.cfs_period_us"), "100000");
+        write(root.resolve("memory/memory.limit_in_bytes"), "9223372036854771712");
+
+        CgroupSystemMetricsSource source = new CgroupSystemMetricsSource(root, proc, 4);
+        assertFalse(source.hasLimits());
+        assertEquals(-1, source.readCpuQuotaCores(), 0.001);
+        assertEquals(-1, source.readMemoryLimit());
+    }
+
+    @Test
+    public void testCgroupV2() throws Exception {
+        Path root = folder.newFolder("cgroup").toPath();
+        Path proc = folder.newFolder("proc").toPath();
+        write(proc.resolve("self/cgroup"), "0::/kubepods/pod1");
+        write(root.resolve("cgroup.controllers"), "cpu memory");
+        Path dir = root.resolve("kubepods/pod1");
+        write(dir.resolve("cpu.stat"), "usage_usec 5000\nuser_usec 3000\nsystem_usec 2000");
+        write(dir.resolve("cpu.max"), "50000 100000");
+        write(dir.resolve("memory.max"), "max");
+        write(dir.resolve("memory.current"), "100");
+        write(dir.resolve("memory.pressure"), "some avg10=5.00 avg60=0.00 avg300=0.00 total=1");
+
+        CgroupSystemMetricsSource source = new CgroupSystemMetricsSource(root, proc, 4);
+        assertTrue(source.hasLimits());
+        assertEquals(5000000L, source.readCpuUsageNanos());
+        assertEquals(0.5, source.readCpuQuotaCores(), 0.001);
+        assertEquals(-1, source.readMemoryLimit());
+        assertEquals(0.05, source.readPressure("memory"), 0.0001);
+
+        source.refresh();
+        assertEquals(-1, source.getMemoryUsage(), 0.0001);
+        assertEquals(0.05, source.getMemoryPressure(), 0.0001);
+    }
+
+    @Test(expected = IOException.class)
+    public void testCpuUsageNotAvailable() throws Exception {
+        Path root = folder.newFolder("cgroup").toPath();
+        Path proc = folder.newFolder("proc").toPath();
+        write(proc.resolve("self/cgroup"), "0::/");
+        write(root.resolve("cgroup.controllers"), "memory");
+        new CgroupSystemMetricsSource(root, proc, 4);
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        File parent = file.getParent().toFile();
+        if (!parent.exists()) {
+            assertTrue(parent.mkdirs());
+        }
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
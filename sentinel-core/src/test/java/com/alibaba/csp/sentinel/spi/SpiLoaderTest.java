@@ -22,6 +22,7 @@ import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.SlotChainBuilder;
 import com.alibaba.csp.sentinel.slots.DefaultSlotChainBuilder;
 import com.alibaba.csp.sentinel.slots.block.authority.AuthoritySlot;
+import com.alibaba.csp.sentinel.slots.block.codel.CodelSlot;
 import com.alibaba.csp.sentinel.slots.block.degrade.DefaultCircuitBreakerSlot;
 import com.alibaba.csp.sentinel.slots.block.degrade.DegradeSlot;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowSlot;
@@ -96,18 +97,19 @@ public class SpiLoaderTest {
         List<ProcessorSlot> slots2 = spiLoader.loadInstanceList();
         assertNotSame(slots1, slots2);
 
-        List<Class<? extends ProcessorSlot>> prototypeSlotClasses = new ArrayList<>(2);
+        List<Class<? extends ProcessorSlot>> prototypeSlotClasses = new ArrayList<>(10);
         prototypeSlotClasses.add(NodeSelectorSlot.class);
         prototypeSlotClasses.add(ClusterBuilderSlot.class);
+        prototypeSlotClasses.add(LogSlot.class);
+        prototypeSlotClasses.add(StatisticSlot.class);
+        prototypeSlotClasses.add(AuthoritySlot.class);
+        prototypeSlotClasses.add(CodelSlot.class);
+        prototypeSlotClasses.add(SystemSlot.class);
+        prototypeSlotClasses.add(FlowSlot.class);
+        prototypeSlotClasses.add(DegradeSlot.class);
+        prototypeSlotClasses.add(DefaultCircuitBreakerSlot.class);
 
-        List<Class<? extends ProcessorSlot>> singletonSlotClasses = new ArrayList<>(7);
-        singletonSlotClasses.add(LogSlot.class);
-        singletonSlotClasses.add(StatisticSlot.class);
-        singletonSlotClasses.add(AuthoritySlot.class);
-        singletonSlotClasses.add(SystemSlot.class);
-        singletonSlotClasses.add(FlowSlot.class);
-        singletonSlotClasses.add(DegradeSlot.class);
-        singletonSlotClasses.add(DefaultCircuitBreakerSlot.class);
+        List<Class<? extends ProcessorSlot>> singletonSlotClasses = new ArrayList<>(0);
 
         for (int i = 0; i < slots1.size(); i++) {
             ProcessorSlot slot1 = slots1.get(i);
@@ -150,8 +152,8 @@ public class SpiLoaderTest {
         List<ProcessorSlot> sortedSlots = SpiLoader.of(ProcessorSlot.class).loadInstanceListSorted();
         assertNotNull(sortedSlots);
 
-        // Total 8 default slot in sentinel-core
-        assertEquals(9, sortedSlots.size());
+        // Total 10 default slot in sentinel-core
+        assertEquals(10, sortedSlots.size());
 
         // Verify the order of slot
         int index = 0;
@@ -160,6 +162,7 @@ public class SpiLoaderTest {
         assertTrue(sortedSlots.get(index++) instanceof LogSlot);
         assertTrue(sortedSlots.get(index++) instanceof StatisticSlot);
         assertTrue(sortedSlots.get(index++) instanceof AuthoritySlot);
+        assertTrue(sortedSlots.get(index++) instanceof CodelSlot);
         assertTrue(sortedSlots.get(index++) instanceof SystemSlot);
         assertTrue(sortedSlots.get(index++) instanceof FlowSlot);
         assertTrue(sortedSlots.get(index++) instanceof DefaultCircuitBreakerSlot);
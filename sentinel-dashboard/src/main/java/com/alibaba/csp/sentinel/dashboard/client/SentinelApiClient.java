@@ -60,6 +60,7 @@ import com.alibaba.csp.sentinel.dashboard.domain.cluster.state.ClusterStateSimpl
 import com.alibaba.csp.sentinel.dashboard.domain.cluster.config.ClusterClientConfig;
 import com.alibaba.csp.sentinel.dashboard.domain.cluster.config.ServerFlowConfig;
 import com.alibaba.csp.sentinel.dashboard.domain.cluster.config.ServerTransportConfig;
+import com.alibaba.csp.sentinel.dashboard.domain.vo.HotParamValueVo;
 import com.alibaba.csp.sentinel.dashboard.util.VersionUtils;
 
 import org.apache.http.Consts;
@@ -104,6 +105,7 @@ public class SentinelApiClient {
     private static final String SET_RULES_PATH = "setRules";
     private static final String GET_PARAM_RULE_PATH = "getParamFlowRules";
     private static final String SET_PARAM_RULE_PATH = "setParamFlowRules";
+    private static final String TOP_PARAM_VALUES_PATH = "topParams";
 
     private static final String FETCH_CLUSTER_MODE_PATH = "getClusterMode";
     private static final String MODIFY_CLUSTER_MODE_PATH = "setClusterMode";
@@ -521,6 +523,36 @@ public class SentinelApiClient {
         }
     }
 
+    /**
+     * Fetch the hot values of a parameter of the resource in the recent second from provided machine.
+     *
+     * @param ip       machine client IP
+     * @param port     machine client port
+     * @param resource resource name
+     * @param paramIdx index of the parameter
+     * @param n        max amount of values
+     * @return the hot values in descending order of the total QPS
+     * @since 2.0.0
+     */
+    public CompletableFuture<List<HotParamValueVo>> fetchTopParamValuesOfMachine(String ip, int port,
+                                                                                  String resource, int paramIdx,
+                                                                                  int n) {
+        try {
+            AssertUtil.notEmpty(ip, "Bad machine IP");
+            AssertUtil.isTrue(port > 0, "Bad machine port");
+            AssertUtil.notEmpty(resource, "Bad resource name");
+            Map<String, String> params = new HashMap<>(3);
+            params.put("resource", resource);
+            params.put("paramIdx", String.valueOf(paramIdx));
+            params.put("n", String.valueOf(n));
+            return executeCommand(ip, port, TOP_PARAM_VALUES_PATH, params, false)
+                .thenApply(json -> JSON.parseArray(json, HotParamValueVo.class));
+        } catch (Exception e) {
+            logger.error("Error when fetching top parameter values", e);
+            return AsyncUtils.newFailedFuture(e);
+        }
+    }
+
     /**
      * Fetch all authority rules from provided machine.
      *
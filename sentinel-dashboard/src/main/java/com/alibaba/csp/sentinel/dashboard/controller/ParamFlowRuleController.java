@@ -33,6 +33,7 @@ import com.alibaba.csp.sentinel.util.StringUtil;
 import com.alibaba.csp.sentinel.dashboard.datasource.entity.SentinelVersion;
 import com.alibaba.csp.sentinel.dashboard.datasource.entity.rule.ParamFlowRuleEntity;
 import com.alibaba.csp.sentinel.dashboard.domain.Result;
+import com.alibaba.csp.sentinel.dashboard.domain.vo.HotParamValueVo;
 import com.alibaba.csp.sentinel.dashboard.repository.rule.RuleRepository;
 import com.alibaba.csp.sentinel.dashboard.util.VersionUtils;
 
@@ -117,6 +118,51 @@ public class ParamFlowRuleController {
         }
     }
 
+    @GetMapping("/topValues")
+    @AuthAction(PrivilegeType.READ_METRIC)
+    public Result<List<HotParamValueVo>> apiQueryTopValues(@RequestParam String app,
+                                                           @RequestParam String ip,
+                                                           @RequestParam Integer port,
+                                                           @RequestParam String resource,
+                                                           @RequestParam Integer paramIdx,
+                                                           @RequestParam(defaultValue = "10") Integer n) {
+        if (StringUtil.isEmpty(app)) {
+            return Result.ofFail(-1, "app cannot be null or empty");
+        }
+        if (StringUtil.isEmpty(ip)) {
+            return Result.ofFail(-1, "ip cannot be null or empty");
+        }
+        if (port == null || port <= 0) {
+            return Result.ofFail(-1, "Invalid parameter: port");
+        }
+        if (StringUtil.isEmpty(resource)) {
+            return Result.ofFail(-1, "resource cannot be null or empty");
+        }
+        if (paramIdx == null || paramIdx < 0) {
+            return Result.ofFail(-1, "Invalid parameter: paramIdx");
+        }
+        if (n == null || n <= 0) {
+            return Result.ofFail(-1, "Invalid parameter: n");
+        }
+        if (!appManagement.isValidMachineOfApp(app, ip)) {
+            return Result.ofFail(-1, "given ip does not belong to given app");
+        }
+        try {
+            return Result.ofSuccess(sentinelApiClient.fetchTopParamValuesOfMachine(ip, port, resource, paramIdx, n)
+                .get());
+        } catch (ExecutionException ex) {
+            logger.error("Error when querying top parameter values", ex.getCause());
+            if (isNotSupported(ex.getCause())) {
+                return unsupportedVersion();
+            } else {
+                return Result.ofThrowable(-1, ex.getCause());
+            }
+        } catch (Throwable throwable) {
+            logger.error("Error when querying top parameter values", throwable);
+            return Result.ofFail(-1, throwable.getMessage());
+        }
+    }
+
     private boolean isNotSupported(Throwable ex) {
         return ex instanceof CommandNotFoundException;
     }
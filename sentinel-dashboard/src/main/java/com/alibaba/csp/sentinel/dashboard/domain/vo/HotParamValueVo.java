@@ -0,0 +1,61 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.dashboard.domain.vo;
+
+/**
+ * Hot value of a parameter and its QPS in the recent second.
+ *
+ * @since 2.0.0
+ */
+public class HotParamValueVo {
+
+    private String value;
+    private Long passQps;
+    private Long blockQps;
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public Long getPassQps() {
+        return passQps;
+    }
+
+    public void setPassQps(Long passQps) {
+        this.passQps = passQps;
+    }
+
+    public Long getBlockQps() {
+        return blockQps;
+    }
+
+    public void setBlockQps(Long blockQps) {
+        this.blockQps = blockQps;
+    }
+
+    @Override
+    public String toString() {
+        return "HotParamValueVo{" +
+            "value='" + value + '\'' +
+            ", passQps=" + passQps +
+            ", blockQps=" + blockQps +
+            '}';
+    }
+}
@@ -284,6 +284,39 @@ angular.module('sentinelDashboardApp').controller('ParamFlowController', ['$scop
       });
     };
 
+    $scope.showTopValues = function (ruleEntity) {
+      $scope.topValuesDialog = {
+        resource: ruleEntity.rule.resource,
+        paramIdx: ruleEntity.rule.paramIdx,
+        values: []
+      };
+      $scope.refreshTopValues();
+      ngDialog.open({
+        template: '/app/views/dialog/param-top-values-dialog.html',
+        width: 680,
+        overlay: true,
+        scope: $scope
+      });
+    };
+
+    $scope.refreshTopValues = function () {
+      let mac = $scope.macInputModel.split(':');
+      let dialog = $scope.topValuesDialog;
+      ParamFlowService.queryTopValues($scope.app, mac[0], mac[1], dialog.resource, dialog.paramIdx)
+        .success(function (data) {
+          if (data.code === 0 && data.data) {
+            dialog.loadError = undefined;
+            dialog.values = data.data;
+          } else {
+            dialog.values = [];
+            dialog.loadError = {message: data.msg};
+          }
+        })
+        .error((data, header, config, status) => {
+          dialog.loadError = {message: "未知错误"};
+        });
+    };
+
     $scope.confirm = function () {
       if ($scope.confirmDialog.type === 'delete_rule') {
         deleteRuleAndPush($scope.currentRule);
@@ -40,6 +40,21 @@ angular.module('sentinelDashboardApp').service('ParamFlowService', ['$http', fun
     });
   };
 
+  this.queryTopValues = function (app, ip, port, resource, paramIdx) {
+    var param = {
+      app: app,
+      ip: ip,
+      port: port,
+      resource: resource,
+      paramIdx: paramIdx
+    };
+    return $http({
+      url: '/paramFlow/topValues',
+      params: param,
+      method: 'GET'
+    });
+  };
+
     function isNumberClass(classType) {
         return classType === 'int' || classType === 'double' ||
             classType === 'float' || classType === 'long' || classType === 'short';
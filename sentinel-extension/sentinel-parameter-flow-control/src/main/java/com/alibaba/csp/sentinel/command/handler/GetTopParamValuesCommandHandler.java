@@ -0,0 +1,115 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.command.handler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.alibaba.csp.sentinel.command.CommandHandler;
+import com.alibaba.csp.sentinel.command.CommandRequest;
+import com.alibaba.csp.sentinel.command.CommandResponse;
+import com.alibaba.csp.sentinel.command.annotation.CommandMapping;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParameterMetric;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParameterMetricStorage;
+import com.alibaba.csp.sentinel.slots.block.flow.param.RollingParamEvent;
+import com.alibaba.csp.sentinel.slots.statistic.data.HotParamCounter;
+import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+
+/**
+ * Get the hot values of a parameter in the recent second, in descending order of the total QPS.
+ *
+ * @since 2.0.0
+ */
+@CommandMapping(name = "topParams",
+    desc = "Get the hot values of a parameter, request param: resource={resourceName}&paramIdx={index}&n={amount}")
+public class GetTopParamValuesCommandHandler implements CommandHandler<String> {
+
+    private static final int DEFAULT_N = 10;
+
+    @Override
+    public CommandResponse<String> handle(CommandRequest request) {
+        String resource = request.getParam("resource");
+        if (StringUtil.isBlank(resource)) {
+            return CommandResponse.ofFailure(new IllegalArgumentException("Invalid parameter: empty resource name"));
+        }
+        int paramIdx;
+        int n;
+        try {
+            paramIdx = Integer.parseInt(request.getParam("paramIdx"));
+            String amount = request.getParam("n");
+            n = StringUtil.isBlank(amount) ? DEFAULT_N : Integer.parseInt(amount);
+        } catch (NumberFormatException ex) {
+            return CommandResponse.ofFailure(new IllegalArgumentException("Invalid parameter: paramIdx or n"));
+        }
+        if (paramIdx < 0 || n <= 0) {
+            return CommandResponse.ofFailure(new IllegalArgumentException("Invalid parameter: paramIdx or n"));
+        }
+        if (!ParameterMetric.isHotValueEnabled()) {
+            return CommandResponse.ofFailure(new IllegalStateException(
+                "Hot values are not recorded, please enable " + ParameterMetric.HOT_VALUE_ENABLED_KEY));
+        }
+        ParameterMetric metric = ParameterMetricStorage.getParamMetricForResource(resource);
+        if (metric == null) {
+            return CommandResponse.ofSuccess("[]");
+        }
+        return CommandResponse.ofSuccess(JSON.toJSONString(topValues(metric, paramIdx, n)));
+    }
+
+    static List<JSONObject> topValues(ParameterMetric metric, int paramIdx, int n) {
+        // Only the tracked values (at most K per event) are merged, so it never scans the parameter caches.
+        Map<Object, Long> passed = metric.getTopValues(RollingParamEvent.REQUEST_PASSED, paramIdx,
+            HotParamCounter.DEFAULT_TOP_K);
+        Map<Object, Long> blocked = metric.getTopValues(RollingParamEvent.REQUEST_BLOCKED, paramIdx,
+            HotParamCounter.DEFAULT_TOP_K);
+        Map<Object, JSONObject> merged = new LinkedHashMap<>();
+        for (Map.Entry<Object, Long> e : passed.entrySet()) {
+            getOrCreate(merged, e.getKey()).put("passQps", e.getValue());
+        }
+        for (Map.Entry<Object, Long> e : blocked.entrySet()) {
+            getOrCreate(merged, e.getKey()).put("blockQps", e.getValue());
+        }
+        List<JSONObject> list = new ArrayList<>(merged.values());
+        Collections.sort(list, new Comparator<JSONObject>() {
+            @Override
+            public int compare(JSONObject o1, JSONObject o2) {
+                return Long.compare(totalQps(o2), totalQps(o1));
+            }
+        });
+        return list.size() > n ? list.subList(0, n) : list;
+    }
+
+    private static JSONObject getOrCreate(Map<Object, JSONObject> merged, Object value) {
+        JSONObject item = merged.get(value);
+        if (item == null) {
+            item = new JSONObject(true);
+            item.put("value", String.valueOf(value));
+            item.put("passQps", 0L);
+            item.put("blockQps", 0L);
+            merged.put(value, item);
+        }
+        return item;
+    }
+
+    private static long totalQps(JSONObject item) {
+        return item.getLongValue("passQps") + item.getLongValue("blockQps");
+    }
+}
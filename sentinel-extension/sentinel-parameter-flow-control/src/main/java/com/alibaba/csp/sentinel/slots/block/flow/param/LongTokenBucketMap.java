@@ -0,0 +1,394 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.param;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.alibaba.csp.sentinel.util.AssertUtil;
+
+/**
+ * <p>Token buckets of {@code long} parameter values (e.g. IDs of {@code int} or {@code long} type) for
+ * a parameter flow rule, in a primitive open-addressing hash table without any allocation per value.</p>
+ * <p>The table is set-associative: each key is hashed to a set of {@link #WAYS} slots. If the set is full,
+ * the slot of the least recently accessed bucket (either passed or blocked) in the set is replaced. So the
+ * eviction is LRU within each set, which approximates the LRU map as long as the keys spread evenly over
+ * the sets.</p>
+ * <p>Each slot holds the key, the {@link PackedTokenBucket} and the last access time, and no lock is taken:
+ * the bucket is refilled and consumed in a single CAS. A slot is replaced by claiming its bucket word first,
+ * so that the concurrent updates of the former key fail and look up again.</p>
+ * <p>The table starts small and doubles when half of the slots are taken, until it reaches the capacity.
+ * The buckets are moved to the new table set by set, by the threads putting new values (like the transfer of
+ * {@link java.util.concurrent.ConcurrentHashMap}). The set of a new value is always moved before it's put.</p>
+ *
+ * @since 2.0.0
+ */
+final class LongTokenBucketMap {
+
+    static final int WAYS = 8;
+    static final int INITIAL_SETS = 16;
+    private static final int MAX_SETS = 1 << 20;
+    private static final int MOVE_CHUNK_SETS = 16;
+
+    /*
+     * Reserved bucket words, whose tokens are {@link PackedTokenBucket#MAX_TOKENS}. The buckets here never
+     * have so many tokens, as only the buckets with less max tokens are stored.
+     */
+    private static final long EMPTY = PackedTokenBucket.pack(0, PackedTokenBucket.MAX_TOKENS);
+    private static final long CLAIMED = PackedTokenBucket.pack(1, PackedTokenBucket.MAX_TOKENS);
+    private static final long MOVED = PackedTokenBucket.pack(2, PackedTokenBucket.MAX_TOKENS);
+
+    private static final int ABSENT = -1;
+    private static final int RETRY = -2;
+    private static final int MOVED_AWAY = -3;
+
+    private final int maxSets;
+    private final AtomicReference<Table> table;
+
+    LongTokenBucketMap(long capacity) {
+        AssertUtil.isTrue(capacity > 0, "capacity should be positive");
+        long expectedSets = (capacity + WAYS - 1) / WAYS;
+        int sets = 1;
+        while (sets < expectedSets && sets < MAX_SETS) {
+            sets <<= 1;
+        }
+        this.maxSets = sets;
+        this.table = new AtomicReference<>(new Table(Math.min(sets, INITIAL_SETS), null));
+    }
+
+    /**
+     * Try to consume the tokens of the value, with the same algorithm as
+     * {@link ParamFlowChecker#passDefaultLocalCheck}.
+     *
+     * @param value        the parameter value
+     * @param acquireCount count to acquire
+     * @param tokenCount   tokens added in a duration
+     * @param maxCount     max tokens of the bucket, less than {@link PackedTokenBucket#MAX_TOKENS}
+     * @param durationMs   duration of the statistic window
+     * @param currentTime  current time in milliseconds
+     * @return true if passed
+     */
+    boolean tryAcquire(long value, int acquireCount, long tokenCount, long maxCount, long durationMs,
+                       long currentTime) {
+        int hash = hash(value);
+        while (true) {
+            Table t = currentTable();
+            int slot = t.find(hash, value);
+            if (slot >= 0) {
+                if (t.accessTimes.get(slot) != currentTime) {
+                    t.accessTimes.lazySet(slot, currentTime);
+                }
+                long old = t.buckets.get(slot);
+                // The slot may have been replaced or moved since found.
+                while (old != CLAIMED && old != MOVED && t.keys.get(slot) == value) {
+                    long newBucket = PackedTokenBucket.consume(old, acquireCount, tokenCount, maxCount, durationMs,
+                        currentTime);
+                    if (newBucket == PackedTokenBucket.BLOCKED) {
+                        return false;
+                    }
+                    if (t.buckets.compareAndSet(slot, old, newBucket)) {
+                        return true;
+                    }
+                    old = t.buckets.get(slot);
+                }
+                continue;
+            }
+            if (slot != ABSENT) {
+                // Look up again (in the new table if moved).
+                continue;
+            }
+            Table previous = t.previous;
+            if (previous != null) {
+                helpMove(previous, t);
+                previous.moveSet(hash & previous.setMask, t);
+                if (t.find(hash, value) != ABSENT) {
+                    // The value has been moved.
+                    continue;
+                }
+            }
+            // Token never added, just replenish the tokens and consume {@code acquireCount} immediately.
+            if (t.claim(hash, value, PackedTokenBucket.pack(currentTime, maxCount - acquireCount), currentTime)) {
+                if (t.size.get() > t.growThreshold && t.setCount() < maxSets && t.previous == null
+                    && t.next.get() == null) {
+                    // Double the table, then the buckets will be moved to the new table.
+                    t.next.compareAndSet(null, new Table(t.setCount() * 2, t));
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Get current table. Once a new table is created, it's set as current table by any thread, so that
+     * no thread could hold up the growing.
+     */
+    private Table currentTable() {
+        Table t = table.get();
+        Table next = t.next.get();
+        while (next != null) {
+            table.compareAndSet(t, next);
+            t = next;
+            next = t.next.get();
+        }
+        return t;
+    }
+
+    /**
+     * Move a chunk of the sets from the former table to the new table. The sets are visited in turn by all
+     * helping threads, so that no thread could hold up the moving either.
+     */
+    private static void helpMove(Table previous, Table newTable) {
+        for (int i = 0; i < MOVE_CHUNK_SETS && newTable.previous != null; i++) {
+            int set = previous.moveIndex.getAndIncrement() & previous.setMask;
+            if (previous.movedFlags.get(set) == 0) {
+                previous.moveSet(set, newTable);
+            }
+        }
+    }
+
+    /**
+     * Get the rest tokens of the value. Only for test.
+     *
+     * @return the rest tokens, or -1 if absent
+     */
+    long getTokens(long value) {
+        int hash = hash(value);
+        while (true) {
+            Table t = currentTable();
+            int slot = t.find(hash, value);
+            if (slot == ABSENT && t.previous != null) {
+                t = t.previous;
+                slot = t.find(hash, value);
+                if (slot == MOVED_AWAY) {
+                    return -1;
+                }
+            }
+            if (slot == ABSENT) {
+                return -1;
+            }
+            if (slot >= 0) {
+                long bucket = t.buckets.get(slot);
+                if (bucket != CLAIMED && bucket != MOVED) {
+                    return PackedTokenBucket.tokensOf(bucket);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return max amount of the buckets
+     */
+    int capacity() {
+        return maxSets * WAYS;
+    }
+
+    /**
+     * @return current amount of the slots, which grows with the amount of the values
+     */
+    int slotCount() {
+        return currentTable().slotCount();
+    }
+
+    private static int hash(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int)(h ^ (h >>> 32));
+    }
+
+    private static final class Table {
+        private final int setMask;
+        private final int growThreshold;
+        private final AtomicLongArray keys;
+        private final AtomicLongArray buckets;
+        private final AtomicLongArray accessTimes;
+        /**
+         * Amount of the slots which have been taken.
+         */
+        private final AtomicInteger size = new AtomicInteger();
+        /**
+         * The former table whose buckets are being moved to this table, or null if all moved.
+         */
+        private volatile Table previous;
+        /**
+         * The new table, to which the buckets of this table are being moved.
+         */
+        private final AtomicReference<Table> next = new AtomicReference<>();
+        /**
+         * Index of the next set to move, the moved sets and their amount, when this table is the former one.
+         */
+        private final AtomicInteger moveIndex = new AtomicInteger();
+        private final AtomicIntegerArray movedFlags;
+        private final AtomicInteger movedSets = new AtomicInteger();
+
+        private Table(int sets, Table previous) {
+            int slotCount = sets * WAYS;
+            this.setMask = sets - 1;
+            this.growThreshold = slotCount / 2;
+            this.keys = new AtomicLongArray(slotCount);
+            this.buckets = new AtomicLongArray(slotCount);
+            this.accessTimes = new AtomicLongArray(slotCount);
+            this.movedFlags = new AtomicIntegerArray(sets);
+            for (int i = 0; i < slotCount; i++) {
+                buckets.set(i, EMPTY);
+            }
+            this.previous = previous;
+        }
+
+        /**
+         * Find the slot of the value in its set.
+         *
+         * @return the slot, or {@link #ABSENT}, or {@link #RETRY} if the value may be being put, or
+         * {@link #MOVED_AWAY} if the value has been moved to the new table
+         */
+        private int find(int hash, long value) {
+            int start = (hash & setMask) * WAYS;
+            boolean claimed = false;
+            for (int slot = start; slot < start + WAYS; slot++) {
+                long bucket = buckets.get(slot);
+                if (bucket == EMPTY) {
+                    // The slots in a set are taken in order, and never emptied.
+                    break;
+                }
+                if (bucket == CLAIMED) {
+                    claimed = true;
+                } else if (keys.get(slot) == value) {
+                    return bucket == MOVED ? MOVED_AWAY : slot;
+                }
+            }
+            return claimed ? RETRY : ABSENT;
+        }
+
+        /**
+         * Put the bucket of the key in an empty slot, or replace the least recently accessed slot of the set.
+         *
+         * @return false if no slot is claimed (due to concurrent updates), then the caller should look up again
+         */
+        private boolean claim(int hash, long key, long bucket, long accessTime) {
+            int start = (hash & setMask) * WAYS;
+            int victim = -1;
+            long victimBucket = EMPTY;
+            long victimTime = Long.MAX_VALUE;
+            for (int slot = start; slot < start + WAYS; slot++) {
+                long b = buckets.get(slot);
+                if (b == EMPTY) {
+                    victim = slot;
+                    victimBucket = b;
+                    break;
+                }
+                if (b == MOVED) {
+                    // The set is being moved, so put it in the new table instead.
+                    return false;
+                }
+                if (b == CLAIMED) {
+                    continue;
+                }
+                if (keys.get(slot) == key) {
+                    // Put by another thread.
+                    return false;
+                }
+                long time = accessTimes.get(slot);
+                if (time < victimTime) {
+                    victim = slot;
+                    victimBucket = b;
+                    victimTime = time;
+                }
+            }
+            if (victim < 0 || !buckets.compareAndSet(victim, victimBucket, CLAIMED)) {
+                return false;
+            }
+            if (isPutConcurrently(start, victim, key)) {
+                buckets.set(victim, victimBucket);
+                return false;
+            }
+            keys.set(victim, key);
+            accessTimes.set(victim, accessTime);
+            buckets.set(victim, bucket);
+            if (victimBucket == EMPTY) {
+                size.incrementAndGet();
+            }
+            return true;
+        }
+
+        /**
+         * Check whether the key may be put in another slot of the set since scanned, or the set is being moved,
+         * or a slot before the victim has been emptied again (so that the victim would be hidden from
+         * {@link #find}). The claimed slots before the victim win, and the ones after the victim are waited for,
+         * so that exactly one of the concurrent puts of a key wins.
+         */
+        private boolean isPutConcurrently(int start, int victim, long key) {
+            for (int slot = start; slot < start + WAYS; slot++) {
+                if (slot == victim) {
+                    continue;
+                }
+                long b = buckets.get(slot);
+                while (b == CLAIMED && slot > victim) {
+                    Thread.yield();
+                    b = buckets.get(slot);
+                }
+                if (b == CLAIMED || b == MOVED || (b == EMPTY ? slot < victim : keys.get(slot) == key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Move all buckets in the set to the new table, and seal the empty slots. The moving is finished
+         * when all sets have been moved.
+         *
+         */
+        private void moveSet(int set, Table newTable) {
+            int start = set * WAYS;
+            for (int slot = start; slot < start + WAYS; slot++) {
+                while (true) {
+                    long bucket = buckets.get(slot);
+                    if (bucket == MOVED) {
+                        break;
+                    }
+                    if (bucket == CLAIMED) {
+                        // Being replaced or moved by another thread.
+                        Thread.yield();
+                        continue;
+                    }
+                    if (!buckets.compareAndSet(slot, bucket, bucket == EMPTY ? MOVED : CLAIMED)) {
+                        continue;
+                    }
+                    if (bucket != EMPTY) {
+                        long key = keys.get(slot);
+                        long accessTime = accessTimes.get(slot);
+                        while (!newTable.claim(hash(key), key, bucket, accessTime)) {
+                            Thread.yield();
+                        }
+                        buckets.set(slot, MOVED);
+                    }
+                    break;
+                }
+            }
+            if (movedFlags.compareAndSet(set, 0, 1) && movedSets.incrementAndGet() == setCount()) {
+                newTable.previous = null;
+            }
+        }
+
+        private int setCount() {
+            return setMask + 1;
+        }
+
+        private int slotCount() {
+            return buckets.length();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.param;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Token bucket of a parameter value packed in a single {@code long}: the time when the tokens were
+ * last added (lower {@link #TIME_BITS} bits of the milliseconds) in the high bits, and the rest tokens
+ * in the low {@link #TOKEN_BITS} bits. So the refilling and consuming are done in a single CAS,
+ * and concurrent requests of a hot value can never refill the bucket twice.</p>
+ * <p>The elapsed time is calculated in modular arithmetic, which is correct as long as the bucket is
+ * not idle for more than 2<sup>{@value #TIME_BITS}</sup> ms (about 34 years).</p>
+ *
+ * @since 2.0.0
+ */
+final class PackedTokenBucket {
+
+    static final int TOKEN_BITS = 24;
+    static final int TIME_BITS = Long.SIZE - TOKEN_BITS;
+
+    /**
+     * Max tokens of a packed bucket. Buckets with more tokens should not be packed.
+     */
+    static final long MAX_TOKENS = (1L << TOKEN_BITS) - 1;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    /**
+     * Result of {@link #consume} when blocked. It's never a consumed bucket, whose tokens are less than
+     * {@link #MAX_TOKENS} (as at least one token is acquired).
+     */
+    static final long BLOCKED = -1L;
+
+    static long pack(long time, long tokens) {
+        return (time << TOKEN_BITS) | tokens;
+    }
+
+    static long timeOf(long bucket) {
+        return bucket >>> TOKEN_BITS;
+    }
+
+    static long tokensOf(long bucket) {
+        return bucket & MAX_TOKENS;
+    }
+
+    static long elapsed(long bucket, long currentTime) {
+        return (currentTime - timeOf(bucket)) & TIME_MASK;
+    }
+
+    /**
+     * Try to consume the tokens of the bucket, with the same algorithm as
+     * {@link ParamFlowChecker#passDefaultLocalCheck}: the tokens are only replenished when
+     * the statistic window has passed since they were last added.
+     *
+     * @param bucket       the packed bucket
+     * @param acquireCount count to acquire
+     * @param tokenCount   tokens added in a duration
+     * @param maxCount     max tokens of the bucket, no more than {@link #MAX_TOKENS}
+     * @param durationMs   duration of the statistic window
+     * @param currentTime  current time in milliseconds
+     * @return true if passed
+     */
+    static boolean tryAcquire(AtomicLong bucket, int acquireCount, long tokenCount, long maxCount, long durationMs,
+                              long currentTime) {
+        while (true) {
+            long old = bucket.get();
+            long newBucket = consume(old, acquireCount, tokenCount, maxCount, durationMs, currentTime);
+            if (newBucket == BLOCKED) {
+                return false;
+            }
+            if (bucket.compareAndSet(old, newBucket)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Calculate the bucket after consuming the tokens, see {@link #tryAcquire}.
+     *
+     * @return the new packed bucket, or {@link #BLOCKED} if there are not enough tokens
+     */
+    static long consume(long bucket, int acquireCount, long tokenCount, long maxCount, long durationMs,
+                        long currentTime) {
+        long restQps = tokensOf(bucket);
+        long passTime = elapsed(bucket, currentTime);
+        if (passTime > durationMs) {
+            // Avoid overflow of {@code passTime * tokenCount} for long idle buckets.
+            long toAddCount = passTime / durationMs >= maxCount ? maxCount
+                : (long)((double)passTime * tokenCount / durationMs);
+            long newQps = toAddCount + restQps > maxCount ? (maxCount - acquireCount)
+                : (restQps + toAddCount - acquireCount);
+            return newQps < 0 ? BLOCKED : pack(currentTime, newQps);
+        }
+        return restQps - acquireCount >= 0 ? bucket - acquireCount : BLOCKED;
+    }
+
+    private PackedTokenBucket() {}
+}
@@ -105,7 +105,9 @@ public final class ParamFlowChecker {
     static boolean passSingleValueCheck(ResourceWrapper resourceWrapper, ParamFlowRule rule, int acquireCount,
                                         Object value) {
         if (rule.getGrade() == RuleConstant.FLOW_GRADE_QPS) {
-            if (rule.getControlBehavior() == RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER) {
+            if (rule.isSketchStorage()) {
+                return passSketchLocalCheck(resourceWrapper, rule, acquireCount, value);
+            } else if (rule.getControlBehavior() == RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER) {
                 return passThrottleLocalCheck(resourceWrapper, rule, acquireCount, value);
             } else {
                 return passDefaultLocalCheck(resourceWrapper, rule, acquireCount, value);
@@ -150,6 +152,42 @@ public final class ParamFlowChecker {
             return false;
         }
 
+        long currentTime = TimeUtil.currentTimeMillis();
+        if (maxCount < PackedTokenBucket.MAX_TOKENS && isLongValue(value)) {
+            // Fast path for integral values, without boxed keys and counters in the LRU maps.
+            // The buckets are packed as well, so they are updated in a single CAS.
+            LongTokenBucketMap longTokenBuckets = metric.getOrCreateRuleLongTokenBuckets(rule);
+            if (longTokenBuckets != null) {
+                return longTokenBuckets.tryAcquire(((Number)value).longValue(), acquireCount, tokenCount, maxCount,
+                    rule.getDurationInSec() * 1000, currentTime);
+            }
+        }
+        if (maxCount <= PackedTokenBucket.MAX_TOKENS) {
+            // The time and tokens are packed in the token counter, so that they are updated in a single CAS.
+            AtomicLong bucket = tokenCounters.get(value);
+            if (bucket == null) {
+                bucket = tokenCounters.putIfAbsent(value,
+                    new AtomicLong(PackedTokenBucket.pack(currentTime, maxCount - acquireCount)));
+                if (bucket == null) {
+                    // Token never added, just replenish the tokens and consume {@code acquireCount} immediately.
+                    return true;
+                }
+            }
+            return PackedTokenBucket.tryAcquire(bucket, acquireCount, tokenCount, maxCount,
+                rule.getDurationInSec() * 1000, currentTime);
+        }
+        return passDefaultLocalCheckWithTimeCounter(rule, acquireCount, value, tokenCount, maxCount, tokenCounters,
+            timeCounters);
+    }
+
+    /**
+     * The token bucket with separate time counter, only for the buckets with more than
+     * {@link PackedTokenBucket#MAX_TOKENS} tokens.
+     */
+    private static boolean passDefaultLocalCheckWithTimeCounter(ParamFlowRule rule, int acquireCount, Object value,
+                                                                long tokenCount, long maxCount,
+                                                                CacheMap<Object, AtomicLong> tokenCounters,
+                                                                CacheMap<Object, AtomicLong> timeCounters) {
         while (true) {
             long currentTime = TimeUtil.currentTimeMillis();
 
@@ -201,6 +239,32 @@ public final class ParamFlowChecker {
         }
     }
 
+    private static boolean isLongValue(Object value) {
+        Class<?> clazz = value.getClass();
+        return clazz == Long.class || clazz == Integer.class || clazz == Short.class || clazz == Byte.class;
+    }
+
+    static boolean passSketchLocalCheck(ResourceWrapper resourceWrapper, ParamFlowRule rule, int acquireCount,
+                                        Object value) {
+        ParameterMetric metric = getParameterMetric(resourceWrapper);
+        ParamFlowSketch sketch = metric == null ? null : metric.getRuleSketch(rule);
+        if (sketch == null) {
+            return true;
+        }
+
+        // Calculate max token count (threshold)
+        Set<Object> exclusionItems = rule.getParsedHotItems().keySet();
+        long tokenCount = (long)rule.getCount();
+        if (exclusionItems.contains(value)) {
+            tokenCount = rule.getParsedHotItems().get(value);
+        }
+
+        if (tokenCount == 0) {
+            return false;
+        }
+        return sketch.tryAcquire(value, acquireCount, tokenCount + rule.getBurstCount());
+    }
+
     static boolean passThrottleLocalCheck(ResourceWrapper resourceWrapper, ParamFlowRule rule, int acquireCount,
                                           Object value) {
         ParameterMetric metric = getParameterMetric(resourceWrapper);
@@ -227,16 +291,15 @@ public final class ParamFlowChecker {
             if (timeRecorder == null) {
                 return true;
             }
-            //AtomicLong timeRecorder = timeRecorderMap.get(value);
             long lastPassTime = timeRecorder.get();
             long expectedTime = lastPassTime + costTime;
 
             if (expectedTime <= currentTime || expectedTime - currentTime < rule.getMaxQueueingTimeMs()) {
-                AtomicLong lastPastTimeRef = timeRecorderMap.get(value);
-                if (lastPastTimeRef.compareAndSet(lastPassTime, currentTime)) {
-                    long waitTime = expectedTime - currentTime;
+                // Occupy the passing time in a single CAS (like the ThrottlingController), so that concurrent
+                // requests can never pass at the same time.
+                long waitTime = expectedTime - currentTime;
+                if (timeRecorder.compareAndSet(lastPassTime, waitTime > 0 ? expectedTime : currentTime)) {
                     if (waitTime > 0) {
-                        lastPastTimeRef.set(expectedTime);
                         try {
                             TimeUnit.MILLISECONDS.sleep(waitTime);
                         } catch (InterruptedException e) {
@@ -244,8 +307,6 @@ public final class ParamFlowChecker {
                         }
                     }
                     return true;
-                } else {
-                    Thread.yield();
                 }
             } else {
                 return false;
@@ -62,6 +62,11 @@ public class ParamFlowRule extends AbstractRule {
     private int maxQueueingTimeMs = 0;
     private int burstCount = 0;
     private long durationInSec = 1;
+    /**
+     * Storage of the parameter statistics (since 2.0.0), {@link RuleConstant#PARAM_FLOW_STORAGE_EXACT}
+     * or {@link RuleConstant#PARAM_FLOW_STORAGE_SKETCH}.
+     */
+    private int storageMode = RuleConstant.PARAM_FLOW_STORAGE_EXACT;
 
     /**
      * Original exclusion items of parameters.
@@ -118,6 +123,19 @@ public class ParamFlowRule extends AbstractRule {
         return this;
     }
 
+    public int getStorageMode() {
+        return storageMode;
+    }
+
+    public ParamFlowRule setStorageMode(int storageMode) {
+        this.storageMode = storageMode;
+        return this;
+    }
+
+    boolean isSketchStorage() {
+        return storageMode == RuleConstant.PARAM_FLOW_STORAGE_SKETCH;
+    }
+
     public int getGrade() {
         return grade;
     }
@@ -202,6 +220,7 @@ public class ParamFlowRule extends AbstractRule {
         if (maxQueueingTimeMs != that.maxQueueingTimeMs) { return false; }
         if (burstCount != that.burstCount) { return false; }
         if (durationInSec != that.durationInSec) { return false; }
+        if (storageMode != that.storageMode) { return false; }
         if (clusterMode != that.clusterMode) { return false; }
         if (!Objects.equals(paramIdx, that.paramIdx)) { return false; }
         if (!Objects.equals(paramFlowItemList, that.paramFlowItemList)) { return false; }
@@ -220,6 +239,7 @@ public class ParamFlowRule extends AbstractRule {
         result = 31 * result + maxQueueingTimeMs;
         result = 31 * result + burstCount;
         result = 31 * result + (int)(durationInSec ^ (durationInSec >>> 32));
+        result = 31 * result + storageMode;
         result = 31 * result + (paramFlowItemList != null ? paramFlowItemList.hashCode() : 0);
         result = 31 * result + (clusterMode ? 1 : 0);
         result = 31 * result + (clusterConfig != null ? clusterConfig.hashCode() : 0);
@@ -236,6 +256,7 @@ public class ParamFlowRule extends AbstractRule {
             ", maxQueueingTimeMs=" + maxQueueingTimeMs +
             ", burstCount=" + burstCount +
             ", durationInSec=" + durationInSec +
+            ", storageMode=" + storageMode +
             ", paramFlowItemList=" + paramFlowItemList +
             ", clusterMode=" + clusterMode +
             ", clusterConfig=" + clusterConfig +
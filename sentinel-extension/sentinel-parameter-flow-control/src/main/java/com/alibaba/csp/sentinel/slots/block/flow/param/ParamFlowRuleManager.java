@@ -16,14 +16,17 @@
 package com.alibaba.csp.sentinel.slots.block.flow.param;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
 import com.alibaba.csp.sentinel.property.PropertyListener;
 import com.alibaba.csp.sentinel.property.SentinelProperty;
+import com.alibaba.csp.sentinel.slotchain.SlotChainSpecializer;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 
 /**
@@ -96,25 +99,27 @@ public final class ParamFlowRuleManager {
         return rules;
     }
 
+    private static void applyRules(Map<String, List<ParamFlowRule>> rules) {
+        if (rules == null) {
+            return;
+        }
+        Set<String> previousResources = new HashSet<>(PARAM_FLOW_RULES.keySet());
+        PARAM_FLOW_RULES.clear();
+        PARAM_FLOW_RULES.putAll(rules);
+        SlotChainSpecializer.refresh(previousResources, rules.keySet());
+    }
+
     static class RulePropertyListener implements PropertyListener<List<ParamFlowRule>> {
 
         @Override
         public void configUpdate(List<ParamFlowRule> list) {
-            Map<String, List<ParamFlowRule>> rules = aggregateAndPrepareParamRules(list);
-            if (rules != null) {
-                PARAM_FLOW_RULES.clear();
-                PARAM_FLOW_RULES.putAll(rules);
-            }
+            applyRules(aggregateAndPrepareParamRules(list));
             RecordLog.info("[ParamFlowRuleManager] Parameter flow rules received: {}", PARAM_FLOW_RULES);
         }
 
         @Override
         public void configLoad(List<ParamFlowRule> list) {
-            Map<String, List<ParamFlowRule>> rules = aggregateAndPrepareParamRules(list);
-            if (rules != null) {
-                PARAM_FLOW_RULES.clear();
-                PARAM_FLOW_RULES.putAll(rules);
-            }
+            applyRules(aggregateAndPrepareParamRules(list));
             RecordLog.info("[ParamFlowRuleManager] Parameter flow rules received: {}", PARAM_FLOW_RULES);
         }
 
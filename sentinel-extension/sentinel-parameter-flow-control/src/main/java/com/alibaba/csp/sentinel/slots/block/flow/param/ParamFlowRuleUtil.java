@@ -48,7 +48,16 @@ public final class ParamFlowRuleUtil {
             && rule.getGrade() >= 0 && rule.getParamIdx() != null
             && rule.getBurstCount() >= 0 && rule.getControlBehavior() >= 0
             && rule.getDurationInSec() > 0 && rule.getMaxQueueingTimeMs() >= 0
-            && checkCluster(rule);
+            && checkStorageMode(rule) && checkCluster(rule);
+    }
+
+    private static boolean checkStorageMode(/*@PreChecked*/ ParamFlowRule rule) {
+        if (rule.getStorageMode() == RuleConstant.PARAM_FLOW_STORAGE_EXACT) {
+            return true;
+        }
+        return rule.getStorageMode() == RuleConstant.PARAM_FLOW_STORAGE_SKETCH
+            && rule.getGrade() == RuleConstant.FLOW_GRADE_QPS
+            && rule.getControlBehavior() == RuleConstant.CONTROL_BEHAVIOR_DEFAULT;
     }
 
     private static boolean checkCluster(/*@PreChecked*/ ParamFlowRule rule) {
@@ -0,0 +1,317 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.param;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.slots.statistic.base.CountMinSketch;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * <p>Fixed-size statistics of parameter values for a parameter flow rule
+ * ({@link com.alibaba.csp.sentinel.slots.block.RuleConstant#PARAM_FLOW_STORAGE_SKETCH}),
+ * which combines a count-min sketch and a space-saving top-K:</p>
+ * <ul>
+ * <li>The pass count of every value in the window ({@code durationInSec}) is estimated by a count-min sketch
+ * (with conservative update) per window, and the count of the sliding window is approximated by
+ * {@code current + previous * (1 - elapsedRatio)}. As the estimation never underestimates, the values below
+ * the threshold in the sketch pass directly, which is the case of almost all values.</li>
+ * <li>Once a value exceeds the threshold in the sketch (the hot values, or cold values colliding with hot values),
+ * it's counted exactly in a bounded top-K ({@link #TOP_K_KEY}). The counts of an admitted value start from the
+ * estimation of the sketch (capped at the threshold), so it won't get a full quota again by being admitted
+ * (e.g. after being evicted by a flood of hot values). When the top-K is full, the value with the lowest count
+ * is replaced (as the space-saving algorithm), so the hot values stay while the cold values come and go.</li>
+ * </ul>
+ * <p>So the memory is fixed per rule and there is no allocation for cold values. Unlike the LRU maps, a flood
+ * of distinct values cannot reset the statistics of a hot value in the window, as the sketch never forgets it.
+ * As the estimation may overestimate, a cold value colliding with hot values may be blocked, so the width
+ * ({@link #SKETCH_WIDTH_KEY}) should be large enough for the distinct values in a window.</p>
+ *
+ * @since 2.0.0
+ */
+public class ParamFlowSketch {
+
+    public static final String SKETCH_WIDTH_KEY = "csp.sentinel.param.flow.sketch.width";
+    public static final int DEFAULT_SKETCH_WIDTH = 4096;
+    public static final String TOP_K_KEY = "csp.sentinel.param.flow.sketch.top.k";
+    public static final int DEFAULT_TOP_K = 64;
+
+    private final long windowMs;
+    private final CountMinSketch[] sketches = new CountMinSketch[2];
+    private final AtomicLongArray windowStarts = new AtomicLongArray(2);
+
+    private final int topK;
+    private final Map<Object, HotValue> topValues = new ConcurrentHashMap<>();
+    /**
+     * Amount of the values in (or being put into) the top-K, which is at most K.
+     */
+    private final AtomicInteger topValueCount = new AtomicInteger();
+
+    public ParamFlowSketch(long durationInSec) {
+        this(durationInSec, getPositiveConfig(SKETCH_WIDTH_KEY, DEFAULT_SKETCH_WIDTH),
+            getPositiveConfig(TOP_K_KEY, DEFAULT_TOP_K));
+    }
+
+    ParamFlowSketch(long durationInSec, int width, int topK) {
+        AssertUtil.isTrue(durationInSec > 0, "durationInSec should be positive");
+        AssertUtil.isTrue(topK > 0, "topK should be positive");
+        this.windowMs = durationInSec * 1000;
+        this.topK = topK;
+        for (int i = 0; i < sketches.length; i++) {
+            sketches[i] = new CountMinSketch(width);
+            windowStarts.set(i, -1);
+        }
+    }
+
+    /**
+     * Try to acquire the count for the parameter value, and record it if passed.
+     * Concurrent acquisitions of a value not in the top-K may overshoot the threshold slightly, as the check and
+     * recording in the sketch are not atomic.
+     *
+     * @param value        the parameter value
+     * @param acquireCount count to acquire
+     * @param threshold    max count of the value in the window
+     * @return true if passed
+     */
+    public boolean tryAcquire(Object value, int acquireCount, long threshold) {
+        long currentTime = TimeUtil.currentTimeMillis();
+        long windowStart = currentTime - currentTime % windowMs;
+        int idx = (int)((currentTime / windowMs) & 1);
+        double previousWeight = 1 - (double)(currentTime - windowStart) / windowMs;
+        CountMinSketch current = currentSketch(idx, windowStart);
+
+        long hash = value.hashCode();
+        HotValue hotValue = topValues.get(value);
+        if (hotValue == null) {
+            long currentEstimate = current.estimateHash(hash);
+            long previousEstimate = windowStarts.get(1 - idx) == windowStart - windowMs
+                ? sketches[1 - idx].estimateHash(hash) : 0;
+            if (currentEstimate + previousEstimate * previousWeight + acquireCount > threshold) {
+                // Possibly hot, so count it exactly from now on.
+                hotValue = admitHotValue(value, windowStart, Math.min(currentEstimate, threshold),
+                    Math.min(previousEstimate, threshold));
+            }
+        }
+        if (hotValue != null && !hotValue.tryAdd(acquireCount, threshold, windowStart, windowMs, previousWeight)) {
+            return false;
+        }
+        current.addHashConservatively(hash, acquireCount);
+        return true;
+    }
+
+    private CountMinSketch currentSketch(int idx, long windowStart) {
+        CountMinSketch sketch = sketches[idx];
+        long oldStart = windowStarts.get(idx);
+        if (oldStart < windowStart && windowStarts.compareAndSet(idx, oldStart, windowStart)) {
+            // Counts recorded concurrently during clearing may be lost, which is acceptable for the estimation.
+            sketch.clear();
+        }
+        return sketch;
+    }
+
+    private HotValue admitHotValue(Object value, long windowStart, long estimatedCount,
+                                   long estimatedPreviousCount) {
+        // Unlike the classic space-saving, the new value does not take over the count of the replaced one,
+        // as the count belongs to another value. It starts from its own estimated counts instead.
+        HotValue hotValue = new HotValue(windowStart, estimatedCount, estimatedPreviousCount);
+        if (topValueCount.incrementAndGet() <= topK) {
+            HotValue former = topValues.putIfAbsent(value, hotValue);
+            if (former != null) {
+                topValueCount.decrementAndGet();
+                return former;
+            }
+            return hotValue;
+        }
+        topValueCount.decrementAndGet();
+        return replaceColdestValue(value, hotValue, windowStart);
+    }
+
+    /**
+     * Replace the value with the lowest count in the full top-K. The scan is O(K), but it only happens when a
+     * value exceeds the threshold in the sketch while not in the top-K. As the admitted value starts from its
+     * estimated count (near the threshold), it's not the next one to be replaced unless it turns cold.
+     */
+    private synchronized HotValue replaceColdestValue(Object value, HotValue hotValue, long windowStart) {
+        HotValue former = topValues.get(value);
+        if (former != null) {
+            return former;
+        }
+        Object minValue = null;
+        HotValue min = null;
+        for (Map.Entry<Object, HotValue> e : topValues.entrySet()) {
+            if (min == null || e.getValue().isColderThan(min, windowStart)) {
+                min = e.getValue();
+                minValue = e.getKey();
+            }
+        }
+        if (minValue == null) {
+            // The concurrent admissions have not been put yet, so count the value in the sketch only this time.
+            return null;
+        }
+        topValues.remove(minValue);
+        topValues.put(value, hotValue);
+        return hotValue;
+    }
+
+    /**
+     * Get the hot parameter values (which have exceeded the threshold in the sketch) and their pass count
+     * in current window.
+     *
+     * @param n max amount of values
+     * @return ordered map of (value, count), in descending order of the count
+     */
+    public Map<Object, Long> getTopValues(int n) {
+        long currentTime = TimeUtil.currentTimeMillis();
+        long windowStart = currentTime - currentTime % windowMs;
+        List<Map.Entry<Object, Long>> list = new ArrayList<>();
+        for (Map.Entry<Object, HotValue> e : topValues.entrySet()) {
+            long count = e.getValue().countIn(windowStart);
+            if (count > 0) {
+                list.add(new SimpleImmutableEntry<>(e.getKey(), count));
+            }
+        }
+        Collections.sort(list, new Comparator<Map.Entry<Object, Long>>() {
+            @Override
+            public int compare(Map.Entry<Object, Long> o1, Map.Entry<Object, Long> o2) {
+                return Long.compare(o2.getValue(), o1.getValue());
+            }
+        });
+        Map<Object, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < list.size() && i < n; i++) {
+            result.put(list.get(i).getKey(), list.get(i).getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Get the estimated pass count of the value in current window.
+     *
+     * @param value the parameter value
+     * @return the estimated pass count
+     */
+    public long estimate(Object value) {
+        long currentTime = TimeUtil.currentTimeMillis();
+        long windowStart = currentTime - currentTime % windowMs;
+        int idx = (int)((currentTime / windowMs) & 1);
+        if (windowStarts.get(idx) != windowStart) {
+            return 0;
+        }
+        return sketches[idx].estimate(value);
+    }
+
+    int getTopValueCount() {
+        return topValues.size();
+    }
+
+    private static int getPositiveConfig(String key, int defaultValue) {
+        String v = SentinelConfig.getConfig(key);
+        if (StringUtil.isBlank(v)) {
+            return defaultValue;
+        }
+        try {
+            int value = Integer.parseInt(v.trim());
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException ex) {
+            // Fall through.
+        }
+        RecordLog.warn("[ParamFlowSketch] Invalid value of {}: {}, using the default value instead: {}", key, v,
+            defaultValue);
+        return defaultValue;
+    }
+
+    /**
+     * Pass count of a hot value in current and previous window, counted exactly since admitted.
+     * The counts are updated by CAS, and only rolling to a new window takes the monitor.
+     */
+    private static final class HotValue {
+        private volatile long windowStart;
+        private volatile long previousCount;
+        private final AtomicLong count;
+        private final AtomicLong blockedCount = new AtomicLong();
+
+        private HotValue(long windowStart, long count, long previousCount) {
+            this.windowStart = windowStart;
+            this.count = new AtomicLong(count);
+            this.previousCount = previousCount;
+        }
+
+        private boolean tryAdd(int acquireCount, long threshold, long currentWindowStart, long windowMs,
+                               double previousWeight) {
+            if (windowStart < currentWindowStart) {
+                roll(currentWindowStart, windowMs);
+            }
+            double previous = previousCount * previousWeight;
+            while (true) {
+                long c = count.get();
+                if (c + previous + acquireCount > threshold) {
+                    blockedCount.incrementAndGet();
+                    return false;
+                }
+                if (count.compareAndSet(c, c + acquireCount)) {
+                    return true;
+                }
+            }
+        }
+
+        private long countIn(long currentWindowStart) {
+            return windowStart == currentWindowStart ? count.get() : 0;
+        }
+
+        /**
+         * Compare by the pass count, and then the blocked count (e.g. when the threshold is 1).
+         */
+        private boolean isColderThan(HotValue other, long currentWindowStart) {
+            long c = countIn(currentWindowStart);
+            long otherCount = other.countIn(currentWindowStart);
+            if (c != otherCount) {
+                return c < otherCount;
+            }
+            return blockedIn(currentWindowStart) < other.blockedIn(currentWindowStart);
+        }
+
+        private long blockedIn(long currentWindowStart) {
+            return windowStart == currentWindowStart ? blockedCount.get() : 0;
+        }
+
+        private synchronized void roll(long currentWindowStart, long windowMs) {
+            long oldStart = windowStart;
+            // Late acquisitions of a former window are counted in the current window.
+            if (oldStart >= currentWindowStart) {
+                return;
+            }
+            previousCount = oldStart == currentWindowStart - windowMs ? count.get() : 0;
+            count.set(0);
+            blockedCount.set(0);
+            windowStart = currentWindowStart;
+        }
+    }
+}
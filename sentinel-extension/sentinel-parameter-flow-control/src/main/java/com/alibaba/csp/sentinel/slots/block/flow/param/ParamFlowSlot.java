@@ -19,6 +19,7 @@ import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.RuleCheckingSlot;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.spi.Spi;
 
@@ -31,8 +32,8 @@ import java.util.List;
  * @author Eric Zhao
  * @since 0.2.0
  */
-@Spi(order = -3000)
-public class ParamFlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+@Spi(isSingleton = false, order = -3000)
+public class ParamFlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> implements RuleCheckingSlot {
 
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, DefaultNode node, int count,
@@ -51,6 +52,11 @@ public class ParamFlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
         fireExit(context, resourceWrapper, count, args);
     }
 
+    @Override
+    public boolean hasRules(ResourceWrapper resourceWrapper) {
+        return ParamFlowRuleManager.hasRules(resourceWrapper.getName());
+    }
+
     void applyRealParamIdx(/*@NonNull*/ ParamFlowRule rule, int length) {
         int paramIdx = rule.getParamIdx();
         if (paramIdx < 0) {
@@ -88,8 +94,39 @@ public class ParamFlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
                     }
                     triggeredParam = String.valueOf(value);
                 }
+                if (ParameterMetric.isHotValueEnabled()) {
+                    addHotValue(resourceWrapper, RollingParamEvent.REQUEST_BLOCKED, rule.getParamIdx(), count, args);
+                }
                 throw new ParamFlowException(resourceWrapper.getName(), triggeredParam, rule);
             }
         }
+
+        if (!ParameterMetric.isHotValueEnabled()) {
+            return;
+        }
+        for (int i = 0; i < rules.size(); i++) {
+            int paramIdx = rules.get(i).getParamIdx();
+            // Count the values of each parameter only once.
+            if (!containsParamIdx(rules, i, paramIdx)) {
+                addHotValue(resourceWrapper, RollingParamEvent.REQUEST_PASSED, paramIdx, count, args);
+            }
+        }
+    }
+
+    private static boolean containsParamIdx(List<ParamFlowRule> rules, int end, int paramIdx) {
+        for (int i = 0; i < end; i++) {
+            if (rules.get(i).getParamIdx() == paramIdx) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addHotValue(ResourceWrapper resourceWrapper, RollingParamEvent event, int paramIdx,
+                                    int count, Object... args) {
+        ParameterMetric metric = ParameterMetricStorage.getParamMetric(resourceWrapper);
+        if (metric != null) {
+            metric.addHotValue(event, paramIdx, count, args);
+        }
     }
 }
@@ -17,14 +17,18 @@ package com.alibaba.csp.sentinel.slots.block.flow.param;
 
 import java.lang.reflect.Array;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.slots.statistic.cache.CacheMap;
 import com.alibaba.csp.sentinel.slots.statistic.cache.ConcurrentLinkedHashMapWrapper;
+import com.alibaba.csp.sentinel.slots.statistic.data.HotParamCounter;
 
 /**
  * Metrics for frequent ("hot spot") parameters.
@@ -34,6 +38,17 @@ import com.alibaba.csp.sentinel.slots.statistic.cache.ConcurrentLinkedHashMapWra
  */
 public class ParameterMetric {
 
+    /**
+     * Whether to record the hot values of the parameters (see {@link #getTopValues(RollingParamEvent, int, int)}),
+     * which costs extra sketch updates per request. Disabled by default.
+     *
+     * @since 2.0.0
+     */
+    public static final String HOT_VALUE_ENABLED_KEY = "csp.sentinel.param.flow.hot.value.enabled";
+
+    private static volatile boolean hotValueEnabled = Boolean.parseBoolean(
+        SentinelConfig.getConfig(HOT_VALUE_ENABLED_KEY));
+
     private static final int THREAD_COUNT_MAX_CAPACITY = 4000;
     private static final int BASE_PARAM_MAX_CAPACITY = 4000;
     private static final int TOTAL_MAX_CAPACITY = 20_0000;
@@ -47,12 +62,31 @@ public class ParameterMetric {
      */
     private final Map<ParamFlowRule, CacheMap<Object, AtomicLong>> ruleTimeCounters = new HashMap<>();
     /**
-     * Format: (rule, (value, tokenCounter))
+     * Format: (rule, (value, tokenCounter)). Since 2.0.0, the token counter is a {@link PackedTokenBucket}
+     * unless the max tokens exceed {@link PackedTokenBucket#MAX_TOKENS}.
      *
      * @since 1.6.0
      */
     private final Map<ParamFlowRule, CacheMap<Object, AtomicLong>> ruleTokenCounter = new HashMap<>();
     private final Map<Integer, CacheMap<Object, AtomicInteger>> threadCountMap = new HashMap<>();
+    /**
+     * Format: (rule, sketch), only for the rules in sketch storage mode.
+     *
+     * @since 2.0.0
+     */
+    private final Map<ParamFlowRule, ParamFlowSketch> ruleSketches = new HashMap<>();
+    /**
+     * Format: (rule, tokenBuckets), for the {@code long} parameter values of the rules, created on demand.
+     *
+     * @since 2.0.0
+     */
+    private final Map<ParamFlowRule, LongTokenBucketMap> ruleLongTokenBuckets = new ConcurrentHashMap<>();
+    /**
+     * Format: (paramIdx, counters of each {@link RollingParamEvent})
+     *
+     * @since 2.0.0
+     */
+    private final Map<Integer, HotParamCounter[]> hotParamCounters = new HashMap<>();
 
     /**
      * Get the token counter for given parameter rule.
@@ -76,8 +110,132 @@ public class ParameterMetric {
         return ruleTimeCounters.get(rule);
     }
 
+    /**
+     * Get the sketch for given parameter rule in sketch storage mode.
+     *
+     * @param rule valid parameter rule
+     * @return the associated sketch, or null if the rule is not in sketch storage mode
+     * @since 2.0.0
+     */
+    public ParamFlowSketch getRuleSketch(ParamFlowRule rule) {
+        return ruleSketches.get(rule);
+    }
+
+    /**
+     * Get the token buckets of {@code long} parameter values for given parameter rule, which will be created
+     * if absent and the rule has been initialized.
+     *
+     * @param rule valid parameter rule
+     * @return the associated token buckets, or null if the rule has not been initialized
+     * @since 2.0.0
+     */
+    LongTokenBucketMap getOrCreateRuleLongTokenBuckets(ParamFlowRule rule) {
+        LongTokenBucketMap buckets = ruleLongTokenBuckets.get(rule);
+        if (buckets != null) {
+            return buckets;
+        }
+        synchronized (lock) {
+            buckets = ruleLongTokenBuckets.get(rule);
+            if (buckets == null && ruleTokenCounter.containsKey(rule)) {
+                buckets = new LongTokenBucketMap(calculateCapacity(rule));
+                ruleLongTokenBuckets.put(rule, buckets);
+            }
+            return buckets;
+        }
+    }
+
+    private static long calculateCapacity(ParamFlowRule rule) {
+        return Math.min(BASE_PARAM_MAX_CAPACITY * rule.getDurationInSec(), TOTAL_MAX_CAPACITY);
+    }
+
+    /**
+     * Get the hot values of the parameter in the recent second.
+     *
+     * @param event the event of the requests
+     * @param index index of the parameter
+     * @param n     max amount of values
+     * @return ordered map of (value, count), in descending order of the count
+     * @since 2.0.0
+     */
+    public Map<Object, Long> getTopValues(RollingParamEvent event, int index, int n) {
+        HotParamCounter[] counters = hotParamCounters.get(index);
+        if (counters == null) {
+            return Collections.emptyMap();
+        }
+        return counters[event.ordinal()].getTopValues(n);
+    }
+
+    /**
+     * Add the count of the parameter value (or the elements if it's a collection or array) to the hot values.
+     *
+     * @param event the event of the requests
+     * @param index index of the parameter
+     * @param count count to add
+     * @param args  the parameters
+     * @since 2.0.0
+     */
+    @SuppressWarnings("rawtypes")
+    public void addHotValue(RollingParamEvent event, int index, int count, Object... args) {
+        if (args == null || args.length <= index) {
+            return;
+        }
+        HotParamCounter[] counters = hotParamCounters.get(index);
+        if (counters == null) {
+            return;
+        }
+        Object value = args[index];
+        if (value instanceof ParamFlowArgument) {
+            value = ((ParamFlowArgument)value).paramFlowKey();
+        }
+        if (value == null) {
+            return;
+        }
+        HotParamCounter counter = counters[event.ordinal()];
+        try {
+            if (Collection.class.isAssignableFrom(value.getClass())) {
+                for (Object param : ((Collection)value)) {
+                    if (param != null) {
+                        counter.add(param, count);
+                    }
+                }
+            } else if (value.getClass().isArray()) {
+                int length = Array.getLength(value);
+                for (int i = 0; i < length; i++) {
+                    Object param = Array.get(value, i);
+                    if (param != null) {
+                        counter.add(param, count);
+                    }
+                }
+            } else {
+                counter.add(value, count);
+            }
+        } catch (Throwable e) {
+            RecordLog.warn("[ParameterMetric] Param exception", e);
+        }
+    }
+
+    /**
+     * Check whether the hot values of the parameters are recorded ({@link #HOT_VALUE_ENABLED_KEY}).
+     *
+     * @return true if enabled
+     * @since 2.0.0
+     */
+    public static boolean isHotValueEnabled() {
+        return hotValueEnabled;
+    }
+
+    /**
+     * For test.
+     */
+    static void setHotValueEnabled(boolean enabled) {
+        hotValueEnabled = enabled;
+    }
+
     public void clear() {
         synchronized (lock) {
+            hotParamCounters.clear();
+            ruleLongTokenBuckets.clear();
+            ruleSketches.clear();
             threadCountMap.clear();
             ruleTimeCounters.clear();
             ruleTokenCounter.clear();
@@ -86,17 +244,45 @@ public class ParameterMetric {
 
     public void clearForRule(ParamFlowRule rule) {
         synchronized (lock) {
+            ruleSketches.remove(rule);
+            ruleLongTokenBuckets.remove(rule);
             ruleTimeCounters.remove(rule);
             ruleTokenCounter.remove(rule);
             threadCountMap.remove(rule.getParamIdx());
+            hotParamCounters.remove(rule.getParamIdx());
         }
     }
 
     public void initialize(ParamFlowRule rule) {
+        if (hotValueEnabled && !hotParamCounters.containsKey(rule.getParamIdx())) {
+            synchronized (lock) {
+                if (hotParamCounters.get(rule.getParamIdx()) == null) {
+                    RollingParamEvent[] events = RollingParamEvent.values();
+                    HotParamCounter[] counters = new HotParamCounter[events.length];
+                    for (RollingParamEvent event : events) {
+                        counters[event.ordinal()] = new HotParamCounter();
+                    }
+                    hotParamCounters.put(rule.getParamIdx(), counters);
+                }
+            }
+        }
+
+        if (rule.isSketchStorage()) {
+            // The sketch takes place of the per-value counters.
+            if (!ruleSketches.containsKey(rule)) {
+                synchronized (lock) {
+                    if (ruleSketches.get(rule) == null) {
+                        ruleSketches.put(rule, new ParamFlowSketch(rule.getDurationInSec()));
+                    }
+                }
+            }
+            return;
+        }
+
         if (!ruleTimeCounters.containsKey(rule)) {
             synchronized (lock) {
                 if (ruleTimeCounters.get(rule) == null) {
-                    long size = Math.min(BASE_PARAM_MAX_CAPACITY * rule.getDurationInSec(), TOTAL_MAX_CAPACITY);
+                    long size = calculateCapacity(rule);
                     ruleTimeCounters.put(rule, new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(size));
                 }
             }
@@ -105,7 +291,7 @@ public class ParameterMetric {
         if (!ruleTokenCounter.containsKey(rule)) {
             synchronized (lock) {
                 if (ruleTokenCounter.get(rule) == null) {
-                    long size = Math.min(BASE_PARAM_MAX_CAPACITY * rule.getDurationInSec(), TOTAL_MAX_CAPACITY);
+                    long size = calculateCapacity(rule);
                     ruleTokenCounter.put(rule, new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(size));
                 }
             }
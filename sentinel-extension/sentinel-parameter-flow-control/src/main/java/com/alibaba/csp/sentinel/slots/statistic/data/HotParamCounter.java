@@ -0,0 +1,224 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.data;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.slots.statistic.base.CountMinSketch;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * <p>Streaming top-K of the parameter values by count (e.g. passed or blocked requests) in the recent
+ * statistic window, with fixed memory:</p>
+ * <ul>
+ * <li>The count of every value in current window is estimated by a count-min sketch, and only the values
+ * whose estimated count exceeds the smallest count in the top-K are admitted into the top-K.</li>
+ * <li>The values in the top-K are counted exactly after being admitted (starting with the estimated count),
+ * and the coldest one is replaced when a hotter value is admitted. The count of the sliding window is
+ * approximated by {@code current + previous * (1 - elapsedRatio)}.</li>
+ * </ul>
+ * <p>So adding a value costs O(1) except when it's admitted into the top-K (O(K)), and querying the top
+ * values costs O(K log K), without locking or copying the full caches of the parameter values.</p>
+ *
+ * @since 2.0.0
+ */
+public class HotParamCounter {
+
+    public static final int DEFAULT_TOP_K = 32;
+    public static final long DEFAULT_WINDOW_MS = 1000;
+
+    private static final int SKETCH_WIDTH = 2048;
+
+    private final long windowMs;
+    private final int topK;
+
+    private final CountMinSketch sketch = new CountMinSketch(SKETCH_WIDTH);
+    private final AtomicLong sketchWindowStart = new AtomicLong(-1);
+
+    private final Map<Object, HotValue> topValues = new ConcurrentHashMap<>();
+    /**
+     * The smallest count in the top-K when it's full, otherwise 0.
+     */
+    private volatile long admissionCount;
+
+    public HotParamCounter() {
+        this(DEFAULT_WINDOW_MS, DEFAULT_TOP_K);
+    }
+
+    public HotParamCounter(long windowMs, int topK) {
+        AssertUtil.isTrue(windowMs > 0, "windowMs should be positive");
+        AssertUtil.isTrue(topK > 0, "topK should be positive");
+        this.windowMs = windowMs;
+        this.topK = topK;
+    }
+
+    public void add(Object value, int count) {
+        long currentTime = TimeUtil.currentTimeMillis();
+        long windowStart = currentTime - currentTime % windowMs;
+        HotValue hotValue = topValues.get(value);
+        if (hotValue != null) {
+            hotValue.add(count, windowStart, windowMs);
+            return;
+        }
+        rollSketch(windowStart, currentTime);
+        long estimate = sketch.addHashConservatively(value.hashCode(), count);
+        if (estimate > admissionCount) {
+            admit(value, count, estimate, windowStart, currentTime);
+        }
+    }
+
+    private void rollSketch(long windowStart, long currentTime) {
+        long oldStart = sketchWindowStart.get();
+        if (oldStart < windowStart && sketchWindowStart.compareAndSet(oldStart, windowStart)) {
+            // Counts recorded concurrently during clearing may be lost, which is acceptable for the estimation.
+            sketch.clear();
+            // The counts in the top-K decay in the new window.
+            refreshAdmissionCount(windowStart, currentTime);
+        }
+    }
+
+    private synchronized void refreshAdmissionCount(long windowStart, long currentTime) {
+        admissionCount = topValues.size() < topK ? 0 : countOf(findColdest(windowStart, currentTime), windowStart,
+            currentTime);
+    }
+
+    private synchronized void admit(Object value, int count, long estimate, long windowStart, long currentTime) {
+        HotValue hotValue = topValues.get(value);
+        if (hotValue != null) {
+            // Admitted concurrently.
+            hotValue.add(count, windowStart, windowMs);
+            return;
+        }
+        if (topValues.size() >= topK) {
+            Map.Entry<Object, HotValue> coldest = findColdest(windowStart, currentTime);
+            long coldestCount = countOf(coldest, windowStart, currentTime);
+            if (coldestCount >= estimate) {
+                admissionCount = coldestCount;
+                return;
+            }
+            topValues.remove(coldest.getKey());
+        }
+        topValues.put(value, new HotValue(windowStart, estimate));
+        refreshAdmissionCount(windowStart, currentTime);
+    }
+
+    private Map.Entry<Object, HotValue> findColdest(long windowStart, long currentTime) {
+        Map.Entry<Object, HotValue> coldest = null;
+        long coldestCount = Long.MAX_VALUE;
+        for (Map.Entry<Object, HotValue> e : topValues.entrySet()) {
+            long count = e.getValue().countIn(windowStart, windowMs, previousWeight(windowStart, currentTime));
+            if (count < coldestCount) {
+                coldest = e;
+                coldestCount = count;
+            }
+        }
+        return coldest;
+    }
+
+    private long countOf(Map.Entry<Object, HotValue> entry, long windowStart, long currentTime) {
+        return entry == null ? 0 : entry.getValue().countIn(windowStart, windowMs,
+            previousWeight(windowStart, currentTime));
+    }
+
+    private double previousWeight(long windowStart, long currentTime) {
+        return 1 - (double)(currentTime - windowStart) / windowMs;
+    }
+
+    /**
+     * Get the hot parameter values and their counts in the recent statistic window.
+     *
+     * @param n max amount of values
+     * @return ordered map of (value, count), in descending order of the count
+     */
+    public Map<Object, Long> getTopValues(int n) {
+        long currentTime = TimeUtil.currentTimeMillis();
+        long windowStart = currentTime - currentTime % windowMs;
+        double previousWeight = previousWeight(windowStart, currentTime);
+        List<Map.Entry<Object, Long>> list = new ArrayList<>(topValues.size());
+        for (Map.Entry<Object, HotValue> e : topValues.entrySet()) {
+            long count = e.getValue().countIn(windowStart, windowMs, previousWeight);
+            if (count > 0) {
+                list.add(new SimpleImmutableEntry<>(e.getKey(), count));
+            }
+        }
+        Collections.sort(list, new Comparator<Map.Entry<Object, Long>>() {
+            @Override
+            public int compare(Map.Entry<Object, Long> o1, Map.Entry<Object, Long> o2) {
+                return Long.compare(o2.getValue(), o1.getValue());
+            }
+        });
+        Map<Object, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < list.size() && i < n; i++) {
+            result.put(list.get(i).getKey(), list.get(i).getValue());
+        }
+        return result;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    /**
+     * Exact count of a hot value in current and previous window.
+     */
+    private static final class HotValue {
+        private final AtomicLong count;
+        private volatile long previousCount;
+        private volatile long windowStart;
+
+        private HotValue(long windowStart, long initialCount) {
+            this.windowStart = windowStart;
+            this.count = new AtomicLong(initialCount);
+        }
+
+        private void add(int n, long currentWindowStart, long windowMs) {
+            if (windowStart != currentWindowStart) {
+                roll(currentWindowStart, windowMs);
+            }
+            count.addAndGet(n);
+        }
+
+        private synchronized void roll(long currentWindowStart, long windowMs) {
+            if (windowStart >= currentWindowStart) {
+                return;
+            }
+            long c = count.getAndSet(0);
+            previousCount = windowStart == currentWindowStart - windowMs ? c : 0;
+            windowStart = currentWindowStart;
+        }
+
+        private long countIn(long currentWindowStart, long windowMs, double previousWeight) {
+            long start = windowStart;
+            if (start == currentWindowStart) {
+                return count.get() + (long)(previousCount * previousWeight);
+            }
+            if (start == currentWindowStart - windowMs) {
+                // Not rolled yet, so current count is the count of previous window.
+                return (long)(count.get() * previousWeight);
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.param;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.statistic.cache.ConcurrentLinkedHashMapWrapper;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link LongTokenBucketMap}.
+ */
+public class LongTokenBucketMapTest extends AbstractTimeBasedTest {
+
+    @Test
+    public void testTokenBucket() {
+        LongTokenBucketMap map = new LongTokenBucketMap(100);
+        assertEquals(128, map.capacity());
+        long time = 100000;
+        for (int i = 0; i < 5; i++) {
+            assertTrue(map.tryAcquire(1L, 1, 5, 5, 1000, time));
+        }
+        assertFalse(map.tryAcquire(1L, 1, 5, 5, 1000, time + 500));
+        assertEquals(0, map.getTokens(1L));
+        assertTrue(map.tryAcquire(2L, 5, 5, 5, 1000, time));
+        assertFalse(map.tryAcquire(2L, 1, 5, 5, 1000, time));
+
+        // Refilled after the duration.
+        assertTrue(map.tryAcquire(1L, 1, 5, 5, 1000, time + 1001));
+        assertEquals(4, map.getTokens(1L));
+        assertTrue(map.tryAcquire(1L, 4, 5, 5, 1000, time + 1002));
+        assertFalse(map.tryAcquire(1L, 1, 5, 5, 1000, time + 1003));
+    }
+
+    @Test
+    public void testEvictLeastRecentlyAccessed() {
+        LongTokenBucketMap map = new LongTokenBucketMap(1);
+        assertEquals(LongTokenBucketMap.WAYS, map.capacity());
+        long time = 100000;
+        for (int i = 0; i < LongTokenBucketMap.WAYS; i++) {
+            assertTrue(map.tryAcquire(i, 1, 1, 1, 1000, time + i));
+        }
+        for (int i = 0; i < LongTokenBucketMap.WAYS; i++) {
+            assertEquals(0, map.getTokens(i));
+        }
+        // The bucket of value 0 is the least recently accessed one.
+        assertTrue(map.tryAcquire(100L, 1, 1, 1, 1000, time + 10));
+        assertEquals(-1, map.getTokens(0L));
+        assertEquals(0, map.getTokens(1L));
+        assertEquals(0, map.getTokens(100L));
+    }
+
+    @Test
+    public void testBlockedValueSurvivesColdValues() {
+        LongTokenBucketMap map = new LongTokenBucketMap(1);
+        long time = 100000;
+        assertTrue(map.tryAcquire(42L, 5, 5, 5, 1000, time));
+        // A burst of cold values, while the blocked value keeps being accessed (but never refilled).
+        for (int i = 0; i < LongTokenBucketMap.WAYS * 10; i++) {
+            assertTrue(map.tryAcquire(1000L + i, 1, 5, 5, 1000, time + 2 * i + 1));
+            assertFalse(map.tryAcquire(42L, 1, 5, 5, 1000, time + 2 * i + 2));
+        }
+        assertEquals(0, map.getTokens(42L));
+    }
+
+    @Test
+    public void testGrowWithCardinality() {
+        LongTokenBucketMap map = new LongTokenBucketMap(200000);
+        assertEquals(LongTokenBucketMap.INITIAL_SETS * LongTokenBucketMap.WAYS, map.slotCount());
+        long time = 100000;
+        assertTrue(map.tryAcquire(42L, 5, 5, 5, 1000, time));
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(map.tryAcquire(1000L + i, 1, 5, 5, 1000, time + i / 10));
+            if (i % 10 == 0) {
+                assertFalse(map.tryAcquire(42L, 1, 5, 5, 1000, time + i / 10));
+            }
+        }
+        // The table grows with the amount of values, and the buckets are kept when moved.
+        assertTrue(map.slotCount() > 10000);
+        assertTrue(map.slotCount() <= map.capacity());
+        assertEquals(0, map.getTokens(42L));
+        assertEquals(4, map.getTokens(1000L + 9999));
+    }
+
+    @Test
+    public void testConcurrentHotKey() throws Exception {
+        final LongTokenBucketMap map = new LongTokenBucketMap(200000);
+        final long time = 100000;
+        final AtomicInteger passCount = new AtomicInteger();
+        int threadCount = 8;
+        final CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            final int threadIdx = i;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 1000; j++) {
+                        if (map.tryAcquire(42L, 1, 100, 100, 1000, time)) {
+                            passCount.incrementAndGet();
+                        }
+                        // Other (less recently accessed) values make the table grow concurrently.
+                        map.tryAcquire(threadIdx * 1000L + j + 1000, 1, 100, 100, 1000, time - 1);
+                    }
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+        assertEquals(100, passCount.get());
+    }
+
+    @Test
+    public void testConcurrentDistinctKeys() throws Exception {
+        final LongTokenBucketMap map = new LongTokenBucketMap(200000);
+        final long time = 100000;
+        final int threadCount = 8;
+        final int keysPerThread = 5000;
+        final CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            final int threadIdx = i;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < keysPerThread; j++) {
+                        long key = j * threadCount + threadIdx;
+                        assertTrue(map.tryAcquire(key, (int)(key % 5) + 1, 5, 5, 1000, time));
+                    }
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+        int kept = 0;
+        for (long key = 0; key < threadCount * keysPerThread; key++) {
+            long tokens = map.getTokens(key);
+            if (tokens >= 0) {
+                // Buckets are never mixed up by concurrent replacing and moving.
+                assertEquals(4 - key % 5, tokens);
+                kept++;
+            }
+        }
+        // Only a few values are evicted from the full sets before the table grows.
+        assertTrue("kept: " + kept, kept > threadCount * keysPerThread * 0.9);
+    }
+
+    @Test
+    public void testPassCheckWithContendedIntegralHotKey() throws Exception {
+        setCurrentMillis(100000);
+        String resourceName = "testPassCheckWithContendedIntegralHotKey";
+        final ResourceWrapper resourceWrapper = new StringResourceWrapper(resourceName, EntryType.IN);
+        final ParamFlowRule rule = new ParamFlowRule(resourceName).setParamIdx(0).setCount(100);
+        ParamFlowRuleUtil.fillExceptionFlowItems(rule);
+        ParameterMetric metric = new ParameterMetric();
+        ParameterMetricStorage.getMetricsMap().put(resourceName, metric);
+        metric.getRuleTimeCounterMap().put(rule, new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(4000));
+        metric.getRuleTokenCounterMap().put(rule, new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(4000));
+
+        final AtomicInteger passCount = new AtomicInteger();
+        int threadCount = 8;
+        final CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 1000; j++) {
+                        if (ParamFlowChecker.passCheck(resourceWrapper, rule, 1, 42)) {
+                            passCount.incrementAndGet();
+                        }
+                    }
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+        // The integral hot key is never refilled or consumed twice by concurrent requests.
+        assertEquals(100, passCount.get());
+        assertEquals(0, metric.getRuleTokenCounter(rule).size());
+        assertEquals(0, metric.getOrCreateRuleLongTokenBuckets(rule).getTokens(42L));
+    }
+
+    @Test
+    public void testPassCheckWithIntegralValues() {
+        setCurrentMillis(100000);
+        String resourceName = "testPassCheckWithIntegralValues";
+        ResourceWrapper resourceWrapper = new StringResourceWrapper(resourceName, EntryType.IN);
+        ParamFlowRule rule = new ParamFlowRule(resourceName).setParamIdx(0).setCount(3);
+        ParamFlowRuleUtil.fillExceptionFlowItems(rule);
+        ParameterMetric metric = new ParameterMetric();
+        ParameterMetricStorage.getMetricsMap().put(resourceName, metric);
+        // Not initialized yet.
+        assertNull(metric.getOrCreateRuleLongTokenBuckets(rule));
+        metric.getRuleTimeCounterMap().put(rule, new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(4000));
+        metric.getRuleTokenCounterMap().put(rule, new ConcurrentLinkedHashMapWrapper<Object, AtomicLong>(4000));
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, 42L));
+            assertTrue(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, 7));
+        }
+        assertFalse(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, 42L));
+        assertFalse(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, 7));
+        // The integral values don't go to the LRU maps.
+        assertEquals(0, metric.getRuleTokenCounter(rule).size());
+        assertEquals(0, metric.getOrCreateRuleLongTokenBuckets(rule).getTokens(42L));
+
+        sleep(1001);
+        assertTrue(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, 42L));
+    }
+
+    @Before
+    public void setUp() {
+        ParameterMetricStorage.getMetricsMap().clear();
+    }
+
+    @After
+    public void tearDown() {
+        ParameterMetricStorage.getMetricsMap().clear();
+    }
+}
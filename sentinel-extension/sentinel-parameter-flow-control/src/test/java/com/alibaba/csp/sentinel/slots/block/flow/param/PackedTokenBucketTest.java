@@ -0,0 +1,84 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.param;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link PackedTokenBucket}.
+ */
+public class PackedTokenBucketTest {
+
+    @Test
+    public void testTokenBucket() {
+        long time = System.currentTimeMillis();
+        AtomicLong bucket = new AtomicLong(PackedTokenBucket.pack(time, 4));
+        assertEquals(4, PackedTokenBucket.tokensOf(bucket.get()));
+        assertEquals(0, PackedTokenBucket.elapsed(bucket.get(), time));
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(PackedTokenBucket.tryAcquire(bucket, 1, 5, 8, 1000, time + 500));
+        }
+        assertFalse(PackedTokenBucket.tryAcquire(bucket, 1, 5, 8, 1000, time + 1000));
+
+        // Refilled after the duration, with no more than the max tokens.
+        assertTrue(PackedTokenBucket.tryAcquire(bucket, 1, 5, 8, 1000, time + 1200));
+        assertEquals(5, PackedTokenBucket.tokensOf(bucket.get()));
+        assertEquals(0, PackedTokenBucket.elapsed(bucket.get(), time + 1200));
+        assertTrue(PackedTokenBucket.tryAcquire(bucket, 1, 5, 8, 1000, time + 1200 + 24L * 3600 * 1000));
+        assertEquals(7, PackedTokenBucket.tokensOf(bucket.get()));
+        assertFalse(PackedTokenBucket.tryAcquire(bucket, 8, 5, 8, 1000, time + 1300 + 24L * 3600 * 1000));
+    }
+
+    @Test
+    public void testElapsedAcrossWrapAround() {
+        long time = (1L << PackedTokenBucket.TIME_BITS) - 10;
+        AtomicLong bucket = new AtomicLong(PackedTokenBucket.pack(time, PackedTokenBucket.MAX_TOKENS));
+        assertEquals(PackedTokenBucket.MAX_TOKENS, PackedTokenBucket.tokensOf(bucket.get()));
+        assertEquals(30, PackedTokenBucket.elapsed(bucket.get(), time + 30));
+    }
+
+    @Test
+    public void testConcurrentAcquire() throws Exception {
+        final long time = System.currentTimeMillis();
+        final AtomicLong bucket = new AtomicLong(PackedTokenBucket.pack(time - 2000, 0));
+        final AtomicInteger passCount = new AtomicInteger();
+        int threadCount = 8;
+        final CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 1000; j++) {
+                        if (PackedTokenBucket.tryAcquire(bucket, 1, 100, 100, 1000, time)) {
+                            passCount.incrementAndGet();
+                        }
+                    }
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+        // The bucket is refilled exactly once.
+        assertEquals(100, passCount.get());
+    }
+}
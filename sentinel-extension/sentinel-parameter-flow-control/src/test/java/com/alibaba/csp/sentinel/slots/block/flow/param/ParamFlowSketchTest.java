@@ -0,0 +1,235 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.param;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link ParamFlowSketch}.
+ */
+public class ParamFlowSketchTest extends AbstractTimeBasedTest {
+
+    @Test
+    public void testSlidingWindow() {
+        setCurrentMillis(100000);
+        ParamFlowSketch sketch = new ParamFlowSketch(1, 1024, 4);
+        // The value is counted exactly once it exceeds the threshold in the sketch,
+        // starting from the estimated count.
+        assertEquals(10, acquireUntilBlocked(sketch, "a", 10));
+        assertEquals(1, sketch.getTopValueCount());
+        // Other values are not affected.
+        assertTrue(sketch.tryAcquire("b", 10, 10));
+
+        // Half of the previous window (with 10 passed exactly) is still counted.
+        sleep(1500);
+        assertEquals(5, acquireUntilBlocked(sketch, "a", 10));
+
+        // The previous window (with 5 passed) is no longer counted.
+        sleep(1500);
+        assertEquals(10, acquireUntilBlocked(sketch, "a", 10));
+    }
+
+    @Test
+    public void testManyDistinctValuesNotForgotten() {
+        setCurrentMillis(100000);
+        ParamFlowSketch sketch = new ParamFlowSketch(1, 4096, 8);
+        assertEquals(5, acquireUntilBlocked(sketch, "abuser", 5));
+
+        for (int i = 0; i < 1000; i++) {
+            // The cold values pass while the sketch is wide enough for them.
+            assertTrue(sketch.tryAcquire("user-" + i, 1, 5));
+        }
+        // Unlike the LRU map, a flood of distinct values does not reset the count of the abuser.
+        for (int i = 0; i < 100000; i++) {
+            sketch.tryAcquire("flood-" + i, 1, 5);
+        }
+        assertFalse(sketch.tryAcquire("abuser", 1, 5));
+        assertEquals(8, sketch.getTopValueCount());
+    }
+
+    @Test
+    public void testReadmittedValueNotReset() {
+        setCurrentMillis(100000);
+        ParamFlowSketch sketch = new ParamFlowSketch(1, 1024, 1);
+        assertEquals(5, acquireUntilBlocked(sketch, "a", 5));
+        // Another hot value evicts "a" from the top-K.
+        assertEquals(5, acquireUntilBlocked(sketch, "b", 5));
+        assertEquals(1, sketch.getTopValueCount());
+        // "a" is admitted again with its estimated count rather than a full quota.
+        assertFalse(sketch.tryAcquire("a", 1, 5));
+        assertEquals(5, acquireUntilBlocked(sketch, "c", 5));
+    }
+
+    @Test
+    public void testTopKConfigured() {
+        SentinelConfig.setConfig(ParamFlowSketch.TOP_K_KEY, "2");
+        try {
+            setCurrentMillis(100000);
+            ParamFlowSketch sketch = new ParamFlowSketch(1);
+            for (int i = 0; i < 5; i++) {
+                acquireUntilBlocked(sketch, "hot-" + i, 1);
+            }
+            assertEquals(2, sketch.getTopValueCount());
+        } finally {
+            SentinelConfig.removeConfig(ParamFlowSketch.TOP_K_KEY);
+        }
+    }
+
+    @Test
+    public void testMinThreshold() {
+        setCurrentMillis(100000);
+        ParamFlowSketch sketch = new ParamFlowSketch(1, 1024, 2);
+        assertEquals(1, acquireUntilBlocked(sketch, "abuser", 1));
+        for (int i = 0; i < 100; i++) {
+            assertTrue(sketch.tryAcquire("user-" + i, 1, 1));
+            assertFalse(sketch.tryAcquire("user-" + i, 1, 1));
+            assertFalse(sketch.tryAcquire("abuser", 1, 1));
+            assertFalse(sketch.tryAcquire("abuser", 1, 1));
+            // The blocked abuser is hotter than the values with the same pass count, so it stays in the top-K.
+            assertTrue(sketch.getTopValues(2).containsKey("abuser"));
+        }
+    }
+
+    @Test
+    public void testTopValues() {
+        setCurrentMillis(100000);
+        ParamFlowSketch sketch = new ParamFlowSketch(1, 1024, 3);
+        for (int i = 0; i < 100; i++) {
+            sketch.tryAcquire("cold-" + i, 1, 30);
+            sketch.tryAcquire("hot1", 1, 30);
+            if (i % 2 == 0) {
+                sketch.tryAcquire("hot2", 7, 30);
+            }
+            if (i % 4 == 0) {
+                sketch.tryAcquire("hot3", 1, 30);
+            }
+        }
+        assertEquals(28, sketch.estimate("hot2"));
+        // Only the values exceeding the threshold in the sketch are tracked.
+        Map<Object, Long> top = sketch.getTopValues(10);
+        assertEquals(2, top.size());
+        Object[] values = top.keySet().toArray();
+        assertEquals("hot1", values[0]);
+        assertEquals("hot2", values[1]);
+        assertEquals(30L, (long)top.get("hot1"));
+        // The counts of admitted values start from the estimation.
+        assertEquals(28L, (long)top.get("hot2"));
+        assertEquals(1, sketch.getTopValues(1).size());
+
+        // Counts of former windows are not reported.
+        sleepSecond(1);
+        assertTrue(sketch.getTopValues(10).isEmpty());
+    }
+
+    @Test
+    public void testConcurrentHotValueCountedExactly() throws Exception {
+        setCurrentMillis(100000);
+        final ParamFlowSketch sketch = new ParamFlowSketch(1, 1024, 4);
+        assertEquals(100, acquireUntilBlocked(sketch, "hot", 100));
+        // The previous window is no longer counted, and the value is counted in the top-K only.
+        sleepSecond(2);
+        final AtomicInteger passed = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 1000; j++) {
+                        if (sketch.tryAcquire("hot", 1, 100)) {
+                            passed.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(100, passed.get());
+    }
+
+    private static int acquireUntilBlocked(ParamFlowSketch sketch, Object value, long threshold) {
+        int passed = 0;
+        while (sketch.tryAcquire(value, 1, threshold)) {
+            passed++;
+            assertTrue("too many passed: " + passed, passed <= threshold * 3);
+        }
+        return passed;
+    }
+
+    @Test
+    public void testPassCheckWithSketchStorage() {
+        setCurrentMillis(100000);
+        String resourceName = "testPassCheckWithSketchStorage";
+        ResourceWrapper resourceWrapper = new StringResourceWrapper(resourceName, EntryType.IN);
+        ParamFlowRule rule = new ParamFlowRule(resourceName)
+            .setParamIdx(0)
+            .setCount(3)
+            .setStorageMode(RuleConstant.PARAM_FLOW_STORAGE_SKETCH);
+        assertTrue(ParamFlowRuleUtil.isValidRule(rule));
+        ParamFlowItem item = new ParamFlowItem("vip", 5, String.class.getName());
+        rule.setParamFlowItemList(Collections.singletonList(item));
+        ParamFlowRuleUtil.fillExceptionFlowItems(rule);
+        ParameterMetricStorage.initParamMetricsFor(resourceWrapper, rule);
+        ParameterMetric metric = ParameterMetricStorage.getParamMetric(resourceWrapper);
+        assertNotNull(metric.getRuleSketch(rule));
+        assertNull(metric.getRuleTokenCounter(rule));
+
+        ParamFlowSketch sketch = metric.getRuleSketch(rule);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, "user"));
+        }
+        assertFalse(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, "user"));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, "vip"));
+        }
+        assertFalse(ParamFlowChecker.passCheck(resourceWrapper, rule, 1, "vip"));
+        assertEquals(2, sketch.getTopValues(10).size());
+
+        // Sketch storage only works with the default QPS mode.
+        assertFalse(ParamFlowRuleUtil.isValidRule(new ParamFlowRule(resourceName).setParamIdx(0).setCount(3)
+            .setStorageMode(RuleConstant.PARAM_FLOW_STORAGE_SKETCH).setGrade(RuleConstant.FLOW_GRADE_THREAD)));
+        assertFalse(ParamFlowRuleUtil.isValidRule(new ParamFlowRule(resourceName).setParamIdx(0).setCount(3)
+            .setStorageMode(RuleConstant.PARAM_FLOW_STORAGE_SKETCH)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER)));
+    }
+
+    @Before
+    public void setUp() {
+        ParameterMetricStorage.getMetricsMap().clear();
+    }
+
+    @After
+    public void tearDown() {
+        ParameterMetricStorage.getMetricsMap().clear();
+    }
+}
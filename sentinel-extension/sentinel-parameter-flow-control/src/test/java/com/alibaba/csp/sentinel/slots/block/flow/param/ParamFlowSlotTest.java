@@ -16,14 +16,18 @@
 package com.alibaba.csp.sentinel.slots.block.flow.param;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -121,6 +125,60 @@ public class ParamFlowSlotTest {
         fail("The second entry should be blocked");
     }
 
+    @Test
+    public void testHotValuesNotRecordedByDefault() throws Throwable {
+        String resourceName = "testHotValuesNotRecordedByDefault";
+        ResourceWrapper resourceWrapper = new StringResourceWrapper(resourceName, EntryType.IN);
+        ParamFlowRuleManager.loadRules(Collections.singletonList(new ParamFlowRule(resourceName)
+            .setCount(10)
+            .setParamIdx(0)));
+
+        assertFalse(ParameterMetric.isHotValueEnabled());
+        paramFlowSlot.entry(null, resourceWrapper, null, 1, false, "hot");
+        ParameterMetric metric = ParameterMetricStorage.getParamMetric(resourceWrapper);
+        assertTrue(metric.getTopValues(RollingParamEvent.REQUEST_PASSED, 0, 10).isEmpty());
+    }
+
+    @Test
+    public void testHotValuesRecorded() throws Throwable {
+        ParameterMetric.setHotValueEnabled(true);
+        try {
+            doTestHotValuesRecorded();
+        } finally {
+            ParameterMetric.setHotValueEnabled(false);
+        }
+    }
+
+    private void doTestHotValuesRecorded() throws Throwable {
+        String resourceName = "testHotValuesRecorded";
+        ResourceWrapper resourceWrapper = new StringResourceWrapper(resourceName, EntryType.IN);
+        ParamFlowRule rule1 = new ParamFlowRule(resourceName)
+            .setCount(2)
+            .setParamIdx(0);
+        ParamFlowRule rule2 = new ParamFlowRule(resourceName)
+            .setCount(10)
+            .setParamIdx(0);
+        ParamFlowRuleManager.loadRules(Arrays.asList(rule1, rule2));
+
+        int blocked = 0;
+        for (int i = 0; i < 3; i++) {
+            try {
+                paramFlowSlot.entry(null, resourceWrapper, null, 1, false, "hot");
+            } catch (ParamFlowException ex) {
+                blocked++;
+            }
+        }
+        assertEquals(1, blocked);
+
+        ParameterMetric metric = ParameterMetricStorage.getParamMetric(resourceWrapper);
+        Map<Object, Long> passed = metric.getTopValues(RollingParamEvent.REQUEST_PASSED, 0, 10);
+        // The passed values are counted once, though there are two rules of the parameter.
+        assertEquals(1, passed.size());
+        assertTrue(passed.get("hot") <= 2);
+        assertTrue(metric.getTopValues(RollingParamEvent.REQUEST_BLOCKED, 0, 10).containsKey("hot"));
+        assertTrue(metric.getTopValues(RollingParamEvent.REQUEST_PASSED, 1, 10).isEmpty());
+    }
+
     @Before
     public void setUp() {
         ParamFlowRuleManager.loadRules(null);
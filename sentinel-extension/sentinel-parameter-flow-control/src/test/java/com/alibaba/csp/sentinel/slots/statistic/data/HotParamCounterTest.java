@@ -0,0 +1,93 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.data;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link HotParamCounter}.
+ */
+public class HotParamCounterTest extends AbstractTimeBasedTest {
+
+    @Test
+    public void testTopValuesAmongColdValues() {
+        setCurrentMillis(100000);
+        HotParamCounter counter = new HotParamCounter(1000, 4);
+        for (int i = 0; i < 1000; i++) {
+            counter.add("cold-" + i, 1);
+            if (i % 20 == 0) {
+                counter.add("a", 1);
+            }
+            if (i % 33 == 0) {
+                counter.add("b", 1);
+            }
+            if (i % 50 == 0) {
+                counter.add("c", 1);
+            }
+        }
+        Map<Object, Long> top = counter.getTopValues(3);
+        assertEquals(3, top.size());
+        Iterator<Map.Entry<Object, Long>> it = top.entrySet().iterator();
+        assertEntry("a", 50, it.next());
+        assertEntry("b", 31, it.next());
+        assertEntry("c", 20, it.next());
+    }
+
+    @Test
+    public void testHotValueReplacesColdest() {
+        setCurrentMillis(100000);
+        HotParamCounter counter = new HotParamCounter(1000, 2);
+        for (int i = 0; i < 5; i++) {
+            counter.add("x", 1);
+            counter.add("y", 1);
+        }
+        for (int i = 0; i < 10; i++) {
+            counter.add("z", 1);
+        }
+        Map<Object, Long> top = counter.getTopValues(2);
+        assertEquals(2, top.size());
+        assertEntry("z", 10, top.entrySet().iterator().next());
+    }
+
+    @Test
+    public void testSlidingWindow() {
+        setCurrentMillis(100000);
+        HotParamCounter counter = new HotParamCounter(1000, 4);
+        counter.add("a", 50);
+        assertEquals(Long.valueOf(50), counter.getTopValues(1).get("a"));
+
+        // Half of the previous window is still in the sliding window.
+        sleep(1500);
+        assertEquals(Long.valueOf(25), counter.getTopValues(1).get("a"));
+        counter.add("a", 10);
+        assertEquals(Long.valueOf(35), counter.getTopValues(1).get("a"));
+
+        sleep(2000);
+        assertTrue(counter.getTopValues(1).isEmpty());
+    }
+
+    private static void assertEntry(Object value, long count, Map.Entry<Object, Long> entry) {
+        assertEquals(value, entry.getKey());
+        assertEquals(count, entry.getValue().longValue());
+    }
+}
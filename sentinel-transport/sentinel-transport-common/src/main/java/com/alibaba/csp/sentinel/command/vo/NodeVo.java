@@ -19,6 +19,7 @@ import java.util.UUID;
 
 import com.alibaba.csp.sentinel.node.ClusterNode;
 import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 
 /**
@@ -44,6 +45,16 @@ public class NodeVo {
     private Long oneMinuteException;
     private Long oneMinuteTotal;
 
+    /**
+     * Response time percentiles, which are 0 if the response time histogram is disabled.
+     *
+     * @since 2.0.0
+     */
+    private Long rtP50;
+    private Long rtP90;
+    private Long rtP99;
+    private Long rtP999;
+
     private Long timestamp;
 
     /**
@@ -73,6 +84,7 @@ public class NodeVo {
         vo.oneMinutePass = node.totalRequest() - node.blockRequest();
         vo.oneMinuteBlock = node.blockRequest();
         vo.oneMinuteTotal = node.totalRequest();
+        vo.fillRtPercentiles(node);
         vo.timestamp = System.currentTimeMillis();
         return vo;
     }
@@ -112,6 +124,7 @@ public class NodeVo {
         vo.oneMinutePass = node.totalRequest() - node.blockRequest();
         vo.oneMinuteBlock = node.blockRequest();
         vo.oneMinuteTotal = node.totalRequest();
+        vo.fillRtPercentiles(node);
         vo.timestamp = System.currentTimeMillis();
         return vo;
     }
@@ -228,6 +241,45 @@ public class NodeVo {
         this.oneMinuteTotal = oneMinuteTotal;
     }
 
+    private void fillRtPercentiles(Node node) {
+        this.rtP50 = (long) node.rtPercentile(50);
+        this.rtP90 = (long) node.rtPercentile(90);
+        this.rtP99 = (long) node.rtPercentile(99);
+        this.rtP999 = (long) node.rtPercentile(99.9);
+    }
+
+    public Long getRtP50() {
+        return rtP50;
+    }
+
+    public void setRtP50(Long rtP50) {
+        this.rtP50 = rtP50;
+    }
+
+    public Long getRtP90() {
+        return rtP90;
+    }
+
+    public void setRtP90(Long rtP90) {
+        this.rtP90 = rtP90;
+    }
+
+    public Long getRtP99() {
+        return rtP99;
+    }
+
+    public void setRtP99(Long rtP99) {
+        this.rtP99 = rtP99;
+    }
+
+    public Long getRtP999() {
+        return rtP999;
+    }
+
+    public void setRtP999(Long rtP999) {
+        this.rtP999 = rtP999;
+    }
+
     public Long getTimestamp() {
         return timestamp;
     }